@@ -0,0 +1,49 @@
+/*
+ * Copyright Chris2018998
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.beecp;
+
+import java.sql.SQLException;
+
+/**
+ * Auto batch mode of pool prepared statements,got by 'statement.unwrap(AutoBatchable.class)'.
+ * <p>
+ * In the mode,'executeUpdate()' calls in transaction(autoCommit is false) are queued into driver batch and
+ * return 'SUCCESS_NO_INFO',so the mode is not for updates whose count is checked at once(optimistic lock and so on).
+ * Queued calls are executed by 'executeBatch' on reaching the configured size,commit,statement close or another
+ * execution on the connection,their update counts are got later by 'getAutoBatchUpdateCounts()'.
+ * Calls are not queued while the statement has rows added by 'addBatch()'.
+ *
+ * @author Chris.Liao
+ * @version 1.0
+ */
+public interface AutoBatchable {
+
+    /**
+     * @param autoBatch true,'executeUpdate()' calls queued into batch;false,queued calls executed at once
+     * @throws SQLException if failed to execute queued calls
+     */
+    void setAutoBatch(boolean autoBatch) throws SQLException;
+
+    boolean isAutoBatch();
+
+    /**
+     * queued calls not executed yet are executed firstly
+     *
+     * @return update counts of queued calls since last invocation of the method,in call order
+     * @throws SQLException if failed to execute queued calls
+     */
+    int[] getAutoBatchUpdateCounts() throws SQLException;
+}
@@ -16,6 +16,8 @@
 package cn.beecp;
 
 import cn.beecp.pool.ConnectionPool;
+import cn.beecp.pool.ConnectionPoolJMXBean;
+import cn.beecp.pool.ConnectionPoolMonitorVo;
 import cn.beecp.pool.ProxyConnectionBase;
 import cn.beecp.xa.XaConnectionFactory;
 import cn.beecp.xa.XaConnectionWrapper;
@@ -132,6 +134,26 @@ public class BeeDataSource extends BeeDataSourceConfig implements DataSource, XA
     public Connection getConnection() throws SQLException {
         if (inited) return pool.getConnection();
 
+        initPool();
+        return pool.getConnection();
+    }
+
+    /**
+     * borrow a connection within quota of a partition(tenant),see 'partitionMaxSize' and 'partitionMinSize'
+     *
+     * @param partitionKey partition key,such as tenant id
+     * @return a connection from pool
+     * @throws SQLException if pool is closed or waiting timeout,then throw exception
+     */
+    public Connection getConnection(Object partitionKey) throws SQLException {
+        if (inited) return pool.getConnection(partitionKey);
+
+        initPool();
+        return pool.getConnection(partitionKey);
+    }
+
+    //create pool on first borrowing
+    private void initPool() throws SQLException {
         if (writeLock.tryLock()) {
             try {
                 if (!inited) {
@@ -153,8 +175,6 @@ public class BeeDataSource extends BeeDataSourceConfig implements DataSource, XA
                 readLock.unlock();
             }
         }
-
-        return pool.getConnection();
     }
 
     public XAConnection getXAConnection() throws SQLException {
@@ -185,6 +205,28 @@ public class BeeDataSource extends BeeDataSourceConfig implements DataSource, XA
         return (pool != null) ? pool.isClosed() : false;
     }
 
+    /**
+     * @return monitor vo of pool,null if pool not initialized
+     */
+    public ConnectionPoolMonitorVo getPoolMonitorVo() {
+        return (pool != null) ? pool.getMonitorVo() : null;
+    }
+
+    /**
+     * called by routing data source on each read borrow,counts are read directly from pool
+     *
+     * @return idle size minus waiter size;max active if pool not initialized(created on first borrow),
+     * Integer.MIN_VALUE if pool closed
+     */
+    int getRoutingAvailableSize() {
+        ConnectionPool curPool = pool;
+        if (curPool == null) return getMaxActive();
+        if (curPool.isClosed()) return Integer.MIN_VALUE;
+        if (!(curPool instanceof ConnectionPoolJMXBean)) return 0;
+        ConnectionPoolJMXBean poolBean = (ConnectionPoolJMXBean) curPool;
+        return poolBean.getConnIdleSize() - poolBean.getSemaphoreWaitingSize() - poolBean.getTransferWaitingSize();
+    }
+
     public PrintWriter getLogWriter() throws SQLException {
         throw new SQLException("Not supported");
     }
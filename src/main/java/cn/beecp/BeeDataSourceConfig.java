@@ -17,6 +17,7 @@ package cn.beecp;
 
 import cn.beecp.pool.DataSourceConnectionFactory;
 import cn.beecp.pool.DriverConnectionFactory;
+import cn.beecp.pool.FailoverConnectionFactory;
 import cn.beecp.xa.XaConnectionFactory;
 
 import javax.sql.DataSource;
@@ -36,8 +37,12 @@ import java.util.Iterator;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
 
 import static cn.beecp.pool.PoolStaticCenter.isBlank;
+import static java.util.concurrent.TimeUnit.HOURS;
 import static java.util.concurrent.TimeUnit.MINUTES;
 import static java.util.concurrent.TimeUnit.SECONDS;
 
@@ -165,6 +170,152 @@ public class BeeDataSourceConfig implements BeeDataSourceConfigJMXBean {
      * milliseconds,idle Check Time initialize delay
      */
     private long idleCheckTimeInitDelay = SECONDS.toMillis(1);
+    /**
+     * continuous creation failures to open connection creation breaker,zero means disabled
+     */
+    private int createFailureThreshold;
+    /**
+     * milliseconds,initial backoff time of opened creation breaker
+     */
+    private long createBackoffInitial = SECONDS.toMillis(1);
+    /**
+     * milliseconds,max backoff time of opened creation breaker
+     */
+    private long createBackoffMax = SECONDS.toMillis(30);
+    /**
+     * enable controller to adjust pool max size between 'elasticMinActive' and 'maxActive'
+     */
+    private boolean enableElasticSize;
+    /**
+     * floor of elastic pool max size
+     */
+    private int elasticMinActive;
+    /**
+     * milliseconds,check period of elastic size controller
+     */
+    private long elasticCheckInterval = SECONDS.toMillis(5);
+    /**
+     * milliseconds,borrower average wait time to grow pool max size
+     */
+    private long elasticWaitThreshold = 50L;
+    /**
+     * enable to pre-create connections by forecast of borrow concurrency
+     */
+    private boolean enablePrewarm;
+    /**
+     * max size of connections pre-created by forecast,zero means 'maxActive'
+     */
+    private int prewarmMaxSize;
+    /**
+     * milliseconds,forecast period of prewarm
+     */
+    private long prewarmCheckInterval = SECONDS.toMillis(10);
+    /**
+     * thread size to close physical connections in parallel when pool clear
+     */
+    private int closeConnectionThreadSize = Math.min(8, Runtime.getRuntime().availableProcessors());
+    /**
+     * milliseconds,deadline to close physical connections when pool clear,overrun connections will be aborted
+     */
+    private long closeConnectionTimeout = SECONDS.toMillis(30);
+    /**
+     * local file to save learned pool size on shutdown and read on startup,null means disabled
+     */
+    private String warmHintFile;
+    /**
+     * milliseconds,max age of warm hint file,older one is ignored
+     */
+    private long warmHintMaxAge = HOURS.toMillis(24);
+    /**
+     * SQL executed once on new created connection before adding to pool,multiple statements separated by ';'
+     */
+    private String connectionInitSQL;
+    /**
+     * SQL prepared once on new created connection to warm driver and server caches,multiple statements separated by ';'
+     */
+    private String connectionPrepareSQL;
+    /**
+     * multiple host urls separated by ',' for failover,connections go to the healthiest host
+     */
+    private String failoverUrls;
+    /**
+     * max using connections of a partition(tenant) borrowed by 'getConnection(partitionKey)',zero means partition disabled
+     */
+    private int partitionMaxSize;
+    /**
+     * guaranteed using connections of a partition,connections beyond it are taken from a burst area shared by partitions
+     */
+    private int partitionMinSize;
+    /**
+     * max cached PreparedStatements on a pooled connection(LRU),zero means statement cache disabled
+     */
+    private int statementCacheSize;
+    /**
+     * keep a shadow copy of session state(autoCommit,transactionIsolation,readOnly,catalog,schema) on pooled connection,
+     * unchanged setters are skipped and getters served locally;not suitable for drivers whose state can be changed on server side(sql)
+     */
+    private boolean shadowSessionState;
+    /**
+     * defer session state reset of returned connection to next borrow,skipped when the same thread borrows it again
+     * (the thread gets its last session state);rollback of dirty transaction is never deferred
+     */
+    private boolean deferConnectionReset;
+    /**
+     * generate proxies of PreparedStatement and ResultSet for concrete driver classes at runtime(javassist required),
+     * then calls on driver objects are made on their exact types
+     */
+    private boolean driverSpecificProxy;
+    /**
+     * max size of normalized sql(fingerprint) tracked in execution latency histograms,sql beyond the size
+     * are counted into one overflow histogram;zero means latency statistics disabled
+     */
+    private int sqlLatencyStatSize;
+    /**
+     * execution time threshold(milliseconds) of slow sql,which are written to slow sql log file by a background thread;
+     * zero means slow sql log disabled
+     */
+    private long slowSqlThreshold;
+    /**
+     * slow sql log file,default is '[pool name]-slow-sql.log' in working folder
+     */
+    private String slowSqlLogFile;
+    /**
+     * max byte size of slow sql log file,file is rolled when reach the size(5 history files kept)
+     */
+    private long slowSqlLogFileSize = 10L * 1024 * 1024;
+    /**
+     * mask parameter values of prepared statements in slow sql log
+     */
+    private boolean slowSqlParameterMasked = true;
+    /**
+     * regular expressions of prepared sql in auto batch mode,separated by ';',their 'executeUpdate()' calls in transaction
+     * (autoCommit is false) are queued into batch and return 'SUCCESS_NO_INFO';statements can also be set into the mode
+     * by {@link cn.beecp.AutoBatchable};blank means no sql in the mode
+     */
+    private String autoBatchSQL;
+    /**
+     * max size of queued 'executeUpdate()' calls in auto batch mode,queued calls are executed by 'executeBatch' on reaching
+     * the size,commit,statement close or another execution on the connection
+     */
+    private int autoBatchSize = 100;
+    /**
+     * regular expressions of cacheable query sql,separated by ';',results of matched queries are cached
+     * by sql and parameters and invalidated by writes on their tables;blank means result cache disabled
+     */
+    private String resultCacheSQL;
+    /**
+     * max size of cached query results
+     */
+    private int resultCacheSize = 1000;
+    /**
+     * milliseconds:time to live of cached query results
+     */
+    private long resultCacheTtl = 60000L;
+    /**
+     * regular expressions of query sql with detached results,separated by ';',results of matched queries are read
+     * fully into memory,so statement and connection can be closed before iterating results
+     */
+    private String detachedResultSQL;
     /**
      * BeeCP implementation class name
      */
@@ -192,6 +343,11 @@ public class BeeDataSourceConfig implements BeeDataSourceConfigJMXBean {
      */
     private XaConnectionFactory xaConnectionFactory;
 
+    /**
+     * executor shared by pools for housekeeping tasks(idle scan,network timeout),not shutdown by pool
+     */
+    private ScheduledThreadPoolExecutor housekeepingExecutor;
+
     /**
      * enableJMX
      */
@@ -487,6 +643,312 @@ public class BeeDataSourceConfig implements BeeDataSourceConfigJMXBean {
             this.idleCheckTimeInitDelay = idleCheckTimeInitDelay;
     }
 
+    public int getCreateFailureThreshold() {
+        return createFailureThreshold;
+    }
+
+    public void setCreateFailureThreshold(int createFailureThreshold) {
+        if (!this.checked && createFailureThreshold >= 0)
+            this.createFailureThreshold = createFailureThreshold;
+    }
+
+    public long getCreateBackoffInitial() {
+        return createBackoffInitial;
+    }
+
+    public void setCreateBackoffInitial(long createBackoffInitial) {
+        if (!this.checked && createBackoffInitial > 0)
+            this.createBackoffInitial = createBackoffInitial;
+    }
+
+    public long getCreateBackoffMax() {
+        return createBackoffMax;
+    }
+
+    public void setCreateBackoffMax(long createBackoffMax) {
+        if (!this.checked && createBackoffMax > 0)
+            this.createBackoffMax = createBackoffMax;
+    }
+
+    public boolean isEnableElasticSize() {
+        return enableElasticSize;
+    }
+
+    public void setEnableElasticSize(boolean enableElasticSize) {
+        if (!this.checked)
+            this.enableElasticSize = enableElasticSize;
+    }
+
+    public int getElasticMinActive() {
+        return elasticMinActive;
+    }
+
+    public void setElasticMinActive(int elasticMinActive) {
+        if (!this.checked && elasticMinActive > 0)
+            this.elasticMinActive = elasticMinActive;
+    }
+
+    public long getElasticCheckInterval() {
+        return elasticCheckInterval;
+    }
+
+    public void setElasticCheckInterval(long elasticCheckInterval) {
+        if (!this.checked && elasticCheckInterval >= 100L)
+            this.elasticCheckInterval = elasticCheckInterval;
+    }
+
+    public long getElasticWaitThreshold() {
+        return elasticWaitThreshold;
+    }
+
+    public void setElasticWaitThreshold(long elasticWaitThreshold) {
+        if (!this.checked && elasticWaitThreshold >= 0)
+            this.elasticWaitThreshold = elasticWaitThreshold;
+    }
+
+    public boolean isEnablePrewarm() {
+        return enablePrewarm;
+    }
+
+    public void setEnablePrewarm(boolean enablePrewarm) {
+        if (!this.checked)
+            this.enablePrewarm = enablePrewarm;
+    }
+
+    public int getPrewarmMaxSize() {
+        return prewarmMaxSize;
+    }
+
+    public void setPrewarmMaxSize(int prewarmMaxSize) {
+        if (!this.checked && prewarmMaxSize > 0)
+            this.prewarmMaxSize = prewarmMaxSize;
+    }
+
+    public long getPrewarmCheckInterval() {
+        return prewarmCheckInterval;
+    }
+
+    public void setPrewarmCheckInterval(long prewarmCheckInterval) {
+        if (!this.checked && prewarmCheckInterval >= 1000L)
+            this.prewarmCheckInterval = prewarmCheckInterval;
+    }
+
+    public int getCloseConnectionThreadSize() {
+        return closeConnectionThreadSize;
+    }
+
+    public void setCloseConnectionThreadSize(int closeConnectionThreadSize) {
+        if (!this.checked && closeConnectionThreadSize > 0)
+            this.closeConnectionThreadSize = closeConnectionThreadSize;
+    }
+
+    public long getCloseConnectionTimeout() {
+        return closeConnectionTimeout;
+    }
+
+    public void setCloseConnectionTimeout(long closeConnectionTimeout) {
+        if (!this.checked && closeConnectionTimeout > 0)
+            this.closeConnectionTimeout = closeConnectionTimeout;
+    }
+
+    public String getWarmHintFile() {
+        return warmHintFile;
+    }
+
+    public void setWarmHintFile(String warmHintFile) {
+        if (!this.checked && !isBlank(warmHintFile))
+            this.warmHintFile = warmHintFile;
+    }
+
+    public long getWarmHintMaxAge() {
+        return warmHintMaxAge;
+    }
+
+    public void setWarmHintMaxAge(long warmHintMaxAge) {
+        if (!this.checked && warmHintMaxAge > 0)
+            this.warmHintMaxAge = warmHintMaxAge;
+    }
+
+    public String getConnectionInitSQL() {
+        return connectionInitSQL;
+    }
+
+    public void setConnectionInitSQL(String connectionInitSQL) {
+        if (!this.checked && !isBlank(connectionInitSQL))
+            this.connectionInitSQL = connectionInitSQL;
+    }
+
+    public String getConnectionPrepareSQL() {
+        return connectionPrepareSQL;
+    }
+
+    public void setConnectionPrepareSQL(String connectionPrepareSQL) {
+        if (!this.checked && !isBlank(connectionPrepareSQL))
+            this.connectionPrepareSQL = connectionPrepareSQL;
+    }
+
+    public String getFailoverUrls() {
+        return failoverUrls;
+    }
+
+    public void setFailoverUrls(String failoverUrls) {
+        if (!this.checked && !isBlank(failoverUrls))
+            this.failoverUrls = failoverUrls;
+    }
+
+    public int getPartitionMaxSize() {
+        return partitionMaxSize;
+    }
+
+    public void setPartitionMaxSize(int partitionMaxSize) {
+        if (!this.checked && partitionMaxSize > 0)
+            this.partitionMaxSize = partitionMaxSize;
+    }
+
+    public int getPartitionMinSize() {
+        return partitionMinSize;
+    }
+
+    public void setPartitionMinSize(int partitionMinSize) {
+        if (!this.checked && partitionMinSize > 0)
+            this.partitionMinSize = partitionMinSize;
+    }
+
+    public int getStatementCacheSize() {
+        return statementCacheSize;
+    }
+
+    public void setStatementCacheSize(int statementCacheSize) {
+        if (!this.checked && statementCacheSize >= 0)
+            this.statementCacheSize = statementCacheSize;
+    }
+
+    public boolean isShadowSessionState() {
+        return shadowSessionState;
+    }
+
+    public void setShadowSessionState(boolean shadowSessionState) {
+        if (!this.checked)
+            this.shadowSessionState = shadowSessionState;
+    }
+
+    public boolean isDeferConnectionReset() {
+        return deferConnectionReset;
+    }
+
+    public void setDeferConnectionReset(boolean deferConnectionReset) {
+        if (!this.checked)
+            this.deferConnectionReset = deferConnectionReset;
+    }
+
+    public boolean isDriverSpecificProxy() {
+        return driverSpecificProxy;
+    }
+
+    public void setDriverSpecificProxy(boolean driverSpecificProxy) {
+        if (!this.checked)
+            this.driverSpecificProxy = driverSpecificProxy;
+    }
+
+    public int getSqlLatencyStatSize() {
+        return sqlLatencyStatSize;
+    }
+
+    public void setSqlLatencyStatSize(int sqlLatencyStatSize) {
+        if (!this.checked && sqlLatencyStatSize >= 0)
+            this.sqlLatencyStatSize = sqlLatencyStatSize;
+    }
+
+    public long getSlowSqlThreshold() {
+        return slowSqlThreshold;
+    }
+
+    public void setSlowSqlThreshold(long slowSqlThreshold) {
+        if (!this.checked && slowSqlThreshold >= 0)
+            this.slowSqlThreshold = slowSqlThreshold;
+    }
+
+    public String getSlowSqlLogFile() {
+        return slowSqlLogFile;
+    }
+
+    public void setSlowSqlLogFile(String slowSqlLogFile) {
+        if (!this.checked && !isBlank(slowSqlLogFile))
+            this.slowSqlLogFile = slowSqlLogFile;
+    }
+
+    public long getSlowSqlLogFileSize() {
+        return slowSqlLogFileSize;
+    }
+
+    public void setSlowSqlLogFileSize(long slowSqlLogFileSize) {
+        if (!this.checked && slowSqlLogFileSize > 0)
+            this.slowSqlLogFileSize = slowSqlLogFileSize;
+    }
+
+    public boolean isSlowSqlParameterMasked() {
+        return slowSqlParameterMasked;
+    }
+
+    public void setSlowSqlParameterMasked(boolean slowSqlParameterMasked) {
+        if (!this.checked)
+            this.slowSqlParameterMasked = slowSqlParameterMasked;
+    }
+
+    public String getAutoBatchSQL() {
+        return autoBatchSQL;
+    }
+
+    public void setAutoBatchSQL(String autoBatchSQL) {
+        if (!this.checked && !isBlank(autoBatchSQL))
+            this.autoBatchSQL = autoBatchSQL;
+    }
+
+    public int getAutoBatchSize() {
+        return autoBatchSize;
+    }
+
+    public void setAutoBatchSize(int autoBatchSize) {
+        if (!this.checked && autoBatchSize > 0)
+            this.autoBatchSize = autoBatchSize;
+    }
+
+    public String getResultCacheSQL() {
+        return resultCacheSQL;
+    }
+
+    public void setResultCacheSQL(String resultCacheSQL) {
+        if (!this.checked && !isBlank(resultCacheSQL))
+            this.resultCacheSQL = resultCacheSQL;
+    }
+
+    public int getResultCacheSize() {
+        return resultCacheSize;
+    }
+
+    public void setResultCacheSize(int resultCacheSize) {
+        if (!this.checked && resultCacheSize >= 0)
+            this.resultCacheSize = resultCacheSize;
+    }
+
+    public long getResultCacheTtl() {
+        return resultCacheTtl;
+    }
+
+    public void setResultCacheTtl(long resultCacheTtl) {
+        if (!this.checked && resultCacheTtl > 0)
+            this.resultCacheTtl = resultCacheTtl;
+    }
+
+    public String getDetachedResultSQL() {
+        return detachedResultSQL;
+    }
+
+    public void setDetachedResultSQL(String detachedResultSQL) {
+        if (!this.checked && !isBlank(detachedResultSQL))
+            this.detachedResultSQL = detachedResultSQL;
+    }
+
     public String getPoolImplementClassName() {
         return poolImplementClassName;
     }
@@ -509,6 +971,15 @@ public class BeeDataSourceConfig implements BeeDataSourceConfigJMXBean {
         }
     }
 
+    public ScheduledThreadPoolExecutor getHousekeepingExecutor() {
+        return housekeepingExecutor;
+    }
+
+    public void setHousekeepingExecutor(ScheduledThreadPoolExecutor housekeepingExecutor) {
+        if (!this.checked)
+            this.housekeepingExecutor = housekeepingExecutor;
+    }
+
     public boolean isEnableJMX() {
         return enableJMX;
     }
@@ -534,11 +1005,11 @@ public class BeeDataSourceConfig implements BeeDataSourceConfigJMXBean {
         }
     }
 
-    private Driver loadJdbcDriver(String driverClassName) throws BeeDataSourceConfigException {
+    private Driver loadJdbcDriver(String driverClassName, String url) throws BeeDataSourceConfigException {
         try {
             Class<?> driverClass = Class.forName(driverClassName, true, this.getClass().getClassLoader());
             Driver driver = (Driver) driverClass.newInstance();
-            if (!driver.acceptsURL(this.url)) throw new InstantiationException();
+            if (!driver.acceptsURL(url)) throw new InstantiationException();
             return driver;
         } catch (ClassNotFoundException e) {
             throw new BeeDataSourceConfigException("Driver class[" + driverClassName + "]not found");
@@ -551,17 +1022,30 @@ public class BeeDataSourceConfig implements BeeDataSourceConfigJMXBean {
         }
     }
 
+    //check regular expressions separated by ';'
+    private static void checkSQLPatterns(String propertyName, String regexes) throws BeeDataSourceConfigException {
+        if (isBlank(regexes)) return;
+        try {
+            for (String regex : regexes.split(";"))
+                Pattern.compile(regex.trim());
+        } catch (PatternSyntaxException e) {
+            throw new BeeDataSourceConfigException("Invalid regular expression in '" + propertyName + "'", e);
+        }
+    }
+
     //check pool configuration
     void check() throws SQLException {
         if (connectionFactory == null && isBlank(this.connectionFactoryClassName)) {
+            String[] failoverUrlArray = isBlank(failoverUrls) ? null : failoverUrls.split(",");
+            String firstUrl = failoverUrlArray != null ? failoverUrlArray[0].trim() : url;
             Driver connectDriver = null;
             if (!isBlank(driverClassName)) {
-                connectDriver = loadJdbcDriver(driverClassName);
-            } else if (!isBlank(url)) {
-                connectDriver = DriverManager.getDriver(this.url);
+                connectDriver = loadJdbcDriver(driverClassName, firstUrl);
+            } else if (!isBlank(firstUrl)) {
+                connectDriver = DriverManager.getDriver(firstUrl);
             }
 
-            if (isBlank(url))
+            if (isBlank(firstUrl))
                 throw new BeeDataSourceConfigException("Connect url can't be null");
             if (connectDriver == null)
                 throw new BeeDataSourceConfigException("Failed to load jdbc Driver");
@@ -571,7 +1055,10 @@ public class BeeDataSourceConfig implements BeeDataSourceConfigJMXBean {
             if (!isBlank(this.password))
                 this.connectProperties.put("password", this.password);
 
-            connectionFactory = new DriverConnectionFactory(url, connectDriver, connectProperties);
+            if (failoverUrlArray != null)
+                connectionFactory = new FailoverConnectionFactory(failoverUrlArray, connectDriver, connectProperties);
+            else
+                connectionFactory = new DriverConnectionFactory(url, connectDriver, connectProperties);
         } else if (connectionFactory == null && !isBlank(this.connectionFactoryClassName)) {
             try {
                 Class<?> conFactClass = Class.forName(connectionFactoryClassName, true, BeeDataSourceConfig.class.getClassLoader());
@@ -637,6 +1124,19 @@ public class BeeDataSourceConfig implements BeeDataSourceConfigJMXBean {
             throw new BeeDataSourceConfigException("Connection 'holdTimeout' must be greater than zero");
         if (this.maxWait <= 0)
             throw new BeeDataSourceConfigException("Borrower 'maxWait' must be greater than zero");
+        if (this.elasticMinActive > maxActive)
+            throw new BeeDataSourceConfigException("Pool 'elasticMinActive' must not be greater than 'maxActive'");
+        if (this.prewarmMaxSize > maxActive)
+            throw new BeeDataSourceConfigException("Pool 'prewarmMaxSize' must not be greater than 'maxActive'");
+        if (this.partitionMaxSize > maxActive)
+            throw new BeeDataSourceConfigException("Pool 'partitionMaxSize' must not be greater than 'maxActive'");
+        if (this.partitionMaxSize > 0 && this.partitionMinSize > this.partitionMaxSize)
+            throw new BeeDataSourceConfigException("Pool 'partitionMinSize' must not be greater than 'partitionMaxSize'");
+        if (this.createFailureThreshold > 0 && this.createBackoffMax < this.createBackoffInitial)
+            throw new BeeDataSourceConfigException("'createBackoffMax' must not be less than 'createBackoffInitial'");
+        checkSQLPatterns("resultCacheSQL", this.resultCacheSQL);
+        checkSQLPatterns("detachedResultSQL", this.detachedResultSQL);
+        checkSQLPatterns("autoBatchSQL", this.autoBatchSQL);
 
         defaultTransactionIsolationCode = TransactionIsolationLevel.nameToCode(defaultTransactionIsolation);
         if (defaultTransactionIsolationCode == -999) {
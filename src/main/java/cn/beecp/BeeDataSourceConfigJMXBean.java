@@ -72,6 +72,74 @@ public interface BeeDataSourceConfigJMXBean {
 
     long getIdleCheckTimeInitDelay();
 
+    int getCreateFailureThreshold();
+
+    long getCreateBackoffInitial();
+
+    long getCreateBackoffMax();
+
+    boolean isEnableElasticSize();
+
+    int getElasticMinActive();
+
+    long getElasticCheckInterval();
+
+    long getElasticWaitThreshold();
+
+    boolean isEnablePrewarm();
+
+    int getPrewarmMaxSize();
+
+    long getPrewarmCheckInterval();
+
+    int getCloseConnectionThreadSize();
+
+    long getCloseConnectionTimeout();
+
+    String getWarmHintFile();
+
+    long getWarmHintMaxAge();
+
+    String getConnectionInitSQL();
+
+    String getConnectionPrepareSQL();
+
+    String getFailoverUrls();
+
+    int getPartitionMaxSize();
+
+    int getPartitionMinSize();
+
+    int getStatementCacheSize();
+
+    boolean isShadowSessionState();
+
+    boolean isDeferConnectionReset();
+
+    boolean isDriverSpecificProxy();
+
+    int getSqlLatencyStatSize();
+
+    long getSlowSqlThreshold();
+
+    String getSlowSqlLogFile();
+
+    long getSlowSqlLogFileSize();
+
+    boolean isSlowSqlParameterMasked();
+
+    String getAutoBatchSQL();
+
+    int getAutoBatchSize();
+
+    String getResultCacheSQL();
+
+    int getResultCacheSize();
+
+    long getResultCacheTtl();
+
+    String getDetachedResultSQL();
+
     String getPoolImplementClassName();
 
     boolean isEnableJMX();
@@ -0,0 +1,206 @@
+/*
+ * Copyright Chris2018998
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.beecp;
+
+import javax.sql.DataSource;
+import java.io.PrintWriter;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+
+/**
+ * Read/write splitting DataSource on a primary pool and some replica pools.
+ * <p>
+ * 1) {@link #getConnection()}:connection from primary,or a lazy connection when 'lazyConnection'
+ * is true,which is routed to a replica if 'setReadOnly(true)' called before first use
+ * 2) {@link #getReadConnection()}:connection from the replica with most available connections
+ * (idle size minus waiter size),lagging replicas excluded by {@link ReplicationLagChecker};
+ * primary is used when no replica available;uninitialized replica is treated as available and initialized on first borrow
+ *
+ * @author Chris.Liao
+ * @version 1.0
+ */
+public class BeeRoutingDataSource implements DataSource {
+    private final BeeDataSource primary;
+    private final BeeDataSource[] replicas;
+    private final AtomicInteger routeIndex = new AtomicInteger(0);
+    private volatile ReplicationLagChecker lagChecker;
+    private volatile boolean lazyConnection;
+
+    public BeeRoutingDataSource(BeeDataSource primary, BeeDataSource... replicas) {
+        if (primary == null) throw new IllegalArgumentException("Primary data source can't be null");
+        this.primary = primary;
+        this.replicas = replicas != null ? replicas : new BeeDataSource[0];
+    }
+
+    public void setReplicationLagChecker(ReplicationLagChecker lagChecker) {
+        this.lagChecker = lagChecker;
+    }
+
+    public void setLazyConnection(boolean lazyConnection) {
+        this.lazyConnection = lazyConnection;
+    }
+
+    public BeeDataSource getPrimary() {
+        return primary;
+    }
+
+    /**
+     * @return a connection from primary,or a lazy routing connection when 'lazyConnection' is true
+     * @throws SQLException if pool is closed or waiting timeout
+     */
+    public Connection getConnection() throws SQLException {
+        if (!lazyConnection) return primary.getConnection();
+        return (Connection) Proxy.newProxyInstance(BeeRoutingDataSource.class.getClassLoader(),
+                new Class[]{Connection.class}, new LazyRoutingHandler());
+    }
+
+    /**
+     * @return a connection from the least busy replica,or from primary if no replica available
+     * @throws SQLException if pool is closed or waiting timeout
+     */
+    public Connection getReadConnection() throws SQLException {
+        BeeDataSource replica = selectReplica();
+        return replica != null ? replica.getConnection() : primary.getConnection();
+    }
+
+    //select replica with max available connections,round robin on equal
+    private BeeDataSource selectReplica() {
+        int size = replicas.length;
+        if (size == 0) return null;
+
+        ReplicationLagChecker checker = lagChecker;
+        BeeDataSource selected = null;
+        int maxAvailable = Integer.MIN_VALUE;
+        int start = (routeIndex.getAndIncrement() & Integer.MAX_VALUE) % size;
+        for (int i = 0; i < size; i++) {
+            BeeDataSource replica = replicas[(start + i) % size];
+            int available = replica.getRoutingAvailableSize();//uninitialized replica is available
+            if (available == Integer.MIN_VALUE) continue;
+            if (checker != null && checker.isLagging(replica)) continue;
+            if (available > maxAvailable) {
+                maxAvailable = available;
+                selected = replica;
+            }
+        }
+        return selected;
+    }
+
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLException("Not support");
+    }
+
+    public void close() {
+        primary.close();
+        for (BeeDataSource replica : replicas)
+            replica.close();
+    }
+
+    public PrintWriter getLogWriter() throws SQLException {
+        throw new SQLException("Not supported");
+    }
+
+    public void setLogWriter(PrintWriter out) throws SQLException {
+        throw new SQLException("Not supported");
+    }
+
+    public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        throw new SQLFeatureNotSupportedException("Not supported");
+    }
+
+    public int getLoginTimeout() throws SQLException {
+        throw new SQLException("Not supported");
+    }
+
+    public void setLoginTimeout(int seconds) throws SQLException {
+        throw new SQLException("Not supported");
+    }
+
+    public boolean isWrapperFor(Class<?> iface) throws SQLException {
+        return iface.isInstance(this);
+    }
+
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        if (iface.isInstance(this))
+            return (T) this;
+        else
+            throw new SQLException("Wrapped object is not an instance of " + iface);
+    }
+
+    /**
+     * Connection borrowed on first use,settings before that(readOnly,autoCommit,
+     * transactionIsolation) are recorded and applied on target connection.
+     */
+    private final class LazyRoutingHandler implements InvocationHandler {
+        private Connection target;
+        private boolean closed;
+        private boolean readOnly;
+        private Boolean autoCommit;
+        private Integer transactionIsolation;
+
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (target == null) {
+                if ("setReadOnly".equals(name)) {
+                    readOnly = (Boolean) args[0];
+                    return null;
+                } else if ("isReadOnly".equals(name)) {
+                    return readOnly;
+                } else if ("setAutoCommit".equals(name)) {
+                    autoCommit = (Boolean) args[0];
+                    return null;
+                } else if ("setTransactionIsolation".equals(name)) {
+                    transactionIsolation = (Integer) args[0];
+                    return null;
+                } else if ("close".equals(name)) {
+                    closed = true;
+                    return null;
+                } else if ("isClosed".equals(name)) {
+                    return closed;
+                } else if ("toString".equals(name)) {
+                    return "LazyRoutingConnection@" + Integer.toHexString(System.identityHashCode(proxy));
+                } else if ("hashCode".equals(name)) {
+                    return System.identityHashCode(proxy);
+                } else if ("equals".equals(name)) {
+                    return proxy == args[0];
+                }
+                if (closed) throw new SQLException("No operations allowed after connection closed.");
+                target = readOnly ? getReadConnection() : primary.getConnection();
+                try {
+                    if (readOnly) target.setReadOnly(true);
+                    if (autoCommit != null) target.setAutoCommit(autoCommit);
+                    if (transactionIsolation != null) target.setTransactionIsolation(transactionIsolation);
+                } catch (SQLException e) {
+                    target.close();
+                    target = null;
+                    throw e;
+                }
+            }
+
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+            }
+        }
+    }
+}
@@ -0,0 +1,184 @@
+/*
+ * Copyright Chris2018998
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.beecp;
+
+import cn.beecp.pool.ConnectionPoolMonitorVo;
+
+import javax.sql.DataSource;
+import java.io.PrintWriter;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.logging.Logger;
+
+import static cn.beecp.pool.PoolStaticCenter.isBlank;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+/**
+ * Sharding DataSource over multiple pools,which are created from a template configuration
+ * and shard urls,and share one housekeeping executor.
+ *
+ * @author Chris.Liao
+ * @version 1.0
+ */
+public class BeeShardingDataSource implements DataSource {
+    private final String name;
+    private final BeeDataSource[] shards;
+    private final ShardFunction shardFunction;
+    private final ScheduledThreadPoolExecutor housekeepingExecutor;
+
+    /**
+     * constructor with hash-modulo shard function
+     *
+     * @param template  template configuration of shard pools
+     * @param shardUrls jdbc url of shards
+     */
+    public BeeShardingDataSource(BeeDataSourceConfig template, String[] shardUrls) {
+        this(template, shardUrls, new ShardFunction() {
+            public int shard(Object shardKey, int shardCount) {
+                return (shardKey.hashCode() & Integer.MAX_VALUE) % shardCount;
+            }
+        });
+    }
+
+    /**
+     * constructor
+     *
+     * @param template      template configuration of shard pools
+     * @param shardUrls     jdbc url of shards
+     * @param shardFunction function to map shard key to index of shard urls
+     */
+    public BeeShardingDataSource(BeeDataSourceConfig template, String[] shardUrls, ShardFunction shardFunction) {
+        if (shardUrls == null || shardUrls.length == 0)
+            throw new IllegalArgumentException("Shard urls can't be empty");
+        if (shardFunction == null)
+            throw new IllegalArgumentException("Shard function can't be null");
+
+        this.name = !isBlank(template.getPoolName()) ? template.getPoolName() : "ShardingPool";
+        this.shardFunction = shardFunction;
+        this.housekeepingExecutor = new ScheduledThreadPoolExecutor(Math.max(2, Math.min(shardUrls.length,
+                Runtime.getRuntime().availableProcessors())), new ThreadFactory() {
+            public Thread newThread(Runnable r) {
+                Thread th = new Thread(r, name + "-Housekeeping");
+                th.setDaemon(true);
+                return th;
+            }
+        });
+        housekeepingExecutor.setKeepAliveTime(15, SECONDS);
+        housekeepingExecutor.allowCoreThreadTimeOut(true);
+
+        this.shards = new BeeDataSource[shardUrls.length];
+        try {
+            for (int i = 0; i < shardUrls.length; i++) {
+                BeeDataSourceConfig shardConfig = new BeeDataSourceConfig();
+                template.copyTo(shardConfig);
+                shardConfig.setUrl(shardUrls[i]);
+                shardConfig.setPoolName(name + "-shard" + i);
+                shardConfig.setHousekeepingExecutor(housekeepingExecutor);
+                shards[i] = new BeeDataSource(shardConfig);
+            }
+        } catch (Throwable e) {
+            close();
+            if (e instanceof Error) throw (Error) e;
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    /**
+     * @param shardKey shard key
+     * @return a connection from pool of the shard
+     * @throws SQLException if pool is closed or waiting timeout
+     */
+    public Connection getConnection(Object shardKey) throws SQLException {
+        return getShard(shardKey).getConnection();
+    }
+
+    public BeeDataSource getShard(Object shardKey) throws SQLException {
+        if (shardKey == null) throw new SQLException("Shard key can't be null");
+        int index = shardFunction.shard(shardKey, shards.length);
+        if (index < 0 || index >= shards.length)
+            throw new SQLException("Shard index(" + index + ")out of range[0," + shards.length + ")");
+        return shards[index];
+    }
+
+    public int getShardCount() {
+        return shards.length;
+    }
+
+    /**
+     * @return monitor vo of shard
+     */
+    public ConnectionPoolMonitorVo getShardMonitorVo(int index) {
+        return shards[index].getPoolMonitorVo();
+    }
+
+    /**
+     * @return aggregated monitor vo of all shards
+     */
+    public ConnectionPoolMonitorVo getMonitorVo() {
+        ConnectionPoolMonitorVo[] voArray = new ConnectionPoolMonitorVo[shards.length];
+        for (int i = 0; i < shards.length; i++)
+            voArray[i] = shards[i].getPoolMonitorVo();
+        return ConnectionPoolMonitorVo.aggregate(name, voArray);
+    }
+
+    public Connection getConnection() throws SQLException {
+        throw new SQLException("Shard key required,please use 'getConnection(shardKey)'");
+    }
+
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLException("Not support");
+    }
+
+    public void close() {
+        for (BeeDataSource shard : shards)
+            if (shard != null) shard.close();
+        housekeepingExecutor.shutdownNow();
+    }
+
+    public PrintWriter getLogWriter() throws SQLException {
+        throw new SQLException("Not supported");
+    }
+
+    public void setLogWriter(PrintWriter out) throws SQLException {
+        throw new SQLException("Not supported");
+    }
+
+    public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        throw new SQLFeatureNotSupportedException("Not supported");
+    }
+
+    public int getLoginTimeout() throws SQLException {
+        throw new SQLException("Not supported");
+    }
+
+    public void setLoginTimeout(int seconds) throws SQLException {
+        throw new SQLException("Not supported");
+    }
+
+    public boolean isWrapperFor(Class<?> iface) throws SQLException {
+        return iface.isInstance(this);
+    }
+
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        if (iface.isInstance(this))
+            return (T) this;
+        else
+            throw new SQLException("Wrapped object is not an instance of " + iface);
+    }
+}
@@ -0,0 +1,36 @@
+/*
+ * Copyright Chris2018998
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.beecp;
+
+/**
+ * Detached result mode of pool statements,got by 'statement.unwrap(ResultDetachable.class)'.
+ * <p>
+ * In the mode,results of 'executeQuery' are read fully into memory and the driver result set is closed,
+ * so the statement and connection can be closed(returned to pool) before iterating the result.
+ * Results with lob,array or struct columns are not detached.
+ *
+ * @author Chris.Liao
+ * @version 1.0
+ */
+public interface ResultDetachable {
+
+    /**
+     * @param detached true,query results detached from connection
+     */
+    void setResultDetached(boolean detached);
+
+    boolean isResultDetached();
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright Chris2018998
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.beecp.pool;
+
+import java.sql.SQLException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static cn.beecp.pool.PoolStaticCenter.*;
+import static java.lang.System.currentTimeMillis;
+
+/**
+ * Circuit breaker on physical connection creation.
+ * <p>
+ * After 'failureThreshold' continuous creation failures,the breaker opens and
+ * creation requests fail fast until a backoff time elapsed,then only one probe
+ * creation is allowed(half-open).A successful probe closes the breaker,a failed
+ * probe opens it again with a doubled backoff(bounded by 'maxBackoff',plus jitter).
+ *
+ * @author Chris.Liao
+ * @version 1.0
+ */
+final class ConnectionCreateBreaker {
+    private final int failureThreshold;
+    private final long initialBackoff;//milliseconds
+    private final long maxBackoff;//milliseconds
+    private final AtomicInteger state = new AtomicInteger(BREAKER_CLOSED);
+    private final AtomicInteger failureCount = new AtomicInteger(0);
+    private volatile long openUntil;
+    private volatile long curBackoff;
+    private volatile SQLException lastFailure;
+
+    ConnectionCreateBreaker(int failureThreshold, long initialBackoff, long maxBackoff) {
+        this.failureThreshold = failureThreshold;
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = Math.max(initialBackoff, maxBackoff);
+        this.curBackoff = initialBackoff;
+    }
+
+    /**
+     * @return true,caller can try to create a connection;false,breaker is open
+     */
+    boolean tryAcquire() {
+        int curState = state.get();
+        if (curState == BREAKER_CLOSED) return true;
+        if (curState == BREAKER_OPEN && currentTimeMillis() - openUntil >= 0)
+            return state.compareAndSet(BREAKER_OPEN, BREAKER_HALF_OPEN);//only one probe
+        return false;
+    }
+
+    void onSuccess() {
+        failureCount.set(0);
+        if (state.get() != BREAKER_CLOSED) {
+            curBackoff = initialBackoff;
+            state.set(BREAKER_CLOSED);
+            commonLog.info("Connection creation circuit breaker closed");
+        }
+    }
+
+    void onFailure(SQLException cause) {
+        lastFailure = cause;
+        if (state.get() == BREAKER_HALF_OPEN) {//probe failed
+            curBackoff = Math.min(curBackoff << 1, maxBackoff);
+            openUntil = currentTimeMillis() + jitter(curBackoff);
+            state.set(BREAKER_OPEN);
+        } else if (failureCount.incrementAndGet() >= failureThreshold && state.get() == BREAKER_CLOSED) {
+            openUntil = currentTimeMillis() + jitter(curBackoff);
+            if (state.compareAndSet(BREAKER_CLOSED, BREAKER_OPEN))
+                commonLog.warn("Connection creation circuit breaker opened after {} continuous failures", failureCount.get());
+        }
+    }
+
+    //close breaker without probe,for example connection factory changed
+    void reset() {
+        failureCount.set(0);
+        lastFailure = null;
+        curBackoff = initialBackoff;
+        if (state.getAndSet(BREAKER_CLOSED) != BREAKER_CLOSED)
+            commonLog.info("Connection creation circuit breaker reset");
+    }
+
+    boolean isOpen() {
+        return state.get() != BREAKER_CLOSED;
+    }
+
+    String getStateDesc() {
+        switch (state.get()) {
+            case BREAKER_OPEN:
+                return "open";
+            case BREAKER_HALF_OPEN:
+                return "half-open";
+            default:
+                return "closed";
+        }
+    }
+
+    SQLException createOpenException() {
+        SQLException cause = lastFailure;
+        String msg = state.get() == BREAKER_HALF_OPEN ? "Connection creation circuit breaker is half-open,a probe creation is in progress" :
+                "Connection creation circuit breaker is open,retry after " + Math.max(0, openUntil - currentTimeMillis()) + "ms";
+        return cause != null ? new SQLException(msg, cause) : new SQLException(msg);
+    }
+
+    //half of backoff fixed,the other half random
+    private static long jitter(long backoff) {
+        long half = backoff >>> 1;
+        return half + ThreadLocalRandom.current().nextLong(half + 1);
+    }
+}
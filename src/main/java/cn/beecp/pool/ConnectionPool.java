@@ -44,6 +44,15 @@ public interface ConnectionPool {
      */
     Connection getConnection() throws SQLException;
 
+    /**
+     * borrow a connection within quota of a partition(tenant)
+     *
+     * @param partitionKey partition key
+     * @return a connection from pool
+     * @throws SQLException if pool is closed or waiting timeout,then throw exception
+     */
+    Connection getConnection(Object partitionKey) throws SQLException;
+
     /**
      * return connection to pool
      *
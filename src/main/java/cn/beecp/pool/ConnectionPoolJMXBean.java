@@ -35,6 +35,12 @@ public interface ConnectionPoolJMXBean {
      */
     void reset(boolean force);
 
+    /**
+     * replace all connections without blocking borrowers,using connections
+     * are replaced when they are returned
+     */
+    void rollingReset();
+
     //return connection total size in pool
     int getConnTotalSize();
 
@@ -50,5 +56,53 @@ public interface ConnectionPoolJMXBean {
 
     int getTransferWaitingSize();
 
+    //return current effective max size of pool
+    int getPoolMaxSize();
+
+    //change max size of pool,surplus connections are removed when they become idle
+    void setPoolMaxSize(int size);
+
+    //return permit size of borrow semaphore
+    int getBorrowSemaphoreSize();
+
+    //change permit size of borrow semaphore,acquired permits are not affected
+    void setBorrowSemaphoreSize(int size);
+
+    //return average time(milliseconds) to create a physical connection
+    long getConnCreateAvgTime();
+
+    //return resize decisions of elastic size controller,the latest first
+    String[] getElasticResizeHistory();
+
+    //return prewarm forecast accuracy(0.0 to 1.0)
+    double getPrewarmForecastAccuracy();
+
+    //return rate of prewarmed connections borrowed(0.0 to 1.0)
+    double getPrewarmHitRate();
+
+    //return hit ratio of PreparedStatement cache on pooled connections
+    double getStatementCacheHitRatio();
+
+    //return latency statistics of sql with highest p99 latency,empty when sql latency statistics disabled
+    String[] getSqlTopByP99(int size);
+
+    //return latency statistics of sql with highest total latency,empty when sql latency statistics disabled
+    String[] getSqlTopByTotalTime(int size);
+
+    //return count of slow sql records dropped on full buffer of slow sql log
+    long getSlowSqlDroppedCount();
+
+    //return hit ratio of query result cache,zero when result cache disabled
+    double getResultCacheHitRatio();
+
+    //remove all cached query results
+    void clearResultCache();
+
+    //return state of connection creation breaker:closed,open,half-open or disabled
+    String getConnCreateBreakerState();
+
+    //return health of hosts(latency,error rate,last failure) when failover urls configured,otherwise empty
+    String[] getConnectHostHealth();
+
 }
 
@@ -95,4 +95,29 @@ public class ConnectionPoolMonitorVo {
     void setTransferWaiterSize(int transferWaiterSize) {
         this.transferWaiterSize = transferWaiterSize;
     }
+
+    /**
+     * aggregate monitor vo of multiple pools,sizes are summed
+     *
+     * @param poolName name of aggregated vo
+     * @param voArray  monitor vo of pools,null element ignored
+     * @return aggregated vo,whose state is the min state of pools
+     */
+    public static ConnectionPoolMonitorVo aggregate(String poolName, ConnectionPoolMonitorVo[] voArray) {
+        ConnectionPoolMonitorVo sumVo = new ConnectionPoolMonitorVo();
+        sumVo.setPoolName(poolName);
+        sumVo.setPoolState(Integer.MAX_VALUE);
+        for (ConnectionPoolMonitorVo vo : voArray) {
+            if (vo == null) continue;
+            if (sumVo.getPoolMode() == null) sumVo.setPoolMode(vo.getPoolMode());
+            sumVo.setPoolState(Math.min(sumVo.getPoolState(), vo.getPoolState()));
+            sumVo.setMaxActive(sumVo.getMaxActive() + vo.getMaxActive());
+            sumVo.setIdleSize(sumVo.getIdleSize() + vo.getIdleSize());
+            sumVo.setUsingSize(sumVo.getUsingSize() + vo.getUsingSize());
+            sumVo.setSemaphoreWaiterSize(sumVo.getSemaphoreWaiterSize() + vo.getSemaphoreWaiterSize());
+            sumVo.setTransferWaiterSize(sumVo.getTransferWaiterSize() + vo.getTransferWaiterSize());
+        }
+        if (sumVo.getPoolState() == Integer.MAX_VALUE) sumVo.setPoolState(PoolStaticCenter.POOL_UNINIT);
+        return sumVo;
+    }
 }
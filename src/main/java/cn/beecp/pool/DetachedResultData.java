@@ -0,0 +1,274 @@
+/*
+ * Copyright Chris2018998
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.beecp.pool;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.Arrays;
+
+import static java.sql.Types.*;
+
+/**
+ * Rows and meta data of a driver result set read into memory,which can be shared by
+ * multiple {@link DetachedResultSet},so it is not changed after read.
+ * <p>
+ * Values are stored by column:columns of Integer,Long,Double,Float and Boolean(by driver column class name)
+ * in primitive arrays with null bits,other columns in object arrays.
+ *
+ * @author Chris.Liao
+ * @version 1.0
+ */
+final class DetachedResultData {
+    private static final byte OBJECT = 0;
+    private static final byte INT = 1;
+    private static final byte LONG = 2;
+    private static final byte DOUBLE = 3;
+    private static final byte FLOAT = 4;
+    private static final byte BOOL = 5;
+    private static final int INITIAL_CAPACITY = 64;
+
+    final DetachedResultSetMetaData metaData;
+    final int columnCount;
+    final int rowCount;
+    private final byte[] kinds;
+    private final Object[] columns;//array of values per column
+    private final long[][] nullBits;//null bits of primitive columns
+
+    private DetachedResultData(DetachedResultSetMetaData metaData, byte[] kinds, Object[] columns, long[][] nullBits, int rowCount) {
+        this.metaData = metaData;
+        this.columnCount = kinds.length;
+        this.kinds = kinds;
+        this.columns = columns;
+        this.nullBits = nullBits;
+        this.rowCount = rowCount;
+    }
+
+    /**
+     * @param metaData meta data of driver result set
+     * @return false,if some column values live on connection(lob,array,ref,struct,xml,rowid)
+     */
+    static boolean isDetachable(ResultSetMetaData metaData) throws SQLException {
+        for (int i = 1, size = metaData.getColumnCount(); i <= size; i++) {
+            switch (metaData.getColumnType(i)) {
+                case BLOB:
+                case CLOB:
+                case NCLOB:
+                case ARRAY:
+                case REF:
+                case STRUCT:
+                case SQLXML:
+                case ROWID:
+                case DATALINK:
+                    return false;
+                default:
+                    break;
+            }
+        }
+        return true;
+    }
+
+    private static byte kindOf(String className) {
+        if ("java.lang.Integer".equals(className)) return INT;
+        if ("java.lang.Long".equals(className)) return LONG;
+        if ("java.lang.Double".equals(className)) return DOUBLE;
+        if ("java.lang.Float".equals(className)) return FLOAT;
+        if ("java.lang.Boolean".equals(className)) return BOOL;
+        return OBJECT;
+    }
+
+    private static Object newColumn(byte kind, int capacity) {
+        switch (kind) {
+            case INT:
+                return new int[capacity];
+            case LONG:
+                return new long[capacity];
+            case DOUBLE:
+                return new double[capacity];
+            case FLOAT:
+                return new float[capacity];
+            case BOOL:
+                return new boolean[capacity];
+            default:
+                return new Object[capacity];
+        }
+    }
+
+    private static Object resizeColumn(Object column, byte kind, int size) {
+        switch (kind) {
+            case INT:
+                return Arrays.copyOf((int[]) column, size);
+            case LONG:
+                return Arrays.copyOf((long[]) column, size);
+            case DOUBLE:
+                return Arrays.copyOf((double[]) column, size);
+            case FLOAT:
+                return Arrays.copyOf((float[]) column, size);
+            case BOOL:
+                return Arrays.copyOf((boolean[]) column, size);
+            default:
+                return Arrays.copyOf((Object[]) column, size);
+        }
+    }
+
+    /**
+     * read all rows of driver result set,which is not closed here
+     *
+     * @param re driver result set with detachable columns
+     * @return data of result set
+     * @throws SQLException if failed to read
+     */
+    static DetachedResultData read(ResultSet re) throws SQLException {
+        DetachedResultSetMetaData metaData = new DetachedResultSetMetaData(re.getMetaData());
+        int columnCount = metaData.getColumnCount();
+        int[] types = new int[columnCount];
+        byte[] kinds = new byte[columnCount];
+        Object[] columns = new Object[columnCount];
+        long[][] nullBits = new long[columnCount][];
+        int capacity = INITIAL_CAPACITY;
+        for (int i = 0; i < columnCount; i++) {
+            types[i] = metaData.getColumnType(i + 1);
+            kinds[i] = kindOf(metaData.getColumnClassName(i + 1));
+            columns[i] = newColumn(kinds[i], capacity);
+            if (kinds[i] != OBJECT) nullBits[i] = new long[capacity >> 6];
+        }
+
+        int row = 0;
+        while (re.next()) {
+            if (row == capacity) {
+                capacity = capacity << 1;
+                for (int i = 0; i < columnCount; i++) {
+                    columns[i] = resizeColumn(columns[i], kinds[i], capacity);
+                    if (nullBits[i] != null) nullBits[i] = Arrays.copyOf(nullBits[i], capacity >> 6);
+                }
+            }
+
+            for (int i = 0; i < columnCount; i++) {
+                int column = i + 1;
+                switch (kinds[i]) {
+                    case INT:
+                        ((int[]) columns[i])[row] = re.getInt(column);
+                        break;
+                    case LONG:
+                        ((long[]) columns[i])[row] = re.getLong(column);
+                        break;
+                    case DOUBLE:
+                        ((double[]) columns[i])[row] = re.getDouble(column);
+                        break;
+                    case FLOAT:
+                        ((float[]) columns[i])[row] = re.getFloat(column);
+                        break;
+                    case BOOL:
+                        ((boolean[]) columns[i])[row] = re.getBoolean(column);
+                        break;
+                    default: {
+                        switch (types[i]) {//jdbc types instead of driver types
+                            case DATE:
+                                ((Object[]) columns[i])[row] = re.getDate(column);
+                                break;
+                            case TIME:
+                                ((Object[]) columns[i])[row] = re.getTime(column);
+                                break;
+                            case TIMESTAMP:
+                                ((Object[]) columns[i])[row] = re.getTimestamp(column);
+                                break;
+                            default:
+                                ((Object[]) columns[i])[row] = re.getObject(column);
+                        }
+                        continue;
+                    }
+                }
+                if (re.wasNull()) nullBits[i][row >> 6] |= 1L << row;
+            }
+            row++;
+        }
+
+        //trim to row count
+        for (int i = 0; i < columnCount; i++) {
+            columns[i] = resizeColumn(columns[i], kinds[i], row);
+            if (nullBits[i] != null) nullBits[i] = Arrays.copyOf(nullBits[i], (row + 63) >> 6);
+        }
+        return new DetachedResultData(metaData, kinds, columns, nullBits, row);
+    }
+
+    //row and column start from 1
+    boolean isPrimitive(int column) {
+        return kinds[column - 1] != OBJECT;
+    }
+
+    boolean isNull(int row, int column) {
+        long[] bits = nullBits[column - 1];
+        if (bits == null) return ((Object[]) columns[column - 1])[row - 1] == null;
+        int index = row - 1;
+        return (bits[index >> 6] & (1L << index)) != 0;
+    }
+
+    Object getObject(int row, int column) {
+        if (isNull(row, column)) return null;
+        Object values = columns[column - 1];
+        int index = row - 1;
+        switch (kinds[column - 1]) {
+            case INT:
+                return ((int[]) values)[index];
+            case LONG:
+                return ((long[]) values)[index];
+            case DOUBLE:
+                return ((double[]) values)[index];
+            case FLOAT:
+                return ((float[]) values)[index];
+            case BOOL:
+                return ((boolean[]) values)[index];
+            default:
+                return ((Object[]) values)[index];
+        }
+    }
+
+    //value of primitive column
+    long getLong(int row, int column) {
+        Object values = columns[column - 1];
+        int index = row - 1;
+        switch (kinds[column - 1]) {
+            case INT:
+                return ((int[]) values)[index];
+            case LONG:
+                return ((long[]) values)[index];
+            case DOUBLE:
+                return (long) ((double[]) values)[index];
+            case FLOAT:
+                return (long) ((float[]) values)[index];
+            default:
+                return ((boolean[]) values)[index] ? 1L : 0L;
+        }
+    }
+
+    //value of primitive column
+    double getDouble(int row, int column) {
+        Object values = columns[column - 1];
+        int index = row - 1;
+        switch (kinds[column - 1]) {
+            case INT:
+                return ((int[]) values)[index];
+            case LONG:
+                return ((long[]) values)[index];
+            case DOUBLE:
+                return ((double[]) values)[index];
+            case FLOAT:
+                return ((float[]) values)[index];
+            default:
+                return ((boolean[]) values)[index] ? 1D : 0D;
+        }
+    }
+}
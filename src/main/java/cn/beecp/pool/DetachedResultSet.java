@@ -0,0 +1,453 @@
+/*
+ * Copyright Chris2018998
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.beecp.pool;
+
+import java.io.InputStream;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.sql.*;
+
+/**
+ * Read only ResultSet on detached data,generated by {@link ProxySourceGenerator},do not edit
+ *
+ * @author Chris.Liao
+ * @version 1.0
+ */
+public final class DetachedResultSet extends DetachedResultSetBase {
+    public DetachedResultSet(DetachedResultData data, Statement statement) {
+        super(data, statement);
+    }
+
+    public void cancelRowUpdates() throws SQLException {
+        throw new SQLFeatureNotSupportedException("Not supported on detached result set");
+    }
+
+    public void deleteRow() throws SQLException {
+        throw new SQLFeatureNotSupportedException("Not supported on detached result set");
+    }
+
+    public Array getArray(String p1) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Not supported on detached result set");
+    }
+
+    public Array getArray(int p1) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Not supported on detached result set");
+    }
+
+    public Blob getBlob(String p1) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Not supported on detached result set");
+    }
+
+    public Blob getBlob(int p1) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Not supported on detached result set");
+    }
+
+    public Clob getClob(String p1) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Not supported on detached result set");
+    }
+
+    public Clob getClob(int p1) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Not supported on detached result set");
+    }
+
+    public String getCursorName() throws SQLException {
+        throw new SQLFeatureNotSupportedException("Not supported on detached result set");
+    }
+
+    public NClob getNClob(String p1) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Not supported on detached result set");
+    }
+
+    public NClob getNClob(int p1) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Not supported on detached result set");
+    }
+
+    public Ref getRef(String p1) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Not supported on detached result set");
+    }
+
+    public Ref getRef(int p1) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Not supported on detached result set");
+    }
+
+    public RowId getRowId(String p1) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Not supported on detached result set");
+    }
+
+    public RowId getRowId(int p1) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Not supported on detached result set");
+    }
+
+    public SQLXML getSQLXML(String p1) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Not supported on detached result set");
+    }
+
+    public SQLXML getSQLXML(int p1) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Not supported on detached result set");
+    }
+
+    public InputStream getUnicodeStream(String p1) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Not supported on detached result set");
+    }
+
+    public InputStream getUnicodeStream(int p1) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Not supported on detached result set");
+    }
+
+    public void insertRow() throws SQLException {
+        throw new SQLFeatureNotSupportedException("Not supported on detached result set");
+    }
+
+    public void moveToInsertRow() throws SQLException {
+        throw new SQLFeatureNotSupportedException("Not supported on detached result set");
+    }
+
+    public void refreshRow() throws SQLException {
+        throw new SQLFeatureNotSupportedException("Not supported on detached result set");
+    }
+
+    public void updateArray(String p1, Array p2) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Not supported on detached result set");
+    }
+
+    public void updateArray(int p1, Array p2) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Not supported on detached result set");
+    }
+
+    public void updateAsciiStream(String p1, InputStream p2, int p3) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Not supported on detached result set");
+    }
+
+    public void updateAsciiStream(String p1, InputStream p2, long p3) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Not supported on detached result set");
+    }
+
+    public void updateAsciiStream(String p1, InputStream p2) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Not supported on detached result set");
+    }
+
+    public void updateAsciiStream(int p1, InputStream p2, int p3) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Not supported on detached result set");
+    }
+
+    public void updateAsciiStream(int p1, InputStream p2, long p3) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Not supported on detached result set");
+    }
+
+    public void updateAsciiStream(int p1, InputStream p2) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Not supported on detached result set");
+    }
+
+    public void updateBigDecimal(String p1, BigDecimal p2) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Not supported on detached result set");
+    }
+
+    public void updateBigDecimal(int p1, BigDecimal p2) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Not supported on detached result set");
+    }
+
+    public void updateBinaryStream(String p1, InputStream p2, int p3) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Not supported on detached result set");
+    }
+
+    public void updateBinaryStream(String p1, InputStream p2, long p3) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Not supported on detached result set");
+    }
+
+    public void updateBinaryStream(String p1, InputStream p2) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Not supported on detached result set");
+    }
+
+    public void updateBinaryStream(int p1, InputStream p2, int p3) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Not supported on detached result set");
+    }
+
+    public void updateBinaryStream(int p1, InputStream p2, long p3) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Not supported on detached result set");
+    }
+
+    public void updateBinaryStream(int p1, InputStream p2) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Not supported on detached result set");
+    }
+
+    public void updateBlob(String p1, InputStream p2, long p3) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Not supported on detached result set");
+    }
+
+    public void updateBlob(String p1, InputStream p2) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Not supported on detached result set");
+    }
+
+    public void updateBlob(String p1, Blob p2) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Not supported on detached result set");
+    }
+
+    public void updateBlob(int p1, InputStream p2, long p3) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Not supported on detached result set");
+    }
+
+    public void updateBlob(int p1, InputStream p2) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Not supported on detached result set");
+    }
+
+    public void updateBlob(int p1, Blob p2) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Not supported on detached result set");
+    }
+
+    public void updateBoolean(String p1, boolean p2) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Not supported on detached result set");
+    }
+
+    public void updateBoolean(int p1, boolean p2) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Not supported on detached result set");
+    }
+
+    public void updateByte(String p1, byte p2) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Not supported on detached result set");
+    }
+
+    public void updateByte(int p1, byte p2) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Not supported on detached result set");
+    }
+
+    public void updateBytes(String p1, byte[] p2) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Not supported on detached result set");
+    }
+
+    public void updateBytes(int p1, byte[] p2) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Not supported on detached result set");
+    }
+
+    public void updateCharacterStream(String p1, Reader p2, int p3) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Not supported on detached result set");
+    }
+
+    public void updateCharacterStream(String p1, Reader p2, long p3) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Not supported on detached result set");
+    }
+
+    public void updateCharacterStream(String p1, Reader p2) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Not supported on detached result set");
+    }
+
+    public void updateCharacterStream(int p1, Reader p2, int p3) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Not supported on detached result set");
+    }
+
+    public void updateCharacterStream(int p1, Reader p2, long p3) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Not supported on detached result set");
+    }
+
+    public void updateCharacterStream(int p1, Reader p2) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Not supported on detached result set");
+    }
+
+    public void updateClob(String p1, Reader p2, long p3) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Not supported on detached result set");
+    }
+
+    public void updateClob(String p1, Reader p2) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Not supported on detached result set");
+    }
+
+    public void updateClob(String p1, Clob p2) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Not supported on detached result set");
+    }
+
+    public void updateClob(int p1, Reader p2, long p3) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Not supported on detached result set");
+    }
+
+    public void updateClob(int p1, Reader p2) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Not supported on detached result set");
+    }
+
+    public void updateClob(int p1, Clob p2) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Not supported on detached result set");
+    }
+
+    public void updateDate(String p1, Date p2) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Not supported on detached result set");
+    }
+
+    public void updateDate(int p1, Date p2) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Not supported on detached result set");
+    }
+
+    public void updateDouble(String p1, double p2) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Not supported on detached result set");
+    }
+
+    public void updateDouble(int p1, double p2) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Not supported on detached result set");
+    }
+
+    public void updateFloat(String p1, float p2) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Not supported on detached result set");
+    }
+
+    public void updateFloat(int p1, float p2) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Not supported on detached result set");
+    }
+
+    public void updateInt(String p1, int p2) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Not supported on detached result set");
+    }
+
+    public void updateInt(int p1, int p2) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Not supported on detached result set");
+    }
+
+    public void updateLong(String p1, long p2) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Not supported on detached result set");
+    }
+
+    public void updateLong(int p1, long p2) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Not supported on detached result set");
+    }
+
+    public void updateNCharacterStream(String p1, Reader p2, long p3) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Not supported on detached result set");
+    }
+
+    public void updateNCharacterStream(String p1, Reader p2) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Not supported on detached result set");
+    }
+
+    public void updateNCharacterStream(int p1, Reader p2, long p3) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Not supported on detached result set");
+    }
+
+    public void updateNCharacterStream(int p1, Reader p2) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Not supported on detached result set");
+    }
+
+    public void updateNClob(String p1, Reader p2, long p3) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Not supported on detached result set");
+    }
+
+    public void updateNClob(String p1, Reader p2) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Not supported on detached result set");
+    }
+
+    public void updateNClob(String p1, NClob p2) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Not supported on detached result set");
+    }
+
+    public void updateNClob(int p1, Reader p2, long p3) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Not supported on detached result set");
+    }
+
+    public void updateNClob(int p1, Reader p2) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Not supported on detached result set");
+    }
+
+    public void updateNClob(int p1, NClob p2) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Not supported on detached result set");
+    }
+
+    public void updateNString(String p1, String p2) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Not supported on detached result set");
+    }
+
+    public void updateNString(int p1, String p2) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Not supported on detached result set");
+    }
+
+    public void updateNull(String p1) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Not supported on detached result set");
+    }
+
+    public void updateNull(int p1) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Not supported on detached result set");
+    }
+
+    public void updateObject(String p1, Object p2, int p3) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Not supported on detached result set");
+    }
+
+    public void updateObject(String p1, Object p2) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Not supported on detached result set");
+    }
+
+    public void updateObject(int p1, Object p2, int p3) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Not supported on detached result set");
+    }
+
+    public void updateObject(int p1, Object p2) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Not supported on detached result set");
+    }
+
+    public void updateRef(String p1, Ref p2) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Not supported on detached result set");
+    }
+
+    public void updateRef(int p1, Ref p2) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Not supported on detached result set");
+    }
+
+    public void updateRowId(String p1, RowId p2) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Not supported on detached result set");
+    }
+
+    public void updateRowId(int p1, RowId p2) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Not supported on detached result set");
+    }
+
+    public void updateRow() throws SQLException {
+        throw new SQLFeatureNotSupportedException("Not supported on detached result set");
+    }
+
+    public void updateSQLXML(String p1, SQLXML p2) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Not supported on detached result set");
+    }
+
+    public void updateSQLXML(int p1, SQLXML p2) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Not supported on detached result set");
+    }
+
+    public void updateShort(String p1, short p2) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Not supported on detached result set");
+    }
+
+    public void updateShort(int p1, short p2) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Not supported on detached result set");
+    }
+
+    public void updateString(String p1, String p2) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Not supported on detached result set");
+    }
+
+    public void updateString(int p1, String p2) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Not supported on detached result set");
+    }
+
+    public void updateTime(String p1, Time p2) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Not supported on detached result set");
+    }
+
+    public void updateTime(int p1, Time p2) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Not supported on detached result set");
+    }
+
+    public void updateTimestamp(String p1, Timestamp p2) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Not supported on detached result set");
+    }
+
+    public void updateTimestamp(int p1, Timestamp p2) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Not supported on detached result set");
+    }
+}
@@ -0,0 +1,564 @@
+/*
+ * Copyright Chris2018998
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.beecp.pool;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.nio.charset.Charset;
+import java.sql.*;
+import java.util.Calendar;
+import java.util.Map;
+
+import static cn.beecp.pool.PoolStaticCenter.ResultSetClosedException;
+
+/**
+ * Base of read only result set on detached data,values are converted from read objects:
+ * number and string to each other,date types to each other;calendar arguments are ignored,
+ * values have been read in default time zone;numeric getters read primitive columns without boxing.
+ *
+ * @author Chris.Liao
+ * @version 1.0
+ */
+abstract class DetachedResultSetBase implements ResultSet {
+    private static final Charset ASCII = Charset.forName("US-ASCII");
+    protected final DetachedResultData data;
+    private final Statement statement;
+    private int row;//0:before first,rowCount+1:after last
+    private boolean wasNull;
+    private boolean isClosed;
+    private int fetchSize;
+    private int fetchDirection = FETCH_FORWARD;
+
+    public DetachedResultSetBase(DetachedResultData data, Statement statement) {
+        this.data = data;
+        this.statement = statement;
+    }
+
+    private void checkClosed() throws SQLException {
+        if (isClosed) throw ResultSetClosedException;
+    }
+
+    private void checkPosition(int columnIndex) throws SQLException {
+        checkClosed();
+        if (row < 1 || row > data.rowCount) throw new SQLException("No current row");
+        if (columnIndex < 1 || columnIndex > data.columnCount)
+            throw new SQLException("Column index(" + columnIndex + ")out of range[1," + data.columnCount + "]");
+    }
+
+    private Object getValue(int columnIndex) throws SQLException {
+        checkPosition(columnIndex);
+        Object value = data.getObject(row, columnIndex);
+        wasNull = value == null;
+        return value;
+    }
+
+    //true if value can be read from primitive column without boxing
+    private boolean isPrimitiveValue(int columnIndex) throws SQLException {
+        checkPosition(columnIndex);
+        if (!data.isPrimitive(columnIndex)) return false;
+        wasNull = data.isNull(row, columnIndex);
+        return true;
+    }
+
+    private static SQLException conversionException(Object value, String typeName) {
+        return new SQLException("Can't convert value of " + value.getClass().getName() + " to " + typeName);
+    }
+
+    private static BigDecimal toBigDecimal(Object value) throws SQLException {
+        if (value instanceof BigDecimal) return (BigDecimal) value;
+        if (value instanceof Number || value instanceof String) {
+            try {
+                return new BigDecimal(value.toString().trim());
+            } catch (NumberFormatException e) {
+                throw conversionException(value, "BigDecimal");
+            }
+        }
+        if (value instanceof Boolean) return (Boolean) value ? BigDecimal.ONE : BigDecimal.ZERO;
+        throw conversionException(value, "BigDecimal");
+    }
+
+    private static long toLong(Object value) throws SQLException {
+        if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte)
+            return ((Number) value).longValue();
+        if (value instanceof Number) return (long) ((Number) value).doubleValue();
+        if (value instanceof Boolean) return (Boolean) value ? 1L : 0L;
+        return toBigDecimal(value).longValue();
+    }
+
+    private static double toDouble(Object value) throws SQLException {
+        if (value instanceof Number) return ((Number) value).doubleValue();
+        if (value instanceof Boolean) return (Boolean) value ? 1D : 0D;
+        return toBigDecimal(value).doubleValue();
+    }
+
+    /************************************************navigation*****************************************************/
+    public boolean next() throws SQLException {
+        checkClosed();
+        if (row <= data.rowCount) row++;
+        return row <= data.rowCount;
+    }
+
+    public boolean previous() throws SQLException {
+        checkClosed();
+        if (row > 0) row--;
+        return row > 0;
+    }
+
+    public boolean absolute(int row) throws SQLException {
+        checkClosed();
+        if (row < 0) row = data.rowCount + 1 + row;
+        this.row = Math.max(0, Math.min(row, data.rowCount + 1));
+        return this.row > 0 && this.row <= data.rowCount;
+    }
+
+    public boolean relative(int rows) throws SQLException {
+        checkClosed();
+        return absolute(Math.max(0, row + rows));
+    }
+
+    public boolean first() throws SQLException {
+        return absolute(1);
+    }
+
+    public boolean last() throws SQLException {
+        return absolute(-1);
+    }
+
+    public void beforeFirst() throws SQLException {
+        checkClosed();
+        row = 0;
+    }
+
+    public void afterLast() throws SQLException {
+        checkClosed();
+        row = data.rowCount + 1;
+    }
+
+    public boolean isBeforeFirst() throws SQLException {
+        checkClosed();
+        return row == 0 && data.rowCount > 0;
+    }
+
+    public boolean isAfterLast() throws SQLException {
+        checkClosed();
+        return row > data.rowCount && data.rowCount > 0;
+    }
+
+    public boolean isFirst() throws SQLException {
+        checkClosed();
+        return row == 1 && data.rowCount > 0;
+    }
+
+    public boolean isLast() throws SQLException {
+        checkClosed();
+        return row == data.rowCount && data.rowCount > 0;
+    }
+
+    public int getRow() throws SQLException {
+        checkClosed();
+        return row <= data.rowCount ? row : 0;
+    }
+
+    /************************************************getters********************************************************/
+    public boolean wasNull() throws SQLException {
+        checkClosed();
+        return wasNull;
+    }
+
+    public int findColumn(String columnLabel) throws SQLException {
+        checkClosed();
+        return data.metaData.findColumn(columnLabel);
+    }
+
+    public Object getObject(int columnIndex) throws SQLException {
+        return getValue(columnIndex);
+    }
+
+    public Object getObject(int columnIndex, Map<String, Class<?>> map) throws SQLException {
+        return getValue(columnIndex);
+    }
+
+    public <T> T getObject(int columnIndex, Class<T> type) throws SQLException {
+        Object value = getValue(columnIndex);
+        if (value == null || type.isInstance(value)) return (T) value;
+        if (type == String.class) return (T) getString(columnIndex);
+        if (type == Integer.class) return (T) Integer.valueOf(getInt(columnIndex));
+        if (type == Long.class) return (T) Long.valueOf(getLong(columnIndex));
+        if (type == Short.class) return (T) Short.valueOf(getShort(columnIndex));
+        if (type == Byte.class) return (T) Byte.valueOf(getByte(columnIndex));
+        if (type == Double.class) return (T) Double.valueOf(getDouble(columnIndex));
+        if (type == Float.class) return (T) Float.valueOf(getFloat(columnIndex));
+        if (type == Boolean.class) return (T) Boolean.valueOf(getBoolean(columnIndex));
+        if (type == BigDecimal.class) return (T) getBigDecimal(columnIndex);
+        if (type == Date.class) return (T) getDate(columnIndex);
+        if (type == Time.class) return (T) getTime(columnIndex);
+        if (type == Timestamp.class) return (T) getTimestamp(columnIndex);
+        throw conversionException(value, type.getName());
+    }
+
+    public String getString(int columnIndex) throws SQLException {
+        Object value = getValue(columnIndex);
+        return value != null ? value.toString() : null;
+    }
+
+    public String getNString(int columnIndex) throws SQLException {
+        return getString(columnIndex);
+    }
+
+    public boolean getBoolean(int columnIndex) throws SQLException {
+        if (isPrimitiveValue(columnIndex)) return !wasNull && data.getDouble(row, columnIndex) != 0D;
+        Object value = getValue(columnIndex);
+        if (value == null) return false;
+        if (value instanceof Boolean) return (Boolean) value;
+        if (value instanceof Number) return ((Number) value).doubleValue() != 0D;
+        String text = value.toString().trim();
+        return "1".equals(text) || "true".equalsIgnoreCase(text) || "y".equalsIgnoreCase(text) || "yes".equalsIgnoreCase(text);
+    }
+
+    public byte getByte(int columnIndex) throws SQLException {
+        if (isPrimitiveValue(columnIndex)) return wasNull ? 0 : (byte) data.getLong(row, columnIndex);
+        Object value = getValue(columnIndex);
+        return value != null ? (byte) toLong(value) : 0;
+    }
+
+    public short getShort(int columnIndex) throws SQLException {
+        if (isPrimitiveValue(columnIndex)) return wasNull ? 0 : (short) data.getLong(row, columnIndex);
+        Object value = getValue(columnIndex);
+        return value != null ? (short) toLong(value) : 0;
+    }
+
+    public int getInt(int columnIndex) throws SQLException {
+        if (isPrimitiveValue(columnIndex)) return wasNull ? 0 : (int) data.getLong(row, columnIndex);
+        Object value = getValue(columnIndex);
+        return value != null ? (int) toLong(value) : 0;
+    }
+
+    public long getLong(int columnIndex) throws SQLException {
+        if (isPrimitiveValue(columnIndex)) return wasNull ? 0L : data.getLong(row, columnIndex);
+        Object value = getValue(columnIndex);
+        return value != null ? toLong(value) : 0L;
+    }
+
+    public float getFloat(int columnIndex) throws SQLException {
+        if (isPrimitiveValue(columnIndex)) return wasNull ? 0F : (float) data.getDouble(row, columnIndex);
+        Object value = getValue(columnIndex);
+        return value != null ? (float) toDouble(value) : 0F;
+    }
+
+    public double getDouble(int columnIndex) throws SQLException {
+        if (isPrimitiveValue(columnIndex)) return wasNull ? 0D : data.getDouble(row, columnIndex);
+        Object value = getValue(columnIndex);
+        return value != null ? toDouble(value) : 0D;
+    }
+
+    public BigDecimal getBigDecimal(int columnIndex) throws SQLException {
+        Object value = getValue(columnIndex);
+        return value != null ? toBigDecimal(value) : null;
+    }
+
+    public BigDecimal getBigDecimal(int columnIndex, int scale) throws SQLException {
+        BigDecimal value = getBigDecimal(columnIndex);
+        return value != null ? value.setScale(scale, BigDecimal.ROUND_HALF_UP) : null;
+    }
+
+    public byte[] getBytes(int columnIndex) throws SQLException {
+        Object value = getValue(columnIndex);
+        if (value == null || value instanceof byte[]) return (byte[]) value;
+        throw conversionException(value, "byte[]");
+    }
+
+    public Date getDate(int columnIndex) throws SQLException {
+        Object value = getValue(columnIndex);
+        if (value == null || value instanceof Date) return (Date) value;
+        if (value instanceof java.util.Date) return new Date(((java.util.Date) value).getTime());
+        if (value instanceof String) {
+            try {
+                return Date.valueOf(((String) value).trim());
+            } catch (IllegalArgumentException e) {
+            }
+        }
+        throw conversionException(value, "Date");
+    }
+
+    public Date getDate(int columnIndex, Calendar cal) throws SQLException {
+        return getDate(columnIndex);
+    }
+
+    public Time getTime(int columnIndex) throws SQLException {
+        Object value = getValue(columnIndex);
+        if (value == null || value instanceof Time) return (Time) value;
+        if (value instanceof java.util.Date) return new Time(((java.util.Date) value).getTime());
+        if (value instanceof String) {
+            try {
+                return Time.valueOf(((String) value).trim());
+            } catch (IllegalArgumentException e) {
+            }
+        }
+        throw conversionException(value, "Time");
+    }
+
+    public Time getTime(int columnIndex, Calendar cal) throws SQLException {
+        return getTime(columnIndex);
+    }
+
+    public Timestamp getTimestamp(int columnIndex) throws SQLException {
+        Object value = getValue(columnIndex);
+        if (value == null || value instanceof Timestamp) return (Timestamp) value;
+        if (value instanceof java.util.Date) return new Timestamp(((java.util.Date) value).getTime());
+        if (value instanceof String) {
+            try {
+                return Timestamp.valueOf(((String) value).trim());
+            } catch (IllegalArgumentException e) {
+            }
+        }
+        throw conversionException(value, "Timestamp");
+    }
+
+    public Timestamp getTimestamp(int columnIndex, Calendar cal) throws SQLException {
+        return getTimestamp(columnIndex);
+    }
+
+    public InputStream getAsciiStream(int columnIndex) throws SQLException {
+        String value = getString(columnIndex);
+        return value != null ? new ByteArrayInputStream(value.getBytes(ASCII)) : null;
+    }
+
+    public InputStream getBinaryStream(int columnIndex) throws SQLException {
+        byte[] value = getBytes(columnIndex);
+        return value != null ? new ByteArrayInputStream(value) : null;
+    }
+
+    public Reader getCharacterStream(int columnIndex) throws SQLException {
+        String value = getString(columnIndex);
+        return value != null ? new StringReader(value) : null;
+    }
+
+    public Reader getNCharacterStream(int columnIndex) throws SQLException {
+        return getCharacterStream(columnIndex);
+    }
+
+    public URL getURL(int columnIndex) throws SQLException {
+        String value = getString(columnIndex);
+        try {
+            return value != null ? new URL(value) : null;
+        } catch (MalformedURLException e) {
+            throw new SQLException(e);
+        }
+    }
+
+    public Object getObject(String columnLabel) throws SQLException {
+        return getObject(findColumn(columnLabel));
+    }
+
+    public Object getObject(String columnLabel, Map<String, Class<?>> map) throws SQLException {
+        return getObject(findColumn(columnLabel), map);
+    }
+
+    public <T> T getObject(String columnLabel, Class<T> type) throws SQLException {
+        return getObject(findColumn(columnLabel), type);
+    }
+
+    public String getString(String columnLabel) throws SQLException {
+        return getString(findColumn(columnLabel));
+    }
+
+    public String getNString(String columnLabel) throws SQLException {
+        return getNString(findColumn(columnLabel));
+    }
+
+    public boolean getBoolean(String columnLabel) throws SQLException {
+        return getBoolean(findColumn(columnLabel));
+    }
+
+    public byte getByte(String columnLabel) throws SQLException {
+        return getByte(findColumn(columnLabel));
+    }
+
+    public short getShort(String columnLabel) throws SQLException {
+        return getShort(findColumn(columnLabel));
+    }
+
+    public int getInt(String columnLabel) throws SQLException {
+        return getInt(findColumn(columnLabel));
+    }
+
+    public long getLong(String columnLabel) throws SQLException {
+        return getLong(findColumn(columnLabel));
+    }
+
+    public float getFloat(String columnLabel) throws SQLException {
+        return getFloat(findColumn(columnLabel));
+    }
+
+    public double getDouble(String columnLabel) throws SQLException {
+        return getDouble(findColumn(columnLabel));
+    }
+
+    public BigDecimal getBigDecimal(String columnLabel) throws SQLException {
+        return getBigDecimal(findColumn(columnLabel));
+    }
+
+    public BigDecimal getBigDecimal(String columnLabel, int scale) throws SQLException {
+        return getBigDecimal(findColumn(columnLabel), scale);
+    }
+
+    public byte[] getBytes(String columnLabel) throws SQLException {
+        return getBytes(findColumn(columnLabel));
+    }
+
+    public Date getDate(String columnLabel) throws SQLException {
+        return getDate(findColumn(columnLabel));
+    }
+
+    public Date getDate(String columnLabel, Calendar cal) throws SQLException {
+        return getDate(findColumn(columnLabel), cal);
+    }
+
+    public Time getTime(String columnLabel) throws SQLException {
+        return getTime(findColumn(columnLabel));
+    }
+
+    public Time getTime(String columnLabel, Calendar cal) throws SQLException {
+        return getTime(findColumn(columnLabel), cal);
+    }
+
+    public Timestamp getTimestamp(String columnLabel) throws SQLException {
+        return getTimestamp(findColumn(columnLabel));
+    }
+
+    public Timestamp getTimestamp(String columnLabel, Calendar cal) throws SQLException {
+        return getTimestamp(findColumn(columnLabel), cal);
+    }
+
+    public InputStream getAsciiStream(String columnLabel) throws SQLException {
+        return getAsciiStream(findColumn(columnLabel));
+    }
+
+    public InputStream getBinaryStream(String columnLabel) throws SQLException {
+        return getBinaryStream(findColumn(columnLabel));
+    }
+
+    public Reader getCharacterStream(String columnLabel) throws SQLException {
+        return getCharacterStream(findColumn(columnLabel));
+    }
+
+    public Reader getNCharacterStream(String columnLabel) throws SQLException {
+        return getNCharacterStream(findColumn(columnLabel));
+    }
+
+    public URL getURL(String columnLabel) throws SQLException {
+        return getURL(findColumn(columnLabel));
+    }
+
+    /************************************************others*********************************************************/
+    public ResultSetMetaData getMetaData() throws SQLException {
+        checkClosed();
+        return data.metaData;
+    }
+
+    public Statement getStatement() throws SQLException {
+        checkClosed();
+        return statement;
+    }
+
+    public int getType() throws SQLException {
+        checkClosed();
+        return TYPE_SCROLL_INSENSITIVE;
+    }
+
+    public int getConcurrency() throws SQLException {
+        checkClosed();
+        return CONCUR_READ_ONLY;
+    }
+
+    public int getHoldability() throws SQLException {
+        checkClosed();
+        return HOLD_CURSORS_OVER_COMMIT;
+    }
+
+    public int getFetchSize() throws SQLException {
+        checkClosed();
+        return fetchSize;
+    }
+
+    public void setFetchSize(int rows) throws SQLException {
+        checkClosed();
+        if (rows < 0) throw new SQLException("Fetch size can't be negative");
+        fetchSize = rows;
+    }
+
+    public int getFetchDirection() throws SQLException {
+        checkClosed();
+        return fetchDirection;
+    }
+
+    public void setFetchDirection(int direction) throws SQLException {
+        checkClosed();
+        fetchDirection = direction;
+    }
+
+    public SQLWarning getWarnings() throws SQLException {
+        checkClosed();
+        return null;
+    }
+
+    public void clearWarnings() throws SQLException {
+        checkClosed();
+    }
+
+    public boolean rowUpdated() throws SQLException {
+        checkClosed();
+        return false;
+    }
+
+    public boolean rowInserted() throws SQLException {
+        checkClosed();
+        return false;
+    }
+
+    public boolean rowDeleted() throws SQLException {
+        checkClosed();
+        return false;
+    }
+
+    public void moveToCurrentRow() throws SQLException {
+        checkClosed();
+    }
+
+    public boolean isClosed() throws SQLException {
+        return isClosed;
+    }
+
+    public void close() throws SQLException {
+        isClosed = true;
+    }
+
+    public boolean isWrapperFor(Class<?> iface) throws SQLException {
+        return iface.isInstance(this);
+    }
+
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        if (iface.isInstance(this))
+            return (T) this;
+        else
+            throw new SQLException("Wrapped object is not an instance of " + iface);
+    }
+}
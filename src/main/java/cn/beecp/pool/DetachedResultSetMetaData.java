@@ -0,0 +1,203 @@
+/*
+ * Copyright Chris2018998
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.beecp.pool;
+
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * ResultSetMetaData copied from a driver result set,which is still usable after driver result set closed.
+ *
+ * @author Chris.Liao
+ * @version 1.0
+ */
+final class DetachedResultSetMetaData implements ResultSetMetaData {
+    private final int columnCount;
+    private final String[] labels;
+    private final String[] names;
+    private final int[] types;
+    private final String[] typeNames;
+    private final String[] classNames;
+    private final int[] precisions;
+    private final int[] scales;
+    private final int[] displaySizes;
+    private final int[] nullables;
+    private final String[] tableNames;
+    private final String[] schemaNames;
+    private final String[] catalogNames;
+    private final boolean[] autoIncrements;
+    private final boolean[] caseSensitives;
+    private final boolean[] signeds;
+    private final Map<String, Integer> indexMap;//lower case label(name) -> column index
+
+    DetachedResultSetMetaData(ResultSetMetaData metaData) throws SQLException {
+        int size = columnCount = metaData.getColumnCount();
+        labels = new String[size];
+        names = new String[size];
+        types = new int[size];
+        typeNames = new String[size];
+        classNames = new String[size];
+        precisions = new int[size];
+        scales = new int[size];
+        displaySizes = new int[size];
+        nullables = new int[size];
+        tableNames = new String[size];
+        schemaNames = new String[size];
+        catalogNames = new String[size];
+        autoIncrements = new boolean[size];
+        caseSensitives = new boolean[size];
+        signeds = new boolean[size];
+        indexMap = new HashMap<String, Integer>(size * 2);
+
+        for (int i = 0; i < size; i++) {
+            int column = i + 1;
+            labels[i] = metaData.getColumnLabel(column);
+            names[i] = metaData.getColumnName(column);
+            types[i] = metaData.getColumnType(column);
+            typeNames[i] = metaData.getColumnTypeName(column);
+            classNames[i] = metaData.getColumnClassName(column);
+            precisions[i] = metaData.getPrecision(column);
+            scales[i] = metaData.getScale(column);
+            displaySizes[i] = metaData.getColumnDisplaySize(column);
+            nullables[i] = metaData.isNullable(column);
+            tableNames[i] = metaData.getTableName(column);
+            schemaNames[i] = metaData.getSchemaName(column);
+            catalogNames[i] = metaData.getCatalogName(column);
+            autoIncrements[i] = metaData.isAutoIncrement(column);
+            caseSensitives[i] = metaData.isCaseSensitive(column);
+            signeds[i] = metaData.isSigned(column);
+        }
+        //labels take precedence over names,the first column is found on same label
+        for (int i = size - 1; i >= 0; i--)
+            if (names[i] != null) indexMap.put(names[i].toLowerCase(), i + 1);
+        for (int i = size - 1; i >= 0; i--)
+            if (labels[i] != null) indexMap.put(labels[i].toLowerCase(), i + 1);
+    }
+
+    int findColumn(String columnLabel) throws SQLException {
+        Integer index = columnLabel != null ? indexMap.get(columnLabel.toLowerCase()) : null;
+        if (index == null) throw new SQLException("Column '" + columnLabel + "' not found");
+        return index;
+    }
+
+    private int index(int column) throws SQLException {
+        if (column < 1 || column > columnCount)
+            throw new SQLException("Column index(" + column + ")out of range[1," + columnCount + "]");
+        return column - 1;
+    }
+
+    public int getColumnCount() throws SQLException {
+        return columnCount;
+    }
+
+    public boolean isAutoIncrement(int column) throws SQLException {
+        return autoIncrements[index(column)];
+    }
+
+    public boolean isCaseSensitive(int column) throws SQLException {
+        return caseSensitives[index(column)];
+    }
+
+    public boolean isSearchable(int column) throws SQLException {
+        index(column);
+        return true;
+    }
+
+    public boolean isCurrency(int column) throws SQLException {
+        index(column);
+        return false;
+    }
+
+    public int isNullable(int column) throws SQLException {
+        return nullables[index(column)];
+    }
+
+    public boolean isSigned(int column) throws SQLException {
+        return signeds[index(column)];
+    }
+
+    public int getColumnDisplaySize(int column) throws SQLException {
+        return displaySizes[index(column)];
+    }
+
+    public String getColumnLabel(int column) throws SQLException {
+        return labels[index(column)];
+    }
+
+    public String getColumnName(int column) throws SQLException {
+        return names[index(column)];
+    }
+
+    public String getSchemaName(int column) throws SQLException {
+        return schemaNames[index(column)];
+    }
+
+    public int getPrecision(int column) throws SQLException {
+        return precisions[index(column)];
+    }
+
+    public int getScale(int column) throws SQLException {
+        return scales[index(column)];
+    }
+
+    public String getTableName(int column) throws SQLException {
+        return tableNames[index(column)];
+    }
+
+    public String getCatalogName(int column) throws SQLException {
+        return catalogNames[index(column)];
+    }
+
+    public int getColumnType(int column) throws SQLException {
+        return types[index(column)];
+    }
+
+    public String getColumnTypeName(int column) throws SQLException {
+        return typeNames[index(column)];
+    }
+
+    public boolean isReadOnly(int column) throws SQLException {
+        index(column);
+        return true;
+    }
+
+    public boolean isWritable(int column) throws SQLException {
+        index(column);
+        return false;
+    }
+
+    public boolean isDefinitelyWritable(int column) throws SQLException {
+        index(column);
+        return false;
+    }
+
+    public String getColumnClassName(int column) throws SQLException {
+        return classNames[index(column)];
+    }
+
+    public boolean isWrapperFor(Class<?> iface) throws SQLException {
+        return iface.isInstance(this);
+    }
+
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        if (iface.isInstance(this))
+            return (T) this;
+        else
+            throw new SQLException("Wrapped object is not an instance of " + iface);
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright Chris2018998
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.beecp.pool;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static cn.beecp.pool.PoolStaticCenter.*;
+
+/**
+ * Factory of proxies generated at runtime for concrete driver classes(javassist required at runtime),
+ * calls in these proxies are made on the concrete driver type instead of java.sql interfaces,so that
+ * their call sites stay monomorphic in a JVM running several drivers. Classes failed in generation
+ * (not public,not visible to pool class loader) are wrapped with default proxies.
+ *
+ * @author Chris.Liao
+ * @version 1.0
+ */
+final class DriverProxyFactory {
+    private static final ProxyCreator DEFAULT_CREATOR = new ProxyCreator();
+    private final String poolName;
+    private final ConcurrentHashMap<Class, ProxyCreator> psCreatorMap = new ConcurrentHashMap<Class, ProxyCreator>(2);
+    private final ConcurrentHashMap<Class, ProxyCreator> rsCreatorMap = new ConcurrentHashMap<Class, ProxyCreator>(2);
+    private DriverProxyGenerator generator;
+
+    private DriverProxyFactory(String poolName) {
+        this.poolName = poolName;
+    }
+
+    /**
+     * @return null,if javassist not found in runtime classpath
+     */
+    static DriverProxyFactory create(String poolName) {
+        try {
+            Class.forName("javassist.ClassPool", false, DriverProxyFactory.class.getClassLoader());
+            return new DriverProxyFactory(poolName);
+        } catch (ClassNotFoundException e) {
+            commonLog.warn("BeeCP({})javassist not found,driver specific proxy disabled", poolName);
+            return null;
+        }
+    }
+
+    PreparedStatement createPsStatement(PreparedStatement delegate, PooledConnection pConn) throws SQLException {
+        return getCreator(delegate.getClass(), psCreatorMap, true).createPsStatement(delegate, pConn);
+    }
+
+    ResultSet createResultSet(ResultSet delegate, ProxyStatementBase owner, PooledConnection pConn) throws SQLException {
+        if (delegate == null) return createProxyResultSet(null, owner, pConn);
+        return getCreator(delegate.getClass(), rsCreatorMap, false).createResultSet(delegate, owner, pConn);
+    }
+
+    private ProxyCreator getCreator(Class driverClass, ConcurrentHashMap<Class, ProxyCreator> creatorMap, boolean isStatement) {
+        ProxyCreator creator = creatorMap.get(driverClass);
+        if (creator != null) return creator;
+
+        synchronized (this) {
+            if ((creator = creatorMap.get(driverClass)) != null) return creator;
+            try {
+                if (generator == null) generator = new DriverProxyGenerator();
+                creator = isStatement ? generator.createPsStatementCreator(driverClass) : generator.createResultSetCreator(driverClass);
+                commonLog.info("BeeCP({})generated proxy for driver class:{}", poolName, driverClass.getName());
+            } catch (Throwable e) {
+                creator = DEFAULT_CREATOR;
+                commonLog.warn("BeeCP({})failed to generate proxy for driver class:{}", poolName, driverClass.getName(), e);
+            }
+            creatorMap.put(driverClass, creator);
+            return creator;
+        }
+    }
+
+    /**
+     * create default proxies,generated subclass overrides one method with its driver specific proxy class
+     */
+    static class ProxyCreator {
+        PreparedStatement createPsStatement(PreparedStatement delegate, PooledConnection pConn) throws SQLException {
+            return createProxyPsStatement(delegate, pConn);
+        }
+
+        ResultSet createResultSet(ResultSet delegate, ProxyStatementBase owner, PooledConnection pConn) throws SQLException {
+            return createProxyResultSet(delegate, owner, pConn);
+        }
+    }
+}
@@ -0,0 +1,220 @@
+/*
+ * Copyright Chris2018998
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.beecp.pool;
+
+import javassist.*;
+import javassist.bytecode.ClassFile;
+
+import java.lang.reflect.Modifier;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Generate proxy classes at runtime for concrete driver classes of PreparedStatement and ResultSet,
+ * method bodies are same to {@link ProxySourceGenerator},but delegate calls are made on a field of
+ * the driver class.
+ *
+ * @author Chris.Liao
+ * @version 1.0
+ */
+final class DriverProxyGenerator {
+    private static final AtomicInteger ClassIndex = new AtomicInteger(0);
+    private final ClassLoader poolClassLoader = DriverProxyGenerator.class.getClassLoader();
+    private final ClassPool classPool;
+
+    DriverProxyGenerator() {
+        classPool = new ClassPool(true);
+        classPool.importPackage("java.sql");
+        classPool.importPackage("cn.beecp.pool");
+        classPool.appendClassPath(new LoaderClassPath(poolClassLoader));
+    }
+
+    DriverProxyFactory.ProxyCreator createPsStatementCreator(Class driverClass) throws Exception {
+        CtClass ctDriverClass = getDriverCtClass(driverClass);
+        int index = ClassIndex.incrementAndGet();
+        CtClass ctProxyClass = classPool.makeClass("cn.beecp.pool.ProxyPsStatement_" + index, classPool.get(ProxyStatementBase.class.getName()));
+        ctProxyClass.setInterfaces(new CtClass[]{classPool.get(PreparedStatement.class.getName())});
+        ctProxyClass.setModifiers(Modifier.PUBLIC | Modifier.FINAL);
+        addRawField(ctProxyClass, ctDriverClass);
+        addConstructor(ctProxyClass, driverClass, new CtClass[]{
+                classPool.get("java.sql.PreparedStatement"),
+                classPool.get("cn.beecp.pool.PooledConnection")});
+
+        CtClass ctResultSetClass = classPool.get(ResultSet.class.getName());
+        StringBuilder methodBuffer = new StringBuilder(50);
+        for (CtMethod ctMethod : resolveProxyMethods(classPool.get(PreparedStatement.class.getName()), classPool.get(ProxyStatementBase.class.getName()))) {
+            String methodName = ctMethod.getName();
+            CtClass returnType = ctMethod.getReturnType();
+            CtMethod newCtMethod = CtNewMethod.copy(ctMethod, ctProxyClass, null);
+            newCtMethod.setModifiers(Modifier.PUBLIC);
+
+            methodBuffer.delete(0, methodBuffer.length());
+            methodBuffer.append("{if(isClosed)throw cn.beecp.pool.PoolStaticCenter.StatementClosedException;");
+            CtClass[] parameterTypes = ctMethod.getParameterTypes();
+            if ("addBatch".equals(methodName))
+                methodBuffer.append("onExplicitBatch(true);");
+            else if ("clearBatch".equals(methodName) || "executeBatch".equals(methodName))
+                methodBuffer.append("onExplicitBatch(false);");
+            else if ("executeUpdate".equals(methodName) && parameterTypes.length == 0)
+                methodBuffer.append("if(addAutoBatch())return java.sql.Statement.SUCCESS_NO_INFO;");
+            String sqlArg = parameterTypes.length > 0 && "java.lang.String".equals(parameterTypes[0].getName()) ? "$1" : "null";
+            if ("executeQuery".equals(methodName))
+                methodBuffer.append("if(isResultDetached(" + sqlArg + "))return executeDetachedQuery(" + sqlArg + ");");
+            String endExecute = "endExecute(startTime," + sqlArg + ");";
+            if (returnType == CtClass.voidType) {
+                if (methodName.startsWith("execute"))
+                    methodBuffer.append("long startTime=beginExecute();raw." + methodName + "($$);")
+                            .append(endExecute).append("pConn.updateAccessTime();");
+                else
+                    methodBuffer.append("raw." + methodName + "($$);");
+                if (methodName.startsWith("set") && parameterTypes.length >= 2 && parameterTypes[0] == CtClass.intType
+                        && "java.sql.PreparedStatement".equals(ctMethod.getDeclaringClass().getName()))
+                    methodBuffer.append("if(parameters!=null)setParameter($1,").append("setNull".equals(methodName) ? "null" : "($w)$2").append(");");
+                else if ("clearParameters".equals(methodName))
+                    methodBuffer.append("if(parameters!=null)clearParameterValues();");
+            } else if (methodName.startsWith("execute")) {
+                methodBuffer.append("long startTime=beginExecute();")
+                        .append(returnType.getName() + " re=raw." + methodName + "($$);")
+                        .append(endExecute).append("pConn.updateAccessTime();");
+                if (returnType == ctResultSetClass)
+                    methodBuffer.append("return pConn.driverProxyFactory.createResultSet(re,this,pConn);");
+                else
+                    methodBuffer.append("return re;");
+            } else if (returnType == ctResultSetClass) {
+                methodBuffer.append("return pConn.driverProxyFactory.createResultSet(raw." + methodName + "($$),this,pConn);");
+            } else {
+                methodBuffer.append("return raw." + methodName + "($$);");
+            }
+            methodBuffer.append("}");
+            newCtMethod.setBody(methodBuffer.toString());
+            ctProxyClass.addMethod(newCtMethod);
+        }
+        defineClass(ctProxyClass);
+
+        return createCreator(index, "java.sql.PreparedStatement createPsStatement(java.sql.PreparedStatement d,cn.beecp.pool.PooledConnection p)"
+                + "throws java.sql.SQLException{return new " + ctProxyClass.getName() + "(d,p);}");
+    }
+
+    DriverProxyFactory.ProxyCreator createResultSetCreator(Class driverClass) throws Exception {
+        CtClass ctDriverClass = getDriverCtClass(driverClass);
+        int index = ClassIndex.incrementAndGet();
+        CtClass ctProxyClass = classPool.makeClass("cn.beecp.pool.ProxyResultSet_" + index, classPool.get(ProxyResultSetBase.class.getName()));
+        ctProxyClass.setModifiers(Modifier.PUBLIC | Modifier.FINAL);
+        addRawField(ctProxyClass, ctDriverClass);
+        addConstructor(ctProxyClass, driverClass, new CtClass[]{
+                classPool.get("java.sql.ResultSet"),
+                classPool.get("cn.beecp.pool.ProxyStatementBase"),
+                classPool.get("cn.beecp.pool.PooledConnection")});
+
+        StringBuilder methodBuffer = new StringBuilder(25);
+        for (CtMethod ctMethod : resolveProxyMethods(classPool.get(ResultSet.class.getName()), classPool.get(ProxyResultSetBase.class.getName()))) {
+            String methodName = ctMethod.getName();
+            CtClass returnType = ctMethod.getReturnType();
+            CtMethod newCtMethod = CtNewMethod.copy(ctMethod, ctProxyClass, null);
+            newCtMethod.setModifiers(Modifier.PUBLIC);
+
+            methodBuffer.delete(0, methodBuffer.length());
+            methodBuffer.append("{if(isClosed)throw cn.beecp.pool.PoolStaticCenter.ResultSetClosedException;");
+            boolean rowUpdate = methodName.startsWith("insertRow") || methodName.startsWith("updateRow") || methodName.startsWith("deleteRow");
+            if (returnType == CtClass.voidType) {
+                methodBuffer.append("raw." + methodName + "($$);");
+                if (rowUpdate) methodBuffer.append("pConn.updateAccessTime();");
+            } else if (rowUpdate) {
+                methodBuffer.append(returnType.getName() + " re=raw." + methodName + "($$);")
+                        .append("pConn.updateAccessTime();")
+                        .append("return re;");
+            } else {
+                methodBuffer.append("return raw." + methodName + "($$);");
+            }
+            methodBuffer.append("}");
+            newCtMethod.setBody(methodBuffer.toString());
+            ctProxyClass.addMethod(newCtMethod);
+        }
+        defineClass(ctProxyClass);
+
+        return createCreator(index, "java.sql.ResultSet createResultSet(java.sql.ResultSet d,cn.beecp.pool.ProxyStatementBase o,cn.beecp.pool.PooledConnection p)"
+                + "throws java.sql.SQLException{return new " + ctProxyClass.getName() + "(d,o,p);}");
+    }
+
+    //driver class must be public and same one loaded by pool class loader
+    private CtClass getDriverCtClass(Class driverClass) throws Exception {
+        if (!Modifier.isPublic(driverClass.getModifiers()))
+            throw new IllegalArgumentException("Driver class is not public");
+        if (Class.forName(driverClass.getName(), false, poolClassLoader) != driverClass)
+            throw new IllegalArgumentException("Driver class is not visible to pool class loader");
+        if (driverClass.getClassLoader() != null && driverClass.getClassLoader() != poolClassLoader)
+            classPool.appendClassPath(new LoaderClassPath(driverClass.getClassLoader()));
+        return classPool.get(driverClass.getName());
+    }
+
+    private void addRawField(CtClass ctProxyClass, CtClass ctDriverClass) throws Exception {
+        CtField rawField = new CtField(ctDriverClass, "raw", ctProxyClass);
+        rawField.setModifiers(Modifier.PRIVATE);
+        ctProxyClass.addField(rawField);
+    }
+
+    private void addConstructor(CtClass ctProxyClass, Class driverClass, CtClass[] params) throws Exception {
+        CtConstructor ctConstructor = new CtConstructor(params, ctProxyClass);
+        ctConstructor.setModifiers(Modifier.PUBLIC);
+        ctConstructor.setBody("{super($$);raw=(" + driverClass.getName() + ")$1;}");
+        ctProxyClass.addConstructor(ctConstructor);
+    }
+
+    private DriverProxyFactory.ProxyCreator createCreator(int index, String method) throws Exception {
+        CtClass ctCreatorClass = classPool.makeClass("cn.beecp.pool.ProxyCreator_" + index, classPool.get(DriverProxyFactory.ProxyCreator.class.getName()));
+        ctCreatorClass.setModifiers(Modifier.PUBLIC | Modifier.FINAL);
+        ctCreatorClass.addConstructor(CtNewConstructor.defaultConstructor(ctCreatorClass));
+        ctCreatorClass.addMethod(CtNewMethod.make(method, ctCreatorClass));
+        Class creatorClass = defineClass(ctCreatorClass);
+        return (DriverProxyFactory.ProxyCreator) creatorClass.newInstance();
+    }
+
+    //generated classes are defined in package of this class by its lookup on Java9+,reflective 'ClassLoader.defineClass' is closed there
+    private Class defineClass(CtClass ctClass) throws Exception {
+        if (ClassFile.MAJOR_VERSION >= ClassFile.JAVA_9)
+            return ctClass.toClass(DriverProxyGenerator.class);
+        return ctClass.toClass(poolClassLoader, DriverProxyGenerator.class.getProtectionDomain());
+    }
+
+    //interface methods not implemented in proxy base class
+    private LinkedList<CtMethod> resolveProxyMethods(CtClass ctInterface, CtClass ctSuperClass) throws Exception {
+        HashSet<String> signatureSet = new HashSet<String>();
+        for (CtMethod method : ctSuperClass.getMethods()) {
+            int modifiers = method.getModifiers();
+            if ((!Modifier.isAbstract(modifiers) && (Modifier.isPublic(modifiers) || Modifier.isProtected(modifiers)))
+                    || Modifier.isFinal(modifiers) || Modifier.isStatic(modifiers) || Modifier.isNative(modifiers))
+                signatureSet.add(method.getName() + method.getSignature());
+        }
+
+        LinkedList<CtMethod> methodList = new LinkedList<CtMethod>();
+        resolveInterfaceMethods(ctInterface, methodList, signatureSet);
+        return methodList;
+    }
+
+    private void resolveInterfaceMethods(CtClass ctInterface, LinkedList<CtMethod> methodList, HashSet<String> signatureSet) throws Exception {
+        for (CtMethod method : ctInterface.getDeclaredMethods()) {
+            int modifiers = method.getModifiers();
+            String signature = method.getName() + method.getSignature();
+            if (Modifier.isAbstract(modifiers) && !Modifier.isStatic(modifiers) && signatureSet.add(signature))
+                methodList.add(method);
+        }
+        for (CtClass superInterface : ctInterface.getInterfaces())
+            resolveInterfaceMethods(superInterface, methodList, signatureSet);
+    }
+}
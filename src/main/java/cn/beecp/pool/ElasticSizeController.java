@@ -0,0 +1,139 @@
+/*
+ * Copyright Chris2018998
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.beecp.pool;
+
+import java.text.SimpleDateFormat;
+import java.util.Date;
+
+import static cn.beecp.pool.PoolStaticCenter.commonLog;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * Periodic controller to adjust effective pool max size between a floor and a ceiling,
+ * decisions are made on borrow wait time,waiter queue depth and connection creation time.
+ * <p>
+ * Hysteresis: growing needs {@link #GROW_VOTES} continuous pressured samples,shrinking needs
+ * {@link #SHRINK_VOTES} continuous slack samples(doubled when creation is slower than wait threshold).
+ *
+ * @author Chris.Liao
+ * @version 1.0
+ */
+final class ElasticSizeController implements Runnable {
+    private static final int GROW_VOTES = 2;
+    private static final int SHRINK_VOTES = 6;
+    private static final int HISTORY_SIZE = 20;
+    private final FastConnectionPool pool;
+    private final int floorSize;
+    private volatile int ceilingSize;
+    private volatile int step;
+    private final long waitThresholdNanos;
+    private final String[] history = new String[HISTORY_SIZE];
+    private int historyPos;
+    private int growVotes;
+    private int shrinkVotes;
+    private long lastWaitCount;
+    private long lastWaitNanos;
+
+    ElasticSizeController(FastConnectionPool pool, int floorSize, int ceilingSize, long waitThreshold) {
+        this.pool = pool;
+        this.floorSize = floorSize;
+        this.ceilingSize = ceilingSize;
+        this.step = Math.max(1, ceilingSize / 10);
+        this.waitThresholdNanos = MILLISECONDS.toNanos(waitThreshold);
+    }
+
+    //max size changed from JMX
+    void setCeilingSize(int ceilingSize) {
+        this.ceilingSize = ceilingSize;
+        this.step = Math.max(1, ceilingSize / 10);
+    }
+
+    public void run() {
+        try {
+            adjust();
+        } catch (Throwable e) {
+            commonLog.warn("BeeCP({})failed to adjust pool size", pool.getPoolName(), e);
+        }
+    }
+
+    private void adjust() {
+        long waitCount = pool.getBorrowWaitCount();
+        long waitNanos = pool.getBorrowWaitNanos();
+        long waitCountDelta = waitCount - lastWaitCount;
+        long avgWaitNanos = waitCountDelta > 0 ? (waitNanos - lastWaitNanos) / waitCountDelta : 0L;
+        lastWaitCount = waitCount;
+        lastWaitNanos = waitNanos;
+
+        int curMaxSize = pool.getPoolMaxSize();
+        int queueDepth = pool.getTransferWaitingSize();
+        int totalSize = pool.getConnTotalSize();
+        int idleSize = pool.getConnIdleSize();
+        long createNanos = pool.getConnCreateAvgNanos();
+
+        boolean pressured = totalSize >= curMaxSize && (queueDepth > 0 || avgWaitNanos >= waitThresholdNanos);
+        boolean slack = waitCountDelta == 0 && queueDepth == 0 && idleSize >= step;
+        int shrinkVotesNeeded = createNanos > waitThresholdNanos ? SHRINK_VOTES << 1 : SHRINK_VOTES;
+
+        if (pressured) {
+            shrinkVotes = 0;
+            if (++growVotes >= GROW_VOTES && curMaxSize < ceilingSize) {
+                growVotes = 0;
+                resize(curMaxSize, Math.min(ceilingSize, curMaxSize + step), avgWaitNanos, queueDepth, createNanos);
+            }
+        } else if (slack) {
+            growVotes = 0;
+            if (++shrinkVotes >= shrinkVotesNeeded && curMaxSize > floorSize) {
+                shrinkVotes = 0;
+                int newSize = Math.max(Math.min(floorSize, ceilingSize), Math.max(curMaxSize - step, totalSize - idleSize));
+                if (newSize < curMaxSize)
+                    resize(curMaxSize, newSize, avgWaitNanos, queueDepth, createNanos);
+            }
+        } else {
+            growVotes = 0;
+            shrinkVotes = 0;
+        }
+    }
+
+    private void resize(int oldSize, int newSize, long avgWaitNanos, int queueDepth, long createNanos) {
+        pool.setPoolMaxSizeInternal(newSize);
+        String decision = String.format("%s %s max size %d->%d{avg wait:%dms,queue depth:%d,avg create:%dms}",
+                new SimpleDateFormat("yyyy-MM-dd HH:mm:ss").format(new Date()),
+                newSize > oldSize ? "grow" : "shrink",
+                oldSize, newSize,
+                NANOSECONDS.toMillis(avgWaitNanos),
+                queueDepth,
+                NANOSECONDS.toMillis(createNanos));
+
+        synchronized (history) {
+            history[historyPos++ % HISTORY_SIZE] = decision;
+        }
+        commonLog.info("BeeCP({}){}", pool.getPoolName(), decision);
+    }
+
+    /**
+     * @return resize decisions,the latest first
+     */
+    String[] getHistory() {
+        synchronized (history) {
+            int size = Math.min(historyPos, HISTORY_SIZE);
+            String[] decisions = new String[size];
+            for (int i = 0; i < size; i++)
+                decisions[i] = history[(historyPos - 1 - i) % HISTORY_SIZE];
+            return decisions;
+        }
+    }
+}
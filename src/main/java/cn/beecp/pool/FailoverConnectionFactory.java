@@ -0,0 +1,200 @@
+/*
+ * Copyright Chris2018998
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.beecp.pool;
+
+import cn.beecp.ConnectionFactory;
+
+import java.sql.Connection;
+import java.sql.Driver;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Properties;
+
+import static cn.beecp.pool.PoolStaticCenter.commonLog;
+import static java.lang.System.currentTimeMillis;
+import static java.lang.System.nanoTime;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * Failover ConnectionFactory on multiple hosts.
+ * <p>
+ * Health of each host is tracked(connect latency,error rate,last failure time),new connections
+ * stay on the current host until it fails:hosts in failure cool-down are tried last,then hosts
+ * ordered by error level(error rate in steps of 0.1),the current host is preferred on equal level,
+ * others by connect latency(unconnected host first) and configured order.When connections turn to another host than the
+ * last connected one,a failover callback is notified(pool replaces its connections by rolling reset).
+ *
+ * @author Chris.liao
+ * @version 1.0
+ */
+public final class FailoverConnectionFactory implements ConnectionFactory {
+    private static final double ALPHA = 0.3D;//EWMA smoothing factor
+    private static final long FAILURE_COOL_DOWN = 5000L;//milliseconds,recent failed host is tried at last
+    private static final double ERROR_LEVEL_STEP = 0.1D;//error rate difference below a step doesn't cause failover
+
+    /**
+     * health of hosts
+     */
+    private final HostHealth[] hosts;
+
+    /**
+     * connection driver
+     */
+    private final Driver connectDriver;
+
+    /**
+     * connection extra properties
+     */
+    private final Properties connectProperties;
+
+    /**
+     * last connected host
+     */
+    private volatile HostHealth currentHost;
+
+    /**
+     * notified on failover
+     */
+    private volatile Runnable failoverCallback;
+
+    //Constructor
+    public FailoverConnectionFactory(String[] connectURLs, Driver connectDriver, Properties connectProperties) {
+        if (connectURLs == null || connectURLs.length == 0)
+            throw new IllegalArgumentException("Connect urls can't be empty");
+        this.hosts = new HostHealth[connectURLs.length];
+        for (int i = 0; i < connectURLs.length; i++)
+            hosts[i] = new HostHealth(connectURLs[i].trim(), i);
+        this.connectDriver = connectDriver;
+        this.connectProperties = connectProperties;
+    }
+
+    public void setFailoverCallback(Runnable failoverCallback) {
+        this.failoverCallback = failoverCallback;
+    }
+
+    //create one connection on the healthiest host
+    public Connection create() throws SQLException {
+        final long now = currentTimeMillis();
+        final HostHealth curHost = currentHost;
+        //health snapshot(indexed by order),so that sorting is not disturbed by concurrent updates
+        final boolean[] coolDowns = new boolean[hosts.length];
+        final int[] errorLevels = new int[hosts.length];
+        final double[] latencies = new double[hosts.length];
+        for (HostHealth host : hosts) {
+            coolDowns[host.order] = host.isCoolingDown(now);
+            errorLevels[host.order] = host.errorLevel();
+            latencies[host.order] = host.latencyEwma;
+        }
+
+        HostHealth[] sortedHosts = hosts.clone();
+        Arrays.sort(sortedHosts, new Comparator<HostHealth>() {
+            public int compare(HostHealth h1, HostHealth h2) {
+                int o1 = h1.order, o2 = h2.order;
+                if (coolDowns[o1] != coolDowns[o2]) return coolDowns[o1] ? 1 : -1;
+                if (errorLevels[o1] != errorLevels[o2]) return errorLevels[o1] - errorLevels[o2];
+                if (h1 == curHost) return -1;//hysteresis:no failover on latency jitter
+                if (h2 == curHost) return 1;
+                int latencyDiff = Double.compare(latencies[o1], latencies[o2]);//tie-breaker,zero on unconnected host
+                return latencyDiff != 0 ? latencyDiff : o1 - o2;
+            }
+        });
+
+        SQLException failure = null;
+        for (HostHealth host : sortedHosts) {
+            long startTime = nanoTime();
+            try {
+                Connection con = connectDriver.connect(host.url, connectProperties);
+                if (con == null) throw new SQLException("Driver not accept url:" + host.url);
+                host.onSuccess(nanoTime() - startTime);
+                switchTo(host);
+                return con;
+            } catch (SQLException e) {
+                host.onFailure();
+                if (failure == null) failure = e;
+                else failure.setNextException(e);
+            }
+        }
+        throw failure;
+    }
+
+    private void switchTo(HostHealth host) {
+        HostHealth prevHost = currentHost;
+        if (prevHost != host) {
+            synchronized (this) {
+                prevHost = currentHost;
+                if (prevHost == host) return;
+                currentHost = host;
+            }
+            if (prevHost != null) {
+                commonLog.warn("Connection failover from {} to {}", prevHost.url, host.url);
+                Runnable callback = failoverCallback;
+                if (callback != null) callback.run();
+            }
+        }
+    }
+
+    public String getCurrentURL() {
+        HostHealth host = currentHost;
+        return host != null ? host.url : null;
+    }
+
+    /**
+     * @return health description of hosts
+     */
+    public String[] getHostHealth() {
+        String[] healthDescs = new String[hosts.length];
+        for (int i = 0; i < hosts.length; i++)
+            healthDescs[i] = hosts[i].toString();
+        return healthDescs;
+    }
+
+    private static final class HostHealth {
+        private final String url;
+        private final int order;
+        private volatile double latencyEwma;//nanoseconds
+        private volatile double errorRate;//EWMA of failure[0,1]
+        private volatile long lastFailureTime;
+
+        HostHealth(String url, int order) {
+            this.url = url;
+            this.order = order;
+        }
+
+        synchronized void onSuccess(long latency) {
+            latencyEwma = latencyEwma == 0D ? latency : ALPHA * latency + (1 - ALPHA) * latencyEwma;
+            errorRate = (1 - ALPHA) * errorRate;
+        }
+
+        synchronized void onFailure() {
+            errorRate = ALPHA + (1 - ALPHA) * errorRate;
+            lastFailureTime = currentTimeMillis();
+        }
+
+        boolean isCoolingDown(long now) {
+            return lastFailureTime > 0 && now - lastFailureTime < FAILURE_COOL_DOWN;
+        }
+
+        int errorLevel() {
+            return (int) (errorRate / ERROR_LEVEL_STEP);
+        }
+
+        public String toString() {
+            return url + "{avg latency:" + NANOSECONDS.toMillis((long) latencyEwma) + "ms,error rate:"
+                    + String.format("%.2f", errorRate) + ",last failure:" + lastFailureTime + "}";
+        }
+    }
+}
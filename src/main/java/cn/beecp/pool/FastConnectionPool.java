@@ -20,15 +20,19 @@ import cn.beecp.ConnectionFactory;
 
 import javax.management.MBeanServer;
 import javax.management.ObjectName;
+import java.io.File;
 import java.lang.management.ManagementFactory;
 import java.lang.ref.WeakReference;
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.*;
 import java.util.concurrent.*;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.concurrent.atomic.LongAdder;
 
 import static cn.beecp.pool.PoolStaticCenter.*;
 import static java.lang.System.*;
@@ -52,27 +56,33 @@ public final class FastConnectionPool extends Thread implements ConnectionPool,
     private static final String DESC_REMOVE_CLOSED = "closed";
     private static final String DESC_REMOVE_RESET = "reset";
     private static final String DESC_REMOVE_DESTROY = "destroy";
+    private static final String DESC_REMOVE_SHRINK = "shrink";
     private static final AtomicInteger poolNameIndex = new AtomicInteger(1);
     private final Object connArrayLock = new Object();
     private final Object connNotifyLock = new Object();
     private final ConcurrentLinkedQueue<Borrower> waitQueue = new ConcurrentLinkedQueue<Borrower>();
     private final ThreadLocal<WeakReference<Borrower>> threadLocal = new ThreadLocal<WeakReference<Borrower>>();
-    private final ConnectionPoolMonitorVo monitorVo = new ConnectionPoolMonitorVo();
 
-    private int poolMaxSize;
+    private volatile int poolMaxSize;
     private long defaultMaxWaitNanos;//nanoseconds
     private int conUnCatchStateCode;
     private int connectionTestTimeout;//seconds
     private long connectionTestInterval;//milliseconds
     private ConnectionPoolHook exitHook;
     private BeeDataSourceConfig poolConfig;
-    private Semaphore borrowSemaphore;
+    private PoolSemaphore borrowSemaphore;
     private TransferPolicy transferPolicy;
     private ConnectionTestPolicy testPolicy;
-    private ConnectionFactory connFactory;
+    private volatile ConnectionFactory connFactory;
+    private volatile int connGeneration;//increased by rolling reset
+    private ConnectionCreateBreaker createBreaker;
     private volatile PooledConnection[] connArray = new PooledConnection[0];
     private ScheduledFuture<?> idleCheckSchFuture;
-    private ScheduledThreadPoolExecutor idleSchExecutor = new ScheduledThreadPoolExecutor(2, new PoolThreadThreadFactory("IdleConnectionScan"));
+    private ScheduledThreadPoolExecutor idleSchExecutor;
+    private ThreadPoolExecutor fillExecutor;//create connections in parallel(warm fill and rolling reset)
+    private boolean sharedSchExecutor;//shared by pools,not shutdown by this pool
+    private ScheduledFuture<?> elasticSchFuture;
+    private ScheduledFuture<?> prewarmSchFuture;
     private int networkTimeout;
     private boolean supportSchema = true;
     private boolean supportNetworkTimeout = true;
@@ -83,6 +93,32 @@ public final class FastConnectionPool extends Thread implements ConnectionPool,
     private AtomicInteger poolState = new AtomicInteger(POOL_UNINIT);
     private AtomicInteger createConnThreadState = new AtomicInteger(THREAD_WORKING);
     private AtomicInteger needAddConnSize = new AtomicInteger(0);
+    private AtomicLong borrowWaitCount = new AtomicLong(0);
+    private AtomicLong borrowWaitNanos = new AtomicLong(0);
+    private AtomicLong connCreateCount = new AtomicLong(0);
+    private AtomicLong connCreateNanos = new AtomicLong(0);
+    private ElasticSizeController elasticSizeController;
+    private PrewarmForecaster prewarmForecaster;
+    private LongAdder borrowCount = new LongAdder();
+    private AtomicLong prewarmCount = new AtomicLong(0);
+    private AtomicLong prewarmHitCount = new AtomicLong(0);
+    private LongAdder stmCacheHitCount = new LongAdder();
+    private LongAdder stmCacheMissCount = new LongAdder();
+    private DriverProxyFactory driverProxyFactory;//null when driver specific proxy disabled
+    private SqlLatencyStats sqlLatencyStats;//null when sql latency statistics disabled
+    private SlowSqlLog slowSqlLog;//null when slow sql log disabled
+    private ResultCache resultCache;//null when result cache disabled
+    private SqlPatternSet detachedResultSQLs;//null when no sql with detached results
+    private SqlPatternSet autoBatchSQLs;//null when no sql in auto batch mode
+    private String[] connInitSQLs;
+    private String[] connPrepareSQLs;
+    private ConcurrentHashMap<Object, PoolPartition> partitionMap;//null when partition disabled
+    private AtomicInteger partitionBurstUsing = new AtomicInteger(0);
+    private AtomicInteger partitionCount = new AtomicInteger(0);//reserved before put into map
+    private int partitionMaxCount;//guaranteed size of all partitions can't exceed pool max size
+    private ConcurrentLinkedQueue<PoolPartition> partitionBurstWaiters;
+    private volatile int peakConnSize;//updated in 'connArrayLock'
+    private volatile double idleSizeAvg;//sampled by idle check
 
     /**
      * initialize pool with configuration
@@ -92,7 +128,6 @@ public final class FastConnectionPool extends Thread implements ConnectionPool,
      */
     public void init(BeeDataSourceConfig config) throws SQLException {
         if (poolState.get() == POOL_UNINIT) {
-            checkProxyClasses();
             if (config == null) throw new SQLException("DataSource configuration can't be null");
             poolConfig = config;
 
@@ -100,7 +135,59 @@ public final class FastConnectionPool extends Thread implements ConnectionPool,
             commonLog.info("BeeCP({})starting....", poolName);
 
             poolMaxSize = poolConfig.getMaxActive();
+            if (poolConfig.getHousekeepingExecutor() != null) {
+                idleSchExecutor = poolConfig.getHousekeepingExecutor();
+                sharedSchExecutor = true;
+            } else {
+                idleSchExecutor = new ScheduledThreadPoolExecutor(2, new PoolThreadThreadFactory("IdleConnectionScan"));
+                idleSchExecutor.setKeepAliveTime(15, SECONDS);
+                idleSchExecutor.allowCoreThreadTimeOut(true);
+            }
+            int fillThreadSize = Runtime.getRuntime().availableProcessors();
+            fillExecutor = new ThreadPoolExecutor(fillThreadSize, fillThreadSize, 15, SECONDS,
+                    new LinkedBlockingQueue<Runnable>(), new PoolThreadThreadFactory("PooledConnectionFill"));
+            fillExecutor.allowCoreThreadTimeOut(true);
             connFactory = poolConfig.getConnectionFactory();
+            if (connFactory instanceof FailoverConnectionFactory)
+                ((FailoverConnectionFactory) connFactory).setFailoverCallback(new Runnable() {
+                    public void run() {//replace connections on old host asynchronously
+                        if (poolState.get() == POOL_NORMAL) {
+                            idleSchExecutor.execute(new Runnable() {
+                                public void run() {
+                                    rollingReset();
+                                }
+                            });
+                        }
+                    }
+                });
+            if (poolConfig.getPartitionMaxSize() > 0) {
+                partitionMap = new ConcurrentHashMap<Object, PoolPartition>();
+                partitionBurstWaiters = new ConcurrentLinkedQueue<PoolPartition>();
+                int partitionMinSize = poolConfig.getPartitionMinSize();
+                partitionMaxCount = partitionMinSize > 0 ? poolMaxSize / partitionMinSize : Integer.MAX_VALUE;
+            }
+            if (poolConfig.isDriverSpecificProxy())
+                driverProxyFactory = DriverProxyFactory.create(poolName);
+            if (poolConfig.getSqlLatencyStatSize() > 0)
+                sqlLatencyStats = new SqlLatencyStats(poolConfig.getSqlLatencyStatSize());
+            if (poolConfig.getSlowSqlThreshold() > 0) {
+                String logFile = poolConfig.getSlowSqlLogFile();
+                if (isBlank(logFile)) logFile = poolName + "-slow-sql.log";
+                slowSqlLog = new SlowSqlLog(poolName, new File(logFile), poolConfig.getSlowSqlLogFileSize(),
+                        poolConfig.getSlowSqlThreshold(), poolConfig.isSlowSqlParameterMasked());
+            }
+            String[] resultCacheSQLs = splitSQL(poolConfig.getResultCacheSQL());
+            if (resultCacheSQLs.length > 0 && poolConfig.getResultCacheSize() > 0)
+                resultCache = new ResultCache(resultCacheSQLs, poolConfig.getResultCacheSize(), poolConfig.getResultCacheTtl());
+            String[] detachedSQLs = splitSQL(poolConfig.getDetachedResultSQL());
+            if (detachedSQLs.length > 0) detachedResultSQLs = new SqlPatternSet(detachedSQLs);
+            String[] autoBatchSQLs = splitSQL(poolConfig.getAutoBatchSQL());
+            if (autoBatchSQLs.length > 0) this.autoBatchSQLs = new SqlPatternSet(autoBatchSQLs);
+            connInitSQLs = splitSQL(poolConfig.getConnectionInitSQL());
+            connPrepareSQLs = splitSQL(poolConfig.getConnectionPrepareSQL());
+            if (poolConfig.getCreateFailureThreshold() > 0)
+                createBreaker = new ConnectionCreateBreaker(poolConfig.getCreateFailureThreshold(),
+                        poolConfig.getCreateBackoffInitial(), poolConfig.getCreateBackoffMax());
             connectionTestTimeout = poolConfig.getConnectionTestTimeout();
             this.testPolicy = new SQLQueryTestPolicy(poolConfig.isDefaultAutoCommit(), poolConfig.getConnectionTestSQL());
 
@@ -118,17 +205,40 @@ public final class FastConnectionPool extends Thread implements ConnectionPool,
                 conUnCatchStateCode = transferPolicy.getCheckStateCode();
             }
 
+            WarmSizeHint warmHint = null;
+            if (!isBlank(poolConfig.getWarmHintFile())) {
+                warmHint = WarmSizeHint.load(new File(poolConfig.getWarmHintFile()), poolConfig.getWarmHintMaxAge());
+                if (warmHint != null) {
+                    int warmSize = Math.min(warmHint.getTargetSize(PrewarmForecaster.hourOf(currentTimeMillis())), poolMaxSize);
+                    int addedSize = createPooledConnsInParallel(warmSize - connArray.length);
+                    commonLog.info("BeeCP({})created {} connections by warm size hint", poolName, addedSize);
+                }
+            }
+
             exitHook = new ConnectionPoolHook();
             Runtime.getRuntime().addShutdownHook(exitHook);
-            borrowSemaphore = new Semaphore(poolConfig.getBorrowSemaphoreSize(), poolConfig.isFairMode());
-            idleSchExecutor.setKeepAliveTime(15, SECONDS);
-            idleSchExecutor.allowCoreThreadTimeOut(true);
+            borrowSemaphore = new PoolSemaphore(poolConfig.getBorrowSemaphoreSize(), poolConfig.isFairMode());
             idleCheckSchFuture = idleSchExecutor.scheduleAtFixedRate(new Runnable() {
                 public void run() {// check idle connection
                     closeIdleTimeoutConnection();
                 }
             }, config.getIdleCheckTimeInitDelay(), config.getIdleCheckTimeInterval(), TimeUnit.MILLISECONDS);
 
+            if (poolConfig.isEnableElasticSize()) {
+                int floorSize = Math.max(poolConfig.getElasticMinActive(), poolConfig.getInitialSize());
+                elasticSizeController = new ElasticSizeController(this, Math.max(1, floorSize), poolMaxSize, poolConfig.getElasticWaitThreshold());
+                elasticSchFuture = idleSchExecutor.scheduleAtFixedRate(elasticSizeController, poolConfig.getElasticCheckInterval(),
+                        poolConfig.getElasticCheckInterval(), TimeUnit.MILLISECONDS);
+            }
+
+            if (poolConfig.isEnablePrewarm()) {
+                int prewarmMaxSize = poolConfig.getPrewarmMaxSize() > 0 ? poolConfig.getPrewarmMaxSize() : poolMaxSize;
+                prewarmForecaster = new PrewarmForecaster(this, prewarmMaxSize, poolConfig.getPrewarmCheckInterval());
+                if (warmHint != null) prewarmForecaster.setHourlyPeaks(warmHint.hourlyPeak);
+                prewarmSchFuture = idleSchExecutor.scheduleAtFixedRate(prewarmForecaster, poolConfig.getPrewarmCheckInterval(),
+                        poolConfig.getPrewarmCheckInterval(), TimeUnit.MILLISECONDS);
+            }
+
             registerJMX();
             commonLog.info("BeeCP({})has startup{mode:{},init size:{},max size:{},semaphore size:{},max wait:{}ms,driver:{}}",
                     poolName,
@@ -148,25 +258,6 @@ public final class FastConnectionPool extends Thread implements ConnectionPool,
         }
     }
 
-    /**
-     * check some proxy classes whether exists
-     */
-    private void checkProxyClasses() throws SQLException {
-        try {
-            ClassLoader classLoader = getClass().getClassLoader();
-            Class.forName("cn.beecp.pool.Borrower", true, classLoader);
-            Class.forName("cn.beecp.pool.PooledConnection", true, classLoader);
-            Class.forName("cn.beecp.pool.ProxyConnection", true, classLoader);
-            Class.forName("cn.beecp.pool.ProxyStatement", true, classLoader);
-            Class.forName("cn.beecp.pool.ProxyPsStatement", true, classLoader);
-            Class.forName("cn.beecp.pool.ProxyCsStatement", true, classLoader);
-            Class.forName("cn.beecp.pool.ProxyDatabaseMetaData", true, classLoader);
-            Class.forName("cn.beecp.pool.ProxyResultSet", true, classLoader);
-        } catch (ClassNotFoundException e) {
-            throw new SQLException("Jdbc proxy classes missed", e);
-        }
-    }
-
     boolean supportIsValid() {
         return supportIsValid;
     }
@@ -179,6 +270,27 @@ public final class FastConnectionPool extends Thread implements ConnectionPool,
         return supportNetworkTimeout;
     }
 
+    String getPoolName() {
+        return poolName;
+    }
+
+    long getBorrowWaitCount() {
+        return borrowWaitCount.get();
+    }
+
+    long getBorrowWaitNanos() {
+        return borrowWaitNanos.get();
+    }
+
+    long getBorrowCount() {
+        return borrowCount.sum();
+    }
+
+    long getConnCreateAvgNanos() {
+        long count = connCreateCount.get();
+        return count > 0 ? connCreateNanos.get() / count : 0L;
+    }
+
     int getNetworkTimeout() {
         return networkTimeout;
     }
@@ -188,7 +300,7 @@ public final class FastConnectionPool extends Thread implements ConnectionPool,
     }
 
     private boolean existBorrower() {
-        return poolConfig.getBorrowSemaphoreSize() > borrowSemaphore.availablePermits() || borrowSemaphore.hasQueuedThreads();
+        return borrowSemaphore.getSize() > borrowSemaphore.availablePermits() || borrowSemaphore.hasQueuedThreads();
     }
 
     //create Pooled connection
@@ -196,13 +308,14 @@ public final class FastConnectionPool extends Thread implements ConnectionPool,
         synchronized (connArrayLock) {
             int arrayLen = connArray.length;
             if (arrayLen < poolMaxSize) {
-                Connection con = connFactory.create();
-                setDefaultOnRawConn(con);
+                Connection con = createRawConn();
                 PooledConnection pConn = new PooledConnection(con, connState, this, poolConfig);// add
+                pConn.generation = connGeneration;
                 PooledConnection[] arrayNew = new PooledConnection[arrayLen + 1];
                 arraycopy(connArray, 0, arrayNew, 0, arrayLen);
                 arrayNew[arrayLen] = pConn;// tail
                 connArray = arrayNew;
+                if (arrayNew.length > peakConnSize) peakConnSize = arrayNew.length;
                 return pConn;
             } else {
                 return null;
@@ -210,25 +323,262 @@ public final class FastConnectionPool extends Thread implements ConnectionPool,
         }
     }
 
+    //create raw connection and set default attributes on it,creation succeeds after init SQL executed
+    private Connection createRawConn() throws SQLException {
+        long startTime = nanoTime();
+        if (createBreaker != null && !createBreaker.tryAcquire()) throw createBreaker.createOpenException();
+        Connection con;
+        try {
+            con = connFactory.create();
+            setDefaultOnRawConn(con);
+            try {
+                initRawConn(con);
+            } catch (SQLException e) {
+                oclose(con);
+                throw e;
+            }
+        } catch (SQLException e) {
+            if (createBreaker != null) createBreaker.onFailure(e);
+            throw e;
+        } catch (RuntimeException e) {
+            if (createBreaker != null) createBreaker.onFailure(new SQLException(e));
+            throw e;
+        }
+        if (createBreaker != null) createBreaker.onSuccess();
+        connCreateNanos.addAndGet(nanoTime() - startTime);
+        connCreateCount.incrementAndGet();
+        return con;
+    }
+
     //remove Pooled connection
     private void removePooledConn(PooledConnection pConn, String removeType) {
         pConn.state = CONNECTION_CLOSED;
+        synchronized (connArrayLock) {
+            removeFromArray(pConn);
+        }
         pConn.closeRawConn();
+    }
+
+    /**
+     * remove a batch of connections with one array copy in 'connArrayLock',then close them out of lock
+     *
+     * @param removedList connections to remove,whose state have been set to closed
+     * @param removeType  remove reason
+     */
+    private void removePooledConns(List<PooledConnection> removedList, String removeType) {
+        removeFromArray(removedList);
+        for (PooledConnection pConn : removedList)
+            pConn.closeRawConn();
+    }
+
+    //remove a batch of connections from array with one copy
+    private void removeFromArray(List<PooledConnection> removedList) {
+        if (removedList.isEmpty()) return;
+        Set<PooledConnection> removedSet = Collections.newSetFromMap(new IdentityHashMap<PooledConnection, Boolean>(removedList.size() << 1));
+        removedSet.addAll(removedList);
+        synchronized (connArrayLock) {
+            PooledConnection[] array = connArray;
+            PooledConnection[] arrayNew = new PooledConnection[array.length];
+            int newLen = 0;
+            for (PooledConnection pConn : array)
+                if (!removedSet.contains(pConn)) arrayNew[newLen++] = pConn;
+            if (newLen < array.length) connArray = Arrays.copyOf(arrayNew, newLen);
+        }
+    }
+
+    //remove a returned connection when pool size is over max size(max size reduced) or it is stale
+    private boolean retireOnReturn(PooledConnection pConn) {
+        boolean stale;
         synchronized (connArrayLock) {
-            int oldLen = connArray.length;
-            PooledConnection[] arrayNew = new PooledConnection[oldLen - 1];
-            for (int i = 0; i < oldLen; i++) {
-                if (connArray[i] == pConn) {
-                    arraycopy(connArray, 0, arrayNew, 0, i);
-                    int m = oldLen - i - 1;
-                    if (m > 0) arraycopy(connArray, i + 1, arrayNew, i, m);
+            stale = pConn.generation != connGeneration;
+            if (!stale && connArray.length <= poolMaxSize) return false;
+            pConn.state = CONNECTION_CLOSED;
+            removeFromArray(pConn);
+        }
+        pConn.closeRawConn();
+        if (stale) tryToCreateNewConnByAsyn();
+        return true;
+    }
+
+    /**
+     * create connections concurrently out of 'connArrayLock',then add them to pool
+     *
+     * @param size connection size to create
+     * @return size of connections added to pool
+     */
+    private int createPooledConnsInParallel(int size) {
+        return runFillTasks(size, new Callable<Boolean>() {
+            public Boolean call() throws SQLException {
+                return addPooledConn();
+            }
+        });
+    }
+
+    /**
+     * replace stale idle connections concurrently,each new connection is created before retiring a stale one
+     *
+     * @param size       connection size to replace
+     * @param generation generation of new connections
+     * @return size of replaced connections
+     */
+    private int replaceStaleConnsInParallel(int size, final int generation) {
+        return runFillTasks(size, new Callable<Boolean>() {
+            public Boolean call() throws SQLException {
+                return replaceStaleConn(generation);
+            }
+        });
+    }
+
+    //run a task of connection creation in fill executor repeatedly,return count of true results
+    private int runFillTasks(int size, Callable<Boolean> task) {
+        if (size <= 0) return 0;
+        try {
+            List<Callable<Boolean>> tasks = new ArrayList<Callable<Boolean>>(size);
+            for (int i = 0; i < size; i++)
+                tasks.add(task);
+
+            int addedSize = 0;
+            for (Future<Boolean> future : fillExecutor.invokeAll(tasks)) {
+                try {
+                    if (future.get()) addedSize++;
+                } catch (ExecutionException e) {
+                    commonLog.warn("BeeCP({})failed to create connection", poolName, e.getCause());
+                }
+            }
+            return addedSize;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return 0;
+        }
+    }
+
+    //create a raw connection out of lock,then add it to pool if pool is not full
+    private boolean addPooledConn() throws SQLException {
+        int generation = connGeneration;
+        Connection con = createRawConn();
+        PooledConnection pConn;
+        synchronized (connArrayLock) {
+            int arrayLen = connArray.length;
+            if (arrayLen < poolMaxSize) {
+                pConn = new PooledConnection(con, CONNECTION_USING, this, poolConfig);
+                pConn.generation = generation;
+                PooledConnection[] arrayNew = new PooledConnection[arrayLen + 1];
+                arraycopy(connArray, 0, arrayNew, 0, arrayLen);
+                arrayNew[arrayLen] = pConn;// tail
+                connArray = arrayNew;
+                if (arrayNew.length > peakConnSize) peakConnSize = arrayNew.length;
+            } else {
+                pConn = null;
+            }
+        }
+
+        if (pConn == null) {
+            oclose(con);
+            return false;
+        } else {
+            recycle(pConn);//transfer to waiter or set as idle
+            return true;
+        }
+    }
+
+    //create a raw connection out of lock,then swap it into array in place of a stale idle connection
+    private boolean replaceStaleConn(int generation) throws SQLException {
+        Connection con = createRawConn();
+        PooledConnection pConn = null, staleConn = null;
+        synchronized (connArrayLock) {
+            PooledConnection[] array = connArray;
+            for (int i = 0; i < array.length; i++) {
+                PooledConnection curConn = array[i];
+                if (curConn.generation != generation && ConnStUpd.compareAndSet(curConn, CONNECTION_IDLE, CONNECTION_CLOSED)) {
+                    pConn = new PooledConnection(con, CONNECTION_USING, this, poolConfig);
+                    pConn.generation = generation;
+                    PooledConnection[] arrayNew = array.clone();
+                    arrayNew[i] = pConn;
+                    connArray = arrayNew;
+                    staleConn = curConn;
                     break;
                 }
             }
-            connArray = arrayNew;
+        }
+
+        if (staleConn == null) {//stale connections borrowed,they will be retired on return
+            oclose(con);
+            return false;
+        } else {
+            staleConn.closeRawConn();
+            recycle(pConn);//transfer to waiter or set as idle
+            return true;
+        }
+    }
+
+    //called in synchronized scope of 'connArrayLock'
+    private void removeFromArray(PooledConnection pConn) {
+        int oldLen = connArray.length;
+        for (int i = 0; i < oldLen; i++) {
+            if (connArray[i] == pConn) {
+                PooledConnection[] arrayNew = new PooledConnection[oldLen - 1];
+                arraycopy(connArray, 0, arrayNew, 0, i);
+                int m = oldLen - i - 1;
+                if (m > 0) arraycopy(connArray, i + 1, arrayNew, i, m);
+                connArray = arrayNew;
+                break;
+            }
+        }
+    }
+
+    //execute init SQL and prepare SQL on new created raw connection
+    private void initRawConn(Connection rawConn) throws SQLException {
+        if (connInitSQLs.length > 0) {
+            Statement st = rawConn.createStatement();
+            try {
+                for (String sql : connInitSQLs)
+                    st.execute(sql);
+            } finally {
+                oclose(st);
+            }
+            if (!poolConfig.isDefaultAutoCommit()) rawConn.commit();//keep session settings out of rollback
+        }
+
+        for (String sql : connPrepareSQLs) {
+            try {
+                oclose(rawConn.prepareStatement(sql));
+            } catch (SQLException e) {
+                commonLog.warn("BeeCP({})failed to prepare statement:{}", poolName, sql, e);
+            }
         }
     }
 
+    //split multiple SQL statements by ';' out of quotes('',"",``) and comments(--,/**/)
+    private static String[] splitSQL(String sql) {
+        if (isBlank(sql)) return new String[0];
+        List<String> sqlList = new ArrayList<String>();
+        int start = 0;
+        char quote = 0;//current quote char,zero means out of quotes
+        for (int i = 0, len = sql.length(); i < len; i++) {
+            char c = sql.charAt(i);
+            if (quote != 0) {
+                if (c == quote) quote = 0;//doubled quote is an escaped one,re-entered at next char
+            } else if (c == '\'' || c == '"' || c == '`') {
+                quote = c;
+            } else if (c == '-' && i + 1 < len && sql.charAt(i + 1) == '-') {
+                int end = sql.indexOf('\n', i);
+                i = end < 0 ? len : end;
+            } else if (c == '/' && i + 1 < len && sql.charAt(i + 1) == '*') {
+                int end = sql.indexOf("*/", i + 2);
+                i = end < 0 ? len : end + 1;
+            } else if (c == ';') {
+                addSQL(sql.substring(start, i), sqlList);
+                start = i + 1;
+            }
+        }
+        if (start < sql.length()) addSQL(sql.substring(start), sqlList);
+        return sqlList.toArray(new String[sqlList.size()]);
+    }
+
+    private static void addSQL(String sql, List<String> sqlList) {
+        if (!isBlank(sql)) sqlList.add(sql.trim());
+    }
+
     //set default attribute on raw connection
     private void setDefaultOnRawConn(Connection rawConn) {
         try {
@@ -314,11 +664,20 @@ public final class FastConnectionPool extends Thread implements ConnectionPool,
      * @return if the checked connection is active then return true,otherwise
      * false if false then close it
      */
-    private final boolean testOnBorrow(PooledConnection pConn) {
-        if (currentTimeMillis() - pConn.lastAccessTime - connectionTestInterval < 0 || testPolicy.isActive(pConn))
-            return true;
+    private final boolean testOnBorrow(PooledConnection pConn, WeakReference<Borrower> borrowerRef) {
+        if (pConn.generation == connGeneration) {
+            boolean needTest = currentTimeMillis() - pConn.lastAccessTime - connectionTestInterval >= 0;
+            //deferred reset skipped when borrowed again by last borrower
+            if ((!pConn.resetPending || (!needTest && pConn.resetOwner == borrowerRef) || pConn.applyDeferredReset())
+                    && (!needTest || testPolicy.isActive(pConn))) {
+                pConn.resetOwner = borrowerRef;
+                return true;
+            }
+            removePooledConn(pConn, DESC_REMOVE_BAD);
+        } else {//stale connection after rolling reset
+            removePooledConn(pConn, DESC_REMOVE_RESET);
+        }
 
-        removePooledConn(pConn, DESC_REMOVE_BAD);
         tryToCreateNewConnByAsyn();
         return false;
     }
@@ -347,7 +706,13 @@ public final class FastConnectionPool extends Thread implements ConnectionPool,
      * @throws SQLException if pool is closed or waiting timeout,then throw exception
      */
     public Connection getConnection() throws SQLException {
+        return getConnection(nanoTime() + defaultMaxWaitNanos);
+    }
+
+    //borrow one connection before deadline(nanoseconds)
+    private Connection getConnection(long deadline) throws SQLException {
         if (poolState.get() != POOL_NORMAL) throw PoolCloseException;
+        if (prewarmForecaster != null) borrowCount.increment();
 
         //0:try to get from threadLocal cache
         WeakReference<Borrower> ref = threadLocal.get();
@@ -355,19 +720,17 @@ public final class FastConnectionPool extends Thread implements ConnectionPool,
         if (borrower != null) {
             PooledConnection pConn = borrower.lastUsedConn;
             if (pConn != null && ConnStUpd.compareAndSet(pConn, CONNECTION_IDLE, CONNECTION_USING)) {
-                if (testOnBorrow(pConn)) return createProxyConnection(pConn, borrower);
+                if (testOnBorrow(pConn, ref)) return createProxyConnection(pConn, borrower);
 
                 borrower.lastUsedConn = null;
             }
         } else {
             borrower = new Borrower();
-            threadLocal.set(new WeakReference<Borrower>(borrower));
+            threadLocal.set(ref = new WeakReference<Borrower>(borrower));
         }
 
-
-        long deadline = nanoTime() + defaultMaxWaitNanos;
         try {
-            if (!borrowSemaphore.tryAcquire(this.defaultMaxWaitNanos, NANOSECONDS))
+            if (!borrowSemaphore.tryAcquire(deadline - nanoTime(), NANOSECONDS))
                 throw RequestTimeoutException;
         } catch (InterruptedException e) {
             throw RequestInterruptException;
@@ -376,28 +739,32 @@ public final class FastConnectionPool extends Thread implements ConnectionPool,
         try {//borrowSemaphore acquired
             //1:try to search one from array
             for (PooledConnection pConn : connArray) {
-                if (ConnStUpd.compareAndSet(pConn, CONNECTION_IDLE, CONNECTION_USING) && testOnBorrow(pConn))
+                if (ConnStUpd.compareAndSet(pConn, CONNECTION_IDLE, CONNECTION_USING) && testOnBorrow(pConn, ref))
                     return createProxyConnection(pConn, borrower);
             }
 
             //2:try to create one directly
             PooledConnection pConn;
-            if (connArray.length < poolMaxSize && (pConn = createPooledConn(CONNECTION_USING)) != null)
+            if (connArray.length < poolMaxSize && (pConn = createPooledConn(CONNECTION_USING)) != null) {
+                pConn.resetOwner = ref;
                 return createProxyConnection(pConn, borrower);
+            }
 
             //3:try to get one transferred connection
             boolean failed = false;
             borrower.state = BORROWER_NORMAL;
             SQLException failedCause = RequestTimeoutException;
 
+            long waitStartTime = nanoTime();
             waitQueue.offer(borrower);
             int spinSize = (waitQueue.peek() == borrower) ? maxTimedSpins : 0;
             while (true) {
                 Object state = borrower.state;
                 if (state instanceof PooledConnection) {
                     pConn = (PooledConnection) state;
-                    if (transferPolicy.tryCatch(pConn) && testOnBorrow(pConn)) {
+                    if (transferPolicy.tryCatch(pConn) && testOnBorrow(pConn, ref)) {
                         waitQueue.remove(borrower);
+                        recordBorrowWait(waitStartTime);
                         return createProxyConnection(pConn, borrower);
                     }
 
@@ -405,6 +772,7 @@ public final class FastConnectionPool extends Thread implements ConnectionPool,
                     yield();
                 } else if (state instanceof SQLException) {
                     waitQueue.remove(borrower);
+                    recordBorrowWait(waitStartTime);
                     throw (SQLException) state;
                 }
 
@@ -432,6 +800,194 @@ public final class FastConnectionPool extends Thread implements ConnectionPool,
         }
     }
 
+    /**
+     * borrow a connection within quota of a partition(tenant)
+     *
+     * @param partitionKey partition key
+     * @return a connection from pool
+     * @throws SQLException if pool is closed or waiting timeout,then throw exception
+     */
+    public Connection getConnection(Object partitionKey) throws SQLException {
+        if (partitionMap == null || partitionKey == null) return getConnection();
+        if (poolState.get() != POOL_NORMAL) throw PoolCloseException;
+
+        long startTime = nanoTime();
+        long deadline = startTime + defaultMaxWaitNanos;//shared by partition quota and connection waiting
+        PoolPartition partition = getPartition(partitionKey);
+        while (!partition.tryEnter())//evicted after got from map
+            partition = getPartition(partitionKey);
+        boolean burst = partition.acquire(deadline);
+        try {
+            ProxyConnectionBase proxyConn = (ProxyConnectionBase) getConnection(deadline);
+            PooledConnection pConn = proxyConn.pConn;
+            pConn.partition = partition;
+            pConn.partitionBurst = burst;
+            pConn.partitionBorrowTime = nanoTime();
+            partition.onBorrowed(pConn.partitionBorrowTime - startTime);
+            return proxyConn;
+        } catch (SQLException e) {
+            partition.release(burst);
+            throw e;
+        } catch (RuntimeException e) {
+            partition.release(burst);
+            throw e;
+        }
+    }
+
+    private PoolPartition getPartition(Object partitionKey) throws SQLException {
+        PoolPartition partition = partitionMap.get(partitionKey);
+        if (partition == null) {
+            if (!reservePartition()) {
+                evictIdlePartitions(currentTimeMillis());//evict partitions not in using at once
+                if (!reservePartition())
+                    throw new SQLException("Partition count reached max size(" + partitionMaxCount + ")");
+            }
+            PoolPartition newPartition = new PoolPartition(partitionKey, poolConfig.getPartitionMinSize(), poolConfig.getPartitionMaxSize(), this);
+            partition = partitionMap.putIfAbsent(partitionKey, newPartition);
+            if (partition == null) {
+                partition = newPartition;
+                if (poolConfig.isEnableJMX())
+                    registerJMXBean(ManagementFactory.getPlatformMBeanServer(), getPartitionJMXName(partitionKey), partition);
+            } else {
+                partitionCount.decrementAndGet();
+            }
+        }
+        return partition;
+    }
+
+    private boolean reservePartition() {
+        while (true) {
+            int count = partitionCount.get();
+            if (count >= partitionMaxCount) return false;
+            if (partitionCount.compareAndSet(count, count + 1)) return true;
+        }
+    }
+
+    //remove partitions without using and waiting borrowers,whose last release time not after deadline
+    private void evictIdlePartitions(long idleDeadline) {
+        for (PoolPartition partition : partitionMap.values()) {
+            if (partition.tryEvict(idleDeadline)) {
+                Object partitionKey = partition.getKey();
+                if (poolConfig.isEnableJMX())//before removal,then a new partition of the key can register
+                    unregisterJMXBean(ManagementFactory.getPlatformMBeanServer(), getPartitionJMXName(partitionKey));
+                partitionMap.remove(partitionKey, partition);
+                partitionCount.decrementAndGet();
+            }
+        }
+    }
+
+    //burst area size:pool max size minus guaranteed size of all partitions
+    boolean tryAcquirePartitionBurst() {
+        int capacity = Math.max(0, poolMaxSize - poolConfig.getPartitionMinSize() * partitionCount.get());
+        while (true) {
+            int using = partitionBurstUsing.get();
+            if (using >= capacity) return false;
+            if (partitionBurstUsing.compareAndSet(using, using + 1)) return true;
+        }
+    }
+
+    void addPartitionBurstWaiter(PoolPartition partition) {
+        partitionBurstWaiters.offer(partition);
+    }
+
+    void releasePartitionBurst() {
+        partitionBurstUsing.decrementAndGet();
+        PoolPartition partition;
+        while ((partition = partitionBurstWaiters.poll()) != null)
+            partition.signalBurstReleased();
+    }
+
+    //statistic of borrower wait time in queue,used by elastic size controller
+    private void recordBorrowWait(long waitStartTime) {
+        borrowWaitNanos.addAndGet(nanoTime() - waitStartTime);
+        borrowWaitCount.incrementAndGet();
+    }
+
+    /**
+     * change effective pool max size,surplus idle connections will be removed
+     *
+     * @param newSize new max size
+     */
+    void setPoolMaxSizeInternal(int newSize) {
+        int oldSize = poolMaxSize;
+        poolMaxSize = newSize;
+        if (newSize < oldSize) {
+            retireSurplusIdleConnections();
+        } else {
+            for (int i = Math.min(newSize - oldSize, waitQueue.size()); i > 0; i--)
+                tryToCreateNewConnByAsyn();
+        }
+    }
+
+    /**
+     * pre-create connections by forecast,then transfer them to waiters or set as idle
+     *
+     * @param size connection size to create
+     */
+    void prewarmConnections(int size) {
+        try {
+            PooledConnection pConn;
+            for (int i = 0; i < size && poolState.get() == POOL_NORMAL; i++) {
+                if ((pConn = createPooledConn(CONNECTION_USING)) == null) break;
+                pConn.prewarmed = true;
+                prewarmCount.incrementAndGet();
+                recycle(pConn);
+            }
+        } catch (SQLException e) {
+            commonLog.warn("BeeCP({})failed to prewarm connection", poolName, e);
+        }
+    }
+
+    DriverProxyFactory getDriverProxyFactory() {
+        return driverProxyFactory;
+    }
+
+    SqlLatencyStats getSqlLatencyStats() {
+        return sqlLatencyStats;
+    }
+
+    SlowSqlLog getSlowSqlLog() {
+        return slowSqlLog;
+    }
+
+    ResultCache getResultCache() {
+        return resultCache;
+    }
+
+    SqlPatternSet getDetachedResultSQLs() {
+        return detachedResultSQLs;
+    }
+
+    SqlPatternSet getAutoBatchSQLs() {
+        return autoBatchSQLs;
+    }
+
+    void onPrewarmHit() {
+        prewarmHitCount.incrementAndGet();
+    }
+
+    void onStatementCacheLookup(boolean hit) {
+        if (hit)
+            stmCacheHitCount.increment();
+        else
+            stmCacheMissCount.increment();
+    }
+
+    //remove idle connections beyond pool max size
+    private void retireSurplusIdleConnections() {
+        PooledConnection[] array = connArray;
+        int surplus = array.length - poolMaxSize;
+        List<PooledConnection> removedList = new ArrayList<PooledConnection>(Math.max(0, surplus));
+        for (int i = 0, len = array.length; i < len && surplus > 0; i++) {
+            PooledConnection pConn = array[i];
+            if (ConnStUpd.compareAndSet(pConn, CONNECTION_IDLE, CONNECTION_CLOSED)) {
+                removedList.add(pConn);
+                surplus--;
+            }
+        }
+        removePooledConns(removedList, DESC_REMOVE_SHRINK);
+    }
+
     /**
      * remove connection
      *
@@ -448,6 +1004,7 @@ public final class FastConnectionPool extends Thread implements ConnectionPool,
      * @param pConn target connection need release
      */
     public final void recycle(PooledConnection pConn) {
+        if ((connArray.length > poolMaxSize || pConn.generation != connGeneration) && retireOnReturn(pConn)) return;
         transferPolicy.beforeTransfer(pConn);
         for (Borrower borrower : waitQueue)
             for (Object state = borrower.state; state == BORROWER_NORMAL || state == BORROWER_WAITING; state = borrower.state) {
@@ -464,10 +1021,19 @@ public final class FastConnectionPool extends Thread implements ConnectionPool,
      * @param exception: transfer Exception to waiter
      */
     private void transferException(SQLException exception) {
+        transferException(exception, false);
+    }
+
+    /**
+     * @param exception: transfer Exception to waiter
+     * @param toAll:     true,transfer to all waiters(fail fast on opened creation breaker)
+     */
+    private void transferException(SQLException exception, boolean toAll) {
         for (Borrower borrower : waitQueue)
             for (Object state = borrower.state; state == BORROWER_NORMAL || state == BORROWER_WAITING; state = borrower.state) {
                 if (BwrStUpd.compareAndSet(borrower, state, exception)) {//transfer successful
                     if (state == BORROWER_WAITING) unpark(borrower.thread);
+                    if (toAll) break;
                     return;
                 }
             }
@@ -480,14 +1046,17 @@ public final class FastConnectionPool extends Thread implements ConnectionPool,
     private void closeIdleTimeoutConnection() {
         if (poolState.get() == POOL_NORMAL) {
             PooledConnection[] array = connArray;
+            List<PooledConnection> idleList = new ArrayList<PooledConnection>();
+            List<PooledConnection> closedList = new ArrayList<PooledConnection>();
+            int idleSize = 0;
             for (int i = 0, len = array.length; i < len; i++) {
                 PooledConnection pConn = array[i];
                 int state = pConn.state;
+                if (state == CONNECTION_IDLE) idleSize++;
                 if (state == CONNECTION_IDLE && !existBorrower()) {
                     boolean isTimeoutInIdle = (currentTimeMillis() - pConn.lastAccessTime - poolConfig.getIdleTimeout() >= 0);
                     if (isTimeoutInIdle && ConnStUpd.compareAndSet(pConn, state, CONNECTION_CLOSED)) {//need close idle
-                        removePooledConn(pConn, DESC_REMOVE_IDLE);
-                        tryToCreateNewConnByAsyn();
+                        idleList.add(pConn);
                     }
                 } else if (state == CONNECTION_USING) {
                     ProxyConnectionBase proxyConn = pConn.proxyConn;
@@ -496,10 +1065,16 @@ public final class FastConnectionPool extends Thread implements ConnectionPool,
                         proxyConn.trySetAsClosed();
                     }
                 } else if (state == CONNECTION_CLOSED) {
-                    removePooledConn(pConn, DESC_REMOVE_CLOSED);
-                    tryToCreateNewConnByAsyn();
+                    closedList.add(pConn);
                 }
             }
+
+            idleSizeAvg = idleSizeAvg == 0D ? idleSize : 0.3D * idleSize + 0.7D * idleSizeAvg;
+            if (partitionMap != null) evictIdlePartitions(currentTimeMillis() - poolConfig.getIdleTimeout());
+            removePooledConns(idleList, DESC_REMOVE_IDLE);
+            removePooledConns(closedList, DESC_REMOVE_CLOSED);
+            for (int i = 0, size = idleList.size() + closedList.size(); i < size; i++)
+                tryToCreateNewConnByAsyn();
         }
     }
 
@@ -509,12 +1084,17 @@ public final class FastConnectionPool extends Thread implements ConnectionPool,
         while (true) {
             if (poolState.compareAndSet(POOL_NORMAL, POOL_CLOSED)) {
                 commonLog.info("BeeCP({})begin to shutdown", poolName);
+                saveWarmSizeHint();
                 removeAllConnections(poolConfig.isForceCloseConnection(), DESC_REMOVE_DESTROY);
                 unregisterJMX();
                 shutdownCreateConnThread();
+                if (slowSqlLog != null) slowSqlLog.close();
                 while (!idleCheckSchFuture.isCancelled() && !idleCheckSchFuture.isDone())
                     idleCheckSchFuture.cancel(true);
-                idleSchExecutor.shutdownNow();
+                if (elasticSchFuture != null) elasticSchFuture.cancel(true);
+                if (prewarmSchFuture != null) prewarmSchFuture.cancel(true);
+                if (!sharedSchExecutor) idleSchExecutor.shutdownNow();
+                fillExecutor.shutdownNow();
                 try {
                     Runtime.getRuntime().removeShutdownHook(exitHook);
                 } catch (Throwable e) {
@@ -530,6 +1110,21 @@ public final class FastConnectionPool extends Thread implements ConnectionPool,
         }
     }
 
+    //save learned pool size to local file
+    private void saveWarmSizeHint() {
+        if (isBlank(poolConfig.getWarmHintFile())) return;
+        WarmSizeHint warmHint = new WarmSizeHint();
+        warmHint.saveTime = currentTimeMillis();
+        warmHint.peakSize = peakConnSize;
+        warmHint.idleSize = (int) Math.round(idleSizeAvg);
+        if (prewarmForecaster != null) warmHint.hourlyPeak = prewarmForecaster.getHourlyPeaks();
+        try {
+            warmHint.save(new File(poolConfig.getWarmHintFile()));
+        } catch (Throwable e) {
+            commonLog.warn("BeeCP({})failed to save warm size hint", poolName, e);
+        }
+    }
+
     public boolean isClosed() {
         return poolState.get() == POOL_CLOSED;
     }
@@ -541,14 +1136,19 @@ public final class FastConnectionPool extends Thread implements ConnectionPool,
         }
 
         long parkNanoSeconds = SECONDS.toNanos(poolConfig.getWaitTimeToClearPool());
+        int closeThreadSize = poolConfig.getCloseConnectionThreadSize();
+        ThreadPoolExecutor closeExecutor = new ThreadPoolExecutor(closeThreadSize, closeThreadSize, 15, SECONDS,
+                new LinkedBlockingQueue<Runnable>(), new PoolThreadThreadFactory("PooledConnectionCloser"));
+        Map<PooledConnection, Future<?>> closeFutureMap = new IdentityHashMap<PooledConnection, Future<?>>();
         while (connArray.length > 0) {
             PooledConnection[] array = connArray;
+            List<PooledConnection> removedList = new ArrayList<PooledConnection>(array.length);
             for (int i = 0, len = array.length; i < len; i++) {
                 PooledConnection pConn = array[i];
                 if (ConnStUpd.compareAndSet(pConn, CONNECTION_IDLE, CONNECTION_CLOSED)) {
-                    removePooledConn(pConn, source);
+                    removedList.add(pConn);
                 } else if (pConn.state == CONNECTION_CLOSED) {
-                    removePooledConn(pConn, source);
+                    removedList.add(pConn);
                 } else if (pConn.state == CONNECTION_USING) {
                     ProxyConnectionBase proxyConn = pConn.proxyConn;
                     if (force) {
@@ -564,9 +1164,55 @@ public final class FastConnectionPool extends Thread implements ConnectionPool,
                 }
             } // for
 
+            removeFromArray(removedList);
+            for (final PooledConnection pConn : removedList) {//close them in parallel
+                closeFutureMap.put(pConn, closeExecutor.submit(new Runnable() {
+                    public void run() {
+                        pConn.closeRawConn();
+                    }
+                }));
+            }
             if (connArray.length > 0) parkNanos(parkNanoSeconds);
         } // while
-        idleSchExecutor.getQueue().clear();
+        long closeDeadline = nanoTime() + MILLISECONDS.toNanos(poolConfig.getCloseConnectionTimeout());
+        waitConnectionsClosed(closeFutureMap, closeExecutor, closeDeadline);
+        if (!sharedSchExecutor) idleSchExecutor.getQueue().clear();
+    }
+
+    //wait parallel closing until deadline,then abort overrun connections;threads of close executor may be
+    //stuck in hung 'close' calls,so abort runs on a separate executor
+    private void waitConnectionsClosed(Map<PooledConnection, Future<?>> closeFutureMap, ThreadPoolExecutor closeExecutor, long deadline) {
+        int closedSize = 0, abortedSize = 0;
+        ThreadPoolExecutor abortExecutor = null;
+        for (Map.Entry<PooledConnection, Future<?>> entry : closeFutureMap.entrySet()) {
+            Future<?> future = entry.getValue();
+            try {
+                future.get(Math.max(0L, deadline - nanoTime()), NANOSECONDS);
+                closedSize++;
+                continue;
+            } catch (TimeoutException e) {
+                future.cancel(true);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                future.cancel(true);
+            } catch (ExecutionException e) {
+                closedSize++;
+                continue;
+            }
+
+            if (abortExecutor == null) {
+                int threadSize = closeExecutor.getCorePoolSize();
+                abortExecutor = new ThreadPoolExecutor(threadSize, threadSize, 15, SECONDS,
+                        new LinkedBlockingQueue<Runnable>(), new PoolThreadThreadFactory("PooledConnectionAborter"));
+                abortExecutor.allowCoreThreadTimeOut(true);
+            }
+            entry.getKey().abortRawConn(abortExecutor);
+            abortedSize++;
+        }
+        closeExecutor.shutdown();
+        if (abortExecutor != null) abortExecutor.shutdown();//submitted abort tasks still run
+        if (!closeFutureMap.isEmpty())
+            commonLog.info("BeeCP({})physical connections closed:{},aborted:{}", poolName, closedSize, abortedSize);
     }
 
     // notify to create connections to pool
@@ -605,7 +1251,7 @@ public final class FastConnectionPool extends Thread implements ConnectionPool,
                         if ((pConn = createPooledConn(CONNECTION_USING)) != null)
                             recycle(pConn);
                     } catch (SQLException e) {
-                        transferException(e);
+                        transferException(e, createBreaker != null && createBreaker.isOpen());
                     }
                 }
             }
@@ -633,6 +1279,35 @@ public final class FastConnectionPool extends Thread implements ConnectionPool,
         }
     }
 
+    // replace all connections without blocking borrowers
+    public void rollingReset() {
+        rollingReset(null);
+    }
+
+    /**
+     * replace all connections without blocking borrowers:idle connections are replaced one by one,
+     * a new connection is created before a stale one retired,and using connections are removed when they are returned
+     *
+     * @param newFactory a new connection factory(for example with new credentials or url),null means not to change
+     */
+    public void rollingReset(ConnectionFactory newFactory) {
+        if (poolState.get() != POOL_NORMAL) return;
+        int generation;
+        synchronized (connArrayLock) {//atomic swap against connection creation
+            if (newFactory != null) connFactory = newFactory;
+            generation = ++connGeneration;
+        }
+        if (newFactory != null && createBreaker != null) createBreaker.reset();//failures belong to old factory
+        commonLog.info("BeeCP({})begin to rolling reset", poolName);
+
+        int staleIdleSize = 0;
+        for (PooledConnection pConn : connArray) {
+            if (pConn.state == CONNECTION_IDLE && pConn.generation != generation) staleIdleSize++;
+        }
+        int replacedSize = replaceStaleConnsInParallel(staleIdleSize, generation);
+        commonLog.info("BeeCP({})finished rolling reset{stale idle:{},replaced:{}}", poolName, staleIdleSize, replacedSize);
+    }
+
     public int getConnTotalSize() {
         return connArray.length;
     }
@@ -652,7 +1327,7 @@ public final class FastConnectionPool extends Thread implements ConnectionPool,
     }
 
     public int getSemaphoreAcquiredSize() {
-        return poolConfig.getBorrowSemaphoreSize() - borrowSemaphore.availablePermits();
+        return borrowSemaphore.getSize() - borrowSemaphore.availablePermits();
     }
 
     public int getSemaphoreWaitingSize() {
@@ -663,9 +1338,84 @@ public final class FastConnectionPool extends Thread implements ConnectionPool,
         return waitQueue.size();
     }
 
+    public int getPoolMaxSize() {
+        return poolMaxSize;
+    }
+
+    public void setPoolMaxSize(int size) {
+        if (size <= 0) throw new IllegalArgumentException("Pool max size must be greater than zero");
+        if (elasticSizeController != null) elasticSizeController.setCeilingSize(size);
+        setPoolMaxSizeInternal(size);
+        commonLog.info("BeeCP({})max size changed to {}", poolName, size);
+    }
+
+    public int getBorrowSemaphoreSize() {
+        return borrowSemaphore.getSize();
+    }
+
+    public void setBorrowSemaphoreSize(int size) {
+        if (size <= 0) throw new IllegalArgumentException("Semaphore size must be greater than zero");
+        borrowSemaphore.resize(size);
+        commonLog.info("BeeCP({})semaphore size changed to {}", poolName, size);
+    }
+
+    public long getConnCreateAvgTime() {
+        return NANOSECONDS.toMillis(getConnCreateAvgNanos());
+    }
+
+    public String[] getElasticResizeHistory() {
+        return elasticSizeController != null ? elasticSizeController.getHistory() : new String[0];
+    }
+
+    public double getPrewarmForecastAccuracy() {
+        return prewarmForecaster != null ? prewarmForecaster.getForecastAccuracy() : 0D;
+    }
+
+    public double getPrewarmHitRate() {
+        long count = prewarmCount.get();
+        return count > 0 ? (double) prewarmHitCount.get() / count : 0D;
+    }
+
+    public double getStatementCacheHitRatio() {
+        long hitCount = stmCacheHitCount.sum();
+        long count = hitCount + stmCacheMissCount.sum();
+        return count > 0 ? (double) hitCount / count : 0D;
+    }
+
+    public String[] getSqlTopByP99(int size) {
+        return sqlLatencyStats != null ? sqlLatencyStats.getTopByP99(size) : new String[0];
+    }
+
+    public String[] getSqlTopByTotalTime(int size) {
+        return sqlLatencyStats != null ? sqlLatencyStats.getTopByTotalTime(size) : new String[0];
+    }
+
+    public long getSlowSqlDroppedCount() {
+        return slowSqlLog != null ? slowSqlLog.getDroppedCount() : 0L;
+    }
+
+    public double getResultCacheHitRatio() {
+        return resultCache != null ? resultCache.getHitRatio() : 0D;
+    }
+
+    public void clearResultCache() {
+        if (resultCache != null) resultCache.invalidateAll();
+    }
+
+    public String getConnCreateBreakerState() {
+        return createBreaker != null ? createBreaker.getStateDesc() : "disabled";
+    }
+
+    public String[] getConnectHostHealth() {
+        ConnectionFactory factory = connFactory;
+        return factory instanceof FailoverConnectionFactory ? ((FailoverConnectionFactory) factory).getHostHealth() : new String[0];
+    }
+
+    //a new vo on each call,which may be called concurrently
     public ConnectionPoolMonitorVo getMonitorVo() {
         int totSize = getConnTotalSize();
         int idleSize = getConnIdleSize();
+        ConnectionPoolMonitorVo monitorVo = new ConnectionPoolMonitorVo();
         monitorVo.setPoolName(poolName);
         monitorVo.setPoolMode(poolMode);
         monitorVo.setPoolState(poolState.get());
@@ -686,6 +1436,10 @@ public final class FastConnectionPool extends Thread implements ConnectionPool,
         }
     }
 
+    private String getPartitionJMXName(Object partitionKey) {
+        return String.format("cn.beecp.pool.FastConnectionPool:type=BeeCP(%s)-partition,name=%s", poolName, ObjectName.quote(String.valueOf(partitionKey)));
+    }
+
     private void registerJMXBean(MBeanServer mBeanServer, String regName, Object bean) {
         try {
             ObjectName jmxRegName = new ObjectName(regName);
@@ -703,6 +1457,10 @@ public final class FastConnectionPool extends Thread implements ConnectionPool,
             MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
             unregisterJMXBean(mBeanServer, String.format("cn.beecp.pool.FastConnectionPool:type=BeeCP(%s)", poolName));
             unregisterJMXBean(mBeanServer, String.format("cn.beecp.BeeDataSourceConfig:type=BeeCP(%s)-config", poolName));
+            if (partitionMap != null) {
+                for (Object partitionKey : partitionMap.keySet())
+                    unregisterJMXBean(mBeanServer, getPartitionJMXName(partitionKey));
+            }
         }
     }
 
@@ -0,0 +1,180 @@
+/*
+ * Copyright Chris2018998
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.beecp.pool;
+
+import java.sql.SQLException;
+import java.util.concurrent.atomic.LongAdder;
+
+import static cn.beecp.pool.PoolStaticCenter.RequestInterruptException;
+import static cn.beecp.pool.PoolStaticCenter.RequestTimeoutException;
+import static java.lang.System.currentTimeMillis;
+import static java.lang.System.nanoTime;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * Quota of a pool partition(tenant).
+ * <p>
+ * A partition can use 'minSize' connections at least(guaranteed),and 'maxSize' connections at most,
+ * connections beyond 'minSize' are taken from a burst area shared by all partitions.
+ *
+ * @author Chris.Liao
+ * @version 1.0
+ */
+final class PoolPartition implements PoolPartitionJMXBean {
+    private final Object key;
+    private final int minSize;
+    private final int maxSize;
+    private final FastConnectionPool pool;
+    private final LongAdder borrowCount = new LongAdder();
+    private final LongAdder waitNanos = new LongAdder();
+    private final LongAdder holdNanos = new LongAdder();
+    private final LongAdder returnCount = new LongAdder();
+    private int usingSize;//guarded by this
+    private int burstSize;//guarded by this
+    private int waitingSize;//guarded by this
+    private boolean burstWaiting;//guarded by this,in burst waiting queue of pool
+    private boolean evicted;//guarded by this
+    private long lastReleaseTime = currentTimeMillis();//guarded by this
+
+    PoolPartition(Object key, int minSize, int maxSize, FastConnectionPool pool) {
+        this.key = key;
+        this.minSize = minSize;
+        this.maxSize = maxSize;
+        this.pool = pool;
+    }
+
+    /**
+     * enter partition before acquiring,an entered partition can't be evicted
+     *
+     * @return false,partition has been evicted,get a new one from pool
+     */
+    synchronized boolean tryEnter() {
+        if (evicted) return false;
+        waitingSize++;
+        return true;
+    }
+
+    /**
+     * acquire a quota of an entered partition
+     *
+     * @param deadline nanoseconds,wait timeout point of the borrow
+     * @return true,quota is taken from shared burst area
+     * @throws SQLException wait timeout or interrupted
+     */
+    boolean acquire(long deadline) throws SQLException {
+        synchronized (this) {
+            try {
+                while (true) {
+                    if (usingSize < maxSize) {
+                        if (usingSize < minSize) {
+                            usingSize++;
+                            return false;
+                        }
+                        if (!burstWaiting) {//queue before trying,so a burst release after failed try will notify us
+                            burstWaiting = true;
+                            pool.addPartitionBurstWaiter(this);
+                        }
+                        if (pool.tryAcquirePartitionBurst()) {
+                            usingSize++;
+                            burstSize++;
+                            return true;
+                        }
+                    }
+
+                    long timeout = deadline - nanoTime();
+                    if (timeout <= 0L) throw RequestTimeoutException;
+                    NANOSECONDS.timedWait(this, timeout);
+                }
+            } catch (InterruptedException e) {
+                throw RequestInterruptException;
+            } finally {
+                waitingSize--;
+            }
+        }
+    }
+
+    void release(boolean burst) {
+        synchronized (this) {
+            usingSize--;
+            if (burst) burstSize--;
+            lastReleaseTime = currentTimeMillis();
+            notify();
+        }
+        if (burst) pool.releasePartitionBurst();//notify waiters of other partitions without holding this lock
+    }
+
+    //called by pool when a burst quota released
+    synchronized void signalBurstReleased() {
+        burstWaiting = false;
+        notifyAll();
+    }
+
+    /**
+     * evict the partition if no borrower uses or waits on it
+     *
+     * @param idleDeadline last release time must not be after it
+     * @return true,partition evicted
+     */
+    synchronized boolean tryEvict(long idleDeadline) {
+        if (evicted || usingSize > 0 || waitingSize > 0 || lastReleaseTime > idleDeadline) return false;
+        evicted = true;
+        return true;
+    }
+
+    void onBorrowed(long waitTime) {
+        borrowCount.increment();
+        waitNanos.add(waitTime);
+    }
+
+    void onReturned(long holdTime) {
+        returnCount.increment();
+        holdNanos.add(holdTime);
+    }
+
+    Object getKey() {
+        return key;
+    }
+
+    public String getPartitionKey() {
+        return String.valueOf(key);
+    }
+
+    public synchronized int getUsingSize() {
+        return usingSize;
+    }
+
+    public synchronized int getBurstSize() {
+        return burstSize;
+    }
+
+    public synchronized int getWaitingSize() {
+        return waitingSize;
+    }
+
+    public long getBorrowCount() {
+        return borrowCount.sum();
+    }
+
+    public long getAvgWaitTime() {
+        long count = borrowCount.sum();
+        return count > 0 ? NANOSECONDS.toMillis(waitNanos.sum() / count) : 0L;
+    }
+
+    public long getAvgHoldTime() {
+        long count = returnCount.sum();
+        return count > 0 ? NANOSECONDS.toMillis(holdNanos.sum() / count) : 0L;
+    }
+}
@@ -0,0 +1,46 @@
+/*
+ * Copyright Chris2018998
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.beecp.pool;
+
+/**
+ * Pool partition JMX Bean interface
+ *
+ * @author Chris.Liao
+ * @version 1.0
+ */
+public interface PoolPartitionJMXBean {
+
+    //return partition key
+    String getPartitionKey();
+
+    //return using connection size of partition
+    int getUsingSize();
+
+    //return using connection size out of partition minimum guarantee(from shared burst area)
+    int getBurstSize();
+
+    //return borrower size waiting for partition quota
+    int getWaitingSize();
+
+    //return count of borrowed connections
+    long getBorrowCount();
+
+    //return average wait time(milliseconds) to borrow a connection
+    long getAvgWaitTime();
+
+    //return average hold time(milliseconds) of borrowed connections
+    long getAvgHoldTime();
+}
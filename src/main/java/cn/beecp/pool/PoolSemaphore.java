@@ -0,0 +1,52 @@
+/*
+ * Copyright Chris2018998
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.beecp.pool;
+
+import java.util.concurrent.Semaphore;
+
+/**
+ * Borrow semaphore,whose permit size can be changed at runtime
+ *
+ * @author Chris.Liao
+ * @version 1.0
+ */
+final class PoolSemaphore extends Semaphore {
+    private volatile int size;
+
+    PoolSemaphore(int size, boolean fair) {
+        super(size, fair);
+        this.size = size;
+    }
+
+    int getSize() {
+        return size;
+    }
+
+    /**
+     * change permit size,acquired permits are not affected,and released permits
+     * are counted against the new size
+     *
+     * @param newSize new permit size
+     */
+    synchronized void resize(int newSize) {
+        int delta = newSize - size;
+        if (delta > 0)
+            release(delta);
+        else if (delta < 0)
+            reducePermits(-delta);
+        size = newSize;
+    }
+}
@@ -44,6 +44,10 @@ public class PoolStaticCenter {
     public static final int THREAD_WORKING = 1;
     public static final int THREAD_WAITING = 2;
     public static final int THREAD_DEAD = 3;
+    //CONNECTION CREATE BREAKER STATE
+    public static final int BREAKER_CLOSED = 1;
+    public static final int BREAKER_OPEN = 2;
+    public static final int BREAKER_HALF_OPEN = 3;
     //BORROWER STATE
     public static final Object BORROWER_NORMAL = new Object();
     public static final Object BORROWER_WAITING = new Object();
@@ -151,14 +155,17 @@ public class PoolStaticCenter {
     }
 
 
+    //proxy classes are generated by 'ProxySourceGenerator'
     public static final Connection createProxyConnection(PooledConnection pConn, Borrower borrower) throws SQLException {
-        // borrower.setBorrowedConnection(pConn);
-        // return pConn.proxyConnCurInstance=new ProxyConnection(pConn);
-        throw new SQLException("Proxy classes not be generated,please execute 'ProxyClassGenerator' after compile");
+        borrower.lastUsedConn = pConn;
+        return new ProxyConnection(pConn);
+    }
+
+    public static final PreparedStatement createProxyPsStatement(PreparedStatement delegate, PooledConnection pConn) throws SQLException {
+        return new ProxyPsStatement(delegate, pConn);
     }
 
     public static final ResultSet createProxyResultSet(ResultSet delegate, ProxyStatementBase proxyStatement, PooledConnection pConn) throws SQLException {
-        // return new ProxyResultSet(delegate,pConn);
-        throw new SQLException("Proxy classes not be generated,please execute 'ProxyClassGenerator' after compile");
+        return new ProxyResultSet(delegate, proxyStatement, pConn);
     }
 }
\ No newline at end of file
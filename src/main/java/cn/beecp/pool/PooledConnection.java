@@ -17,14 +17,21 @@ package cn.beecp.pool;
 
 import cn.beecp.BeeDataSourceConfig;
 
+import java.lang.ref.WeakReference;
 import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ThreadPoolExecutor;
 
 import static cn.beecp.pool.PoolStaticCenter.commonLog;
+import static cn.beecp.pool.PoolStaticCenter.isBlank;
 import static cn.beecp.pool.PoolStaticCenter.oclose;
 import static java.lang.System.arraycopy;
 import static java.lang.System.currentTimeMillis;
+import static java.lang.System.nanoTime;
 
 /**
  * Pooled Connection
@@ -39,6 +46,7 @@ class PooledConnection {
     ProxyConnectionBase proxyConn;
     volatile long lastAccessTime;
     boolean commitDirtyInd;
+    boolean warningDirtyInd = true;//warnings may exist on raw connection,new connection unknown
     boolean curAutoCommit;
     boolean defaultAutoCommit;
     int defaultTransactionIsolationCode;
@@ -46,8 +54,34 @@ class PooledConnection {
     String defaultCatalog;
     String defaultSchema;
     int defaultNetworkTimeout;
-    int tracedPos;
+    private int tracedPos;
+    int generation;//pool generation when created,stale after rolling reset
+    boolean prewarmed;//created by prewarm forecast and not borrowed yet
     boolean traceStatement;
+    PoolPartition partition;//partition of current borrower
+    boolean partitionBurst;//quota taken from partition burst area
+    long partitionBorrowTime;//nanoseconds
+    StatementCache stmCache;//null when statement cache disabled
+    DriverProxyFactory driverProxyFactory;//null when driver specific proxy disabled
+    SqlLatencyStats sqlLatencyStats;//null when sql latency statistics disabled
+    SlowSqlLog slowSqlLog;//null when slow sql log disabled
+    boolean timeExecution;//sql latency statistics or slow sql log enabled
+    int autoBatchSize;//max size of queued updates
+    SqlPatternSet autoBatchSQLs;//null when no sql in auto batch mode
+    ProxyStatementBase batchingStatement;//statement with queued updates
+    ResultCache resultCache;//null when result cache disabled
+    SqlPatternSet detachedResultSQLs;//null when no sql with detached results
+    ArrayList<String[]> uncommittedWriteTables;//written tables in current transaction,null element means unknown tables
+    boolean shadowSessionState;//current session state kept in below fields
+    int curTransactionIsolation;
+    boolean curReadOnly;
+    String curCatalog;
+    boolean curCatalogKnown;
+    String curSchema;
+    boolean curSchemaKnown;
+    boolean deferReset;//session state reset deferred to next borrow
+    volatile boolean resetPending;
+    WeakReference<Borrower> resetOwner;//thread local reference of last borrower
     private ThreadPoolExecutor defaultNetworkTimeoutExecutor;
     private FastConnectionPool pool;
     private ProxyStatementBase[] tracedStatements;
@@ -70,41 +104,118 @@ class PooledConnection {
         curAutoCommit = defaultAutoCommit;
         //default value
 
+        deferReset = config.isDeferConnectionReset();
+        if (shadowSessionState = config.isShadowSessionState())
+            resetShadowState();
+
         if (traceStatement = config.isTraceStatement())
             tracedStatements = new ProxyStatementBase[10];
+        driverProxyFactory = pool.getDriverProxyFactory();
+        sqlLatencyStats = pool.getSqlLatencyStats();
+        slowSqlLog = pool.getSlowSqlLog();
+        timeExecution = sqlLatencyStats != null || slowSqlLog != null;
+        autoBatchSize = config.getAutoBatchSize();
+        autoBatchSQLs = pool.getAutoBatchSQLs();
+        resultCache = pool.getResultCache();
+        detachedResultSQLs = pool.getDetachedResultSQLs();
+        if (config.getStatementCacheSize() > 0)
+            stmCache = new StatementCache(config.getStatementCacheSize());
         lastAccessTime = currentTimeMillis();//start time
     }
 
     /************* statement Operation ******************************/
-    final void registerStatement(ProxyStatementBase st) {
-        synchronized (proxyConn) {
-            if (tracedPos == tracedStatements.length) {
-                ProxyStatementBase[] stArray = new ProxyStatementBase[tracedPos << 1];
-                System.arraycopy(tracedStatements, 0, stArray, 0, tracedPos);
-                tracedStatements = stArray;
+    //execute queued updates of batching statement
+    final void flushAutoBatch() throws SQLException {
+        ProxyStatementBase statement = batchingStatement;
+        if (statement != null) {
+            batchingStatement = null;
+            statement.executeAutoBatch();
+        }
+    }
+
+    //drop queued updates of batching statement(transaction rollback)
+    final void discardAutoBatch() {
+        ProxyStatementBase statement = batchingStatement;
+        if (statement != null) {
+            batchingStatement = null;
+            statement.clearAutoBatch();
+        }
+    }
+
+    //invalidate cached results on written tables,which are invalidated again on commit
+    final void onResultCacheWrite(String[] tables) {
+        resultCache.invalidate(tables);
+        if (!curAutoCommit) {
+            if (uncommittedWriteTables == null) uncommittedWriteTables = new ArrayList<String[]>(2);
+            uncommittedWriteTables.add(tables);
+        }
+    }
+
+    //transaction end(commit or rollback)
+    final void endResultCacheTransaction(boolean committed) {
+        ArrayList<String[]> tablesList = uncommittedWriteTables;
+        if (tablesList != null) {
+            uncommittedWriteTables = null;
+            if (committed) {
+                for (String[] tables : tablesList)
+                    resultCache.invalidate(tables);
             }
-            tracedStatements[tracedPos++] = st;
         }
     }
 
-    final void unregisterStatement(ProxyStatementBase st) {
-        synchronized (proxyConn) {
-            for (int i = 0; i < tracedPos; i++)
-                if (st == tracedStatements[i]) {
-                    int m = tracedPos - i - 1;
-                    if (m > 0) System.arraycopy(tracedStatements, i + 1, tracedStatements, i, m);//move to ahead
-                    tracedStatements[--tracedPos] = null; // clear to let GC do its work
-                    return;
-                }
+    final PreparedStatement takeCachedStatement(StatementCache.Key key) {
+        PreparedStatement ps = stmCache.take(key);
+        pool.onStatementCacheLookup(ps != null);
+        return ps;
+    }
+
+    //return a closed proxy statement's delegate to cache,false:need physical close
+    final boolean cacheStatement(StatementCache.Key key, PreparedStatement ps) {
+        try {
+            ps.clearParameters();
+            ps.clearBatch();
+        } catch (SQLException e) {
+            return false;
+        }
+        return stmCache.offer(key, ps);
+    }
+
+    //slot index kept in statement for O(1) removal;traced array is also cleaned by pool thread(hold timeout,
+    //pool clear),so register,unregister and clean are synchronized on pooled connection(uncontended mostly)
+    final synchronized void registerStatement(ProxyStatementBase st) {
+        if (tracedPos == tracedStatements.length) {
+            ProxyStatementBase[] stArray = new ProxyStatementBase[tracedPos << 1];
+            System.arraycopy(tracedStatements, 0, stArray, 0, tracedPos);
+            tracedStatements = stArray;
         }
+        st.tracedSlot = tracedPos;
+        tracedStatements[tracedPos++] = st;
     }
 
-    final void cleanTracedStatements() {//not add synchronized here,because it has been in synchronized scope
-        for (int i = 0; i < tracedPos; i++) {
-            tracedStatements[i].setAsClosed();
-            tracedStatements[i] = null;// clear to let GC do its work
+    //move last one to the slot of removed statement
+    final synchronized void unregisterStatement(ProxyStatementBase st) {
+        int slot = st.tracedSlot;
+        if (slot < tracedPos && tracedStatements[slot] == st) {
+            ProxyStatementBase lastSt = tracedStatements[--tracedPos];
+            tracedStatements[slot] = lastSt;
+            lastSt.tracedSlot = slot;
+            tracedStatements[tracedPos] = null; // clear to let GC do its work
         }
-        tracedPos = 0;
+    }
+
+    //statements are taken out in lock and closed out of lock
+    final void cleanTracedStatements() {
+        ProxyStatementBase[] statements;
+        int size;
+        synchronized (this) {
+            size = tracedPos;
+            if (size == 0) return;
+            statements = Arrays.copyOf(tracedStatements, size);
+            Arrays.fill(tracedStatements, 0, size, null);// clear to let GC do its work
+            tracedPos = 0;
+        }
+        for (int i = 0; i < size; i++)
+            statements[i].setAsClosed();
     }
 
     /************* statement Operation ******************************/
@@ -112,6 +223,7 @@ class PooledConnection {
     //close raw connection
     void closeRawConn() {//called by pool
         try {
+            if (stmCache != null) stmCache.close();
             resetRawConnOnReturn();
         } catch (SQLException e) {
             commonLog.error("Connection close error", e);
@@ -120,10 +232,20 @@ class PooledConnection {
         }
     }
 
+    //abort raw connection when its close is overrun
+    void abortRawConn(Executor executor) {
+        try {
+            rawConn.abort(executor);
+        } catch (Throwable e) {
+            commonLog.warn("Connection abort error", e);
+        }
+    }
+
     //***************called by connection proxy ********//
     final void recycleSelf() throws SQLException {
         try {
             proxyConn = null;
+            if (partition != null) releasePartition();
             resetRawConnOnReturn();
             pool.recycle(this);
         } catch (SQLException e) {
@@ -132,6 +254,18 @@ class PooledConnection {
         }
     }
 
+    private void releasePartition() {
+        PoolPartition curPartition = partition;
+        partition = null;
+        curPartition.onReturned(nanoTime() - partitionBorrowTime);
+        curPartition.release(partitionBurst);
+    }
+
+    final void onPrewarmHit() {
+        prewarmed = false;
+        pool.onPrewarmHit();
+    }
+
     final void updateAccessTime() {//for update,insert.select,delete and so on DML
         commitDirtyInd = !curAutoCommit;
         lastAccessTime = currentTimeMillis();
@@ -158,37 +292,77 @@ class PooledConnection {
         return pool.supportNetworkTimeout();
     }
 
+    //default values have been set on raw connection,catalog and schema are unknown without default
+    private void resetShadowState() {
+        curTransactionIsolation = defaultTransactionIsolationCode;
+        curReadOnly = defaultReadOnly;
+        curCatalog = defaultCatalog;
+        curCatalogKnown = !isBlank(defaultCatalog);
+        curSchema = defaultSchema;
+        curSchemaKnown = !isBlank(defaultSchema) && supportSchema();
+    }
+
     final void resetRawConnOnReturn() throws SQLException {
+        if (uncommittedWriteTables != null) endResultCacheTransaction(false);
         if (!curAutoCommit && commitDirtyInd) { //Roll back when commit dirty
+            warningDirtyInd = true;
             rawConn.rollback();
             commitDirtyInd = false;
         }
 
         //reset begin
         if (resetCnt > 0) {
-            if (resetInd[0]) {//reset autoCommit
-                rawConn.setAutoCommit(defaultAutoCommit);
-                curAutoCommit = defaultAutoCommit;
-            }
-            if (resetInd[1])
-                rawConn.setTransactionIsolation(defaultTransactionIsolationCode);
-            if (resetInd[2]) //reset readonly
-                rawConn.setReadOnly(defaultReadOnly);
-            if (resetInd[3]) //reset catalog
-                rawConn.setCatalog(defaultCatalog);
-
-            //for JDK1.7 begin
-            if (resetInd[4]) //reset schema
-                rawConn.setSchema(defaultSchema);
-            if (resetInd[5]) //reset networkTimeout
-                rawConn.setNetworkTimeout(defaultNetworkTimeoutExecutor, defaultNetworkTimeout);
-            //for JDK1.7 end
-
-            resetCnt = 0;
-            arraycopy(ResetInd, 0, resetInd, 0, 6);
+            if (deferReset)
+                resetPending = true;
+            else
+                resetSessionState();
         }//reset end
+        clearDirtyWarnings();
+    }
+
+    //clear warnings only after calls which may raise them,'clearWarnings' may be synchronized or remote on some drivers
+    private void clearDirtyWarnings() throws SQLException {
+        if (warningDirtyInd) {
+            rawConn.clearWarnings();
+            warningDirtyInd = false;
+        }
+    }
+
+    //called on borrow by another borrower,false:connection need be removed
+    final boolean applyDeferredReset() {
+        try {
+            if (resetCnt > 0) resetSessionState();
+            clearDirtyWarnings();//warnings of reset not seen by borrower
+            resetPending = false;
+            return true;
+        } catch (SQLException e) {
+            commonLog.warn("Connection deferred reset error", e);
+            return false;
+        }
+    }
+
+    private void resetSessionState() throws SQLException {
+        if (resetInd[0]) {//reset autoCommit
+            rawConn.setAutoCommit(defaultAutoCommit);
+            curAutoCommit = defaultAutoCommit;
+        }
+        if (resetInd[1])
+            rawConn.setTransactionIsolation(defaultTransactionIsolationCode);
+        if (resetInd[2]) //reset readonly
+            rawConn.setReadOnly(defaultReadOnly);
+        if (resetInd[3]) //reset catalog
+            rawConn.setCatalog(defaultCatalog);
+
+        //for JDK1.7 begin
+        if (resetInd[4]) //reset schema
+            rawConn.setSchema(defaultSchema);
+        if (resetInd[5]) //reset networkTimeout
+            rawConn.setNetworkTimeout(defaultNetworkTimeoutExecutor, defaultNetworkTimeout);
+        //for JDK1.7 end
 
-        //clear warnings
-        rawConn.clearWarnings();
+        warningDirtyInd = true;
+        resetCnt = 0;
+        arraycopy(ResetInd, 0, resetInd, 0, 6);
+        if (shadowSessionState) resetShadowState();
     }
 }
\ No newline at end of file
@@ -0,0 +1,143 @@
+/*
+ * Copyright Chris2018998
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.beecp.pool;
+
+import java.util.TimeZone;
+
+import static cn.beecp.pool.PoolStaticCenter.commonLog;
+import static java.lang.System.currentTimeMillis;
+
+/**
+ * Forecast borrow concurrency of next period and pre-create connections before ramps.
+ * <p>
+ * Two models are combined:EWMA of sampled concurrency(scaled by borrow rate trend)
+ * and a seasonal model of hourly peak concurrency,the larger one is taken as forecast.
+ *
+ * @author Chris.Liao
+ * @version 1.0
+ */
+final class PrewarmForecaster implements Runnable {
+    private static final double ALPHA = 0.3D;//EWMA smoothing factor
+    private static final double SEASON_ALPHA = 0.5D;//hourly peak smoothing factor
+    private static final long HOUR_MILLIS = 3600000L;
+    private static final long DAY_MILLIS = HOUR_MILLIS * 24;
+    private final FastConnectionPool pool;
+    private final int maxPrewarmSize;
+    private final long checkInterval;
+    private final TimeZone timeZone = TimeZone.getDefault();
+    private final int[] hourlyPeak = new int[24];//seasonal model,peak concurrency by hour of day
+    private int curHour = -1;
+    private int curHourPeak;
+    private double concurrencyEwma;
+    private double rateEwma;
+    private long lastBorrowCount;
+    private long lastSampleTime;
+    private int lastForecast = -1;
+    private double errorEwma;
+    private volatile double forecastAccuracy = 1.0D;
+
+    PrewarmForecaster(FastConnectionPool pool, int maxPrewarmSize, long checkInterval) {
+        this.pool = pool;
+        this.maxPrewarmSize = maxPrewarmSize;
+        this.checkInterval = checkInterval;
+    }
+
+    public void run() {
+        try {
+            forecastAndPrewarm();
+        } catch (Throwable e) {
+            commonLog.warn("BeeCP({})failed to prewarm connections", pool.getPoolName(), e);
+        }
+    }
+
+    private void forecastAndPrewarm() {
+        long now = currentTimeMillis();
+        long borrowCount = pool.getBorrowCount();
+        double rate = lastSampleTime > 0 ? (borrowCount - lastBorrowCount) * 1000D / Math.max(1L, now - lastSampleTime) : 0D;
+        lastBorrowCount = borrowCount;
+        lastSampleTime = now;
+
+        int concurrency = pool.getConnUsingSize() + pool.getTransferWaitingSize();
+        updateSeason(now, concurrency);
+        updateAccuracy(concurrency);
+
+        //rate trend:ratio of current rate to its average,bounded in [1,2]
+        double trend = rateEwma > 0D ? Math.min(2D, Math.max(1D, rate / rateEwma)) : 1D;
+        concurrencyEwma = concurrencyEwma == 0D ? concurrency : ALPHA * concurrency + (1 - ALPHA) * concurrencyEwma;
+        rateEwma = rateEwma == 0D ? rate : ALPHA * rate + (1 - ALPHA) * rateEwma;
+
+        int forecast = Math.max((int) Math.ceil(concurrencyEwma * trend), hourlyPeak[hourOf(now + checkInterval, timeZone)]);
+        lastForecast = forecast;
+
+        int target = Math.min(forecast, Math.min(maxPrewarmSize, pool.getPoolMaxSize()));
+        int lack = target - pool.getConnTotalSize();
+        if (lack > 0) pool.prewarmConnections(lack);
+    }
+
+    private void updateSeason(long now, int concurrency) {
+        int hour = hourOf(now, timeZone);
+        if (hour != curHour) {
+            if (curHour >= 0) {
+                synchronized (hourlyPeak) {
+                    int old = hourlyPeak[curHour];
+                    hourlyPeak[curHour] = old == 0 ? curHourPeak : (int) Math.ceil(SEASON_ALPHA * curHourPeak + (1 - SEASON_ALPHA) * old);
+                }
+            }
+            curHour = hour;
+            curHourPeak = 0;
+        }
+        if (concurrency > curHourPeak) curHourPeak = concurrency;
+    }
+
+    //accuracy=1-EWMA of absolute percentage error between last forecast and actual concurrency
+    private void updateAccuracy(int actual) {
+        if (lastForecast >= 0) {
+            double error = Math.abs(lastForecast - actual) / (double) Math.max(1, actual);
+            errorEwma = ALPHA * Math.min(1D, error) + (1 - ALPHA) * errorEwma;
+            forecastAccuracy = 1D - errorEwma;
+        }
+    }
+
+    static int hourOf(long time) {
+        return hourOf(time, TimeZone.getDefault());
+    }
+
+    //hour of day by zone offset,no calendar created on each tick
+    private static int hourOf(long time, TimeZone zone) {
+        long localTime = (time + zone.getOffset(time)) % DAY_MILLIS;
+        if (localTime < 0) localTime += DAY_MILLIS;
+        return (int) (localTime / HOUR_MILLIS);
+    }
+
+    double getForecastAccuracy() {
+        return forecastAccuracy;
+    }
+
+    //seed seasonal model with saved hourly peaks
+    void setHourlyPeaks(int[] peaks) {
+        synchronized (hourlyPeak) {
+            System.arraycopy(peaks, 0, hourlyPeak, 0, Math.min(peaks.length, hourlyPeak.length));
+        }
+    }
+
+    int[] getHourlyPeaks() {
+        synchronized (hourlyPeak) {
+            int[] peaks = hourlyPeak.clone();
+            if (curHour >= 0 && curHourPeak > peaks[curHour]) peaks[curHour] = curHourPeak;
+            return peaks;
+        }
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright Chris2018998
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.beecp.pool;
+
+import java.sql.*;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Connection proxy,generated by {@link ProxySourceGenerator},do not edit
+ *
+ * @author Chris.Liao
+ * @version 1.0
+ */
+public final class ProxyConnection extends ProxyConnectionBase {
+    public ProxyConnection(PooledConnection pConn) {
+        super(pConn);
+    }
+
+    public Array createArrayOf(String p1, Object[] p2) throws SQLException {
+        return delegate.createArrayOf(p1, p2);
+    }
+
+    public Blob createBlob() throws SQLException {
+        return delegate.createBlob();
+    }
+
+    public Clob createClob() throws SQLException {
+        return delegate.createClob();
+    }
+
+    public NClob createNClob() throws SQLException {
+        return delegate.createNClob();
+    }
+
+    public SQLXML createSQLXML() throws SQLException {
+        return delegate.createSQLXML();
+    }
+
+    public Statement createStatement() throws SQLException {
+        return new ProxyStatement(delegate.createStatement(), pConn);
+    }
+
+    public Statement createStatement(int p1, int p2, int p3) throws SQLException {
+        pConn.warningDirtyInd = true;
+        return new ProxyStatement(delegate.createStatement(p1, p2, p3), pConn);
+    }
+
+    public Statement createStatement(int p1, int p2) throws SQLException {
+        pConn.warningDirtyInd = true;
+        return new ProxyStatement(delegate.createStatement(p1, p2), pConn);
+    }
+
+    public Struct createStruct(String p1, Object[] p2) throws SQLException {
+        return delegate.createStruct(p1, p2);
+    }
+
+    public Properties getClientInfo() throws SQLException {
+        return delegate.getClientInfo();
+    }
+
+    public String getClientInfo(String p1) throws SQLException {
+        return delegate.getClientInfo(p1);
+    }
+
+    public int getHoldability() throws SQLException {
+        return delegate.getHoldability();
+    }
+
+    public DatabaseMetaData getMetaData() throws SQLException {
+        return new ProxyDatabaseMetaData(delegate.getMetaData(), pConn);
+    }
+
+    public Map<String, Class<?>> getTypeMap() throws SQLException {
+        return delegate.getTypeMap();
+    }
+
+    public String nativeSQL(String p1) throws SQLException {
+        return delegate.nativeSQL(p1);
+    }
+
+    public CallableStatement prepareCall(String p1, int p2, int p3, int p4) throws SQLException {
+        pConn.warningDirtyInd = true;
+        return withSql(new ProxyCsStatement(delegate.prepareCall(p1, p2, p3, p4), pConn), p1);
+    }
+
+    public CallableStatement prepareCall(String p1, int p2, int p3) throws SQLException {
+        pConn.warningDirtyInd = true;
+        return withSql(new ProxyCsStatement(delegate.prepareCall(p1, p2, p3), pConn), p1);
+    }
+
+    public CallableStatement prepareCall(String p1) throws SQLException {
+        return withSql(new ProxyCsStatement(delegate.prepareCall(p1), pConn), p1);
+    }
+
+    public PreparedStatement prepareStatement(String p1, int[] p2) throws SQLException {
+        pConn.warningDirtyInd = true;
+        return withSql(new ProxyPsStatement(delegate.prepareStatement(p1, p2), pConn), p1);
+    }
+
+    public PreparedStatement prepareStatement(String p1, String[] p2) throws SQLException {
+        pConn.warningDirtyInd = true;
+        return withSql(new ProxyPsStatement(delegate.prepareStatement(p1, p2), pConn), p1);
+    }
+
+    public PreparedStatement prepareStatement(String p1, int p2) throws SQLException {
+        pConn.warningDirtyInd = true;
+        return withSql(new ProxyPsStatement(delegate.prepareStatement(p1, p2), pConn), p1);
+    }
+
+    public void releaseSavepoint(Savepoint p1) throws SQLException {
+        delegate.releaseSavepoint(p1);
+    }
+
+    public void setClientInfo(String p1, String p2) throws SQLClientInfoException {
+        pConn.warningDirtyInd = true;
+        delegate.setClientInfo(p1, p2);
+    }
+
+    public void setClientInfo(Properties p1) throws SQLClientInfoException {
+        pConn.warningDirtyInd = true;
+        delegate.setClientInfo(p1);
+    }
+
+    public void setHoldability(int p1) throws SQLException {
+        pConn.warningDirtyInd = true;
+        delegate.setHoldability(p1);
+    }
+
+    public void setTypeMap(Map<String, Class<?>> p1) throws SQLException {
+        pConn.warningDirtyInd = true;
+        delegate.setTypeMap(p1);
+    }
+}
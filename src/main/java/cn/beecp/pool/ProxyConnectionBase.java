@@ -16,7 +16,10 @@
 package cn.beecp.pool;
 
 import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.sql.SQLWarning;
+import java.sql.Savepoint;
 import java.util.concurrent.Executor;
 
 import static cn.beecp.pool.PoolStaticCenter.*;
@@ -37,6 +40,7 @@ public abstract class ProxyConnectionBase implements Connection {
         this.pConn = pConn;
         pConn.proxyConn = this;
         this.delegate = pConn.rawConn;
+        if (pConn.prewarmed) pConn.onPrewarmHit();
     }
 
     public Connection getDelegate() throws SQLException {
@@ -58,8 +62,10 @@ public abstract class ProxyConnectionBase implements Connection {
 
             delegate = CLOSED_CON;
             isClosed = true;
-            if(pConn.tracedPos>0)
-             pConn.cleanTracedStatements();
+            if (pConn.batchingStatement != null)//rolled back on return
+                pConn.discardAutoBatch();
+            if (pConn.traceStatement)
+                pConn.cleanTracedStatements();
         }
 
         pConn.recycleSelf();
@@ -72,42 +78,165 @@ public abstract class ProxyConnectionBase implements Connection {
         }
     }
 
+    public PreparedStatement prepareStatement(String sql) throws SQLException {
+        return prepareStatement(sql, -1, -1, -1);
+    }
+
+    public PreparedStatement prepareStatement(String sql, int resultSetType, int resultSetConcurrency) throws SQLException {
+        return prepareStatement(sql, resultSetType, resultSetConcurrency, -1);
+    }
+
+    //statement is taken from cache of pooled connection when cache enabled
+    public PreparedStatement prepareStatement(String sql, int resultSetType, int resultSetConcurrency, int resultSetHoldability) throws SQLException {
+        checkClosed();
+        if (pConn.stmCache == null)
+            return wrapPsStatement(rawPrepareStatement(sql, resultSetType, resultSetConcurrency, resultSetHoldability), sql);
+
+        StatementCache.Key key = new StatementCache.Key(sql, resultSetType, resultSetConcurrency, resultSetHoldability);
+        PreparedStatement ps = pConn.takeCachedStatement(key);
+        if (ps == null) ps = rawPrepareStatement(sql, resultSetType, resultSetConcurrency, resultSetHoldability);
+        PreparedStatement proxyPs = wrapPsStatement(ps, sql);
+        ((ProxyStatementBase) proxyPs).cacheKey = key;
+        return proxyPs;
+    }
+
+    private PreparedStatement wrapPsStatement(PreparedStatement ps, String sql) throws SQLException {
+        PreparedStatement proxyPs = pConn.driverProxyFactory != null ? pConn.driverProxyFactory.createPsStatement(ps, pConn) : createProxyPsStatement(ps, pConn);
+        ((ProxyStatementBase) proxyPs).setSql(sql);
+        return proxyPs;
+    }
+
+    //called by subclass,sql kept on statement proxy for execution statistics and result cache
+    protected final <T extends ProxyStatementBase> T withSql(T statement, String sql) {
+        statement.setSql(sql);
+        return statement;
+    }
+
+    private PreparedStatement rawPrepareStatement(String sql, int resultSetType, int resultSetConcurrency, int resultSetHoldability) throws SQLException {
+        if (resultSetType == -1)
+            return delegate.prepareStatement(sql);
+        pConn.warningDirtyInd = true;//unsupported result set type may be downgraded with a warning
+        if (resultSetHoldability == -1)
+            return delegate.prepareStatement(sql, resultSetType, resultSetConcurrency);
+        else
+            return delegate.prepareStatement(sql, resultSetType, resultSetConcurrency, resultSetHoldability);
+    }
+
     public void setAutoCommit(boolean autoCommit) throws SQLException {
         checkClosed();
         if (!pConn.curAutoCommit && pConn.commitDirtyInd)
             throw AutoCommitChangeForbiddenException;
+        if (pConn.shadowSessionState && autoCommit == pConn.curAutoCommit) return;
 
+        pConn.warningDirtyInd = true;
         delegate.setAutoCommit(autoCommit);
         pConn.curAutoCommit = autoCommit;
         if (autoCommit) pConn.commitDirtyInd = false;
         pConn.setResetInd(Pos_AutoCommitInd, autoCommit != pConn.defaultAutoCommit);
     }
 
+    public boolean getAutoCommit() throws SQLException {
+        checkClosed();
+        return pConn.shadowSessionState ? pConn.curAutoCommit : delegate.getAutoCommit();
+    }
+
     public void setTransactionIsolation(int level) throws SQLException {
+        if (pConn.shadowSessionState) {
+            checkClosed();
+            if (level == pConn.curTransactionIsolation) return;
+        }
+
+        pConn.warningDirtyInd = true;
         delegate.setTransactionIsolation(level);
+        pConn.curTransactionIsolation = level;
         pConn.setResetInd(Pos_TransactionIsolationInd, level != pConn.defaultTransactionIsolationCode);
     }
 
+    public int getTransactionIsolation() throws SQLException {
+        checkClosed();
+        return pConn.shadowSessionState ? pConn.curTransactionIsolation : delegate.getTransactionIsolation();
+    }
+
     public void setReadOnly(boolean readOnly) throws SQLException {
+        if (pConn.shadowSessionState) {
+            checkClosed();
+            if (readOnly == pConn.curReadOnly) return;
+        }
+
+        pConn.warningDirtyInd = true;
         delegate.setReadOnly(readOnly);
+        pConn.curReadOnly = readOnly;
         pConn.setResetInd(Pos_ReadOnlyInd, readOnly != pConn.defaultReadOnly);
     }
 
+    public boolean isReadOnly() throws SQLException {
+        checkClosed();
+        return pConn.shadowSessionState ? pConn.curReadOnly : delegate.isReadOnly();
+    }
+
     public void setCatalog(String catalog) throws SQLException {
+        if (pConn.shadowSessionState) {
+            checkClosed();
+            if (pConn.curCatalogKnown && PoolStaticCenter.equals(catalog, pConn.curCatalog)) return;
+        }
+
+        pConn.warningDirtyInd = true;
         delegate.setCatalog(catalog);
+        pConn.curCatalog = catalog;
+        pConn.curCatalogKnown = catalog != null;
         pConn.setResetInd(Pos_CatalogInd, !PoolStaticCenter.equals(catalog, pConn.defaultCatalog));
     }
 
+    public String getCatalog() throws SQLException {
+        checkClosed();
+        if (!pConn.shadowSessionState) return delegate.getCatalog();
+        if (!pConn.curCatalogKnown) {
+            pConn.curCatalog = delegate.getCatalog();
+            pConn.curCatalogKnown = true;
+        }
+        return pConn.curCatalog;
+    }
+
+    //warnings of connection are raised by calls on it,then the chain need be cleared on return
+    public SQLWarning getWarnings() throws SQLException {
+        SQLWarning warning = delegate.getWarnings();
+        if (warning != null) pConn.warningDirtyInd = true;
+        return warning;
+    }
+
+    public void clearWarnings() throws SQLException {
+        delegate.clearWarnings();
+        pConn.warningDirtyInd = false;
+    }
+
     public boolean isValid(int timeout) throws SQLException {
         return delegate.isValid(timeout);
     }
 
     //for JDK1.7 begin
     public void setSchema(String schema) throws SQLException {
+        if (pConn.shadowSessionState) {
+            checkClosed();
+            if (pConn.curSchemaKnown && PoolStaticCenter.equals(schema, pConn.curSchema)) return;
+        }
+
+        pConn.warningDirtyInd = true;
         delegate.setSchema(schema);
+        pConn.curSchema = schema;
+        pConn.curSchemaKnown = schema != null;
         pConn.setResetInd(Pos_SchemaInd, !PoolStaticCenter.equals(schema, pConn.defaultSchema));
     }
 
+    public String getSchema() throws SQLException {
+        checkClosed();
+        if (!pConn.shadowSessionState) return delegate.getSchema();
+        if (!pConn.curSchemaKnown) {
+            pConn.curSchema = delegate.getSchema();
+            pConn.curSchemaKnown = true;
+        }
+        return pConn.curSchema;
+    }
+
     public void abort(Executor executor) throws SQLException {
         checkClosed();
         if (executor == null) throw new SQLException("executor can't be null");
@@ -129,6 +258,7 @@ public abstract class ProxyConnectionBase implements Connection {
     public void setNetworkTimeout(Executor executor, int milliseconds) throws SQLException {
         checkClosed();
         if (pConn.supportNetworkTimeout()) {
+            pConn.warningDirtyInd = true;
             delegate.setNetworkTimeout(executor, milliseconds);
             pConn.setResetInd(Pos_NetworkTimeoutInd, milliseconds != pConn.defaultNetworkTimeout);
         } else {
@@ -137,16 +267,42 @@ public abstract class ProxyConnectionBase implements Connection {
     }
     //for JDK1.7 end
 
+    //transaction end and savepoint calls may raise warnings on connection(no transaction in progress and so on)
     public void commit() throws SQLException {
+        if (pConn.batchingStatement != null) pConn.flushAutoBatch();
+        pConn.warningDirtyInd = true;
         delegate.commit();
         pConn.lastAccessTime = currentTimeMillis();
         pConn.commitDirtyInd = false;
+        if (pConn.uncommittedWriteTables != null) pConn.endResultCacheTransaction(true);
     }
 
     public void rollback() throws SQLException {
+        if (pConn.batchingStatement != null) pConn.discardAutoBatch();
+        pConn.warningDirtyInd = true;
         delegate.rollback();
         pConn.lastAccessTime = currentTimeMillis();
         pConn.commitDirtyInd = false;
+        if (pConn.uncommittedWriteTables != null) pConn.endResultCacheTransaction(false);
+    }
+
+    //queued updates are executed before savepoint operations
+    public Savepoint setSavepoint() throws SQLException {
+        if (pConn.batchingStatement != null) pConn.flushAutoBatch();
+        pConn.warningDirtyInd = true;
+        return delegate.setSavepoint();
+    }
+
+    public Savepoint setSavepoint(String name) throws SQLException {
+        if (pConn.batchingStatement != null) pConn.flushAutoBatch();
+        pConn.warningDirtyInd = true;
+        return delegate.setSavepoint(name);
+    }
+
+    public void rollback(Savepoint savepoint) throws SQLException {
+        if (pConn.batchingStatement != null) pConn.flushAutoBatch();
+        pConn.warningDirtyInd = true;
+        delegate.rollback(savepoint);
     }
 
     public boolean isWrapperFor(Class<?> iface) throws SQLException {
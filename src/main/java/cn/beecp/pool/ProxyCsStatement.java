@@ -0,0 +1,488 @@
+/*
+ * Copyright Chris2018998
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.beecp.pool;
+
+import java.io.InputStream;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.net.URL;
+import java.sql.*;
+import java.util.Calendar;
+import java.util.Map;
+
+/**
+ * CallableStatement proxy,generated by {@link ProxySourceGenerator},do not edit
+ *
+ * @author Chris.Liao
+ * @version 1.0
+ */
+public class ProxyCsStatement extends ProxyPsStatement implements CallableStatement {
+    public ProxyCsStatement(CallableStatement delegate, PooledConnection pConn) {
+        super(delegate, pConn);
+    }
+
+    public Array getArray(String p1) throws SQLException {
+        return ((CallableStatement) delegate).getArray(p1);
+    }
+
+    public Array getArray(int p1) throws SQLException {
+        return ((CallableStatement) delegate).getArray(p1);
+    }
+
+    public BigDecimal getBigDecimal(String p1) throws SQLException {
+        return ((CallableStatement) delegate).getBigDecimal(p1);
+    }
+
+    public BigDecimal getBigDecimal(int p1, int p2) throws SQLException {
+        return ((CallableStatement) delegate).getBigDecimal(p1, p2);
+    }
+
+    public BigDecimal getBigDecimal(int p1) throws SQLException {
+        return ((CallableStatement) delegate).getBigDecimal(p1);
+    }
+
+    public Blob getBlob(String p1) throws SQLException {
+        return ((CallableStatement) delegate).getBlob(p1);
+    }
+
+    public Blob getBlob(int p1) throws SQLException {
+        return ((CallableStatement) delegate).getBlob(p1);
+    }
+
+    public boolean getBoolean(String p1) throws SQLException {
+        return ((CallableStatement) delegate).getBoolean(p1);
+    }
+
+    public boolean getBoolean(int p1) throws SQLException {
+        return ((CallableStatement) delegate).getBoolean(p1);
+    }
+
+    public byte getByte(String p1) throws SQLException {
+        return ((CallableStatement) delegate).getByte(p1);
+    }
+
+    public byte getByte(int p1) throws SQLException {
+        return ((CallableStatement) delegate).getByte(p1);
+    }
+
+    public byte[] getBytes(String p1) throws SQLException {
+        return ((CallableStatement) delegate).getBytes(p1);
+    }
+
+    public byte[] getBytes(int p1) throws SQLException {
+        return ((CallableStatement) delegate).getBytes(p1);
+    }
+
+    public Reader getCharacterStream(String p1) throws SQLException {
+        return ((CallableStatement) delegate).getCharacterStream(p1);
+    }
+
+    public Reader getCharacterStream(int p1) throws SQLException {
+        return ((CallableStatement) delegate).getCharacterStream(p1);
+    }
+
+    public Clob getClob(String p1) throws SQLException {
+        return ((CallableStatement) delegate).getClob(p1);
+    }
+
+    public Clob getClob(int p1) throws SQLException {
+        return ((CallableStatement) delegate).getClob(p1);
+    }
+
+    public Date getDate(String p1, Calendar p2) throws SQLException {
+        return ((CallableStatement) delegate).getDate(p1, p2);
+    }
+
+    public Date getDate(String p1) throws SQLException {
+        return ((CallableStatement) delegate).getDate(p1);
+    }
+
+    public Date getDate(int p1, Calendar p2) throws SQLException {
+        return ((CallableStatement) delegate).getDate(p1, p2);
+    }
+
+    public Date getDate(int p1) throws SQLException {
+        return ((CallableStatement) delegate).getDate(p1);
+    }
+
+    public double getDouble(String p1) throws SQLException {
+        return ((CallableStatement) delegate).getDouble(p1);
+    }
+
+    public double getDouble(int p1) throws SQLException {
+        return ((CallableStatement) delegate).getDouble(p1);
+    }
+
+    public float getFloat(String p1) throws SQLException {
+        return ((CallableStatement) delegate).getFloat(p1);
+    }
+
+    public float getFloat(int p1) throws SQLException {
+        return ((CallableStatement) delegate).getFloat(p1);
+    }
+
+    public int getInt(String p1) throws SQLException {
+        return ((CallableStatement) delegate).getInt(p1);
+    }
+
+    public int getInt(int p1) throws SQLException {
+        return ((CallableStatement) delegate).getInt(p1);
+    }
+
+    public long getLong(String p1) throws SQLException {
+        return ((CallableStatement) delegate).getLong(p1);
+    }
+
+    public long getLong(int p1) throws SQLException {
+        return ((CallableStatement) delegate).getLong(p1);
+    }
+
+    public Reader getNCharacterStream(String p1) throws SQLException {
+        return ((CallableStatement) delegate).getNCharacterStream(p1);
+    }
+
+    public Reader getNCharacterStream(int p1) throws SQLException {
+        return ((CallableStatement) delegate).getNCharacterStream(p1);
+    }
+
+    public NClob getNClob(String p1) throws SQLException {
+        return ((CallableStatement) delegate).getNClob(p1);
+    }
+
+    public NClob getNClob(int p1) throws SQLException {
+        return ((CallableStatement) delegate).getNClob(p1);
+    }
+
+    public String getNString(String p1) throws SQLException {
+        return ((CallableStatement) delegate).getNString(p1);
+    }
+
+    public String getNString(int p1) throws SQLException {
+        return ((CallableStatement) delegate).getNString(p1);
+    }
+
+    public <T> T getObject(String p1, Class<T> p2) throws SQLException {
+        return ((CallableStatement) delegate).getObject(p1, p2);
+    }
+
+    public Object getObject(String p1, Map<String, Class<?>> p2) throws SQLException {
+        return ((CallableStatement) delegate).getObject(p1, p2);
+    }
+
+    public Object getObject(String p1) throws SQLException {
+        return ((CallableStatement) delegate).getObject(p1);
+    }
+
+    public <T> T getObject(int p1, Class<T> p2) throws SQLException {
+        return ((CallableStatement) delegate).getObject(p1, p2);
+    }
+
+    public Object getObject(int p1, Map<String, Class<?>> p2) throws SQLException {
+        return ((CallableStatement) delegate).getObject(p1, p2);
+    }
+
+    public Object getObject(int p1) throws SQLException {
+        return ((CallableStatement) delegate).getObject(p1);
+    }
+
+    public Ref getRef(String p1) throws SQLException {
+        return ((CallableStatement) delegate).getRef(p1);
+    }
+
+    public Ref getRef(int p1) throws SQLException {
+        return ((CallableStatement) delegate).getRef(p1);
+    }
+
+    public RowId getRowId(String p1) throws SQLException {
+        return ((CallableStatement) delegate).getRowId(p1);
+    }
+
+    public RowId getRowId(int p1) throws SQLException {
+        return ((CallableStatement) delegate).getRowId(p1);
+    }
+
+    public SQLXML getSQLXML(String p1) throws SQLException {
+        return ((CallableStatement) delegate).getSQLXML(p1);
+    }
+
+    public SQLXML getSQLXML(int p1) throws SQLException {
+        return ((CallableStatement) delegate).getSQLXML(p1);
+    }
+
+    public short getShort(String p1) throws SQLException {
+        return ((CallableStatement) delegate).getShort(p1);
+    }
+
+    public short getShort(int p1) throws SQLException {
+        return ((CallableStatement) delegate).getShort(p1);
+    }
+
+    public String getString(String p1) throws SQLException {
+        return ((CallableStatement) delegate).getString(p1);
+    }
+
+    public String getString(int p1) throws SQLException {
+        return ((CallableStatement) delegate).getString(p1);
+    }
+
+    public Time getTime(String p1, Calendar p2) throws SQLException {
+        return ((CallableStatement) delegate).getTime(p1, p2);
+    }
+
+    public Time getTime(String p1) throws SQLException {
+        return ((CallableStatement) delegate).getTime(p1);
+    }
+
+    public Time getTime(int p1, Calendar p2) throws SQLException {
+        return ((CallableStatement) delegate).getTime(p1, p2);
+    }
+
+    public Time getTime(int p1) throws SQLException {
+        return ((CallableStatement) delegate).getTime(p1);
+    }
+
+    public Timestamp getTimestamp(String p1, Calendar p2) throws SQLException {
+        return ((CallableStatement) delegate).getTimestamp(p1, p2);
+    }
+
+    public Timestamp getTimestamp(String p1) throws SQLException {
+        return ((CallableStatement) delegate).getTimestamp(p1);
+    }
+
+    public Timestamp getTimestamp(int p1, Calendar p2) throws SQLException {
+        return ((CallableStatement) delegate).getTimestamp(p1, p2);
+    }
+
+    public Timestamp getTimestamp(int p1) throws SQLException {
+        return ((CallableStatement) delegate).getTimestamp(p1);
+    }
+
+    public URL getURL(String p1) throws SQLException {
+        return ((CallableStatement) delegate).getURL(p1);
+    }
+
+    public URL getURL(int p1) throws SQLException {
+        return ((CallableStatement) delegate).getURL(p1);
+    }
+
+    public void registerOutParameter(String p1, int p2, String p3) throws SQLException {
+        ((CallableStatement) delegate).registerOutParameter(p1, p2, p3);
+    }
+
+    public void registerOutParameter(String p1, int p2, int p3) throws SQLException {
+        ((CallableStatement) delegate).registerOutParameter(p1, p2, p3);
+    }
+
+    public void registerOutParameter(String p1, int p2) throws SQLException {
+        ((CallableStatement) delegate).registerOutParameter(p1, p2);
+    }
+
+    public void registerOutParameter(int p1, int p2, String p3) throws SQLException {
+        ((CallableStatement) delegate).registerOutParameter(p1, p2, p3);
+    }
+
+    public void registerOutParameter(int p1, int p2, int p3) throws SQLException {
+        ((CallableStatement) delegate).registerOutParameter(p1, p2, p3);
+    }
+
+    public void registerOutParameter(int p1, int p2) throws SQLException {
+        ((CallableStatement) delegate).registerOutParameter(p1, p2);
+    }
+
+    public void setAsciiStream(String p1, InputStream p2, int p3) throws SQLException {
+        ((CallableStatement) delegate).setAsciiStream(p1, p2, p3);
+    }
+
+    public void setAsciiStream(String p1, InputStream p2, long p3) throws SQLException {
+        ((CallableStatement) delegate).setAsciiStream(p1, p2, p3);
+    }
+
+    public void setAsciiStream(String p1, InputStream p2) throws SQLException {
+        ((CallableStatement) delegate).setAsciiStream(p1, p2);
+    }
+
+    public void setBigDecimal(String p1, BigDecimal p2) throws SQLException {
+        ((CallableStatement) delegate).setBigDecimal(p1, p2);
+    }
+
+    public void setBinaryStream(String p1, InputStream p2, int p3) throws SQLException {
+        ((CallableStatement) delegate).setBinaryStream(p1, p2, p3);
+    }
+
+    public void setBinaryStream(String p1, InputStream p2, long p3) throws SQLException {
+        ((CallableStatement) delegate).setBinaryStream(p1, p2, p3);
+    }
+
+    public void setBinaryStream(String p1, InputStream p2) throws SQLException {
+        ((CallableStatement) delegate).setBinaryStream(p1, p2);
+    }
+
+    public void setBlob(String p1, InputStream p2, long p3) throws SQLException {
+        ((CallableStatement) delegate).setBlob(p1, p2, p3);
+    }
+
+    public void setBlob(String p1, InputStream p2) throws SQLException {
+        ((CallableStatement) delegate).setBlob(p1, p2);
+    }
+
+    public void setBlob(String p1, Blob p2) throws SQLException {
+        ((CallableStatement) delegate).setBlob(p1, p2);
+    }
+
+    public void setBoolean(String p1, boolean p2) throws SQLException {
+        ((CallableStatement) delegate).setBoolean(p1, p2);
+    }
+
+    public void setByte(String p1, byte p2) throws SQLException {
+        ((CallableStatement) delegate).setByte(p1, p2);
+    }
+
+    public void setBytes(String p1, byte[] p2) throws SQLException {
+        ((CallableStatement) delegate).setBytes(p1, p2);
+    }
+
+    public void setCharacterStream(String p1, Reader p2, int p3) throws SQLException {
+        ((CallableStatement) delegate).setCharacterStream(p1, p2, p3);
+    }
+
+    public void setCharacterStream(String p1, Reader p2, long p3) throws SQLException {
+        ((CallableStatement) delegate).setCharacterStream(p1, p2, p3);
+    }
+
+    public void setCharacterStream(String p1, Reader p2) throws SQLException {
+        ((CallableStatement) delegate).setCharacterStream(p1, p2);
+    }
+
+    public void setClob(String p1, Reader p2, long p3) throws SQLException {
+        ((CallableStatement) delegate).setClob(p1, p2, p3);
+    }
+
+    public void setClob(String p1, Reader p2) throws SQLException {
+        ((CallableStatement) delegate).setClob(p1, p2);
+    }
+
+    public void setClob(String p1, Clob p2) throws SQLException {
+        ((CallableStatement) delegate).setClob(p1, p2);
+    }
+
+    public void setDate(String p1, Date p2, Calendar p3) throws SQLException {
+        ((CallableStatement) delegate).setDate(p1, p2, p3);
+    }
+
+    public void setDate(String p1, Date p2) throws SQLException {
+        ((CallableStatement) delegate).setDate(p1, p2);
+    }
+
+    public void setDouble(String p1, double p2) throws SQLException {
+        ((CallableStatement) delegate).setDouble(p1, p2);
+    }
+
+    public void setFloat(String p1, float p2) throws SQLException {
+        ((CallableStatement) delegate).setFloat(p1, p2);
+    }
+
+    public void setInt(String p1, int p2) throws SQLException {
+        ((CallableStatement) delegate).setInt(p1, p2);
+    }
+
+    public void setLong(String p1, long p2) throws SQLException {
+        ((CallableStatement) delegate).setLong(p1, p2);
+    }
+
+    public void setNCharacterStream(String p1, Reader p2, long p3) throws SQLException {
+        ((CallableStatement) delegate).setNCharacterStream(p1, p2, p3);
+    }
+
+    public void setNCharacterStream(String p1, Reader p2) throws SQLException {
+        ((CallableStatement) delegate).setNCharacterStream(p1, p2);
+    }
+
+    public void setNClob(String p1, Reader p2, long p3) throws SQLException {
+        ((CallableStatement) delegate).setNClob(p1, p2, p3);
+    }
+
+    public void setNClob(String p1, Reader p2) throws SQLException {
+        ((CallableStatement) delegate).setNClob(p1, p2);
+    }
+
+    public void setNClob(String p1, NClob p2) throws SQLException {
+        ((CallableStatement) delegate).setNClob(p1, p2);
+    }
+
+    public void setNString(String p1, String p2) throws SQLException {
+        ((CallableStatement) delegate).setNString(p1, p2);
+    }
+
+    public void setNull(String p1, int p2, String p3) throws SQLException {
+        ((CallableStatement) delegate).setNull(p1, p2, p3);
+    }
+
+    public void setNull(String p1, int p2) throws SQLException {
+        ((CallableStatement) delegate).setNull(p1, p2);
+    }
+
+    public void setObject(String p1, Object p2, int p3, int p4) throws SQLException {
+        ((CallableStatement) delegate).setObject(p1, p2, p3, p4);
+    }
+
+    public void setObject(String p1, Object p2, int p3) throws SQLException {
+        ((CallableStatement) delegate).setObject(p1, p2, p3);
+    }
+
+    public void setObject(String p1, Object p2) throws SQLException {
+        ((CallableStatement) delegate).setObject(p1, p2);
+    }
+
+    public void setRowId(String p1, RowId p2) throws SQLException {
+        ((CallableStatement) delegate).setRowId(p1, p2);
+    }
+
+    public void setSQLXML(String p1, SQLXML p2) throws SQLException {
+        ((CallableStatement) delegate).setSQLXML(p1, p2);
+    }
+
+    public void setShort(String p1, short p2) throws SQLException {
+        ((CallableStatement) delegate).setShort(p1, p2);
+    }
+
+    public void setString(String p1, String p2) throws SQLException {
+        ((CallableStatement) delegate).setString(p1, p2);
+    }
+
+    public void setTime(String p1, Time p2, Calendar p3) throws SQLException {
+        ((CallableStatement) delegate).setTime(p1, p2, p3);
+    }
+
+    public void setTime(String p1, Time p2) throws SQLException {
+        ((CallableStatement) delegate).setTime(p1, p2);
+    }
+
+    public void setTimestamp(String p1, Timestamp p2, Calendar p3) throws SQLException {
+        ((CallableStatement) delegate).setTimestamp(p1, p2, p3);
+    }
+
+    public void setTimestamp(String p1, Timestamp p2) throws SQLException {
+        ((CallableStatement) delegate).setTimestamp(p1, p2);
+    }
+
+    public void setURL(String p1, URL p2) throws SQLException {
+        ((CallableStatement) delegate).setURL(p1, p2);
+    }
+
+    public boolean wasNull() throws SQLException {
+        return ((CallableStatement) delegate).wasNull();
+    }
+}
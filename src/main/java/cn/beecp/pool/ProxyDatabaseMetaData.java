@@ -0,0 +1,893 @@
+/*
+ * Copyright Chris2018998
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.beecp.pool;
+
+import java.sql.*;
+
+/**
+ * DatabaseMetaData proxy,generated by {@link ProxySourceGenerator},do not edit
+ *
+ * @author Chris.Liao
+ * @version 1.0
+ */
+public final class ProxyDatabaseMetaData extends ProxyDatabaseMetaDataBase {
+    public ProxyDatabaseMetaData(DatabaseMetaData delegate, PooledConnection pConn) {
+        super(delegate, pConn);
+    }
+
+    public boolean allProceduresAreCallable() throws SQLException {
+        checkClosed();
+        return delegate.allProceduresAreCallable();
+    }
+
+    public boolean allTablesAreSelectable() throws SQLException {
+        checkClosed();
+        return delegate.allTablesAreSelectable();
+    }
+
+    public boolean autoCommitFailureClosesAllResultSets() throws SQLException {
+        checkClosed();
+        return delegate.autoCommitFailureClosesAllResultSets();
+    }
+
+    public boolean dataDefinitionCausesTransactionCommit() throws SQLException {
+        checkClosed();
+        return delegate.dataDefinitionCausesTransactionCommit();
+    }
+
+    public boolean dataDefinitionIgnoredInTransactions() throws SQLException {
+        checkClosed();
+        return delegate.dataDefinitionIgnoredInTransactions();
+    }
+
+    public boolean deletesAreDetected(int p1) throws SQLException {
+        checkClosed();
+        return delegate.deletesAreDetected(p1);
+    }
+
+    public boolean doesMaxRowSizeIncludeBlobs() throws SQLException {
+        checkClosed();
+        return delegate.doesMaxRowSizeIncludeBlobs();
+    }
+
+    public boolean generatedKeyAlwaysReturned() throws SQLException {
+        checkClosed();
+        return delegate.generatedKeyAlwaysReturned();
+    }
+
+    public ResultSet getAttributes(String p1, String p2, String p3, String p4) throws SQLException {
+        checkClosed();
+        return new ProxyResultSet(delegate.getAttributes(p1, p2, p3, p4), pConn);
+    }
+
+    public ResultSet getBestRowIdentifier(String p1, String p2, String p3, int p4, boolean p5) throws SQLException {
+        checkClosed();
+        return new ProxyResultSet(delegate.getBestRowIdentifier(p1, p2, p3, p4, p5), pConn);
+    }
+
+    public String getCatalogSeparator() throws SQLException {
+        checkClosed();
+        return delegate.getCatalogSeparator();
+    }
+
+    public String getCatalogTerm() throws SQLException {
+        checkClosed();
+        return delegate.getCatalogTerm();
+    }
+
+    public ResultSet getCatalogs() throws SQLException {
+        checkClosed();
+        return new ProxyResultSet(delegate.getCatalogs(), pConn);
+    }
+
+    public ResultSet getClientInfoProperties() throws SQLException {
+        checkClosed();
+        return new ProxyResultSet(delegate.getClientInfoProperties(), pConn);
+    }
+
+    public ResultSet getColumnPrivileges(String p1, String p2, String p3, String p4) throws SQLException {
+        checkClosed();
+        return new ProxyResultSet(delegate.getColumnPrivileges(p1, p2, p3, p4), pConn);
+    }
+
+    public ResultSet getColumns(String p1, String p2, String p3, String p4) throws SQLException {
+        checkClosed();
+        return new ProxyResultSet(delegate.getColumns(p1, p2, p3, p4), pConn);
+    }
+
+    public ResultSet getCrossReference(String p1, String p2, String p3, String p4, String p5, String p6) throws SQLException {
+        checkClosed();
+        return new ProxyResultSet(delegate.getCrossReference(p1, p2, p3, p4, p5, p6), pConn);
+    }
+
+    public int getDatabaseMajorVersion() throws SQLException {
+        checkClosed();
+        return delegate.getDatabaseMajorVersion();
+    }
+
+    public int getDatabaseMinorVersion() throws SQLException {
+        checkClosed();
+        return delegate.getDatabaseMinorVersion();
+    }
+
+    public String getDatabaseProductName() throws SQLException {
+        checkClosed();
+        return delegate.getDatabaseProductName();
+    }
+
+    public String getDatabaseProductVersion() throws SQLException {
+        checkClosed();
+        return delegate.getDatabaseProductVersion();
+    }
+
+    public int getDefaultTransactionIsolation() throws SQLException {
+        checkClosed();
+        return delegate.getDefaultTransactionIsolation();
+    }
+
+    public int getDriverMajorVersion() {
+        return delegate.getDriverMajorVersion();
+    }
+
+    public int getDriverMinorVersion() {
+        return delegate.getDriverMinorVersion();
+    }
+
+    public String getDriverName() throws SQLException {
+        checkClosed();
+        return delegate.getDriverName();
+    }
+
+    public String getDriverVersion() throws SQLException {
+        checkClosed();
+        return delegate.getDriverVersion();
+    }
+
+    public ResultSet getExportedKeys(String p1, String p2, String p3) throws SQLException {
+        checkClosed();
+        return new ProxyResultSet(delegate.getExportedKeys(p1, p2, p3), pConn);
+    }
+
+    public String getExtraNameCharacters() throws SQLException {
+        checkClosed();
+        return delegate.getExtraNameCharacters();
+    }
+
+    public ResultSet getFunctionColumns(String p1, String p2, String p3, String p4) throws SQLException {
+        checkClosed();
+        return new ProxyResultSet(delegate.getFunctionColumns(p1, p2, p3, p4), pConn);
+    }
+
+    public ResultSet getFunctions(String p1, String p2, String p3) throws SQLException {
+        checkClosed();
+        return new ProxyResultSet(delegate.getFunctions(p1, p2, p3), pConn);
+    }
+
+    public String getIdentifierQuoteString() throws SQLException {
+        checkClosed();
+        return delegate.getIdentifierQuoteString();
+    }
+
+    public ResultSet getImportedKeys(String p1, String p2, String p3) throws SQLException {
+        checkClosed();
+        return new ProxyResultSet(delegate.getImportedKeys(p1, p2, p3), pConn);
+    }
+
+    public ResultSet getIndexInfo(String p1, String p2, String p3, boolean p4, boolean p5) throws SQLException {
+        checkClosed();
+        return new ProxyResultSet(delegate.getIndexInfo(p1, p2, p3, p4, p5), pConn);
+    }
+
+    public int getJDBCMajorVersion() throws SQLException {
+        checkClosed();
+        return delegate.getJDBCMajorVersion();
+    }
+
+    public int getJDBCMinorVersion() throws SQLException {
+        checkClosed();
+        return delegate.getJDBCMinorVersion();
+    }
+
+    public int getMaxBinaryLiteralLength() throws SQLException {
+        checkClosed();
+        return delegate.getMaxBinaryLiteralLength();
+    }
+
+    public int getMaxCatalogNameLength() throws SQLException {
+        checkClosed();
+        return delegate.getMaxCatalogNameLength();
+    }
+
+    public int getMaxCharLiteralLength() throws SQLException {
+        checkClosed();
+        return delegate.getMaxCharLiteralLength();
+    }
+
+    public int getMaxColumnNameLength() throws SQLException {
+        checkClosed();
+        return delegate.getMaxColumnNameLength();
+    }
+
+    public int getMaxColumnsInGroupBy() throws SQLException {
+        checkClosed();
+        return delegate.getMaxColumnsInGroupBy();
+    }
+
+    public int getMaxColumnsInIndex() throws SQLException {
+        checkClosed();
+        return delegate.getMaxColumnsInIndex();
+    }
+
+    public int getMaxColumnsInOrderBy() throws SQLException {
+        checkClosed();
+        return delegate.getMaxColumnsInOrderBy();
+    }
+
+    public int getMaxColumnsInSelect() throws SQLException {
+        checkClosed();
+        return delegate.getMaxColumnsInSelect();
+    }
+
+    public int getMaxColumnsInTable() throws SQLException {
+        checkClosed();
+        return delegate.getMaxColumnsInTable();
+    }
+
+    public int getMaxConnections() throws SQLException {
+        checkClosed();
+        return delegate.getMaxConnections();
+    }
+
+    public int getMaxCursorNameLength() throws SQLException {
+        checkClosed();
+        return delegate.getMaxCursorNameLength();
+    }
+
+    public int getMaxIndexLength() throws SQLException {
+        checkClosed();
+        return delegate.getMaxIndexLength();
+    }
+
+    public int getMaxProcedureNameLength() throws SQLException {
+        checkClosed();
+        return delegate.getMaxProcedureNameLength();
+    }
+
+    public int getMaxRowSize() throws SQLException {
+        checkClosed();
+        return delegate.getMaxRowSize();
+    }
+
+    public int getMaxSchemaNameLength() throws SQLException {
+        checkClosed();
+        return delegate.getMaxSchemaNameLength();
+    }
+
+    public int getMaxStatementLength() throws SQLException {
+        checkClosed();
+        return delegate.getMaxStatementLength();
+    }
+
+    public int getMaxStatements() throws SQLException {
+        checkClosed();
+        return delegate.getMaxStatements();
+    }
+
+    public int getMaxTableNameLength() throws SQLException {
+        checkClosed();
+        return delegate.getMaxTableNameLength();
+    }
+
+    public int getMaxTablesInSelect() throws SQLException {
+        checkClosed();
+        return delegate.getMaxTablesInSelect();
+    }
+
+    public int getMaxUserNameLength() throws SQLException {
+        checkClosed();
+        return delegate.getMaxUserNameLength();
+    }
+
+    public String getNumericFunctions() throws SQLException {
+        checkClosed();
+        return delegate.getNumericFunctions();
+    }
+
+    public ResultSet getPrimaryKeys(String p1, String p2, String p3) throws SQLException {
+        checkClosed();
+        return new ProxyResultSet(delegate.getPrimaryKeys(p1, p2, p3), pConn);
+    }
+
+    public ResultSet getProcedureColumns(String p1, String p2, String p3, String p4) throws SQLException {
+        checkClosed();
+        return new ProxyResultSet(delegate.getProcedureColumns(p1, p2, p3, p4), pConn);
+    }
+
+    public String getProcedureTerm() throws SQLException {
+        checkClosed();
+        return delegate.getProcedureTerm();
+    }
+
+    public ResultSet getProcedures(String p1, String p2, String p3) throws SQLException {
+        checkClosed();
+        return new ProxyResultSet(delegate.getProcedures(p1, p2, p3), pConn);
+    }
+
+    public ResultSet getPseudoColumns(String p1, String p2, String p3, String p4) throws SQLException {
+        checkClosed();
+        return new ProxyResultSet(delegate.getPseudoColumns(p1, p2, p3, p4), pConn);
+    }
+
+    public int getResultSetHoldability() throws SQLException {
+        checkClosed();
+        return delegate.getResultSetHoldability();
+    }
+
+    public RowIdLifetime getRowIdLifetime() throws SQLException {
+        checkClosed();
+        return delegate.getRowIdLifetime();
+    }
+
+    public String getSQLKeywords() throws SQLException {
+        checkClosed();
+        return delegate.getSQLKeywords();
+    }
+
+    public int getSQLStateType() throws SQLException {
+        checkClosed();
+        return delegate.getSQLStateType();
+    }
+
+    public String getSchemaTerm() throws SQLException {
+        checkClosed();
+        return delegate.getSchemaTerm();
+    }
+
+    public ResultSet getSchemas() throws SQLException {
+        checkClosed();
+        return new ProxyResultSet(delegate.getSchemas(), pConn);
+    }
+
+    public ResultSet getSchemas(String p1, String p2) throws SQLException {
+        checkClosed();
+        return new ProxyResultSet(delegate.getSchemas(p1, p2), pConn);
+    }
+
+    public String getSearchStringEscape() throws SQLException {
+        checkClosed();
+        return delegate.getSearchStringEscape();
+    }
+
+    public String getStringFunctions() throws SQLException {
+        checkClosed();
+        return delegate.getStringFunctions();
+    }
+
+    public ResultSet getSuperTables(String p1, String p2, String p3) throws SQLException {
+        checkClosed();
+        return new ProxyResultSet(delegate.getSuperTables(p1, p2, p3), pConn);
+    }
+
+    public ResultSet getSuperTypes(String p1, String p2, String p3) throws SQLException {
+        checkClosed();
+        return new ProxyResultSet(delegate.getSuperTypes(p1, p2, p3), pConn);
+    }
+
+    public String getSystemFunctions() throws SQLException {
+        checkClosed();
+        return delegate.getSystemFunctions();
+    }
+
+    public ResultSet getTablePrivileges(String p1, String p2, String p3) throws SQLException {
+        checkClosed();
+        return new ProxyResultSet(delegate.getTablePrivileges(p1, p2, p3), pConn);
+    }
+
+    public ResultSet getTableTypes() throws SQLException {
+        checkClosed();
+        return new ProxyResultSet(delegate.getTableTypes(), pConn);
+    }
+
+    public ResultSet getTables(String p1, String p2, String p3, String[] p4) throws SQLException {
+        checkClosed();
+        return new ProxyResultSet(delegate.getTables(p1, p2, p3, p4), pConn);
+    }
+
+    public String getTimeDateFunctions() throws SQLException {
+        checkClosed();
+        return delegate.getTimeDateFunctions();
+    }
+
+    public ResultSet getTypeInfo() throws SQLException {
+        checkClosed();
+        return new ProxyResultSet(delegate.getTypeInfo(), pConn);
+    }
+
+    public ResultSet getUDTs(String p1, String p2, String p3, int[] p4) throws SQLException {
+        checkClosed();
+        return new ProxyResultSet(delegate.getUDTs(p1, p2, p3, p4), pConn);
+    }
+
+    public String getURL() throws SQLException {
+        checkClosed();
+        return delegate.getURL();
+    }
+
+    public String getUserName() throws SQLException {
+        checkClosed();
+        return delegate.getUserName();
+    }
+
+    public ResultSet getVersionColumns(String p1, String p2, String p3) throws SQLException {
+        checkClosed();
+        return new ProxyResultSet(delegate.getVersionColumns(p1, p2, p3), pConn);
+    }
+
+    public boolean insertsAreDetected(int p1) throws SQLException {
+        checkClosed();
+        return delegate.insertsAreDetected(p1);
+    }
+
+    public boolean isCatalogAtStart() throws SQLException {
+        checkClosed();
+        return delegate.isCatalogAtStart();
+    }
+
+    public boolean isReadOnly() throws SQLException {
+        checkClosed();
+        return delegate.isReadOnly();
+    }
+
+    public boolean locatorsUpdateCopy() throws SQLException {
+        checkClosed();
+        return delegate.locatorsUpdateCopy();
+    }
+
+    public boolean nullPlusNonNullIsNull() throws SQLException {
+        checkClosed();
+        return delegate.nullPlusNonNullIsNull();
+    }
+
+    public boolean nullsAreSortedAtEnd() throws SQLException {
+        checkClosed();
+        return delegate.nullsAreSortedAtEnd();
+    }
+
+    public boolean nullsAreSortedAtStart() throws SQLException {
+        checkClosed();
+        return delegate.nullsAreSortedAtStart();
+    }
+
+    public boolean nullsAreSortedHigh() throws SQLException {
+        checkClosed();
+        return delegate.nullsAreSortedHigh();
+    }
+
+    public boolean nullsAreSortedLow() throws SQLException {
+        checkClosed();
+        return delegate.nullsAreSortedLow();
+    }
+
+    public boolean othersDeletesAreVisible(int p1) throws SQLException {
+        checkClosed();
+        return delegate.othersDeletesAreVisible(p1);
+    }
+
+    public boolean othersInsertsAreVisible(int p1) throws SQLException {
+        checkClosed();
+        return delegate.othersInsertsAreVisible(p1);
+    }
+
+    public boolean othersUpdatesAreVisible(int p1) throws SQLException {
+        checkClosed();
+        return delegate.othersUpdatesAreVisible(p1);
+    }
+
+    public boolean ownDeletesAreVisible(int p1) throws SQLException {
+        checkClosed();
+        return delegate.ownDeletesAreVisible(p1);
+    }
+
+    public boolean ownInsertsAreVisible(int p1) throws SQLException {
+        checkClosed();
+        return delegate.ownInsertsAreVisible(p1);
+    }
+
+    public boolean ownUpdatesAreVisible(int p1) throws SQLException {
+        checkClosed();
+        return delegate.ownUpdatesAreVisible(p1);
+    }
+
+    public boolean storesLowerCaseIdentifiers() throws SQLException {
+        checkClosed();
+        return delegate.storesLowerCaseIdentifiers();
+    }
+
+    public boolean storesLowerCaseQuotedIdentifiers() throws SQLException {
+        checkClosed();
+        return delegate.storesLowerCaseQuotedIdentifiers();
+    }
+
+    public boolean storesMixedCaseIdentifiers() throws SQLException {
+        checkClosed();
+        return delegate.storesMixedCaseIdentifiers();
+    }
+
+    public boolean storesMixedCaseQuotedIdentifiers() throws SQLException {
+        checkClosed();
+        return delegate.storesMixedCaseQuotedIdentifiers();
+    }
+
+    public boolean storesUpperCaseIdentifiers() throws SQLException {
+        checkClosed();
+        return delegate.storesUpperCaseIdentifiers();
+    }
+
+    public boolean storesUpperCaseQuotedIdentifiers() throws SQLException {
+        checkClosed();
+        return delegate.storesUpperCaseQuotedIdentifiers();
+    }
+
+    public boolean supportsANSI92EntryLevelSQL() throws SQLException {
+        checkClosed();
+        return delegate.supportsANSI92EntryLevelSQL();
+    }
+
+    public boolean supportsANSI92FullSQL() throws SQLException {
+        checkClosed();
+        return delegate.supportsANSI92FullSQL();
+    }
+
+    public boolean supportsANSI92IntermediateSQL() throws SQLException {
+        checkClosed();
+        return delegate.supportsANSI92IntermediateSQL();
+    }
+
+    public boolean supportsAlterTableWithAddColumn() throws SQLException {
+        checkClosed();
+        return delegate.supportsAlterTableWithAddColumn();
+    }
+
+    public boolean supportsAlterTableWithDropColumn() throws SQLException {
+        checkClosed();
+        return delegate.supportsAlterTableWithDropColumn();
+    }
+
+    public boolean supportsBatchUpdates() throws SQLException {
+        checkClosed();
+        return delegate.supportsBatchUpdates();
+    }
+
+    public boolean supportsCatalogsInDataManipulation() throws SQLException {
+        checkClosed();
+        return delegate.supportsCatalogsInDataManipulation();
+    }
+
+    public boolean supportsCatalogsInIndexDefinitions() throws SQLException {
+        checkClosed();
+        return delegate.supportsCatalogsInIndexDefinitions();
+    }
+
+    public boolean supportsCatalogsInPrivilegeDefinitions() throws SQLException {
+        checkClosed();
+        return delegate.supportsCatalogsInPrivilegeDefinitions();
+    }
+
+    public boolean supportsCatalogsInProcedureCalls() throws SQLException {
+        checkClosed();
+        return delegate.supportsCatalogsInProcedureCalls();
+    }
+
+    public boolean supportsCatalogsInTableDefinitions() throws SQLException {
+        checkClosed();
+        return delegate.supportsCatalogsInTableDefinitions();
+    }
+
+    public boolean supportsColumnAliasing() throws SQLException {
+        checkClosed();
+        return delegate.supportsColumnAliasing();
+    }
+
+    public boolean supportsConvert() throws SQLException {
+        checkClosed();
+        return delegate.supportsConvert();
+    }
+
+    public boolean supportsConvert(int p1, int p2) throws SQLException {
+        checkClosed();
+        return delegate.supportsConvert(p1, p2);
+    }
+
+    public boolean supportsCoreSQLGrammar() throws SQLException {
+        checkClosed();
+        return delegate.supportsCoreSQLGrammar();
+    }
+
+    public boolean supportsCorrelatedSubqueries() throws SQLException {
+        checkClosed();
+        return delegate.supportsCorrelatedSubqueries();
+    }
+
+    public boolean supportsDataDefinitionAndDataManipulationTransactions() throws SQLException {
+        checkClosed();
+        return delegate.supportsDataDefinitionAndDataManipulationTransactions();
+    }
+
+    public boolean supportsDataManipulationTransactionsOnly() throws SQLException {
+        checkClosed();
+        return delegate.supportsDataManipulationTransactionsOnly();
+    }
+
+    public boolean supportsDifferentTableCorrelationNames() throws SQLException {
+        checkClosed();
+        return delegate.supportsDifferentTableCorrelationNames();
+    }
+
+    public boolean supportsExpressionsInOrderBy() throws SQLException {
+        checkClosed();
+        return delegate.supportsExpressionsInOrderBy();
+    }
+
+    public boolean supportsExtendedSQLGrammar() throws SQLException {
+        checkClosed();
+        return delegate.supportsExtendedSQLGrammar();
+    }
+
+    public boolean supportsFullOuterJoins() throws SQLException {
+        checkClosed();
+        return delegate.supportsFullOuterJoins();
+    }
+
+    public boolean supportsGetGeneratedKeys() throws SQLException {
+        checkClosed();
+        return delegate.supportsGetGeneratedKeys();
+    }
+
+    public boolean supportsGroupByBeyondSelect() throws SQLException {
+        checkClosed();
+        return delegate.supportsGroupByBeyondSelect();
+    }
+
+    public boolean supportsGroupByUnrelated() throws SQLException {
+        checkClosed();
+        return delegate.supportsGroupByUnrelated();
+    }
+
+    public boolean supportsGroupBy() throws SQLException {
+        checkClosed();
+        return delegate.supportsGroupBy();
+    }
+
+    public boolean supportsIntegrityEnhancementFacility() throws SQLException {
+        checkClosed();
+        return delegate.supportsIntegrityEnhancementFacility();
+    }
+
+    public boolean supportsLikeEscapeClause() throws SQLException {
+        checkClosed();
+        return delegate.supportsLikeEscapeClause();
+    }
+
+    public boolean supportsLimitedOuterJoins() throws SQLException {
+        checkClosed();
+        return delegate.supportsLimitedOuterJoins();
+    }
+
+    public boolean supportsMinimumSQLGrammar() throws SQLException {
+        checkClosed();
+        return delegate.supportsMinimumSQLGrammar();
+    }
+
+    public boolean supportsMixedCaseIdentifiers() throws SQLException {
+        checkClosed();
+        return delegate.supportsMixedCaseIdentifiers();
+    }
+
+    public boolean supportsMixedCaseQuotedIdentifiers() throws SQLException {
+        checkClosed();
+        return delegate.supportsMixedCaseQuotedIdentifiers();
+    }
+
+    public boolean supportsMultipleOpenResults() throws SQLException {
+        checkClosed();
+        return delegate.supportsMultipleOpenResults();
+    }
+
+    public boolean supportsMultipleResultSets() throws SQLException {
+        checkClosed();
+        return delegate.supportsMultipleResultSets();
+    }
+
+    public boolean supportsMultipleTransactions() throws SQLException {
+        checkClosed();
+        return delegate.supportsMultipleTransactions();
+    }
+
+    public boolean supportsNamedParameters() throws SQLException {
+        checkClosed();
+        return delegate.supportsNamedParameters();
+    }
+
+    public boolean supportsNonNullableColumns() throws SQLException {
+        checkClosed();
+        return delegate.supportsNonNullableColumns();
+    }
+
+    public boolean supportsOpenCursorsAcrossCommit() throws SQLException {
+        checkClosed();
+        return delegate.supportsOpenCursorsAcrossCommit();
+    }
+
+    public boolean supportsOpenCursorsAcrossRollback() throws SQLException {
+        checkClosed();
+        return delegate.supportsOpenCursorsAcrossRollback();
+    }
+
+    public boolean supportsOpenStatementsAcrossCommit() throws SQLException {
+        checkClosed();
+        return delegate.supportsOpenStatementsAcrossCommit();
+    }
+
+    public boolean supportsOpenStatementsAcrossRollback() throws SQLException {
+        checkClosed();
+        return delegate.supportsOpenStatementsAcrossRollback();
+    }
+
+    public boolean supportsOrderByUnrelated() throws SQLException {
+        checkClosed();
+        return delegate.supportsOrderByUnrelated();
+    }
+
+    public boolean supportsOuterJoins() throws SQLException {
+        checkClosed();
+        return delegate.supportsOuterJoins();
+    }
+
+    public boolean supportsPositionedDelete() throws SQLException {
+        checkClosed();
+        return delegate.supportsPositionedDelete();
+    }
+
+    public boolean supportsPositionedUpdate() throws SQLException {
+        checkClosed();
+        return delegate.supportsPositionedUpdate();
+    }
+
+    public boolean supportsResultSetConcurrency(int p1, int p2) throws SQLException {
+        checkClosed();
+        return delegate.supportsResultSetConcurrency(p1, p2);
+    }
+
+    public boolean supportsResultSetHoldability(int p1) throws SQLException {
+        checkClosed();
+        return delegate.supportsResultSetHoldability(p1);
+    }
+
+    public boolean supportsResultSetType(int p1) throws SQLException {
+        checkClosed();
+        return delegate.supportsResultSetType(p1);
+    }
+
+    public boolean supportsSavepoints() throws SQLException {
+        checkClosed();
+        return delegate.supportsSavepoints();
+    }
+
+    public boolean supportsSchemasInDataManipulation() throws SQLException {
+        checkClosed();
+        return delegate.supportsSchemasInDataManipulation();
+    }
+
+    public boolean supportsSchemasInIndexDefinitions() throws SQLException {
+        checkClosed();
+        return delegate.supportsSchemasInIndexDefinitions();
+    }
+
+    public boolean supportsSchemasInPrivilegeDefinitions() throws SQLException {
+        checkClosed();
+        return delegate.supportsSchemasInPrivilegeDefinitions();
+    }
+
+    public boolean supportsSchemasInProcedureCalls() throws SQLException {
+        checkClosed();
+        return delegate.supportsSchemasInProcedureCalls();
+    }
+
+    public boolean supportsSchemasInTableDefinitions() throws SQLException {
+        checkClosed();
+        return delegate.supportsSchemasInTableDefinitions();
+    }
+
+    public boolean supportsSelectForUpdate() throws SQLException {
+        checkClosed();
+        return delegate.supportsSelectForUpdate();
+    }
+
+    public boolean supportsStatementPooling() throws SQLException {
+        checkClosed();
+        return delegate.supportsStatementPooling();
+    }
+
+    public boolean supportsStoredFunctionsUsingCallSyntax() throws SQLException {
+        checkClosed();
+        return delegate.supportsStoredFunctionsUsingCallSyntax();
+    }
+
+    public boolean supportsStoredProcedures() throws SQLException {
+        checkClosed();
+        return delegate.supportsStoredProcedures();
+    }
+
+    public boolean supportsSubqueriesInComparisons() throws SQLException {
+        checkClosed();
+        return delegate.supportsSubqueriesInComparisons();
+    }
+
+    public boolean supportsSubqueriesInExists() throws SQLException {
+        checkClosed();
+        return delegate.supportsSubqueriesInExists();
+    }
+
+    public boolean supportsSubqueriesInIns() throws SQLException {
+        checkClosed();
+        return delegate.supportsSubqueriesInIns();
+    }
+
+    public boolean supportsSubqueriesInQuantifieds() throws SQLException {
+        checkClosed();
+        return delegate.supportsSubqueriesInQuantifieds();
+    }
+
+    public boolean supportsTableCorrelationNames() throws SQLException {
+        checkClosed();
+        return delegate.supportsTableCorrelationNames();
+    }
+
+    public boolean supportsTransactionIsolationLevel(int p1) throws SQLException {
+        checkClosed();
+        return delegate.supportsTransactionIsolationLevel(p1);
+    }
+
+    public boolean supportsTransactions() throws SQLException {
+        checkClosed();
+        return delegate.supportsTransactions();
+    }
+
+    public boolean supportsUnionAll() throws SQLException {
+        checkClosed();
+        return delegate.supportsUnionAll();
+    }
+
+    public boolean supportsUnion() throws SQLException {
+        checkClosed();
+        return delegate.supportsUnion();
+    }
+
+    public boolean updatesAreDetected(int p1) throws SQLException {
+        checkClosed();
+        return delegate.updatesAreDetected(p1);
+    }
+
+    public boolean usesLocalFilePerTable() throws SQLException {
+        checkClosed();
+        return delegate.usesLocalFilePerTable();
+    }
+
+    public boolean usesLocalFiles() throws SQLException {
+        checkClosed();
+        return delegate.usesLocalFiles();
+    }
+}
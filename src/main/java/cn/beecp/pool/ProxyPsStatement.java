@@ -0,0 +1,319 @@
+/*
+ * Copyright Chris2018998
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.beecp.pool;
+
+import java.io.InputStream;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.net.URL;
+import java.sql.*;
+import java.util.Calendar;
+
+/**
+ * PreparedStatement proxy,generated by {@link ProxySourceGenerator},do not edit
+ *
+ * @author Chris.Liao
+ * @version 1.0
+ */
+public class ProxyPsStatement extends ProxyStatement implements PreparedStatement {
+    public ProxyPsStatement(PreparedStatement delegate, PooledConnection pConn) {
+        super(delegate, pConn);
+    }
+
+    public void addBatch() throws SQLException {
+        onExplicitBatch(true);
+        ((PreparedStatement) delegate).addBatch();
+    }
+
+    public void clearParameters() throws SQLException {
+        ((PreparedStatement) delegate).clearParameters();
+        if (parameters != null) clearParameterValues();
+    }
+
+    public ResultSet executeQuery() throws SQLException {
+        if (isResultDetached(null)) return executeDetachedQuery(null);
+        long startTime = beginExecute();
+        ResultSet re = ((PreparedStatement) delegate).executeQuery();
+        endExecute(startTime, null);
+        pConn.updateAccessTime();
+        return wrapResultSet(re);
+    }
+
+    public int executeUpdate() throws SQLException {
+        if (addAutoBatch()) return SUCCESS_NO_INFO;
+        long startTime = beginExecute();
+        int re = ((PreparedStatement) delegate).executeUpdate();
+        endExecute(startTime, null);
+        pConn.updateAccessTime();
+        return re;
+    }
+
+    public boolean execute() throws SQLException {
+        long startTime = beginExecute();
+        boolean re = ((PreparedStatement) delegate).execute();
+        endExecute(startTime, null);
+        pConn.updateAccessTime();
+        return re;
+    }
+
+    public ResultSetMetaData getMetaData() throws SQLException {
+        return ((PreparedStatement) delegate).getMetaData();
+    }
+
+    public ParameterMetaData getParameterMetaData() throws SQLException {
+        return ((PreparedStatement) delegate).getParameterMetaData();
+    }
+
+    public void setArray(int p1, Array p2) throws SQLException {
+        ((PreparedStatement) delegate).setArray(p1, p2);
+        if (parameters != null) setParameter(p1, p2);
+    }
+
+    public void setAsciiStream(int p1, InputStream p2, int p3) throws SQLException {
+        ((PreparedStatement) delegate).setAsciiStream(p1, p2, p3);
+        if (parameters != null) setParameter(p1, p2);
+    }
+
+    public void setAsciiStream(int p1, InputStream p2, long p3) throws SQLException {
+        ((PreparedStatement) delegate).setAsciiStream(p1, p2, p3);
+        if (parameters != null) setParameter(p1, p2);
+    }
+
+    public void setAsciiStream(int p1, InputStream p2) throws SQLException {
+        ((PreparedStatement) delegate).setAsciiStream(p1, p2);
+        if (parameters != null) setParameter(p1, p2);
+    }
+
+    public void setBigDecimal(int p1, BigDecimal p2) throws SQLException {
+        ((PreparedStatement) delegate).setBigDecimal(p1, p2);
+        if (parameters != null) setParameter(p1, p2);
+    }
+
+    public void setBinaryStream(int p1, InputStream p2, int p3) throws SQLException {
+        ((PreparedStatement) delegate).setBinaryStream(p1, p2, p3);
+        if (parameters != null) setParameter(p1, p2);
+    }
+
+    public void setBinaryStream(int p1, InputStream p2, long p3) throws SQLException {
+        ((PreparedStatement) delegate).setBinaryStream(p1, p2, p3);
+        if (parameters != null) setParameter(p1, p2);
+    }
+
+    public void setBinaryStream(int p1, InputStream p2) throws SQLException {
+        ((PreparedStatement) delegate).setBinaryStream(p1, p2);
+        if (parameters != null) setParameter(p1, p2);
+    }
+
+    public void setBlob(int p1, InputStream p2, long p3) throws SQLException {
+        ((PreparedStatement) delegate).setBlob(p1, p2, p3);
+        if (parameters != null) setParameter(p1, p2);
+    }
+
+    public void setBlob(int p1, InputStream p2) throws SQLException {
+        ((PreparedStatement) delegate).setBlob(p1, p2);
+        if (parameters != null) setParameter(p1, p2);
+    }
+
+    public void setBlob(int p1, Blob p2) throws SQLException {
+        ((PreparedStatement) delegate).setBlob(p1, p2);
+        if (parameters != null) setParameter(p1, p2);
+    }
+
+    public void setBoolean(int p1, boolean p2) throws SQLException {
+        ((PreparedStatement) delegate).setBoolean(p1, p2);
+        if (parameters != null) setParameter(p1, p2);
+    }
+
+    public void setByte(int p1, byte p2) throws SQLException {
+        ((PreparedStatement) delegate).setByte(p1, p2);
+        if (parameters != null) setParameter(p1, p2);
+    }
+
+    public void setBytes(int p1, byte[] p2) throws SQLException {
+        ((PreparedStatement) delegate).setBytes(p1, p2);
+        if (parameters != null) setParameter(p1, p2);
+    }
+
+    public void setCharacterStream(int p1, Reader p2, int p3) throws SQLException {
+        ((PreparedStatement) delegate).setCharacterStream(p1, p2, p3);
+        if (parameters != null) setParameter(p1, p2);
+    }
+
+    public void setCharacterStream(int p1, Reader p2, long p3) throws SQLException {
+        ((PreparedStatement) delegate).setCharacterStream(p1, p2, p3);
+        if (parameters != null) setParameter(p1, p2);
+    }
+
+    public void setCharacterStream(int p1, Reader p2) throws SQLException {
+        ((PreparedStatement) delegate).setCharacterStream(p1, p2);
+        if (parameters != null) setParameter(p1, p2);
+    }
+
+    public void setClob(int p1, Reader p2, long p3) throws SQLException {
+        ((PreparedStatement) delegate).setClob(p1, p2, p3);
+        if (parameters != null) setParameter(p1, p2);
+    }
+
+    public void setClob(int p1, Reader p2) throws SQLException {
+        ((PreparedStatement) delegate).setClob(p1, p2);
+        if (parameters != null) setParameter(p1, p2);
+    }
+
+    public void setClob(int p1, Clob p2) throws SQLException {
+        ((PreparedStatement) delegate).setClob(p1, p2);
+        if (parameters != null) setParameter(p1, p2);
+    }
+
+    public void setDate(int p1, Date p2, Calendar p3) throws SQLException {
+        ((PreparedStatement) delegate).setDate(p1, p2, p3);
+        if (parameters != null) setParameter(p1, p2);
+    }
+
+    public void setDate(int p1, Date p2) throws SQLException {
+        ((PreparedStatement) delegate).setDate(p1, p2);
+        if (parameters != null) setParameter(p1, p2);
+    }
+
+    public void setDouble(int p1, double p2) throws SQLException {
+        ((PreparedStatement) delegate).setDouble(p1, p2);
+        if (parameters != null) setParameter(p1, p2);
+    }
+
+    public void setFloat(int p1, float p2) throws SQLException {
+        ((PreparedStatement) delegate).setFloat(p1, p2);
+        if (parameters != null) setParameter(p1, p2);
+    }
+
+    public void setInt(int p1, int p2) throws SQLException {
+        ((PreparedStatement) delegate).setInt(p1, p2);
+        if (parameters != null) setParameter(p1, p2);
+    }
+
+    public void setLong(int p1, long p2) throws SQLException {
+        ((PreparedStatement) delegate).setLong(p1, p2);
+        if (parameters != null) setParameter(p1, p2);
+    }
+
+    public void setNCharacterStream(int p1, Reader p2, long p3) throws SQLException {
+        ((PreparedStatement) delegate).setNCharacterStream(p1, p2, p3);
+        if (parameters != null) setParameter(p1, p2);
+    }
+
+    public void setNCharacterStream(int p1, Reader p2) throws SQLException {
+        ((PreparedStatement) delegate).setNCharacterStream(p1, p2);
+        if (parameters != null) setParameter(p1, p2);
+    }
+
+    public void setNClob(int p1, Reader p2, long p3) throws SQLException {
+        ((PreparedStatement) delegate).setNClob(p1, p2, p3);
+        if (parameters != null) setParameter(p1, p2);
+    }
+
+    public void setNClob(int p1, Reader p2) throws SQLException {
+        ((PreparedStatement) delegate).setNClob(p1, p2);
+        if (parameters != null) setParameter(p1, p2);
+    }
+
+    public void setNClob(int p1, NClob p2) throws SQLException {
+        ((PreparedStatement) delegate).setNClob(p1, p2);
+        if (parameters != null) setParameter(p1, p2);
+    }
+
+    public void setNString(int p1, String p2) throws SQLException {
+        ((PreparedStatement) delegate).setNString(p1, p2);
+        if (parameters != null) setParameter(p1, p2);
+    }
+
+    public void setNull(int p1, int p2, String p3) throws SQLException {
+        ((PreparedStatement) delegate).setNull(p1, p2, p3);
+        if (parameters != null) setParameter(p1, null);
+    }
+
+    public void setNull(int p1, int p2) throws SQLException {
+        ((PreparedStatement) delegate).setNull(p1, p2);
+        if (parameters != null) setParameter(p1, null);
+    }
+
+    public void setObject(int p1, Object p2, int p3, int p4) throws SQLException {
+        ((PreparedStatement) delegate).setObject(p1, p2, p3, p4);
+        if (parameters != null) setParameter(p1, p2);
+    }
+
+    public void setObject(int p1, Object p2, int p3) throws SQLException {
+        ((PreparedStatement) delegate).setObject(p1, p2, p3);
+        if (parameters != null) setParameter(p1, p2);
+    }
+
+    public void setObject(int p1, Object p2) throws SQLException {
+        ((PreparedStatement) delegate).setObject(p1, p2);
+        if (parameters != null) setParameter(p1, p2);
+    }
+
+    public void setRef(int p1, Ref p2) throws SQLException {
+        ((PreparedStatement) delegate).setRef(p1, p2);
+        if (parameters != null) setParameter(p1, p2);
+    }
+
+    public void setRowId(int p1, RowId p2) throws SQLException {
+        ((PreparedStatement) delegate).setRowId(p1, p2);
+        if (parameters != null) setParameter(p1, p2);
+    }
+
+    public void setSQLXML(int p1, SQLXML p2) throws SQLException {
+        ((PreparedStatement) delegate).setSQLXML(p1, p2);
+        if (parameters != null) setParameter(p1, p2);
+    }
+
+    public void setShort(int p1, short p2) throws SQLException {
+        ((PreparedStatement) delegate).setShort(p1, p2);
+        if (parameters != null) setParameter(p1, p2);
+    }
+
+    public void setString(int p1, String p2) throws SQLException {
+        ((PreparedStatement) delegate).setString(p1, p2);
+        if (parameters != null) setParameter(p1, p2);
+    }
+
+    public void setTime(int p1, Time p2, Calendar p3) throws SQLException {
+        ((PreparedStatement) delegate).setTime(p1, p2, p3);
+        if (parameters != null) setParameter(p1, p2);
+    }
+
+    public void setTime(int p1, Time p2) throws SQLException {
+        ((PreparedStatement) delegate).setTime(p1, p2);
+        if (parameters != null) setParameter(p1, p2);
+    }
+
+    public void setTimestamp(int p1, Timestamp p2, Calendar p3) throws SQLException {
+        ((PreparedStatement) delegate).setTimestamp(p1, p2, p3);
+        if (parameters != null) setParameter(p1, p2);
+    }
+
+    public void setTimestamp(int p1, Timestamp p2) throws SQLException {
+        ((PreparedStatement) delegate).setTimestamp(p1, p2);
+        if (parameters != null) setParameter(p1, p2);
+    }
+
+    public void setURL(int p1, URL p2) throws SQLException {
+        ((PreparedStatement) delegate).setURL(p1, p2);
+        if (parameters != null) setParameter(p1, p2);
+    }
+
+    public void setUnicodeStream(int p1, InputStream p2, int p3) throws SQLException {
+        ((PreparedStatement) delegate).setUnicodeStream(p1, p2, p3);
+        if (parameters != null) setParameter(p1, p2);
+    }
+}
@@ -0,0 +1,789 @@
+/*
+ * Copyright Chris2018998
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.beecp.pool;
+
+import java.io.InputStream;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.net.URL;
+import java.sql.*;
+import java.util.Calendar;
+import java.util.Map;
+
+/**
+ * ResultSet proxy,generated by {@link ProxySourceGenerator},do not edit
+ *
+ * @author Chris.Liao
+ * @version 1.0
+ */
+public final class ProxyResultSet extends ProxyResultSetBase {
+    public ProxyResultSet(ResultSet delegate, PooledConnection pConn) {
+        super(delegate, pConn);
+    }
+
+    public ProxyResultSet(ResultSet delegate, ProxyStatementBase owner, PooledConnection pConn) {
+        super(delegate, owner, pConn);
+    }
+
+    public boolean absolute(int p1) throws SQLException {
+        return delegate.absolute(p1);
+    }
+
+    public void afterLast() throws SQLException {
+        delegate.afterLast();
+    }
+
+    public void beforeFirst() throws SQLException {
+        delegate.beforeFirst();
+    }
+
+    public void cancelRowUpdates() throws SQLException {
+        delegate.cancelRowUpdates();
+    }
+
+    public void clearWarnings() throws SQLException {
+        delegate.clearWarnings();
+    }
+
+    public void deleteRow() throws SQLException {
+        delegate.deleteRow();
+        pConn.updateAccessTime();
+    }
+
+    public int findColumn(String p1) throws SQLException {
+        return delegate.findColumn(p1);
+    }
+
+    public boolean first() throws SQLException {
+        return delegate.first();
+    }
+
+    public Array getArray(String p1) throws SQLException {
+        return delegate.getArray(p1);
+    }
+
+    public Array getArray(int p1) throws SQLException {
+        return delegate.getArray(p1);
+    }
+
+    public InputStream getAsciiStream(String p1) throws SQLException {
+        return delegate.getAsciiStream(p1);
+    }
+
+    public InputStream getAsciiStream(int p1) throws SQLException {
+        return delegate.getAsciiStream(p1);
+    }
+
+    public BigDecimal getBigDecimal(String p1, int p2) throws SQLException {
+        return delegate.getBigDecimal(p1, p2);
+    }
+
+    public BigDecimal getBigDecimal(String p1) throws SQLException {
+        return delegate.getBigDecimal(p1);
+    }
+
+    public BigDecimal getBigDecimal(int p1, int p2) throws SQLException {
+        return delegate.getBigDecimal(p1, p2);
+    }
+
+    public BigDecimal getBigDecimal(int p1) throws SQLException {
+        return delegate.getBigDecimal(p1);
+    }
+
+    public InputStream getBinaryStream(String p1) throws SQLException {
+        return delegate.getBinaryStream(p1);
+    }
+
+    public InputStream getBinaryStream(int p1) throws SQLException {
+        return delegate.getBinaryStream(p1);
+    }
+
+    public Blob getBlob(String p1) throws SQLException {
+        return delegate.getBlob(p1);
+    }
+
+    public Blob getBlob(int p1) throws SQLException {
+        return delegate.getBlob(p1);
+    }
+
+    public boolean getBoolean(String p1) throws SQLException {
+        return delegate.getBoolean(p1);
+    }
+
+    public boolean getBoolean(int p1) throws SQLException {
+        return delegate.getBoolean(p1);
+    }
+
+    public byte getByte(String p1) throws SQLException {
+        return delegate.getByte(p1);
+    }
+
+    public byte getByte(int p1) throws SQLException {
+        return delegate.getByte(p1);
+    }
+
+    public byte[] getBytes(String p1) throws SQLException {
+        return delegate.getBytes(p1);
+    }
+
+    public byte[] getBytes(int p1) throws SQLException {
+        return delegate.getBytes(p1);
+    }
+
+    public Reader getCharacterStream(String p1) throws SQLException {
+        return delegate.getCharacterStream(p1);
+    }
+
+    public Reader getCharacterStream(int p1) throws SQLException {
+        return delegate.getCharacterStream(p1);
+    }
+
+    public Clob getClob(String p1) throws SQLException {
+        return delegate.getClob(p1);
+    }
+
+    public Clob getClob(int p1) throws SQLException {
+        return delegate.getClob(p1);
+    }
+
+    public int getConcurrency() throws SQLException {
+        return delegate.getConcurrency();
+    }
+
+    public String getCursorName() throws SQLException {
+        return delegate.getCursorName();
+    }
+
+    public Date getDate(String p1, Calendar p2) throws SQLException {
+        return delegate.getDate(p1, p2);
+    }
+
+    public Date getDate(String p1) throws SQLException {
+        return delegate.getDate(p1);
+    }
+
+    public Date getDate(int p1, Calendar p2) throws SQLException {
+        return delegate.getDate(p1, p2);
+    }
+
+    public Date getDate(int p1) throws SQLException {
+        return delegate.getDate(p1);
+    }
+
+    public double getDouble(String p1) throws SQLException {
+        return delegate.getDouble(p1);
+    }
+
+    public double getDouble(int p1) throws SQLException {
+        return delegate.getDouble(p1);
+    }
+
+    public int getFetchDirection() throws SQLException {
+        return delegate.getFetchDirection();
+    }
+
+    public int getFetchSize() throws SQLException {
+        return delegate.getFetchSize();
+    }
+
+    public float getFloat(String p1) throws SQLException {
+        return delegate.getFloat(p1);
+    }
+
+    public float getFloat(int p1) throws SQLException {
+        return delegate.getFloat(p1);
+    }
+
+    public int getHoldability() throws SQLException {
+        return delegate.getHoldability();
+    }
+
+    public int getInt(String p1) throws SQLException {
+        return delegate.getInt(p1);
+    }
+
+    public int getInt(int p1) throws SQLException {
+        return delegate.getInt(p1);
+    }
+
+    public long getLong(String p1) throws SQLException {
+        return delegate.getLong(p1);
+    }
+
+    public long getLong(int p1) throws SQLException {
+        return delegate.getLong(p1);
+    }
+
+    public ResultSetMetaData getMetaData() throws SQLException {
+        return delegate.getMetaData();
+    }
+
+    public Reader getNCharacterStream(String p1) throws SQLException {
+        return delegate.getNCharacterStream(p1);
+    }
+
+    public Reader getNCharacterStream(int p1) throws SQLException {
+        return delegate.getNCharacterStream(p1);
+    }
+
+    public NClob getNClob(String p1) throws SQLException {
+        return delegate.getNClob(p1);
+    }
+
+    public NClob getNClob(int p1) throws SQLException {
+        return delegate.getNClob(p1);
+    }
+
+    public String getNString(String p1) throws SQLException {
+        return delegate.getNString(p1);
+    }
+
+    public String getNString(int p1) throws SQLException {
+        return delegate.getNString(p1);
+    }
+
+    public <T> T getObject(String p1, Class<T> p2) throws SQLException {
+        return delegate.getObject(p1, p2);
+    }
+
+    public Object getObject(String p1, Map<String, Class<?>> p2) throws SQLException {
+        return delegate.getObject(p1, p2);
+    }
+
+    public Object getObject(String p1) throws SQLException {
+        return delegate.getObject(p1);
+    }
+
+    public <T> T getObject(int p1, Class<T> p2) throws SQLException {
+        return delegate.getObject(p1, p2);
+    }
+
+    public Object getObject(int p1, Map<String, Class<?>> p2) throws SQLException {
+        return delegate.getObject(p1, p2);
+    }
+
+    public Object getObject(int p1) throws SQLException {
+        return delegate.getObject(p1);
+    }
+
+    public Ref getRef(String p1) throws SQLException {
+        return delegate.getRef(p1);
+    }
+
+    public Ref getRef(int p1) throws SQLException {
+        return delegate.getRef(p1);
+    }
+
+    public RowId getRowId(String p1) throws SQLException {
+        return delegate.getRowId(p1);
+    }
+
+    public RowId getRowId(int p1) throws SQLException {
+        return delegate.getRowId(p1);
+    }
+
+    public int getRow() throws SQLException {
+        return delegate.getRow();
+    }
+
+    public SQLXML getSQLXML(String p1) throws SQLException {
+        return delegate.getSQLXML(p1);
+    }
+
+    public SQLXML getSQLXML(int p1) throws SQLException {
+        return delegate.getSQLXML(p1);
+    }
+
+    public short getShort(String p1) throws SQLException {
+        return delegate.getShort(p1);
+    }
+
+    public short getShort(int p1) throws SQLException {
+        return delegate.getShort(p1);
+    }
+
+    public String getString(String p1) throws SQLException {
+        return delegate.getString(p1);
+    }
+
+    public String getString(int p1) throws SQLException {
+        return delegate.getString(p1);
+    }
+
+    public Time getTime(String p1, Calendar p2) throws SQLException {
+        return delegate.getTime(p1, p2);
+    }
+
+    public Time getTime(String p1) throws SQLException {
+        return delegate.getTime(p1);
+    }
+
+    public Time getTime(int p1, Calendar p2) throws SQLException {
+        return delegate.getTime(p1, p2);
+    }
+
+    public Time getTime(int p1) throws SQLException {
+        return delegate.getTime(p1);
+    }
+
+    public Timestamp getTimestamp(String p1, Calendar p2) throws SQLException {
+        return delegate.getTimestamp(p1, p2);
+    }
+
+    public Timestamp getTimestamp(String p1) throws SQLException {
+        return delegate.getTimestamp(p1);
+    }
+
+    public Timestamp getTimestamp(int p1, Calendar p2) throws SQLException {
+        return delegate.getTimestamp(p1, p2);
+    }
+
+    public Timestamp getTimestamp(int p1) throws SQLException {
+        return delegate.getTimestamp(p1);
+    }
+
+    public int getType() throws SQLException {
+        return delegate.getType();
+    }
+
+    public URL getURL(String p1) throws SQLException {
+        return delegate.getURL(p1);
+    }
+
+    public URL getURL(int p1) throws SQLException {
+        return delegate.getURL(p1);
+    }
+
+    public InputStream getUnicodeStream(String p1) throws SQLException {
+        return delegate.getUnicodeStream(p1);
+    }
+
+    public InputStream getUnicodeStream(int p1) throws SQLException {
+        return delegate.getUnicodeStream(p1);
+    }
+
+    public SQLWarning getWarnings() throws SQLException {
+        return delegate.getWarnings();
+    }
+
+    public void insertRow() throws SQLException {
+        delegate.insertRow();
+        pConn.updateAccessTime();
+    }
+
+    public boolean isAfterLast() throws SQLException {
+        return delegate.isAfterLast();
+    }
+
+    public boolean isBeforeFirst() throws SQLException {
+        return delegate.isBeforeFirst();
+    }
+
+    public boolean isFirst() throws SQLException {
+        return delegate.isFirst();
+    }
+
+    public boolean isLast() throws SQLException {
+        return delegate.isLast();
+    }
+
+    public boolean last() throws SQLException {
+        return delegate.last();
+    }
+
+    public void moveToCurrentRow() throws SQLException {
+        delegate.moveToCurrentRow();
+    }
+
+    public void moveToInsertRow() throws SQLException {
+        delegate.moveToInsertRow();
+    }
+
+    public boolean next() throws SQLException {
+        return delegate.next();
+    }
+
+    public boolean previous() throws SQLException {
+        return delegate.previous();
+    }
+
+    public void refreshRow() throws SQLException {
+        delegate.refreshRow();
+    }
+
+    public boolean relative(int p1) throws SQLException {
+        return delegate.relative(p1);
+    }
+
+    public boolean rowDeleted() throws SQLException {
+        return delegate.rowDeleted();
+    }
+
+    public boolean rowInserted() throws SQLException {
+        return delegate.rowInserted();
+    }
+
+    public boolean rowUpdated() throws SQLException {
+        return delegate.rowUpdated();
+    }
+
+    public void setFetchDirection(int p1) throws SQLException {
+        delegate.setFetchDirection(p1);
+    }
+
+    public void setFetchSize(int p1) throws SQLException {
+        delegate.setFetchSize(p1);
+    }
+
+    public void updateArray(String p1, Array p2) throws SQLException {
+        delegate.updateArray(p1, p2);
+    }
+
+    public void updateArray(int p1, Array p2) throws SQLException {
+        delegate.updateArray(p1, p2);
+    }
+
+    public void updateAsciiStream(String p1, InputStream p2, int p3) throws SQLException {
+        delegate.updateAsciiStream(p1, p2, p3);
+    }
+
+    public void updateAsciiStream(String p1, InputStream p2, long p3) throws SQLException {
+        delegate.updateAsciiStream(p1, p2, p3);
+    }
+
+    public void updateAsciiStream(String p1, InputStream p2) throws SQLException {
+        delegate.updateAsciiStream(p1, p2);
+    }
+
+    public void updateAsciiStream(int p1, InputStream p2, int p3) throws SQLException {
+        delegate.updateAsciiStream(p1, p2, p3);
+    }
+
+    public void updateAsciiStream(int p1, InputStream p2, long p3) throws SQLException {
+        delegate.updateAsciiStream(p1, p2, p3);
+    }
+
+    public void updateAsciiStream(int p1, InputStream p2) throws SQLException {
+        delegate.updateAsciiStream(p1, p2);
+    }
+
+    public void updateBigDecimal(String p1, BigDecimal p2) throws SQLException {
+        delegate.updateBigDecimal(p1, p2);
+    }
+
+    public void updateBigDecimal(int p1, BigDecimal p2) throws SQLException {
+        delegate.updateBigDecimal(p1, p2);
+    }
+
+    public void updateBinaryStream(String p1, InputStream p2, int p3) throws SQLException {
+        delegate.updateBinaryStream(p1, p2, p3);
+    }
+
+    public void updateBinaryStream(String p1, InputStream p2, long p3) throws SQLException {
+        delegate.updateBinaryStream(p1, p2, p3);
+    }
+
+    public void updateBinaryStream(String p1, InputStream p2) throws SQLException {
+        delegate.updateBinaryStream(p1, p2);
+    }
+
+    public void updateBinaryStream(int p1, InputStream p2, int p3) throws SQLException {
+        delegate.updateBinaryStream(p1, p2, p3);
+    }
+
+    public void updateBinaryStream(int p1, InputStream p2, long p3) throws SQLException {
+        delegate.updateBinaryStream(p1, p2, p3);
+    }
+
+    public void updateBinaryStream(int p1, InputStream p2) throws SQLException {
+        delegate.updateBinaryStream(p1, p2);
+    }
+
+    public void updateBlob(String p1, InputStream p2, long p3) throws SQLException {
+        delegate.updateBlob(p1, p2, p3);
+    }
+
+    public void updateBlob(String p1, InputStream p2) throws SQLException {
+        delegate.updateBlob(p1, p2);
+    }
+
+    public void updateBlob(String p1, Blob p2) throws SQLException {
+        delegate.updateBlob(p1, p2);
+    }
+
+    public void updateBlob(int p1, InputStream p2, long p3) throws SQLException {
+        delegate.updateBlob(p1, p2, p3);
+    }
+
+    public void updateBlob(int p1, InputStream p2) throws SQLException {
+        delegate.updateBlob(p1, p2);
+    }
+
+    public void updateBlob(int p1, Blob p2) throws SQLException {
+        delegate.updateBlob(p1, p2);
+    }
+
+    public void updateBoolean(String p1, boolean p2) throws SQLException {
+        delegate.updateBoolean(p1, p2);
+    }
+
+    public void updateBoolean(int p1, boolean p2) throws SQLException {
+        delegate.updateBoolean(p1, p2);
+    }
+
+    public void updateByte(String p1, byte p2) throws SQLException {
+        delegate.updateByte(p1, p2);
+    }
+
+    public void updateByte(int p1, byte p2) throws SQLException {
+        delegate.updateByte(p1, p2);
+    }
+
+    public void updateBytes(String p1, byte[] p2) throws SQLException {
+        delegate.updateBytes(p1, p2);
+    }
+
+    public void updateBytes(int p1, byte[] p2) throws SQLException {
+        delegate.updateBytes(p1, p2);
+    }
+
+    public void updateCharacterStream(String p1, Reader p2, int p3) throws SQLException {
+        delegate.updateCharacterStream(p1, p2, p3);
+    }
+
+    public void updateCharacterStream(String p1, Reader p2, long p3) throws SQLException {
+        delegate.updateCharacterStream(p1, p2, p3);
+    }
+
+    public void updateCharacterStream(String p1, Reader p2) throws SQLException {
+        delegate.updateCharacterStream(p1, p2);
+    }
+
+    public void updateCharacterStream(int p1, Reader p2, int p3) throws SQLException {
+        delegate.updateCharacterStream(p1, p2, p3);
+    }
+
+    public void updateCharacterStream(int p1, Reader p2, long p3) throws SQLException {
+        delegate.updateCharacterStream(p1, p2, p3);
+    }
+
+    public void updateCharacterStream(int p1, Reader p2) throws SQLException {
+        delegate.updateCharacterStream(p1, p2);
+    }
+
+    public void updateClob(String p1, Reader p2, long p3) throws SQLException {
+        delegate.updateClob(p1, p2, p3);
+    }
+
+    public void updateClob(String p1, Reader p2) throws SQLException {
+        delegate.updateClob(p1, p2);
+    }
+
+    public void updateClob(String p1, Clob p2) throws SQLException {
+        delegate.updateClob(p1, p2);
+    }
+
+    public void updateClob(int p1, Reader p2, long p3) throws SQLException {
+        delegate.updateClob(p1, p2, p3);
+    }
+
+    public void updateClob(int p1, Reader p2) throws SQLException {
+        delegate.updateClob(p1, p2);
+    }
+
+    public void updateClob(int p1, Clob p2) throws SQLException {
+        delegate.updateClob(p1, p2);
+    }
+
+    public void updateDate(String p1, Date p2) throws SQLException {
+        delegate.updateDate(p1, p2);
+    }
+
+    public void updateDate(int p1, Date p2) throws SQLException {
+        delegate.updateDate(p1, p2);
+    }
+
+    public void updateDouble(String p1, double p2) throws SQLException {
+        delegate.updateDouble(p1, p2);
+    }
+
+    public void updateDouble(int p1, double p2) throws SQLException {
+        delegate.updateDouble(p1, p2);
+    }
+
+    public void updateFloat(String p1, float p2) throws SQLException {
+        delegate.updateFloat(p1, p2);
+    }
+
+    public void updateFloat(int p1, float p2) throws SQLException {
+        delegate.updateFloat(p1, p2);
+    }
+
+    public void updateInt(String p1, int p2) throws SQLException {
+        delegate.updateInt(p1, p2);
+    }
+
+    public void updateInt(int p1, int p2) throws SQLException {
+        delegate.updateInt(p1, p2);
+    }
+
+    public void updateLong(String p1, long p2) throws SQLException {
+        delegate.updateLong(p1, p2);
+    }
+
+    public void updateLong(int p1, long p2) throws SQLException {
+        delegate.updateLong(p1, p2);
+    }
+
+    public void updateNCharacterStream(String p1, Reader p2, long p3) throws SQLException {
+        delegate.updateNCharacterStream(p1, p2, p3);
+    }
+
+    public void updateNCharacterStream(String p1, Reader p2) throws SQLException {
+        delegate.updateNCharacterStream(p1, p2);
+    }
+
+    public void updateNCharacterStream(int p1, Reader p2, long p3) throws SQLException {
+        delegate.updateNCharacterStream(p1, p2, p3);
+    }
+
+    public void updateNCharacterStream(int p1, Reader p2) throws SQLException {
+        delegate.updateNCharacterStream(p1, p2);
+    }
+
+    public void updateNClob(String p1, Reader p2, long p3) throws SQLException {
+        delegate.updateNClob(p1, p2, p3);
+    }
+
+    public void updateNClob(String p1, Reader p2) throws SQLException {
+        delegate.updateNClob(p1, p2);
+    }
+
+    public void updateNClob(String p1, NClob p2) throws SQLException {
+        delegate.updateNClob(p1, p2);
+    }
+
+    public void updateNClob(int p1, Reader p2, long p3) throws SQLException {
+        delegate.updateNClob(p1, p2, p3);
+    }
+
+    public void updateNClob(int p1, Reader p2) throws SQLException {
+        delegate.updateNClob(p1, p2);
+    }
+
+    public void updateNClob(int p1, NClob p2) throws SQLException {
+        delegate.updateNClob(p1, p2);
+    }
+
+    public void updateNString(String p1, String p2) throws SQLException {
+        delegate.updateNString(p1, p2);
+    }
+
+    public void updateNString(int p1, String p2) throws SQLException {
+        delegate.updateNString(p1, p2);
+    }
+
+    public void updateNull(String p1) throws SQLException {
+        delegate.updateNull(p1);
+    }
+
+    public void updateNull(int p1) throws SQLException {
+        delegate.updateNull(p1);
+    }
+
+    public void updateObject(String p1, Object p2, int p3) throws SQLException {
+        delegate.updateObject(p1, p2, p3);
+    }
+
+    public void updateObject(String p1, Object p2) throws SQLException {
+        delegate.updateObject(p1, p2);
+    }
+
+    public void updateObject(int p1, Object p2, int p3) throws SQLException {
+        delegate.updateObject(p1, p2, p3);
+    }
+
+    public void updateObject(int p1, Object p2) throws SQLException {
+        delegate.updateObject(p1, p2);
+    }
+
+    public void updateRef(String p1, Ref p2) throws SQLException {
+        delegate.updateRef(p1, p2);
+    }
+
+    public void updateRef(int p1, Ref p2) throws SQLException {
+        delegate.updateRef(p1, p2);
+    }
+
+    public void updateRowId(String p1, RowId p2) throws SQLException {
+        delegate.updateRowId(p1, p2);
+        pConn.updateAccessTime();
+    }
+
+    public void updateRowId(int p1, RowId p2) throws SQLException {
+        delegate.updateRowId(p1, p2);
+        pConn.updateAccessTime();
+    }
+
+    public void updateRow() throws SQLException {
+        delegate.updateRow();
+        pConn.updateAccessTime();
+    }
+
+    public void updateSQLXML(String p1, SQLXML p2) throws SQLException {
+        delegate.updateSQLXML(p1, p2);
+    }
+
+    public void updateSQLXML(int p1, SQLXML p2) throws SQLException {
+        delegate.updateSQLXML(p1, p2);
+    }
+
+    public void updateShort(String p1, short p2) throws SQLException {
+        delegate.updateShort(p1, p2);
+    }
+
+    public void updateShort(int p1, short p2) throws SQLException {
+        delegate.updateShort(p1, p2);
+    }
+
+    public void updateString(String p1, String p2) throws SQLException {
+        delegate.updateString(p1, p2);
+    }
+
+    public void updateString(int p1, String p2) throws SQLException {
+        delegate.updateString(p1, p2);
+    }
+
+    public void updateTime(String p1, Time p2) throws SQLException {
+        delegate.updateTime(p1, p2);
+    }
+
+    public void updateTime(int p1, Time p2) throws SQLException {
+        delegate.updateTime(p1, p2);
+    }
+
+    public void updateTimestamp(String p1, Timestamp p2) throws SQLException {
+        delegate.updateTimestamp(p1, p2);
+    }
+
+    public void updateTimestamp(int p1, Timestamp p2) throws SQLException {
+        delegate.updateTimestamp(p1, p2);
+    }
+
+    public boolean wasNull() throws SQLException {
+        return delegate.wasNull();
+    }
+}
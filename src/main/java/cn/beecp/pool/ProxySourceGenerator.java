@@ -0,0 +1,408 @@
+/*
+ * Copyright Chris2018998
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.beecp.pool;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.sql.*;
+import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * An independent execution toolkit class to generate source files of JDBC proxy classes,
+ * generated sources are kept in project source folder and compiled with other classes.
+ * Run it again after changing proxy base classes or body rules of proxy methods.
+ *
+ * @author Chris.Liao
+ * @version 1.0
+ */
+public final class ProxySourceGenerator {
+    private static final String NEW_LINE = "\r\n";//same line separator to other source files
+    private static final Pattern TypeNamePattern = Pattern.compile("([a-z][a-z0-9_]*(?:\\.[a-z][a-z0-9_]*)*)\\.([A-Z]\\w*)");
+    private static final String LICENSE =
+            "/*" + NEW_LINE +
+                    " * Copyright Chris2018998" + NEW_LINE +
+                    " *" + NEW_LINE +
+                    " * Licensed under the Apache License, Version 2.0 (the \"License\");" + NEW_LINE +
+                    " * you may not use this file except in compliance with the License." + NEW_LINE +
+                    " * You may obtain a copy of the License at" + NEW_LINE +
+                    " *" + NEW_LINE +
+                    " * http://www.apache.org/licenses/LICENSE-2.0" + NEW_LINE +
+                    " *" + NEW_LINE +
+                    " * Unless required by applicable law or agreed to in writing, software" + NEW_LINE +
+                    " * distributed under the License is distributed on an \"AS IS\" BASIS," + NEW_LINE +
+                    " * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied." + NEW_LINE +
+                    " * See the License for the specific language governing permissions and" + NEW_LINE +
+                    " * limitations under the License." + NEW_LINE +
+                    " */" + NEW_LINE;
+
+    /**
+     * default source folder in project
+     */
+    private static String folder = "src/main/java";
+
+    /**
+     * @param args take the first argument as source output folder,otherwise take default folder
+     * @throws Exception throw exception in generating process
+     */
+    public static void main(String[] args) throws Exception {
+        if (args != null && args.length > 0)
+            folder = args[0];
+
+        writeProxySources(folder);
+    }
+
+    /**
+     * write proxy source files to folder
+     *
+     * @param folder source root folder,files are written to its sub folder of package
+     * @throws IOException if failed to write file to disk
+     */
+    public static void writeProxySources(String folder) throws IOException {
+        File packageFolder = new File(folder, "cn/beecp/pool");
+        if (!packageFolder.exists() && !packageFolder.mkdirs())
+            throw new IOException("Failed to create folder:" + packageFolder);
+
+        ProxySourceGenerator generator = new ProxySourceGenerator();
+        Map<String, String> sourceMap = generator.createJdbcProxySources();
+        for (Map.Entry<String, String> entry : sourceMap.entrySet()) {
+            Writer writer = new OutputStreamWriter(new FileOutputStream(new File(packageFolder, entry.getKey() + ".java")), "UTF-8");
+            try {
+                writer.write(entry.getValue());
+            } finally {
+                writer.close();
+            }
+        }
+    }
+
+    /**
+     * create sources of all wrapper classes based on JDBC some interfaces
+     *
+     * @return map of class simple name and source
+     * <p>
+     * new Class:
+     * cn.beecp.pool.ProxyConnection
+     * cn.beecp.pool.ProxyStatement
+     * cn.beecp.pool.ProxyPsStatement
+     * cn.beecp.pool.ProxyCsStatement
+     * cn.beecp.pool.ProxyDatabaseMetaData
+     * cn.beecp.pool.ProxyResultSet
+     * cn.beecp.pool.DetachedResultSet
+     */
+    public Map<String, String> createJdbcProxySources() {
+        Map<String, String> sourceMap = new LinkedHashMap<String, String>();
+        sourceMap.put("ProxyConnection", createProxyConnectionSource());
+
+        Set<String> statementSignatures = getImplementedSignatures(ProxyStatementBase.class);
+        sourceMap.put("ProxyStatement", createProxyStatementSource("ProxyStatement", "ProxyStatementBase", Statement.class, "delegate", statementSignatures, false));
+        sourceMap.put("ProxyPsStatement", createProxyStatementSource("ProxyPsStatement", "ProxyStatement", PreparedStatement.class, "((PreparedStatement) delegate)", statementSignatures, false));
+        sourceMap.put("ProxyCsStatement", createProxyStatementSource("ProxyCsStatement", "ProxyPsStatement", CallableStatement.class, "((CallableStatement) delegate)", statementSignatures, false));
+
+        sourceMap.put("ProxyDatabaseMetaData", createProxyDatabaseMetaDataSource());
+        sourceMap.put("ProxyResultSet", createProxyResultSetSource());
+        sourceMap.put("DetachedResultSet", createDetachedResultSetSource());
+        return sourceMap;
+    }
+
+    private String createProxyConnectionSource() {
+        SourceBuilder builder = new SourceBuilder("ProxyConnection", "ProxyConnectionBase", null, true, "Connection proxy");
+        builder.addConstructor("PooledConnection pConn", "super(pConn);");
+        for (Method method : resolveInterfaceMethods(Connection.class, getImplementedSignatures(ProxyConnectionBase.class))) {
+            String call = "delegate." + method.getName() + "(" + builder.argNames(method) + ")";
+            Class returnType = method.getReturnType();
+            String body;
+            if (returnType == Statement.class) {
+                body = "return new ProxyStatement(" + call + ", pConn);";
+            } else if (returnType == PreparedStatement.class) {
+                body = "return withSql(new ProxyPsStatement(" + call + ", pConn), p1);";
+            } else if (returnType == CallableStatement.class) {
+                body = "return withSql(new ProxyCsStatement(" + call + ", pConn), p1);";
+            } else if (returnType == DatabaseMetaData.class) {
+                body = "return new ProxyDatabaseMetaData(" + call + ", pConn);";
+            } else if (returnType == void.class) {
+                body = call + ";";
+            } else {
+                body = "return " + call + ";";
+            }
+            if (isWarningRaisable(method)) body = "pConn.warningDirtyInd = true;" + NEW_LINE + body;
+            builder.addMethod(method, body);
+        }
+        return builder.toSource();
+    }
+
+    //connection setters and statement creation with attributes(may be downgraded) raise warnings on connection
+    private static boolean isWarningRaisable(Method method) {
+        if (method.getName().startsWith("set")) return true;
+        Class returnType = method.getReturnType();
+        return Statement.class.isAssignableFrom(returnType) && method.getParameterTypes().length > 1;
+    }
+
+    //implemented signatures accumulate from statement to callable statement
+    private String createProxyStatementSource(String className, String superClassName, Class statementInterface, String delegateName, Set<String> implementedSignatures, boolean isFinal) {
+        SourceBuilder builder = new SourceBuilder(className, superClassName, statementInterface == Statement.class ? null : statementInterface.getSimpleName(), isFinal,
+                statementInterface.getSimpleName() + " proxy");
+        builder.addConstructor(statementInterface.getSimpleName() + " delegate, PooledConnection pConn", "super(delegate, pConn);");
+
+        for (Method method : resolveInterfaceMethods(statementInterface, implementedSignatures)) {
+            String methodName = method.getName();
+            Class returnType = method.getReturnType();
+            String call = delegateName + "." + methodName + "(" + builder.argNames(method) + ")";
+            StringBuilder body = new StringBuilder(60);
+            //sql of plain statement is first parameter,sql of prepared statement is kept on proxy
+            String sqlArg = method.getParameterCount() > 0 && method.getParameterTypes()[0] == String.class ? "p1" : "null";
+            String endExecute = "endExecute(startTime, " + sqlArg + ");";
+            if ("addBatch".equals(methodName))//queued updates executed before explicit batch
+                body.append("onExplicitBatch(true);").append(NEW_LINE);
+            else if ("clearBatch".equals(methodName) || "executeBatch".equals(methodName))
+                body.append("onExplicitBatch(false);").append(NEW_LINE);
+            else if ("executeUpdate".equals(methodName) && method.getDeclaringClass() == PreparedStatement.class)
+                body.append("if (addAutoBatch()) return SUCCESS_NO_INFO;").append(NEW_LINE);
+            else if ("executeQuery".equals(methodName))//result read into memory(detached mode or result cache)
+                body.append("if (isResultDetached(").append(sqlArg).append(")) return executeDetachedQuery(").append(sqlArg).append(");").append(NEW_LINE);
+
+            if (returnType == void.class) {
+                if (methodName.startsWith("execute"))
+                    body.append("long startTime = beginExecute();").append(NEW_LINE).append(call).append(";").append(NEW_LINE)
+                            .append(endExecute).append(NEW_LINE).append("pConn.updateAccessTime();");
+                else
+                    body.append(call).append(";");
+                //parameter values kept for slow sql log
+                if (isParameterSetter(method))
+                    body.append(NEW_LINE).append("if (parameters != null) setParameter(p1, ").append("setNull".equals(methodName) ? "null" : "p2").append(");");
+                else if ("clearParameters".equals(methodName))
+                    body.append(NEW_LINE).append("if (parameters != null) clearParameterValues();");
+            } else if (methodName.startsWith("execute")) {
+                body.append("long startTime = beginExecute();").append(NEW_LINE)
+                        .append(builder.typeName(method.getGenericReturnType())).append(" re = ").append(call).append(";").append(NEW_LINE)
+                        .append(endExecute).append(NEW_LINE)
+                        .append("pConn.updateAccessTime();").append(NEW_LINE);
+                if (returnType == ResultSet.class)
+                    body.append("return wrapResultSet(re);");
+                else
+                    body.append("return re;");
+            } else if (returnType == ResultSet.class) {
+                body.append("return wrapResultSet(").append(call).append(");");
+            } else {
+                body.append("return ").append(call).append(";");
+            }
+            builder.addMethod(method, body.toString());
+        }
+        return builder.toSource();
+    }
+
+    private String createProxyDatabaseMetaDataSource() {
+        SourceBuilder builder = new SourceBuilder("ProxyDatabaseMetaData", "ProxyDatabaseMetaDataBase", null, true, "DatabaseMetaData proxy");
+        builder.addConstructor("DatabaseMetaData delegate, PooledConnection pConn", "super(delegate, pConn);");
+        for (Method method : resolveInterfaceMethods(DatabaseMetaData.class, getImplementedSignatures(ProxyDatabaseMetaDataBase.class))) {
+            String call = "delegate." + method.getName() + "(" + builder.argNames(method) + ")";
+            String body;
+            if (method.getReturnType() == ResultSet.class) {
+                body = "return new ProxyResultSet(" + call + ", pConn);";
+            } else if (method.getReturnType() == void.class) {
+                body = call + ";";
+            } else {
+                body = "return " + call + ";";
+            }
+            //close check skipped in methods without SQLException(driver version)
+            boolean throwSQLException = Arrays.asList(method.getExceptionTypes()).contains(SQLException.class);
+            builder.addMethod(method, throwSQLException ? "checkClosed();" + NEW_LINE + body : body);
+        }
+        return builder.toSource();
+    }
+
+    private String createProxyResultSetSource() {
+        SourceBuilder builder = new SourceBuilder("ProxyResultSet", "ProxyResultSetBase", null, true, "ResultSet proxy");
+        builder.addConstructor("ResultSet delegate, PooledConnection pConn", "super(delegate, pConn);");
+        builder.addConstructor("ResultSet delegate, ProxyStatementBase owner, PooledConnection pConn", "super(delegate, owner, pConn);");
+        for (Method method : resolveInterfaceMethods(ResultSet.class, getImplementedSignatures(ProxyResultSetBase.class))) {
+            String methodName = method.getName();
+            String call = "delegate." + methodName + "(" + builder.argNames(method) + ")";
+            boolean rowUpdate = methodName.startsWith("insertRow") || methodName.startsWith("updateRow") || methodName.startsWith("deleteRow");
+            String body;
+            if (method.getReturnType() == void.class) {
+                body = call + ";";
+                if (rowUpdate) body += NEW_LINE + "pConn.updateAccessTime();";
+            } else if (rowUpdate) {
+                body = builder.typeName(method.getGenericReturnType()) + " re = " + call + ";" + NEW_LINE
+                        + "pConn.updateAccessTime();" + NEW_LINE
+                        + "return re;";
+            } else {
+                body = "return " + call + ";";
+            }
+            builder.addMethod(method, body);
+        }
+        return builder.toSource();
+    }
+
+    //indexed parameter setters of PreparedStatement,such as 'setInt(int,int)'
+    private static boolean isParameterSetter(Method method) {
+        Class[] parameterTypes = method.getParameterTypes();
+        return method.getDeclaringClass() == PreparedStatement.class && method.getName().startsWith("set")
+                && parameterTypes.length >= 2 && parameterTypes[0] == int.class;
+    }
+
+    //methods not implemented in base class are unsupported(update,lob and so on)
+    private String createDetachedResultSetSource() {
+        SourceBuilder builder = new SourceBuilder("DetachedResultSet", "DetachedResultSetBase", null, true, "Read only ResultSet on detached data");
+        builder.addConstructor("DetachedResultData data, Statement statement", "super(data, statement);");
+        for (Method method : resolveInterfaceMethods(ResultSet.class, getImplementedSignatures(DetachedResultSetBase.class)))
+            builder.addMethod(method, "throw new SQLFeatureNotSupportedException(\"Not supported on detached result set\");");
+        return builder.toSource();
+    }
+
+    //signatures of methods implemented in proxy base class(no need to generate)
+    private Set<String> getImplementedSignatures(Class baseClass) {
+        Set<String> signatureSet = new HashSet<String>();
+        for (Class clazz = baseClass; clazz != null; clazz = clazz.getSuperclass()) {
+            for (Method method : clazz.getDeclaredMethods()) {
+                int modifiers = method.getModifiers();
+                if ((!Modifier.isAbstract(modifiers) && (Modifier.isPublic(modifiers) || Modifier.isProtected(modifiers)))
+                        || Modifier.isFinal(modifiers) || Modifier.isStatic(modifiers) || Modifier.isNative(modifiers))
+                    signatureSet.add(signature(method));
+            }
+        }
+        return signatureSet;
+    }
+
+    //abstract methods of interface and its super interfaces,sorted by name to keep generated source stable
+    private List<Method> resolveInterfaceMethods(Class interfaceClass, Set<String> implementedSignatures) {
+        List<Method> methodList = new LinkedList<Method>();
+        resolveInterfaceMethods(interfaceClass, methodList, implementedSignatures);
+        Collections.sort(methodList, new Comparator<Method>() {
+            public int compare(Method m1, Method m2) {
+                return signature(m1).compareTo(signature(m2));
+            }
+        });
+        return methodList;
+    }
+
+    private void resolveInterfaceMethods(Class interfaceClass, List<Method> methodList, Set<String> implementedSignatures) {
+        for (Method method : interfaceClass.getDeclaredMethods()) {
+            int modifiers = method.getModifiers();
+            if (Modifier.isAbstract(modifiers) && !Modifier.isStatic(modifiers) && implementedSignatures.add(signature(method)))
+                methodList.add(method);
+        }
+        for (Class superInterface : interfaceClass.getInterfaces())
+            resolveInterfaceMethods(superInterface, methodList, implementedSignatures);
+    }
+
+    private static String signature(Method method) {
+        return method.getName() + Arrays.toString(method.getParameterTypes());
+    }
+
+    /**
+     * source builder of a proxy class
+     */
+    private static final class SourceBuilder {
+        private final String className;
+        private final String header;
+        private final Set<String> importSet = new TreeSet<String>();
+        private final StringBuilder body = new StringBuilder(4096);
+
+        SourceBuilder(String className, String superClassName, String interfaceName, boolean isFinal, String desc) {
+            this.className = className;
+            this.header = "/**" + NEW_LINE +
+                    " * " + desc + ",generated by {@link ProxySourceGenerator},do not edit" + NEW_LINE +
+                    " *" + NEW_LINE +
+                    " * @author Chris.Liao" + NEW_LINE +
+                    " * @version 1.0" + NEW_LINE +
+                    " */" + NEW_LINE +
+                    "public " + (isFinal ? "final " : "") + "class " + className + " extends " + superClassName +
+                    (interfaceName != null ? " implements " + interfaceName : "") + " {" + NEW_LINE;
+        }
+
+        void addConstructor(String params, String statement) {
+            if (body.length() > 0) body.append(NEW_LINE);
+            body.append("    public ").append(className).append("(").append(params).append(") {").append(NEW_LINE)
+                    .append("        ").append(statement).append(NEW_LINE)
+                    .append("    }").append(NEW_LINE);
+        }
+
+        void addMethod(Method method, String methodBody) {
+            if (body.length() > 0) body.append(NEW_LINE);
+            body.append("    public ");
+            TypeVariable[] typeParameters = method.getTypeParameters();
+            if (typeParameters.length > 0) {
+                body.append("<");
+                for (int i = 0; i < typeParameters.length; i++) {
+                    if (i > 0) body.append(", ");
+                    body.append(typeParameters[i].getName());
+                }
+                body.append("> ");
+            }
+            body.append(typeName(method.getGenericReturnType())).append(" ").append(method.getName()).append("(");
+            Type[] paramTypes = method.getGenericParameterTypes();
+            for (int i = 0; i < paramTypes.length; i++) {
+                if (i > 0) body.append(", ");
+                body.append(typeName(paramTypes[i])).append(" p").append(i + 1);
+            }
+            body.append(")");
+            Class[] exceptionTypes = method.getExceptionTypes();
+            for (int i = 0; i < exceptionTypes.length; i++)
+                body.append(i == 0 ? " throws " : ", ").append(typeName(exceptionTypes[i]));
+            body.append(" {").append(NEW_LINE);
+            for (String line : methodBody.split(NEW_LINE))
+                body.append("        ").append(line).append(NEW_LINE);
+            body.append("    }").append(NEW_LINE);
+        }
+
+        String argNames(Method method) {
+            StringBuilder names = new StringBuilder(20);
+            for (int i = 1, l = method.getParameterTypes().length; i <= l; i++) {
+                if (i > 1) names.append(", ");
+                names.append("p").append(i);
+            }
+            return names.toString();
+        }
+
+        //simple name of type,types out of java.lang and java.sql are imported
+        String typeName(Type type) {
+            Matcher matcher = TypeNamePattern.matcher(type.getTypeName());
+            StringBuffer nameBuffer = new StringBuffer(30);
+            while (matcher.find()) {
+                String packageName = matcher.group(1);
+                if (!"java.lang".equals(packageName) && !"java.sql".equals(packageName))
+                    importSet.add(matcher.group(0));
+                matcher.appendReplacement(nameBuffer, matcher.group(2));
+            }
+            matcher.appendTail(nameBuffer);
+            return nameBuffer.toString();
+        }
+
+        String toSource() {
+            StringBuilder source = new StringBuilder(body.length() + 1024);
+            source.append(LICENSE)
+                    .append("package cn.beecp.pool;").append(NEW_LINE)
+                    .append(NEW_LINE);
+            importSet.add("java.sql.*");
+            for (String importName : importSet)
+                source.append("import ").append(importName).append(";").append(NEW_LINE);
+            source.append(NEW_LINE)
+                    .append(header)
+                    .append(body)
+                    .append("}").append(NEW_LINE);
+            return source.toString();
+        }
+    }
+}
@@ -0,0 +1,186 @@
+/*
+ * Copyright Chris2018998
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.beecp.pool;
+
+import java.sql.*;
+
+/**
+ * Statement proxy,generated by {@link ProxySourceGenerator},do not edit
+ *
+ * @author Chris.Liao
+ * @version 1.0
+ */
+public class ProxyStatement extends ProxyStatementBase {
+    public ProxyStatement(Statement delegate, PooledConnection pConn) {
+        super(delegate, pConn);
+    }
+
+    public void addBatch(String p1) throws SQLException {
+        onExplicitBatch(true);
+        delegate.addBatch(p1);
+    }
+
+    public void cancel() throws SQLException {
+        delegate.cancel();
+    }
+
+    public void clearBatch() throws SQLException {
+        onExplicitBatch(false);
+        delegate.clearBatch();
+    }
+
+    public void clearWarnings() throws SQLException {
+        delegate.clearWarnings();
+    }
+
+    public int[] executeBatch() throws SQLException {
+        onExplicitBatch(false);
+        long startTime = beginExecute();
+        int[] re = delegate.executeBatch();
+        endExecute(startTime, null);
+        pConn.updateAccessTime();
+        return re;
+    }
+
+    public ResultSet executeQuery(String p1) throws SQLException {
+        if (isResultDetached(p1)) return executeDetachedQuery(p1);
+        long startTime = beginExecute();
+        ResultSet re = delegate.executeQuery(p1);
+        endExecute(startTime, p1);
+        pConn.updateAccessTime();
+        return wrapResultSet(re);
+    }
+
+    public int executeUpdate(String p1, int[] p2) throws SQLException {
+        long startTime = beginExecute();
+        int re = delegate.executeUpdate(p1, p2);
+        endExecute(startTime, p1);
+        pConn.updateAccessTime();
+        return re;
+    }
+
+    public int executeUpdate(String p1, String[] p2) throws SQLException {
+        long startTime = beginExecute();
+        int re = delegate.executeUpdate(p1, p2);
+        endExecute(startTime, p1);
+        pConn.updateAccessTime();
+        return re;
+    }
+
+    public int executeUpdate(String p1, int p2) throws SQLException {
+        long startTime = beginExecute();
+        int re = delegate.executeUpdate(p1, p2);
+        endExecute(startTime, p1);
+        pConn.updateAccessTime();
+        return re;
+    }
+
+    public int executeUpdate(String p1) throws SQLException {
+        long startTime = beginExecute();
+        int re = delegate.executeUpdate(p1);
+        endExecute(startTime, p1);
+        pConn.updateAccessTime();
+        return re;
+    }
+
+    public boolean execute(String p1, int[] p2) throws SQLException {
+        long startTime = beginExecute();
+        boolean re = delegate.execute(p1, p2);
+        endExecute(startTime, p1);
+        pConn.updateAccessTime();
+        return re;
+    }
+
+    public boolean execute(String p1, String[] p2) throws SQLException {
+        long startTime = beginExecute();
+        boolean re = delegate.execute(p1, p2);
+        endExecute(startTime, p1);
+        pConn.updateAccessTime();
+        return re;
+    }
+
+    public boolean execute(String p1, int p2) throws SQLException {
+        long startTime = beginExecute();
+        boolean re = delegate.execute(p1, p2);
+        endExecute(startTime, p1);
+        pConn.updateAccessTime();
+        return re;
+    }
+
+    public boolean execute(String p1) throws SQLException {
+        long startTime = beginExecute();
+        boolean re = delegate.execute(p1);
+        endExecute(startTime, p1);
+        pConn.updateAccessTime();
+        return re;
+    }
+
+    public int getFetchDirection() throws SQLException {
+        return delegate.getFetchDirection();
+    }
+
+    public int getFetchSize() throws SQLException {
+        return delegate.getFetchSize();
+    }
+
+    public ResultSet getGeneratedKeys() throws SQLException {
+        return wrapResultSet(delegate.getGeneratedKeys());
+    }
+
+    public int getMaxFieldSize() throws SQLException {
+        return delegate.getMaxFieldSize();
+    }
+
+    public int getMaxRows() throws SQLException {
+        return delegate.getMaxRows();
+    }
+
+    public int getQueryTimeout() throws SQLException {
+        return delegate.getQueryTimeout();
+    }
+
+    public int getResultSetConcurrency() throws SQLException {
+        return delegate.getResultSetConcurrency();
+    }
+
+    public int getResultSetHoldability() throws SQLException {
+        return delegate.getResultSetHoldability();
+    }
+
+    public int getResultSetType() throws SQLException {
+        return delegate.getResultSetType();
+    }
+
+    public int getUpdateCount() throws SQLException {
+        return delegate.getUpdateCount();
+    }
+
+    public SQLWarning getWarnings() throws SQLException {
+        return delegate.getWarnings();
+    }
+
+    public boolean isCloseOnCompletion() throws SQLException {
+        return delegate.isCloseOnCompletion();
+    }
+
+    public boolean isPoolable() throws SQLException {
+        return delegate.isPoolable();
+    }
+
+    public void setMaxFieldSize(int p1) throws SQLException {
+        delegate.setMaxFieldSize(p1);
+    }
+}
@@ -15,13 +15,19 @@
  */
 package cn.beecp.pool;
 
+import cn.beecp.AutoBatchable;
+import cn.beecp.ResultDetachable;
+
 import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.ArrayList;
+import java.util.Arrays;
 
 import static cn.beecp.pool.PoolStaticCenter.*;
+import static java.lang.System.nanoTime;
 
 /**
  * ProxyStatementBase
@@ -29,26 +35,68 @@ import static cn.beecp.pool.PoolStaticCenter.*;
  * @author Chris.Liao
  * @version 1.0
  */
-abstract class ProxyStatementBase implements Statement {
+abstract class ProxyStatementBase implements Statement, ResultDetachable, AutoBatchable {
+    //bits of attributes changed on statement which may be put into statement cache
+    private static final int Attr_MaxRows = 1;
+    private static final int Attr_QueryTimeout = 2;
+    private static final int Attr_FetchSize = 4;
+    private static final int Attr_FetchDirection = 8;
+    private static final int Attr_EscapeProcessing = 16;
+    private static final int Attr_Uncacheable = 32;//closeOnCompletion or cursor name,not restorable
+
     protected Statement delegate;
     protected PooledConnection pConn;//called by subclass to update time
     private ProxyResultSetBase curRe;
     private boolean registered;
-    private boolean isClosed;
+    int tracedSlot;//index in traced statement array of pooled connection
+    boolean isClosed;
     private int resultOpenCode = CLOSE_CURRENT_RESULT;
     private ArrayList<ProxyResultSetBase> results;
+    StatementCache.Key cacheKey;//not null when delegate can be put into statement cache
+    String sql;//sql of prepared statement
+    private SqlLatencyHistogram sqlHistogram;//latency histogram of prepared sql
+    protected Object[] parameters;//parameter values of prepared statement,not null when slow sql log enabled or sql cacheable
+    private int parameterSize;
+    private boolean autoBatch;//'executeUpdate()' of prepared statement queued into batch
+    private boolean explicitBatch;//rows added by 'addBatch',not mixed with queued updates
+    private int autoBatchCount;//count of queued updates
+    private int[] autoBatchUpdateCounts;//update counts of executed queued updates
+    private int autoBatchUpdateCountSize;
+    private ResultCache.SqlInfo sqlInfo;//result cache info of prepared sql
+    private boolean resultDetached;//query results read into memory
+    private int changedAttrs;//bits of changed attributes,restored before caching
+    private int oldMaxRows;
+    private int oldQueryTimeout;
+    private int oldFetchSize;
+    private int oldFetchDirection;
 
     public ProxyStatementBase(Statement delegate, PooledConnection pConn) {
         this.delegate = delegate;
         this.pConn = pConn;
         if (registered = pConn.traceStatement)
             pConn.registerStatement(this);
+        if (pConn.slowSqlLog != null && delegate instanceof PreparedStatement)
+            parameters = new Object[8];
     }
 
     private void checkClosed() throws SQLException {
         if (isClosed) throw StatementClosedException;
     }
 
+    //called by proxy connection on creation of prepared statement
+    final void setSql(String sql) {
+        this.sql = sql;
+        if (pConn.detachedResultSQLs != null)
+            resultDetached = pConn.detachedResultSQLs.matches(sql);
+        if (pConn.autoBatchSQLs != null && delegate instanceof PreparedStatement)
+            autoBatch = pConn.autoBatchSQLs.matches(sql);
+        if (pConn.resultCache != null) {
+            sqlInfo = pConn.resultCache.getSqlInfo(sql);
+            if (sqlInfo.cacheable && parameters == null && delegate instanceof PreparedStatement)
+                parameters = new Object[8];
+        }
+    }
+
     public Connection getConnection() throws SQLException {
         checkClosed();
         return pConn.proxyConn;
@@ -59,6 +107,18 @@ abstract class ProxyStatementBase implements Statement {
     }
 
     public final void close() throws SQLException {
+        if (pConn.batchingStatement == this && !isClosed) {
+            try {
+                pConn.flushAutoBatch();
+            } catch (SQLException e) {
+                closeStatement();
+                throw e;
+            }
+        }
+        closeStatement();
+    }
+
+    private void closeStatement() throws SQLException {
         if (!isClosed) {
             isClosed = true;
             if (curRe != null && !curRe.isClosed)
@@ -68,8 +128,14 @@ abstract class ProxyStatementBase implements Statement {
                     re.setAsClosed();
                 results.clear();
             }
+            autoBatchUpdateCounts = null;
+            autoBatchUpdateCountSize = 0;
             if (registered)
                 pConn.unregisterStatement(this);
+            if (cacheKey != null && restoreAttributes() && pConn.cacheStatement(cacheKey, (PreparedStatement) delegate)) {
+                delegate = CLOSED_CSTM;
+                return;
+            }
 
             try {
                 delegate.close();
@@ -79,6 +145,70 @@ abstract class ProxyStatementBase implements Statement {
         }
     }
 
+    //changed attributes restored to values before change,so next borrower of cached statement gets them as new,false:not cacheable
+    private boolean restoreAttributes() {
+        if (changedAttrs == 0) return true;
+        if ((changedAttrs & Attr_Uncacheable) != 0) return false;
+        try {
+            if ((changedAttrs & Attr_MaxRows) != 0) delegate.setMaxRows(oldMaxRows);
+            if ((changedAttrs & Attr_QueryTimeout) != 0) delegate.setQueryTimeout(oldQueryTimeout);
+            if ((changedAttrs & Attr_FetchSize) != 0) delegate.setFetchSize(oldFetchSize);
+            if ((changedAttrs & Attr_FetchDirection) != 0) delegate.setFetchDirection(oldFetchDirection);
+            if ((changedAttrs & Attr_EscapeProcessing) != 0) delegate.setEscapeProcessing(true);//default of statement
+            return true;
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    //value before change is read only for statement which may be cached
+    public void setMaxRows(int max) throws SQLException {
+        if (cacheKey != null && (changedAttrs & Attr_MaxRows) == 0) {
+            oldMaxRows = delegate.getMaxRows();
+            changedAttrs |= Attr_MaxRows;
+        }
+        delegate.setMaxRows(max);
+    }
+
+    public void setQueryTimeout(int seconds) throws SQLException {
+        if (cacheKey != null && (changedAttrs & Attr_QueryTimeout) == 0) {
+            oldQueryTimeout = delegate.getQueryTimeout();
+            changedAttrs |= Attr_QueryTimeout;
+        }
+        delegate.setQueryTimeout(seconds);
+    }
+
+    public void setFetchSize(int rows) throws SQLException {
+        if (cacheKey != null && (changedAttrs & Attr_FetchSize) == 0) {
+            oldFetchSize = delegate.getFetchSize();
+            changedAttrs |= Attr_FetchSize;
+        }
+        delegate.setFetchSize(rows);
+    }
+
+    public void setFetchDirection(int direction) throws SQLException {
+        if (cacheKey != null && (changedAttrs & Attr_FetchDirection) == 0) {
+            oldFetchDirection = delegate.getFetchDirection();
+            changedAttrs |= Attr_FetchDirection;
+        }
+        delegate.setFetchDirection(direction);
+    }
+
+    public void setEscapeProcessing(boolean enable) throws SQLException {
+        delegate.setEscapeProcessing(enable);
+        changedAttrs |= Attr_EscapeProcessing;
+    }
+
+    public void setCursorName(String name) throws SQLException {
+        delegate.setCursorName(name);
+        changedAttrs |= Attr_Uncacheable;
+    }
+
+    public void closeOnCompletion() throws SQLException {
+        delegate.closeOnCompletion();
+        changedAttrs |= Attr_Uncacheable;
+    }
+
     void setAsClosed() {//call by PooledConnection.cleanOpenStatements
         try {
             registered = false;
@@ -136,8 +266,187 @@ abstract class ProxyStatementBase implements Statement {
             if (curRe != null && curRe.isDelegate(re))
                 return curRe;
 
-            return createProxyResultSet(re, this, pConn);
+            return wrapResultSet(re);
+        }
+    }
+
+    //called by subclass before execution,queued updates on connection are executed firstly
+    protected final long beginExecute() throws SQLException {
+        if (pConn.batchingStatement != null) pConn.flushAutoBatch();
+        return pConn.timeExecution ? nanoTime() : 0L;
+    }
+
+    //called by subclass before explicit batch operation,pending is true on 'addBatch',false on 'clearBatch' and 'executeBatch'
+    protected final void onExplicitBatch(boolean pending) throws SQLException {
+        if (pConn.batchingStatement != null) pConn.flushAutoBatch();
+        explicitBatch = pending;
+    }
+
+    //called by 'executeUpdate()' of prepared statement,return true if the update is queued into batch
+    protected final boolean addAutoBatch() throws SQLException {
+        if (!autoBatch || explicitBatch || pConn.curAutoCommit) return false;
+        checkClosed();
+        if (pConn.batchingStatement != this) {
+            pConn.flushAutoBatch();
+            pConn.batchingStatement = this;
+        }
+
+        ((PreparedStatement) delegate).addBatch();
+        pConn.updateAccessTime();
+        if (++autoBatchCount >= pConn.autoBatchSize) pConn.flushAutoBatch();
+        return true;
+    }
+
+    //called by pooled connection,failure of a queued update is thrown as BatchUpdateException
+    final void executeAutoBatch() throws SQLException {
+        autoBatchCount = 0;
+        long startTime = beginExecute();
+        int[] updateCounts = delegate.executeBatch();
+        endExecute(startTime, null);
+        pConn.updateAccessTime();
+
+        int size = autoBatchUpdateCountSize + updateCounts.length;
+        if (autoBatchUpdateCounts == null)
+            autoBatchUpdateCounts = new int[Math.max(size, pConn.autoBatchSize)];
+        else if (size > autoBatchUpdateCounts.length)
+            autoBatchUpdateCounts = Arrays.copyOf(autoBatchUpdateCounts, Math.max(size, autoBatchUpdateCounts.length << 1));
+        System.arraycopy(updateCounts, 0, autoBatchUpdateCounts, autoBatchUpdateCountSize, updateCounts.length);
+        autoBatchUpdateCountSize = size;
+    }
+
+    //called by pooled connection
+    final void clearAutoBatch() {
+        autoBatchCount = 0;
+        try {
+            delegate.clearBatch();
+        } catch (SQLException e) {
+        }
+    }
+
+    //called by subclass after execution,sql is null for prepared statement and batch
+    protected final void endExecute(long startTime, String sql) {
+        ResultCache resultCache = pConn.resultCache;
+        if (resultCache != null) {
+            ResultCache.SqlInfo info = sql != null ? resultCache.getSqlInfo(sql) : sqlInfo;
+            if (info == null)//batch of statement
+                pConn.onResultCacheWrite(null);
+            else if (info.write)
+                pConn.onResultCacheWrite(info.tables);
+        }
+        if (startTime == 0L) return;
+        long elapsedTime = nanoTime() - startTime;
+        SqlLatencyStats stats = pConn.sqlLatencyStats;
+        if (stats != null) {
+            if (sql != null) {
+                stats.record(sql, elapsedTime);
+            } else {
+                if (sqlHistogram == null) sqlHistogram = stats.getHistogram(this.sql);
+                sqlHistogram.record(elapsedTime);
+            }
+        }
+
+        SlowSqlLog slowSqlLog = pConn.slowSqlLog;
+        if (slowSqlLog != null && elapsedTime >= slowSqlLog.thresholdNanos) {
+            if (sql != null)
+                slowSqlLog.log(sql, null, 0, elapsedTime);
+            else
+                slowSqlLog.log(this.sql, parameters, parameterSize, elapsedTime);
+        }
+    }
+
+    public void setAutoBatch(boolean autoBatch) throws SQLException {
+        checkClosed();
+        if (!autoBatch && pConn.batchingStatement == this) pConn.flushAutoBatch();
+        this.autoBatch = autoBatch && delegate instanceof PreparedStatement;
+    }
+
+    public boolean isAutoBatch() {
+        return autoBatch;
+    }
+
+    public int[] getAutoBatchUpdateCounts() throws SQLException {
+        checkClosed();
+        if (pConn.batchingStatement == this) pConn.flushAutoBatch();
+        if (autoBatchUpdateCountSize == 0) return new int[0];
+        int[] updateCounts = Arrays.copyOf(autoBatchUpdateCounts, autoBatchUpdateCountSize);
+        autoBatchUpdateCountSize = 0;
+        return updateCounts;
+    }
+
+    public void setResultDetached(boolean detached) {
+        this.resultDetached = detached;
+    }
+
+    public boolean isResultDetached() {
+        return resultDetached;
+    }
+
+    //called by 'executeQuery' of subclass,sql is null for prepared statement;true if result read into memory
+    protected final boolean isResultDetached(String sql) throws SQLException {
+        if (resultDetached) return true;
+        if (sql != null && pConn.detachedResultSQLs != null && pConn.detachedResultSQLs.matches(sql)) return true;
+        return isResultCacheable(sql);
+    }
+
+    private boolean isResultCacheable(String sql) throws SQLException {
+        ResultCache resultCache = pConn.resultCache;
+        if (resultCache == null) return false;
+        if (pConn.batchingStatement != null) pConn.flushAutoBatch();
+        if (pConn.uncommittedWriteTables != null) return false;//read own writes from database
+        if (sql != null) return resultCache.getSqlInfo(sql).cacheable;
+        return sqlInfo != null && sqlInfo.cacheable && ResultCache.isCacheableParameters(parameters, parameterSize);
+    }
+
+    //called by 'executeQuery' of subclass when 'isResultDetached' is true,sql is null for prepared statement
+    protected final ResultSet executeDetachedQuery(String sql) throws SQLException {
+        checkClosed();
+        ResultCache resultCache = isResultCacheable(sql) ? pConn.resultCache : null;
+        ResultCache.Key key = null;
+        DetachedResultData data = null;
+        if (resultCache != null) {
+            key = sql != null ? new ResultCache.Key(sql, null) : new ResultCache.Key(this.sql, Arrays.copyOf(parameters, parameterSize));
+            data = resultCache.get(key);
         }
+
+        if (data == null) {
+            long version = resultCache != null ? resultCache.getVersion() : 0L;
+            long startTime = beginExecute();
+            ResultSet re = sql != null ? delegate.executeQuery(sql) : ((PreparedStatement) delegate).executeQuery();
+            endExecute(startTime, sql);
+            pConn.updateAccessTime();
+            if (!DetachedResultData.isDetachable(re.getMetaData())) return wrapResultSet(re);
+
+            try {
+                data = DetachedResultData.read(re);
+            } finally {
+                oclose(re);
+            }
+            if (resultCache != null) {
+                ResultCache.SqlInfo info = sql != null ? resultCache.getSqlInfo(sql) : sqlInfo;
+                resultCache.put(key, data, info.tables, version);
+            }
+        }
+        return new DetachedResultSet(data, this);
+    }
+
+    //called by subclass on parameter setting when slow sql log enabled,index starts from 1
+    protected final void setParameter(int index, Object value) {
+        if (index < 1) return;
+        if (index > parameters.length)
+            parameters = Arrays.copyOf(parameters, Math.max(index, parameters.length << 1));
+        parameters[index - 1] = value;
+        if (index > parameterSize) parameterSize = index;
+    }
+
+    //called by subclass on parameters clearing when slow sql log enabled
+    protected final void clearParameterValues() {
+        Arrays.fill(parameters, 0, parameterSize, null);
+        parameterSize = 0;
+    }
+
+    //called by subclass,result set wrapped by driver specific proxy when enabled
+    protected final ResultSet wrapResultSet(ResultSet re) throws SQLException {
+        return pConn.driverProxyFactory != null ? pConn.driverProxyFactory.createResultSet(re, this, pConn) : createProxyResultSet(re, this, pConn);
     }
 
     public void setPoolable(boolean var1) throws SQLException {
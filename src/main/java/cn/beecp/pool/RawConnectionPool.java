@@ -22,7 +22,6 @@ import javax.management.ObjectName;
 import java.lang.management.ManagementFactory;
 import java.sql.Connection;
 import java.sql.SQLException;
-import java.util.concurrent.Semaphore;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import static cn.beecp.pool.PoolStaticCenter.*;
@@ -39,9 +38,8 @@ import static java.util.concurrent.TimeUnit.NANOSECONDS;
  */
 public final class RawConnectionPool implements ConnectionPool, ConnectionPoolJMXBean {
     private static AtomicInteger poolNameIndex = new AtomicInteger(1);
-    private final ConnectionPoolMonitorVo monitorVo = new ConnectionPoolMonitorVo();
     private long defaultMaxWait;
-    private Semaphore borrowSemaphore;
+    private PoolSemaphore borrowSemaphore;
     private BeeDataSourceConfig poolConfig;
     private AtomicInteger poolState = new AtomicInteger(POOL_UNINIT);
     private String poolName = "";
@@ -55,7 +53,7 @@ public final class RawConnectionPool implements ConnectionPool, ConnectionPoolJM
     public void init(BeeDataSourceConfig config) {
         poolConfig = config;
         defaultMaxWait = MILLISECONDS.toNanos(poolConfig.getMaxWait());
-        borrowSemaphore = new Semaphore(poolConfig.getBorrowSemaphoreSize(), poolConfig.isFairMode());
+        borrowSemaphore = new PoolSemaphore(poolConfig.getBorrowSemaphoreSize(), poolConfig.isFairMode());
         poolName = !isBlank(config.getPoolName()) ? config.getPoolName() : "RawPool-" + poolNameIndex.getAndIncrement();
 
         if (poolConfig.isFairMode()) {
@@ -134,6 +132,13 @@ public final class RawConnectionPool implements ConnectionPool, ConnectionPoolJM
     public void reset() {
     }
 
+    public Connection getConnection(Object partitionKey) throws SQLException {
+        return getConnection();
+    }
+
+    public void rollingReset() {
+    }
+
     public void reset(boolean force) {
     }
 
@@ -150,7 +155,7 @@ public final class RawConnectionPool implements ConnectionPool, ConnectionPoolJM
     }
 
     public int getSemaphoreAcquiredSize() {
-        return poolConfig.getBorrowSemaphoreSize() - borrowSemaphore.availablePermits();
+        return borrowSemaphore.getSize() - borrowSemaphore.availablePermits();
     }
 
     public int getSemaphoreWaitingSize() {
@@ -161,13 +166,79 @@ public final class RawConnectionPool implements ConnectionPool, ConnectionPoolJM
         return 0;
     }
 
+    public int getPoolMaxSize() {
+        return poolConfig.getMaxActive();
+    }
+
+    public void setPoolMaxSize(int size) {
+    }
+
+    public int getBorrowSemaphoreSize() {
+        return borrowSemaphore.getSize();
+    }
+
+    public void setBorrowSemaphoreSize(int size) {
+        if (size <= 0) throw new IllegalArgumentException("Semaphore size must be greater than zero");
+        borrowSemaphore.resize(size);
+        commonLog.info("BeeCP({})semaphore size changed to {}", poolName, size);
+    }
+
+    public long getConnCreateAvgTime() {
+        return 0;
+    }
+
+    public String[] getElasticResizeHistory() {
+        return new String[0];
+    }
+
+    public double getPrewarmForecastAccuracy() {
+        return 0;
+    }
+
+    public double getPrewarmHitRate() {
+        return 0;
+    }
+
+    public double getStatementCacheHitRatio() {
+        return 0;
+    }
+
+    public String[] getSqlTopByP99(int size) {
+        return new String[0];
+    }
+
+    public String[] getSqlTopByTotalTime(int size) {
+        return new String[0];
+    }
+
+    public long getSlowSqlDroppedCount() {
+        return 0;
+    }
+
+    public double getResultCacheHitRatio() {
+        return 0;
+    }
+
+    public void clearResultCache() {
+    }
+
+    public String getConnCreateBreakerState() {
+        return "disabled";
+    }
+
+    public String[] getConnectHostHealth() {
+        return new String[0];
+    }
+
+    //a new vo on each call,which may be called concurrently
     public ConnectionPoolMonitorVo getMonitorVo() {
         int totSize = getConnTotalSize();
         int idleSize = getConnIdleSize();
+        ConnectionPoolMonitorVo monitorVo = new ConnectionPoolMonitorVo();
         monitorVo.setPoolName(poolName);
         monitorVo.setPoolMode(poolMode);
         monitorVo.setPoolState(POOL_NORMAL);
-        monitorVo.setMaxActive(poolConfig.getBorrowSemaphoreSize());
+        monitorVo.setMaxActive(borrowSemaphore.getSize());
         monitorVo.setIdleSize(idleSize);
         monitorVo.setUsingSize(totSize - idleSize);
         monitorVo.setSemaphoreWaiterSize(getSemaphoreWaitingSize());
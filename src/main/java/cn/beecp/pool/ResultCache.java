@@ -0,0 +1,276 @@
+/*
+ * Copyright Chris2018998
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.beecp.pool;
+
+import java.io.InputStream;
+import java.io.Reader;
+import java.sql.Blob;
+import java.sql.Clob;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static java.lang.System.currentTimeMillis;
+
+/**
+ * Read-through cache of query results on a pool,results of whitelisted select sql are read into
+ * {@link DetachedResultData} and cached by sql and parameters.
+ * <p>
+ * 1) entries expire after ttl,the oldest entries are evicted when exceed max size
+ * 2) executed writes(insert,update,delete...) invalidate entries on their tables,writes of unknown
+ * tables(procedure call and so on) invalidate all entries
+ * 3) a query started before an invalidation is not cached(version check),so stale results are not put back
+ *
+ * @author Chris.Liao
+ * @version 1.0
+ */
+final class ResultCache {
+    static final int MAX_ROWS = 10000;//larger results are not cached
+    private static final int MAX_SQL_INFO_SIZE = 4096;
+    private static final String TABLE_NAME = "([\\w.$\"`\\[\\]]+)";
+    private static final Pattern WriteTablePattern = Pattern.compile("^(?:insert\\s+(?:ignore\\s+)?into|update|delete\\s+from|delete|merge\\s+into"
+            + "|replace\\s+into|upsert\\s+into|truncate\\s+table|truncate|alter\\s+table|drop\\s+table)\\s+" + TABLE_NAME);
+    private static final Pattern ReadTablesPattern = Pattern.compile("\\b(?:from|join)\\s+(" + TABLE_NAME.substring(1, TABLE_NAME.length() - 1)
+            + "(?:\\s+(?:as\\s+)?\\w+)?(?:\\s*,\\s*[\\w.$\"`\\[\\]]+(?:\\s+(?:as\\s+)?\\w+)?)*)");
+    private static final String[] ReadOnlyPrefixes = {"select", "show", "desc", "explain", "set", "use"};
+    private final Pattern[] sqlPatterns;
+    private final int maxSize;
+    private final long ttl;//milliseconds
+    private final ConcurrentHashMap<Key, Entry> entryMap = new ConcurrentHashMap<Key, Entry>();
+    private final LinkedHashMap<Key, Entry> entryOrder = new LinkedHashMap<Key, Entry>();//same entries in insertion order,guarded by this
+    private final Set<String> cachedTables = ConcurrentHashMap.newKeySet();
+    private final AtomicLong version = new AtomicLong();
+    private final ConcurrentHashMap<String, SqlInfo> sqlInfoMap = new ConcurrentHashMap<String, SqlInfo>();
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+
+    /**
+     * @param sqlPatterns regular expressions of cacheable sql
+     * @param maxSize     max size of entries
+     * @param ttl         time to live of entry(milliseconds)
+     */
+    ResultCache(String[] sqlPatterns, int maxSize, long ttl) {
+        this.sqlPatterns = new Pattern[sqlPatterns.length];
+        for (int i = 0; i < sqlPatterns.length; i++)
+            this.sqlPatterns[i] = Pattern.compile(sqlPatterns[i], Pattern.CASE_INSENSITIVE | Pattern.DOTALL);
+        this.maxSize = maxSize;
+        this.ttl = ttl;
+    }
+
+    //classification of sql,kept in a bounded map
+    SqlInfo getSqlInfo(String sql) {
+        SqlInfo info = sqlInfoMap.get(sql);
+        if (info == null) {
+            info = parseSql(sql);
+            if (sqlInfoMap.size() < MAX_SQL_INFO_SIZE) sqlInfoMap.put(sql, info);
+        }
+        return info;
+    }
+
+    private SqlInfo parseSql(String sql) {
+        String text = SqlLatencyStats.fingerprint(sql).toLowerCase();
+        while (text.startsWith("(")) text = text.substring(1).trim();
+
+        for (String prefix : ReadOnlyPrefixes) {
+            if (text.startsWith(prefix)) {
+                if (!"select".equals(prefix)) return new SqlInfo(false, false, null);
+                List<String> tableList = new ArrayList<String>(2);
+                Matcher matcher = ReadTablesPattern.matcher(text);
+                while (matcher.find()) {
+                    for (String item : matcher.group(1).split(","))
+                        tableList.add(normalizeTable(item.trim().split("\\s+")[0]));
+                }
+                boolean cacheable = !tableList.isEmpty() && matchesPatterns(sql.trim());
+                return new SqlInfo(cacheable, false, tableList.toArray(new String[tableList.size()]));
+            }
+        }
+
+        Matcher matcher = WriteTablePattern.matcher(text);
+        return new SqlInfo(false, true, matcher.find() ? new String[]{normalizeTable(matcher.group(1))} : null);
+    }
+
+    private boolean matchesPatterns(String sql) {
+        for (Pattern pattern : sqlPatterns)
+            if (pattern.matcher(sql).matches()) return true;
+        return false;
+    }
+
+    //quotes and schema removed
+    private static String normalizeTable(String table) {
+        String name = table.replaceAll("[\"`\\[\\]]", "");
+        int pos = name.lastIndexOf('.');
+        return pos >= 0 ? name.substring(pos + 1) : name;
+    }
+
+    /**
+     * @param parameters parameter values of prepared statement
+     * @param size       count of parameters
+     * @return false,if some parameter is a stream or lob
+     */
+    static boolean isCacheableParameters(Object[] parameters, int size) {
+        for (int i = 0; i < size; i++) {
+            Object value = parameters[i];
+            if (value instanceof InputStream || value instanceof Reader || value instanceof Blob || value instanceof Clob)
+                return false;
+        }
+        return true;
+    }
+
+    long getVersion() {
+        return version.get();
+    }
+
+    DetachedResultData get(Key key) {
+        Entry entry = entryMap.get(key);
+        if (entry != null) {
+            if (currentTimeMillis() < entry.expireTime) {
+                hitCount.increment();
+                return entry.data;
+            }
+            remove(entry);
+        }
+        missCount.increment();
+        return null;
+    }
+
+    /**
+     * @param version version got before query execution,result not cached if changed
+     */
+    void put(Key key, DetachedResultData data, String[] tables, long version) {
+        if (data.rowCount > MAX_ROWS) return;
+        Entry entry = new Entry(key, data, tables, currentTimeMillis() + ttl);
+        synchronized (this) {
+            if (this.version.get() != version) return;
+            Collections.addAll(cachedTables, tables);
+            entryMap.put(key, entry);
+            entryOrder.remove(key);//replaced entry moved to tail
+            entryOrder.put(key, entry);
+
+            //evict expired and oldest entries from head,entries expire in insertion order with a same ttl
+            long now = currentTimeMillis();
+            Iterator<Entry> iterator = entryOrder.values().iterator();
+            while (iterator.hasNext()) {
+                Entry oldest = iterator.next();
+                if (entryOrder.size() <= maxSize && now < oldest.expireTime) break;
+                iterator.remove();
+                entryMap.remove(oldest.key, oldest);
+            }
+        }
+    }
+
+    private synchronized void remove(Entry entry) {
+        if (entryMap.remove(entry.key, entry)) entryOrder.remove(entry.key);
+    }
+
+    /**
+     * @param tables written tables,null means unknown
+     */
+    void invalidate(String[] tables) {
+        if (tables == null) {
+            invalidateAll();
+            return;
+        }
+        synchronized (this) {
+            version.incrementAndGet();//always changed,a running query of these tables may be caching them firstly
+            boolean cached = false;
+            for (String table : tables)
+                if (cachedTables.contains(table)) cached = true;
+            if (!cached) return;
+
+            Iterator<Entry> iterator = entryOrder.values().iterator();
+            while (iterator.hasNext()) {
+                Entry entry = iterator.next();
+                for (String table : tables) {
+                    if (entry.containsTable(table)) {
+                        iterator.remove();
+                        entryMap.remove(entry.key, entry);
+                        break;
+                    }
+                }
+            }
+        }
+    }
+
+    synchronized void invalidateAll() {
+        version.incrementAndGet();
+        entryMap.clear();
+        entryOrder.clear();
+    }
+
+    double getHitRatio() {
+        long hits = hitCount.sum();
+        long count = hits + missCount.sum();
+        return count > 0 ? (double) hits / count : 0D;
+    }
+
+    static final class SqlInfo {
+        final boolean cacheable;//whitelisted select
+        final boolean write;
+        final String[] tables;//read tables of select,written tables of write(null:unknown)
+
+        SqlInfo(boolean cacheable, boolean write, String[] tables) {
+            this.cacheable = cacheable;
+            this.write = write;
+            this.tables = tables;
+        }
+    }
+
+    static final class Key {
+        private final String sql;
+        private final Object[] parameters;
+        private final int hashCode;
+
+        Key(String sql, Object[] parameters) {
+            this.sql = sql;
+            this.parameters = parameters;
+            this.hashCode = sql.hashCode() * 31 + Arrays.deepHashCode(parameters);
+        }
+
+        public int hashCode() {
+            return hashCode;
+        }
+
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key other = (Key) o;
+            return hashCode == other.hashCode && sql.equals(other.sql) && Arrays.deepEquals(parameters, other.parameters);
+        }
+    }
+
+    private static final class Entry {
+        private final Key key;
+        private final DetachedResultData data;
+        private final String[] tables;
+        private final long expireTime;
+
+        Entry(Key key, DetachedResultData data, String[] tables, long expireTime) {
+            this.key = key;
+            this.data = data;
+            this.tables = tables;
+            this.expireTime = expireTime;
+        }
+
+        boolean containsTable(String table) {
+            for (String t : tables)
+                if (t.equals(table)) return true;
+            return false;
+        }
+    }
+}
@@ -0,0 +1,228 @@
+/*
+ * Copyright Chris2018998
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.beecp.pool;
+
+import java.io.*;
+import java.nio.charset.Charset;
+import java.sql.Blob;
+import java.sql.Clob;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import static cn.beecp.pool.PoolStaticCenter.commonLog;
+import static java.lang.System.currentTimeMillis;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.locks.LockSupport.parkNanos;
+import static java.util.concurrent.locks.LockSupport.unpark;
+
+/**
+ * Slow sql log,records are put into a lock-free ring buffer by executing threads and written to
+ * a rolling local file by a background thread,records are dropped when buffer is full,so executing
+ * threads never wait for file io.
+ *
+ * @author Chris.Liao
+ * @version 1.0
+ */
+final class SlowSqlLog implements Runnable {
+    private static final int BUFFER_SIZE = 1024;//power of 2
+    private static final int HISTORY_FILE_SIZE = 5;
+    private static final long WRITE_INTERVAL = MILLISECONDS.toNanos(100);
+    private static final Charset UTF8 = Charset.forName("UTF-8");
+    final long thresholdNanos;
+    private final String poolName;
+    private final File logFile;
+    private final long maxFileSize;
+    private final boolean parameterMasked;
+    private final AtomicReferenceArray<SlowSql> buffer = new AtomicReferenceArray<SlowSql>(BUFFER_SIZE);
+    private final AtomicLong tail = new AtomicLong();//next position to put
+    private volatile long head;//next position to take,only moved by writer thread
+    private final LongAdder droppedCount = new LongAdder();
+    private final Thread writerThread;
+    private volatile boolean closed;
+    private Writer writer;
+    private long fileSize;
+
+    SlowSqlLog(String poolName, File logFile, long maxFileSize, long threshold, boolean parameterMasked) {
+        this.poolName = poolName;
+        this.logFile = logFile;
+        this.maxFileSize = maxFileSize;
+        this.thresholdNanos = MILLISECONDS.toNanos(threshold);
+        this.parameterMasked = parameterMasked;
+        this.writerThread = new Thread(this, poolName + "-SlowSqlWriter");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    /**
+     * called by executing thread,parameter values are copied to text here
+     *
+     * @param sql        executed sql
+     * @param parameters parameter values of prepared statement,null for plain statement
+     * @param paramSize  count of parameters
+     * @param nanos      elapsed time
+     */
+    void log(String sql, Object[] parameters, int paramSize, long nanos) {
+        String paramText = parameters != null ? formatParameters(parameters, paramSize) : null;
+        SlowSql slowSql = new SlowSql(currentTimeMillis(), Thread.currentThread().getName(),
+                sql != null ? sql : SqlLatencyStats.BATCH_SQL, paramText, nanos);
+
+        long pos;
+        do {
+            pos = tail.get();
+            if (pos - head >= BUFFER_SIZE) {
+                droppedCount.increment();
+                return;
+            }
+        } while (!tail.compareAndSet(pos, pos + 1));
+        buffer.lazySet((int) pos & (BUFFER_SIZE - 1), slowSql);
+    }
+
+    private String formatParameters(Object[] parameters, int paramSize) {
+        StringBuilder buf = new StringBuilder(paramSize * 8 + 2).append('[');
+        for (int i = 0; i < paramSize; i++) {
+            if (i > 0) buf.append(',');
+            Object value = parameters[i];
+            if (value == null)
+                buf.append("null");
+            else if (parameterMasked)
+                buf.append("***");
+            else if (value instanceof String)
+                buf.append('\'').append(value).append('\'');
+            else if (value instanceof InputStream || value instanceof Reader || value instanceof Blob
+                    || value instanceof Clob || value instanceof byte[])
+                buf.append('<').append(value.getClass().getSimpleName()).append('>');
+            else
+                buf.append(value);
+        }
+        return buf.append(']').toString();
+    }
+
+    long getDroppedCount() {
+        return droppedCount.sum();
+    }
+
+    //write remained records and stop writer thread
+    void close() {
+        closed = true;
+        unpark(writerThread);
+        try {
+            writerThread.join(3000L);
+        } catch (InterruptedException e) {
+        }
+    }
+
+    public void run() {
+        SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss.SSS");
+        try {
+            while (!closed) {
+                if (!writeBuffered(dateFormat))
+                    parkNanos(WRITE_INTERVAL);
+            }
+            writeBuffered(dateFormat);
+        } finally {
+            closeWriter();
+        }
+    }
+
+    //return true if some records written
+    private boolean writeBuffered(SimpleDateFormat dateFormat) {
+        boolean written = false;
+        while (true) {
+            int index = (int) head & (BUFFER_SIZE - 1);
+            SlowSql slowSql = buffer.get(index);
+            if (slowSql == null) break;//empty or not published yet
+            buffer.lazySet(index, null);
+            head = head + 1;
+            write(slowSql.toString(dateFormat, poolName));
+            written = true;
+        }
+        if (written && writer != null) {
+            try {
+                writer.flush();
+            } catch (IOException e) {
+                commonLog.warn("BeeCP({})failed to write slow sql log", poolName, e);
+                closeWriter();
+            }
+        }
+        return written;
+    }
+
+    private void write(String line) {
+        try {
+            if (writer == null) {
+                fileSize = logFile.length();
+                writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(logFile, true), UTF8));
+            }
+            byte[] bytes = line.getBytes(UTF8);
+            writer.write(line);
+            fileSize += bytes.length;
+            if (fileSize >= maxFileSize) rollFile();
+        } catch (IOException e) {
+            commonLog.warn("BeeCP({})failed to write slow sql log", poolName, e);
+            closeWriter();
+        }
+    }
+
+    //log file renamed to 'file.1',history files shifted('file.1' to 'file.2'...),the oldest deleted
+    private void rollFile() {
+        closeWriter();
+        String path = logFile.getPath();
+        new File(path + "." + HISTORY_FILE_SIZE).delete();
+        for (int i = HISTORY_FILE_SIZE - 1; i > 0; i--) {
+            File historyFile = new File(path + "." + i);
+            if (historyFile.exists()) historyFile.renameTo(new File(path + "." + (i + 1)));
+        }
+        if (!logFile.renameTo(new File(path + ".1")))
+            commonLog.warn("BeeCP({})failed to roll slow sql log file:{}", poolName, logFile);
+    }
+
+    private void closeWriter() {
+        if (writer != null) {
+            try {
+                writer.close();
+            } catch (IOException e) {
+            }
+            writer = null;
+        }
+    }
+
+    private static final class SlowSql {
+        private final long time;
+        private final String threadName;
+        private final String sql;
+        private final String parameters;
+        private final long nanos;
+
+        SlowSql(long time, String threadName, String sql, String parameters, long nanos) {
+            this.time = time;
+            this.threadName = threadName;
+            this.sql = sql;
+            this.parameters = parameters;
+            this.nanos = nanos;
+        }
+
+        String toString(SimpleDateFormat dateFormat, String poolName) {
+            StringBuilder buf = new StringBuilder(sql.length() + 100);
+            buf.append(dateFormat.format(new Date(time))).append(" pool:").append(poolName).append(" thread:").append(threadName)
+                    .append(" elapsed:").append(String.format("%.3f", nanos / 1000000D)).append("ms sql:").append(sql);
+            if (parameters != null) buf.append(" parameters:").append(parameters);
+            return buf.append(System.lineSeparator()).toString();
+        }
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright Chris2018998
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.beecp.pool;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free latency histogram in fixed memory,values(microseconds) are recorded into log-linear buckets:
+ * each power of two range is split into {@link #SUB_BUCKET_COUNT} linear sub buckets,so relative error
+ * of a percentile is not more than 1/{@link #SUB_BUCKET_COUNT},values above 2^38 microseconds fall into last bucket.
+ *
+ * @author Chris.Liao
+ * @version 1.0
+ */
+final class SqlLatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int MAX_EXPONENT = 37;
+    static final int BUCKET_COUNT = (MAX_EXPONENT - SUB_BUCKET_BITS + 2) << SUB_BUCKET_BITS;
+
+    final String sql;
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+    private final LongAdder totalNanos = new LongAdder();
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    SqlLatencyHistogram(String sql) {
+        this.sql = sql;
+    }
+
+    static int bucketIndex(long micros) {
+        if (micros < SUB_BUCKET_COUNT) return micros < 0 ? 0 : (int) micros;
+        int exponent = 63 - Long.numberOfLeadingZeros(micros);
+        if (exponent > MAX_EXPONENT) return BUCKET_COUNT - 1;
+        int shift = exponent - SUB_BUCKET_BITS;
+        return ((shift + 1) << SUB_BUCKET_BITS) + (int) ((micros >>> shift) & (SUB_BUCKET_COUNT - 1));
+    }
+
+    //max value(microseconds) of a bucket
+    static long bucketUpperValue(int index) {
+        if (index < SUB_BUCKET_COUNT) return index;
+        int shift = (index >>> SUB_BUCKET_BITS) - 1;
+        long lowerValue = (long) (SUB_BUCKET_COUNT + (index & (SUB_BUCKET_COUNT - 1))) << shift;
+        return lowerValue + (1L << shift) - 1;
+    }
+
+    void record(long nanos) {
+        buckets.incrementAndGet(bucketIndex(nanos / 1000L));
+        totalNanos.add(nanos);
+
+        long curMax = maxNanos.get();
+        while (nanos > curMax && !maxNanos.compareAndSet(curMax, nanos))
+            curMax = maxNanos.get();
+    }
+
+    long getCount() {
+        long count = 0L;
+        for (int i = 0; i < BUCKET_COUNT; i++)
+            count += buckets.get(i);
+        return count;
+    }
+
+    long getTotalNanos() {
+        return totalNanos.sum();
+    }
+
+    long getMaxNanos() {
+        return maxNanos.get();
+    }
+
+    /**
+     * @param percentile value between 0.0 and 1.0
+     * @return upper value(nanoseconds) of bucket at the percentile,not more than max recorded value
+     */
+    long getPercentileNanos(double percentile) {
+        long[] counts = new long[BUCKET_COUNT];
+        long total = 0L;
+        for (int i = 0; i < BUCKET_COUNT; i++)
+            total += counts[i] = buckets.get(i);
+        if (total == 0L) return 0L;
+
+        long rank = Math.max(1L, (long) Math.ceil(total * percentile));
+        long accumulated = 0L;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            accumulated += counts[i];
+            if (accumulated >= rank)
+                return Math.min(bucketUpperValue(i) * 1000L + 999L, maxNanos.get());
+        }
+        return maxNanos.get();
+    }
+}
@@ -0,0 +1,206 @@
+/*
+ * Copyright Chris2018998
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.beecp.pool;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * Execution latency statistics of sql on a pool,latencies are recorded into histograms keyed by
+ * normalized sql(literals replaced with '?',whitespace and comments removed,in-lists collapsed).
+ * <p>
+ * Count of histograms is capped by max size,sql beyond the cap are counted into an overflow histogram.
+ * Raw sql are mapped to their histograms in a bounded map,so normalization is not repeated on hot sql.
+ *
+ * @author Chris.Liao
+ * @version 1.0
+ */
+final class SqlLatencyStats {
+    static final String BATCH_SQL = "(statement batch)";
+    static final String OVERFLOW_SQL = "(other sql)";
+    private static final int MAX_FINGERPRINT_LEN = 1024;
+    private static final Pattern InListPattern = Pattern.compile("\\(\\s*\\?(\\s*,\\s*\\?)+\\s*\\)");
+    private final int maxSize;
+    private final int maxRawSize;
+    private final ConcurrentHashMap<String, SqlLatencyHistogram> histogramMap;//fingerprint -> histogram
+    private final ConcurrentHashMap<String, SqlLatencyHistogram> rawSqlMap;//raw sql -> histogram
+    private final SqlLatencyHistogram overflowHistogram = new SqlLatencyHistogram(OVERFLOW_SQL);
+
+    SqlLatencyStats(int maxSize) {
+        this.maxSize = maxSize;
+        this.maxRawSize = maxSize << 2;
+        this.histogramMap = new ConcurrentHashMap<String, SqlLatencyHistogram>(Math.min(maxSize, 256));
+        this.rawSqlMap = new ConcurrentHashMap<String, SqlLatencyHistogram>(Math.min(maxRawSize, 1024));
+    }
+
+    /**
+     * @param sql   executed sql,null for batch of plain statement
+     * @param nanos elapsed time
+     */
+    void record(String sql, long nanos) {
+        getHistogram(sql).record(nanos);
+    }
+
+    /**
+     * @param sql sql text,null for batch of plain statement
+     * @return histogram of sql,which can be kept by prepared statement
+     */
+    SqlLatencyHistogram getHistogram(String sql) {
+        if (sql == null) sql = BATCH_SQL;
+        SqlLatencyHistogram histogram = rawSqlMap.get(sql);
+        return histogram != null ? histogram : resolveHistogram(sql);
+    }
+
+    //size checks are not atomic with puts,so cap may be exceeded slightly under race
+    private SqlLatencyHistogram resolveHistogram(String sql) {
+        String fingerprint = fingerprint(sql);
+        SqlLatencyHistogram histogram = histogramMap.get(fingerprint);
+        if (histogram == null) {
+            if (histogramMap.size() < maxSize) {
+                histogram = new SqlLatencyHistogram(fingerprint);
+                SqlLatencyHistogram existHistogram = histogramMap.putIfAbsent(fingerprint, histogram);
+                if (existHistogram != null) histogram = existHistogram;
+            } else {
+                histogram = overflowHistogram;
+            }
+        }
+        if (rawSqlMap.size() < maxRawSize) rawSqlMap.put(sql, histogram);
+        return histogram;
+    }
+
+    /**
+     * @param sql sql text
+     * @return sql with string and numeric literals replaced by '?',comments removed,whitespace collapsed,in-lists collapsed
+     */
+    static String fingerprint(String sql) {
+        int len = sql.length();
+        StringBuilder buf = new StringBuilder(Math.min(len, MAX_FINGERPRINT_LEN));
+        boolean pendingSpace = false;
+        for (int i = 0; i < len && buf.length() < MAX_FINGERPRINT_LEN; i++) {
+            char c = sql.charAt(i);
+            if (Character.isWhitespace(c)) {
+                pendingSpace = buf.length() > 0;
+                continue;
+            }
+            if (c == '-' && i + 1 < len && sql.charAt(i + 1) == '-') {//line comment
+                while (i + 1 < len && sql.charAt(i + 1) != '\n') i++;
+                pendingSpace = buf.length() > 0;
+                continue;
+            }
+            if (c == '/' && i + 1 < len && sql.charAt(i + 1) == '*') {//block comment
+                int end = sql.indexOf("*/", i + 2);
+                i = end < 0 ? len : end + 1;
+                pendingSpace = buf.length() > 0;
+                continue;
+            }
+
+            if (pendingSpace) {
+                buf.append(' ');
+                pendingSpace = false;
+            }
+            if (c == '\'') {//string literal,'' is escaped quote
+                while (++i < len) {
+                    if (sql.charAt(i) == '\'') {
+                        if (i + 1 < len && sql.charAt(i + 1) == '\'') i++;
+                        else break;
+                    }
+                }
+                buf.append('?');
+            } else if (c == '"' || c == '`') {//quoted identifier
+                int end = sql.indexOf(c, i + 1);
+                if (end < 0) end = len - 1;
+                buf.append(sql, i, end + 1);
+                i = end;
+            } else if (Character.isDigit(c) && (i == 0 || !isIdentifierChar(sql.charAt(i - 1)))) {
+                while (i + 1 < len && (Character.isLetterOrDigit(sql.charAt(i + 1)) || sql.charAt(i + 1) == '.')) i++;
+                buf.append('?');
+            } else {
+                buf.append(c);
+            }
+        }
+        return InListPattern.matcher(buf).replaceAll("(?)");
+    }
+
+    private static boolean isIdentifierChar(char c) {
+        return Character.isLetterOrDigit(c) || c == '_' || c == '$' || c == '.';
+    }
+
+    /**
+     * @param size max size of result
+     * @return statistics of sql ordered by p99 latency descending
+     */
+    String[] getTopByP99(int size) {
+        return getTop(size, new Comparator<LatencySnapshot>() {
+            public int compare(LatencySnapshot s1, LatencySnapshot s2) {
+                return Long.compare(s2.p99Nanos, s1.p99Nanos);
+            }
+        });
+    }
+
+    /**
+     * @param size max size of result
+     * @return statistics of sql ordered by total latency descending
+     */
+    String[] getTopByTotalTime(int size) {
+        return getTop(size, new Comparator<LatencySnapshot>() {
+            public int compare(LatencySnapshot s1, LatencySnapshot s2) {
+                return Long.compare(s2.totalNanos, s1.totalNanos);
+            }
+        });
+    }
+
+    private String[] getTop(int size, Comparator<LatencySnapshot> comparator) {
+        List<LatencySnapshot> snapshotList = new ArrayList<LatencySnapshot>(histogramMap.size() + 1);
+        for (SqlLatencyHistogram histogram : histogramMap.values())
+            if (histogram.getCount() > 0) snapshotList.add(new LatencySnapshot(histogram));
+        if (overflowHistogram.getCount() > 0) snapshotList.add(new LatencySnapshot(overflowHistogram));
+        Collections.sort(snapshotList, comparator);
+
+        int resultSize = Math.max(0, Math.min(size, snapshotList.size()));
+        String[] result = new String[resultSize];
+        for (int i = 0; i < resultSize; i++)
+            result[i] = snapshotList.get(i).toString();
+        return result;
+    }
+
+    private static final class LatencySnapshot {
+        private final String sql;
+        private final long count;
+        private final long totalNanos;
+        private final long maxNanos;
+        private final long p50Nanos;
+        private final long p99Nanos;
+
+        LatencySnapshot(SqlLatencyHistogram histogram) {
+            this.sql = histogram.sql;
+            this.count = histogram.getCount();
+            this.totalNanos = histogram.getTotalNanos();
+            this.maxNanos = histogram.getMaxNanos();
+            this.p50Nanos = histogram.getPercentileNanos(0.5D);
+            this.p99Nanos = histogram.getPercentileNanos(0.99D);
+        }
+
+        public String toString() {
+            return String.format("%s{count:%d,total:%.3fms,avg:%.3fms,p50:%.3fms,p99:%.3fms,max:%.3fms}",
+                    sql, count, totalNanos / 1000000D, count > 0 ? totalNanos / 1000000D / count : 0D,
+                    p50Nanos / 1000000D, p99Nanos / 1000000D, maxNanos / 1000000D);
+        }
+    }
+}
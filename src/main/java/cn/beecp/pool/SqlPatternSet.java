@@ -0,0 +1,53 @@
+/*
+ * Copyright Chris2018998
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.beecp.pool;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * Regular expressions matched on whole sql text(case insensitive),match results are kept in a bounded map.
+ *
+ * @author Chris.Liao
+ * @version 1.0
+ */
+final class SqlPatternSet {
+    private static final int MAX_RESULT_SIZE = 4096;
+    private final Pattern[] patterns;
+    private final ConcurrentHashMap<String, Boolean> resultMap = new ConcurrentHashMap<String, Boolean>();
+
+    SqlPatternSet(String[] regexes) {
+        this.patterns = new Pattern[regexes.length];
+        for (int i = 0; i < regexes.length; i++)
+            this.patterns[i] = Pattern.compile(regexes[i], Pattern.CASE_INSENSITIVE | Pattern.DOTALL);
+    }
+
+    boolean matches(String sql) {
+        Boolean matched = resultMap.get(sql);
+        if (matched == null) {
+            matched = Boolean.FALSE;
+            String text = sql.trim();
+            for (Pattern pattern : patterns) {
+                if (pattern.matcher(text).matches()) {
+                    matched = Boolean.TRUE;
+                    break;
+                }
+            }
+            if (resultMap.size() < MAX_RESULT_SIZE) resultMap.put(sql, matched);
+        }
+        return matched;
+    }
+}
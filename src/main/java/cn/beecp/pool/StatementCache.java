@@ -0,0 +1,98 @@
+/*
+ * Copyright Chris2018998
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.beecp.pool;
+
+import java.sql.PreparedStatement;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static cn.beecp.pool.PoolStaticCenter.oclose;
+
+/**
+ * LRU cache of idle driver PreparedStatements on a pooled connection,a statement is
+ * taken out of cache when prepared by borrower,and put back on logical close.
+ *
+ * @author Chris.Liao
+ * @version 1.0
+ */
+final class StatementCache {
+    private final LinkedHashMap<Key, PreparedStatement> cacheMap;
+    private boolean closed;
+
+    StatementCache(final int maxSize) {
+        this.cacheMap = new LinkedHashMap<Key, PreparedStatement>(16, 0.75F, true) {
+            protected boolean removeEldestEntry(Map.Entry<Key, PreparedStatement> eldest) {
+                if (size() <= maxSize) return false;
+                oclose(eldest.getValue());
+                return true;
+            }
+        };
+    }
+
+    synchronized PreparedStatement take(Key key) {
+        return closed ? null : cacheMap.remove(key);
+    }
+
+    /**
+     * @return false,not cached(cache closed or a same statement cached)
+     */
+    synchronized boolean offer(Key key, PreparedStatement ps) {
+        if (closed || cacheMap.containsKey(key)) return false;
+        cacheMap.put(key, ps);
+        return true;
+    }
+
+    //close all cached statements,called before physical connection close
+    synchronized void close() {
+        closed = true;
+        for (PreparedStatement ps : cacheMap.values())
+            oclose(ps);
+        cacheMap.clear();
+    }
+
+    /**
+     * cache key:sql,resultSet type,concurrency and holdability(-1 means not specified)
+     */
+    static final class Key {
+        private final String sql;
+        private final int resultSetType;
+        private final int resultSetConcurrency;
+        private final int resultSetHoldability;
+        private final int hashCode;
+
+        Key(String sql, int resultSetType, int resultSetConcurrency, int resultSetHoldability) {
+            this.sql = sql;
+            this.resultSetType = resultSetType;
+            this.resultSetConcurrency = resultSetConcurrency;
+            this.resultSetHoldability = resultSetHoldability;
+            this.hashCode = ((sql.hashCode() * 31 + resultSetType) * 31 + resultSetConcurrency) * 31 + resultSetHoldability;
+        }
+
+        public int hashCode() {
+            return hashCode;
+        }
+
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key other = (Key) o;
+            return resultSetType == other.resultSetType
+                    && resultSetConcurrency == other.resultSetConcurrency
+                    && resultSetHoldability == other.resultSetHoldability
+                    && sql.equals(other.sql);
+        }
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright Chris2018998
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.beecp.pool;
+
+import java.io.*;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Properties;
+
+import static cn.beecp.pool.PoolStaticCenter.commonLog;
+import static cn.beecp.pool.PoolStaticCenter.isBlank;
+import static java.lang.System.currentTimeMillis;
+
+/**
+ * Learned pool size saved to a local file on shutdown,and read on next startup
+ * to pre-create connections to the learned level instead of static initial size.
+ *
+ * @author Chris.Liao
+ * @version 1.0
+ */
+final class WarmSizeHint {
+    private static final String KEY_SAVE_TIME = "saveTime";
+    private static final String KEY_PEAK_SIZE = "peakSize";
+    private static final String KEY_IDLE_SIZE = "idleSize";
+    private static final String KEY_HOURLY_PEAK = "hourlyPeak";
+    long saveTime;
+    int peakSize;//peak of pooled connection size
+    int idleSize;//typical idle connection size
+    int[] hourlyPeak = new int[24];//peak concurrency by hour of day
+
+    /**
+     * @return null,if file not exists,stale or broken
+     */
+    static WarmSizeHint load(File file, long maxAge) {
+        if (!file.isFile()) return null;
+        Properties properties = new Properties();
+        InputStream stream = null;
+        try {
+            stream = new FileInputStream(file);
+            properties.load(stream);
+            WarmSizeHint hint = new WarmSizeHint();
+            hint.saveTime = Long.parseLong(properties.getProperty(KEY_SAVE_TIME, "0"));
+            if (currentTimeMillis() - hint.saveTime > maxAge) {
+                commonLog.info("Warm size hint file({})is stale,ignored", file);
+                return null;
+            }
+            hint.peakSize = Integer.parseInt(properties.getProperty(KEY_PEAK_SIZE, "0"));
+            hint.idleSize = Integer.parseInt(properties.getProperty(KEY_IDLE_SIZE, "0"));
+            String hourlyPeakText = properties.getProperty(KEY_HOURLY_PEAK);
+            if (!isBlank(hourlyPeakText)) {
+                String[] values = hourlyPeakText.split(",");
+                for (int i = 0, len = Math.min(values.length, 24); i < len; i++)
+                    hint.hourlyPeak[i] = Integer.parseInt(values[i].trim());
+            }
+            return hint;
+        } catch (Exception e) {
+            commonLog.warn("Failed to read warm size hint file({})", file, e);
+            return null;
+        } finally {
+            if (stream != null) try {
+                stream.close();
+            } catch (IOException e) {
+            }
+        }
+    }
+
+    void save(File file) throws IOException {
+        StringBuilder hourlyPeakText = new StringBuilder(72);
+        for (int i = 0; i < 24; i++) {
+            if (i > 0) hourlyPeakText.append(',');
+            hourlyPeakText.append(hourlyPeak[i]);
+        }
+        Properties properties = new Properties();
+        properties.setProperty(KEY_SAVE_TIME, String.valueOf(saveTime));
+        properties.setProperty(KEY_PEAK_SIZE, String.valueOf(peakSize));
+        properties.setProperty(KEY_IDLE_SIZE, String.valueOf(idleSize));
+        properties.setProperty(KEY_HOURLY_PEAK, hourlyPeakText.toString());
+
+        //write to a temp file in same directory,then rename it to target,readers never see a partial file
+        File parent = file.getAbsoluteFile().getParentFile();
+        if (!parent.exists()) parent.mkdirs();
+        File tempFile = File.createTempFile(file.getName(), ".tmp", parent);
+        try {
+            FileOutputStream stream = new FileOutputStream(tempFile);
+            try {
+                properties.store(stream, "BeeCP warm size hint");
+                stream.getFD().sync();
+            } finally {
+                stream.close();
+            }
+            try {
+                Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            tempFile.delete();//left when failed
+        }
+    }
+
+    /**
+     * @return learned size at given hour:hourly peak concurrency plus typical idle,or peak size if unknown
+     */
+    int getTargetSize(int hour) {
+        return hourlyPeak[hour] > 0 ? hourlyPeak[hour] + idleSize : peakSize;
+    }
+}
@@ -0,0 +1,181 @@
+/*
+ * Copyright Chris2018998
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.beecp.test.base;
+
+import cn.beecp.AutoBatchable;
+import cn.beecp.BeeDataSource;
+import cn.beecp.BeeDataSourceConfig;
+import cn.beecp.test.TestCase;
+import cn.beecp.test.TestUtil;
+import cn.beecp.test.mock.MockConnectionFactory;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+
+public class AutoBatchTest extends TestCase {
+	private BeeDataSource ds;
+	private MockConnectionFactory factory = new MockConnectionFactory();
+
+	public void setUp() throws Throwable {
+		BeeDataSourceConfig config = new BeeDataSourceConfig();
+		config.setConnectionFactory(factory);
+		config.setMaxActive(1);
+		config.setBorrowSemaphoreSize(1);
+		config.setInitialSize(1);
+		config.setAutoBatchSize(3);
+		config.setAutoBatchSQL("insert into user.*");
+		ds = new BeeDataSource(config);
+	}
+
+	public void tearDown() throws Throwable {
+		ds.close();
+	}
+
+	public void testBatchInTransaction() throws Exception {
+		Connection con = null;
+		try {
+			con = ds.getConnection();
+			con.setAutoCommit(false);
+			int executedCount = factory.getExecutedCount();
+			PreparedStatement ps = con.prepareStatement("insert into user values(?)");
+			for (int i = 0; i < 7; i++) {
+				ps.setInt(1, i);
+				int updateCount = ps.executeUpdate();
+				if (updateCount != Statement.SUCCESS_NO_INFO)
+					TestUtil.assertError("Update count expected:%s,current is:%s", Statement.SUCCESS_NO_INFO, updateCount);
+			}
+			//flushed on reaching batch size
+			if (factory.getExecutedCount() - executedCount != 2)
+				TestUtil.assertError("Executed count expected:%s,current is:%s", 2, factory.getExecutedCount() - executedCount);
+			con.commit();
+			if (factory.getExecutedCount() - executedCount != 3)
+				TestUtil.assertError("Executed count expected:%s,current is:%s", 3, factory.getExecutedCount() - executedCount);
+
+			//discarded on rollback
+			ps.executeUpdate();
+			con.rollback();
+			if (factory.getExecutedCount() - executedCount != 3)
+				TestUtil.assertError("Executed count expected:%s,current is:%s", 3, factory.getExecutedCount() - executedCount);
+
+			//flushed before another execution on connection
+			ps.executeUpdate();
+			Statement st = con.createStatement();
+			st.executeQuery("select * from user");
+			if (factory.getExecutedCount() - executedCount != 5)
+				TestUtil.assertError("Executed count expected:%s,current is:%s", 5, factory.getExecutedCount() - executedCount);
+			TestUtil.oclose(st);
+
+			//flushed on statement close
+			ps.executeUpdate();
+			TestUtil.oclose(ps);
+			if (factory.getExecutedCount() - executedCount != 6)
+				TestUtil.assertError("Executed count expected:%s,current is:%s", 6, factory.getExecutedCount() - executedCount);
+			con.commit();
+		} finally {
+			TestUtil.oclose(con);
+		}
+	}
+
+	public void testNoBatchInAutoCommit() throws Exception {
+		Connection con = null;
+		try {
+			con = ds.getConnection();
+			int executedCount = factory.getExecutedCount();
+			PreparedStatement ps = con.prepareStatement("insert into user values(?)");
+			ps.executeUpdate();
+			ps.executeUpdate();
+			if (factory.getExecutedCount() - executedCount != 2)
+				TestUtil.assertError("Executed count expected:%s,current is:%s", 2, factory.getExecutedCount() - executedCount);
+			TestUtil.oclose(ps);
+		} finally {
+			TestUtil.oclose(con);
+		}
+	}
+
+	public void testNoBatchOfUnmatchedSQL() throws Exception {
+		Connection con = null;
+		try {
+			con = ds.getConnection();
+			con.setAutoCommit(false);
+			int executedCount = factory.getExecutedCount();
+			PreparedStatement ps = con.prepareStatement("update user set name=? where id=?");
+			if (ps.executeUpdate() == Statement.SUCCESS_NO_INFO)
+				TestUtil.assertError("Update of unmatched sql queued into batch");
+
+			//set into auto batch mode by statement
+			AutoBatchable batchable = ps.unwrap(AutoBatchable.class);
+			batchable.setAutoBatch(true);
+			if (ps.executeUpdate() != Statement.SUCCESS_NO_INFO)
+				TestUtil.assertError("Update not queued into batch after setting auto batch mode");
+			batchable.setAutoBatch(false);//queued update executed
+			if (factory.getExecutedCount() - executedCount != 2)
+				TestUtil.assertError("Executed count expected:%s,current is:%s", 2, factory.getExecutedCount() - executedCount);
+			TestUtil.oclose(ps);
+			con.rollback();
+		} finally {
+			TestUtil.oclose(con);
+		}
+	}
+
+	public void testExplicitBatchNotMixed() throws Exception {
+		Connection con = null;
+		try {
+			con = ds.getConnection();
+			con.setAutoCommit(false);
+			PreparedStatement ps = con.prepareStatement("insert into user values(?)");
+			ps.executeUpdate();//queued
+			ps.addBatch();//queued update executed before explicit row
+			if (ps.executeUpdate() == Statement.SUCCESS_NO_INFO)
+				TestUtil.assertError("Update queued into batch with explicit rows");
+			int[] updateCounts = ps.executeBatch();
+			if (updateCounts.length != 1)
+				TestUtil.assertError("Explicit batch update count size expected:%s,current is:%s", 1, updateCounts.length);
+
+			//auto batch resumed after explicit batch execution
+			if (ps.executeUpdate() != Statement.SUCCESS_NO_INFO)
+				TestUtil.assertError("Update not queued into batch after explicit batch execution");
+			TestUtil.oclose(ps);
+			con.commit();
+		} finally {
+			TestUtil.oclose(con);
+		}
+	}
+
+	public void testUpdateCounts() throws Exception {
+		Connection con = null;
+		try {
+			con = ds.getConnection();
+			con.setAutoCommit(false);
+			PreparedStatement ps = con.prepareStatement("insert into user values(?)");
+			for (int i = 0; i < 5; i++)
+				ps.executeUpdate();
+
+			AutoBatchable batchable = ps.unwrap(AutoBatchable.class);
+			int[] updateCounts = batchable.getAutoBatchUpdateCounts();//flushed batch and queued updates
+			if (updateCounts.length != 5)
+				TestUtil.assertError("Update count size expected:%s,current is:%s", 5, updateCounts.length);
+			for (int updateCount : updateCounts)
+				if (updateCount != 1) TestUtil.assertError("Update count expected:%s,current is:%s", 1, updateCount);
+			if (batchable.getAutoBatchUpdateCounts().length != 0)
+				TestUtil.assertError("Update counts not cleared after got");
+			TestUtil.oclose(ps);
+			con.commit();
+		} finally {
+			TestUtil.oclose(con);
+		}
+	}
+}
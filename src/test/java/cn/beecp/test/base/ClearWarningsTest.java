@@ -0,0 +1,119 @@
+/*
+ * Copyright Chris2018998
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.beecp.test.base;
+
+import cn.beecp.BeeDataSource;
+import cn.beecp.BeeDataSourceConfig;
+import cn.beecp.test.TestCase;
+import cn.beecp.test.TestUtil;
+import cn.beecp.test.mock.MockConnectionFactory;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+
+public class ClearWarningsTest extends TestCase {
+	private BeeDataSource ds;
+	private MockConnectionFactory factory = new MockConnectionFactory();
+
+	public void setUp() throws Throwable {
+		BeeDataSourceConfig config = new BeeDataSourceConfig();
+		config.setConnectionFactory(factory);
+		config.setMaxActive(1);
+		config.setInitialSize(1);
+		config.setBorrowSemaphoreSize(1);
+		ds = new BeeDataSource(config);
+	}
+
+	public void tearDown() throws Throwable {
+		ds.close();
+	}
+
+	public void testSkipClearWithoutWarnings() throws Exception {
+		TestUtil.oclose(ds.getConnection());//warnings of new connection cleared on first return
+		int clearCount = factory.getInvokedCount("clearWarnings");
+		for (int i = 0; i < 3; i++)
+			TestUtil.oclose(ds.getConnection());
+		if (factory.getInvokedCount("clearWarnings") != clearCount) TestUtil.assertError("'clearWarnings' count expected:%s,current is:%s", clearCount, factory.getInvokedCount("clearWarnings"));
+		if (factory.getInvokedCount("getWarnings") != 0) TestUtil.assertError("'getWarnings' count expected:%s,current is:%s", 0, factory.getInvokedCount("getWarnings"));
+	}
+
+	public void testClearAfterWarningRaisableCall() throws Exception {
+		TestUtil.oclose(ds.getConnection());
+		int clearCount = factory.getInvokedCount("clearWarnings");
+
+		Connection con = ds.getConnection();
+		con.setHoldability(ResultSet.HOLD_CURSORS_OVER_COMMIT);
+		TestUtil.oclose(con);
+		if (factory.getInvokedCount("clearWarnings") != clearCount + 1) TestUtil.assertError("'clearWarnings' count expected:%s,current is:%s", clearCount + 1, factory.getInvokedCount("clearWarnings"));
+
+		con = ds.getConnection();
+		con.clearWarnings();//cleared by borrower
+		TestUtil.oclose(con);
+		if (factory.getInvokedCount("clearWarnings") != clearCount + 2) TestUtil.assertError("'clearWarnings' count expected:%s,current is:%s", clearCount + 2, factory.getInvokedCount("clearWarnings"));
+	}
+
+	public void testClearAfterTransactionEnd() throws Exception {
+		TestUtil.oclose(ds.getConnection());
+		int clearCount = factory.getInvokedCount("clearWarnings");
+
+		Connection con = ds.getConnection();
+		con.commit();//no transaction in progress warning on some drivers
+		TestUtil.oclose(con);
+		if (factory.getInvokedCount("clearWarnings") != clearCount + 1) TestUtil.assertError("'clearWarnings' count expected:%s,current is:%s", clearCount + 1, factory.getInvokedCount("clearWarnings"));
+
+		con = ds.getConnection();
+		con.rollback();
+		TestUtil.oclose(con);
+		if (factory.getInvokedCount("clearWarnings") != clearCount + 2) TestUtil.assertError("'clearWarnings' count expected:%s,current is:%s", clearCount + 2, factory.getInvokedCount("clearWarnings"));
+	}
+
+	public void testClearAfterDeferredReset() throws Exception {
+		final MockConnectionFactory deferFactory = new MockConnectionFactory();
+		BeeDataSourceConfig config = new BeeDataSourceConfig();
+		config.setConnectionFactory(deferFactory);
+		config.setMaxActive(1);
+		config.setInitialSize(1);
+		config.setBorrowSemaphoreSize(1);
+		config.setDeferConnectionReset(true);
+		final BeeDataSource deferDs = new BeeDataSource(config);
+		try {
+			Connection con = deferDs.getConnection();
+			con.setReadOnly(true);//reset deferred to next borrower
+			TestUtil.oclose(con);
+			final int clearCount = deferFactory.getInvokedCount("clearWarnings");
+
+			//borrowed by another thread,warnings of reset cleared before it gets the connection
+			final int[] clearCounts = new int[1];
+			Thread borrower = new Thread() {
+				public void run() {
+					Connection con = null;
+					try {
+						con = deferDs.getConnection();
+						clearCounts[0] = deferFactory.getInvokedCount("clearWarnings");
+					} catch (Exception e) {
+					} finally {
+						TestUtil.oclose(con);
+					}
+				}
+			};
+			borrower.start();
+			borrower.join();
+			if (clearCounts[0] != clearCount + 1) TestUtil.assertError("'clearWarnings' count expected:%s,current is:%s", clearCount + 1, clearCounts[0]);
+		} finally {
+			deferDs.close();
+		}
+	}
+}
@@ -0,0 +1,201 @@
+/*
+ * Copyright Chris2018998
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.beecp.test.base;
+
+import cn.beecp.BeeDataSource;
+import cn.beecp.BeeDataSourceConfig;
+import cn.beecp.ConnectionFactory;
+import cn.beecp.pool.FastConnectionPool;
+import cn.beecp.test.TestCase;
+import cn.beecp.test.TestUtil;
+import cn.beecp.test.mock.MockConnectionFactory;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class ConnectionCreateBreakerTest extends TestCase {
+	private BeeDataSource ds;
+	private int failureThreshold = 3;
+	private AtomicInteger createCount = new AtomicInteger(0);
+
+	public void setUp() throws Throwable {
+		BeeDataSourceConfig config = new BeeDataSourceConfig();
+		config.setConnectionFactory(new ConnectionFactory() {
+			public Connection create() throws SQLException {
+				createCount.incrementAndGet();
+				throw new SQLException("Database is down");
+			}
+		});
+		config.setCreateFailureThreshold(failureThreshold);
+		config.setCreateBackoffInitial(60000);
+		config.setCreateBackoffMax(60000);
+		config.setMaxWait(1000);
+		ds = new BeeDataSource(config);
+	}
+
+	public void tearDown() throws Throwable {
+		ds.close();
+	}
+
+	public void test() throws InterruptedException, Exception {
+		for (int i = 0; i < failureThreshold; i++) {
+			try {
+				ds.getConnection();
+				TestUtil.assertError("A creation exception need be thrown,but not");
+			} catch (SQLException e) {
+			}
+		}
+
+		try {
+			ds.getConnection();
+			TestUtil.assertError("A breaker open exception need be thrown,but not");
+		} catch (SQLException e) {
+			if (e.getMessage() == null || !e.getMessage().contains("circuit breaker is open"))
+				TestUtil.assertError("Breaker open exception expected,but current is:%s", e.getMessage(), "");
+		}
+
+		if (createCount.get() != failureThreshold)
+			TestUtil.assertError("Create count expected:%s,current is:%s", failureThreshold, createCount.get());
+	}
+
+	public void testHalfOpenSingleProbe() throws Exception {
+		Object breaker = newBreaker(1, 100, 400);
+		invoke(breaker, "onFailure", new SQLException("Database is down"));
+		if (Boolean.TRUE.equals(invoke(breaker, "tryAcquire"))) TestUtil.assertError("Creation allowed on opened breaker");
+
+		Thread.sleep(150);//backoff elapsed
+		if (!Boolean.TRUE.equals(invoke(breaker, "tryAcquire"))) TestUtil.assertError("Probe creation not allowed after backoff");
+		if (Boolean.TRUE.equals(invoke(breaker, "tryAcquire"))) TestUtil.assertError("Second probe allowed in half-open state");
+		String message = ((SQLException) invoke(breaker, "createOpenException")).getMessage();
+		if (!message.contains("probe")) TestUtil.assertError("Half-open exception message expected probe in progress,current is:%s", message, "");
+
+		invoke(breaker, "onSuccess");//probe succeeded
+		if (!Boolean.TRUE.equals(invoke(breaker, "tryAcquire"))) TestUtil.assertError("Creation not allowed on closed breaker");
+	}
+
+	public void testJitteredBackoffGrowth() throws Exception {
+		Object breaker = newBreaker(1, 200, 800);
+		long[] expectBackoffs = {200, 400, 800, 800};//doubled on failed probe,bounded by max
+		for (int i = 0; i < expectBackoffs.length; i++) {
+			long failTime = System.currentTimeMillis();
+			invoke(breaker, "onFailure", new SQLException("Database is down"));
+			long backoff = getLongField(breaker, "curBackoff");
+			long delay = getLongField(breaker, "openUntil") - failTime;
+			if (backoff != expectBackoffs[i]) TestUtil.assertError("Backoff expected:%s,current is:%s", expectBackoffs[i], backoff);
+			if (delay < backoff / 2 || delay > backoff + 10) TestUtil.assertError("Jittered delay expected in:%s,current is:%s", "[" + backoff / 2 + "," + backoff + "]", delay);
+
+			setLongField(breaker, "openUntil", 0L);//skip waiting,then take probe
+			if (!Boolean.TRUE.equals(invoke(breaker, "tryAcquire"))) TestUtil.assertError("Probe creation not allowed after backoff");
+		}
+	}
+
+	public void testFailFastQueuedWaiters() throws Exception {
+		final MockConnectionFactory factory = new MockConnectionFactory();
+		BeeDataSourceConfig config = new BeeDataSourceConfig();
+		config.setConnectionFactory(factory);
+		config.setMaxActive(2);
+		config.setInitialSize(2);
+		config.setBorrowSemaphoreSize(4);
+		config.setCreateFailureThreshold(1);
+		config.setCreateBackoffInitial(60000);
+		config.setCreateBackoffMax(60000);
+		config.setMaxWait(5000);
+		final BeeDataSource failDs = new BeeDataSource(config);
+		Connection con1 = null, con2 = null;
+		try {
+			con1 = failDs.getConnection();
+			con2 = new BorrowThread(failDs).borrow();
+			BorrowThread[] waiters = {new BorrowThread(failDs), new BorrowThread(failDs)};
+			for (BorrowThread waiter : waiters)
+				waiter.start();
+			Thread.sleep(100);//waiters queued on full pool
+
+			factory.setCreateFailed(true);
+			((FastConnectionPool) TestUtil.getPool(failDs)).rollingReset();
+			long startTime = System.currentTimeMillis();
+			con1.close();//stale one removed,then its replacement creation fails and opens breaker
+			con1 = null;
+			for (BorrowThread waiter : waiters) {
+				waiter.join();
+				if (waiter.failure == null) TestUtil.assertError("Creation exception need be transferred to waiter,but not");
+			}
+			long waitTime = System.currentTimeMillis() - startTime;
+			if (waitTime >= 2000) TestUtil.assertError("Queued waiters not failed fast,waited:" + waitTime + "ms");
+		} finally {
+			if (con1 != null) TestUtil.oclose(con1);
+			if (con2 != null) TestUtil.oclose(con2);
+			failDs.close();
+		}
+	}
+
+	private static Object newBreaker(int failureThreshold, long initialBackoff, long maxBackoff) throws Exception {
+		Constructor constructor = Class.forName("cn.beecp.pool.ConnectionCreateBreaker").getDeclaredConstructor(int.class, long.class, long.class);
+		constructor.setAccessible(true);
+		return constructor.newInstance(failureThreshold, initialBackoff, maxBackoff);
+	}
+
+	private static Object invoke(Object breaker, String methodName, Object... args) throws Exception {
+		for (Method method : breaker.getClass().getDeclaredMethods()) {
+			if (method.getName().equals(methodName) && method.getParameterTypes().length == args.length) {
+				method.setAccessible(true);
+				return method.invoke(breaker, args);
+			}
+		}
+		throw new NoSuchMethodException(methodName);
+	}
+
+	private static long getLongField(Object breaker, String fieldName) throws Exception {
+		Field field = breaker.getClass().getDeclaredField(fieldName);
+		field.setAccessible(true);
+		return field.getLong(breaker);
+	}
+
+	private static void setLongField(Object breaker, String fieldName, long value) throws Exception {
+		Field field = breaker.getClass().getDeclaredField(fieldName);
+		field.setAccessible(true);
+		field.setLong(breaker, value);
+	}
+
+	//borrow a connection in another thread
+	private static class BorrowThread extends Thread {
+		private final BeeDataSource ds;
+		private Connection con;
+		private Exception failure;
+
+		BorrowThread(BeeDataSource ds) {
+			this.ds = ds;
+		}
+
+		Connection borrow() throws Exception {
+			start();
+			join();
+			if (failure != null) throw failure;
+			return con;
+		}
+
+		public void run() {
+			try {
+				con = ds.getConnection();
+			} catch (Exception e) {
+				failure = e;
+			}
+		}
+	}
+}
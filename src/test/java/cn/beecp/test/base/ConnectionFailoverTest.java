@@ -0,0 +1,73 @@
+/*
+ * Copyright Chris2018998
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.beecp.test.base;
+
+import cn.beecp.BeeDataSource;
+import cn.beecp.BeeDataSourceConfig;
+import cn.beecp.pool.FastConnectionPool;
+import cn.beecp.test.TestCase;
+import cn.beecp.test.TestUtil;
+import cn.beecp.test.mock.MockConnectionFactory;
+import cn.beecp.test.mock.MockFailoverDriver;
+
+import java.sql.Connection;
+
+public class ConnectionFailoverTest extends TestCase {
+	private BeeDataSource ds;
+
+	public void setUp() throws Throwable {
+		MockFailoverDriver.clear();
+		BeeDataSourceConfig config = new BeeDataSourceConfig();
+		config.setDriverClassName(MockFailoverDriver.class.getName());
+		config.setFailoverUrls("jdbc:mock:host1,jdbc:mock:host2");
+		config.setMaxActive(4);
+		config.setInitialSize(2);
+		ds = new BeeDataSource(config);
+	}
+
+	public void tearDown() throws Throwable {
+		ds.close();
+		MockFailoverDriver.clear();
+	}
+
+	public void testFailover() throws Exception {
+		FastConnectionPool pool = (FastConnectionPool) TestUtil.getPool(ds);
+		MockConnectionFactory host1 = MockFailoverDriver.getHost("host1");
+		MockConnectionFactory host2 = MockFailoverDriver.getHost("host2");
+		if (host1.getCreatedCount() != 2) TestUtil.assertError("Connections on host1 expected:%s,current is:%s", 2, host1.getCreatedCount());
+
+		MockFailoverDriver.setDown("host1", true);
+		Connection con1 = null, con2 = null, con3 = null;
+		try {//third connection created on host2
+			con1 = ds.getConnection();
+			con2 = ds.getConnection();
+			con3 = ds.getConnection();
+		} finally {
+			if (con1 != null) TestUtil.oclose(con1);
+			if (con2 != null) TestUtil.oclose(con2);
+			if (con3 != null) TestUtil.oclose(con3);
+		}
+
+		//connections on host1 are replaced by rolling reset
+		long deadline = System.currentTimeMillis() + 3000;
+		while (host1.getCreatedCount() != host1.getClosedCount() && System.currentTimeMillis() < deadline)
+			Thread.sleep(50);
+		if (host1.getCreatedCount() != host1.getClosedCount())
+			TestUtil.assertError("Connections on host1 expected:%s,current is:%s", 0, host1.getCreatedCount() - host1.getClosedCount());
+		if (host2.getCreatedCount() - host2.getClosedCount() != pool.getConnTotalSize())
+			TestUtil.assertError("Connections on host2 expected:%s,current is:%s", pool.getConnTotalSize(), host2.getCreatedCount() - host2.getClosedCount());
+	}
+}
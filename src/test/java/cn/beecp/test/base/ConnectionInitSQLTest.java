@@ -0,0 +1,79 @@
+/*
+ * Copyright Chris2018998
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.beecp.test.base;
+
+import cn.beecp.BeeDataSource;
+import cn.beecp.BeeDataSourceConfig;
+import cn.beecp.test.TestCase;
+import cn.beecp.test.TestUtil;
+import cn.beecp.test.mock.MockConnectionFactory;
+
+import java.sql.SQLException;
+
+public class ConnectionInitSQLTest extends TestCase {
+	private BeeDataSource ds;
+	private MockConnectionFactory factory = new MockConnectionFactory();
+
+	public void setUp() throws Throwable {
+		BeeDataSourceConfig config = new BeeDataSourceConfig();
+		config.setConnectionFactory(factory);
+		config.setMaxActive(2);
+		config.setInitialSize(2);
+		config.setConnectionInitSQL("SET time_zone='+00:00'; SET search_path=app ;\n-- comment;\nSET @sep=';' /* ; */");
+		config.setConnectionPrepareSQL("select * from user where id=?");
+		ds = new BeeDataSource(config);
+	}
+
+	public void tearDown() throws Throwable {
+		ds.close();
+	}
+
+	public void testInitOnCreate() throws Exception {
+		if (factory.getExecutedCount() != 6) TestUtil.assertError("Executed init SQL expected:%s,current is:%s", 6, factory.getExecutedCount());
+		if (factory.getPreparedCount() != 2) TestUtil.assertError("Prepared SQL expected:%s,current is:%s", 2, factory.getPreparedCount());
+		TestUtil.oclose(ds.getConnection());
+		if (factory.getExecutedCount() != 6) TestUtil.assertError("Executed init SQL expected:%s,current is:%s", 6, factory.getExecutedCount());
+
+		String lastSQL = factory.getExecutedSQLs().get(2);//';' in quotes and comments not split
+		if (!lastSQL.endsWith("SET @sep=';' /* ; */")) TestUtil.assertError("Init SQL expected:%s,current is:%s", "SET @sep=';' /* ; */", lastSQL);
+	}
+
+	public void testInitFailureCountedByBreaker() throws Exception {
+		MockConnectionFactory failedFactory = new MockConnectionFactory();
+		failedFactory.setExecuteFailed(true);
+		BeeDataSourceConfig config = new BeeDataSourceConfig();
+		config.setConnectionFactory(failedFactory);
+		config.setConnectionInitSQL("SET time_zone='+00:00'");
+		config.setCreateFailureThreshold(1);
+		config.setCreateBackoffInitial(60000);
+		config.setCreateBackoffMax(60000);
+		config.setMaxWait(1000);
+		BeeDataSource failedDs = new BeeDataSource(config);
+		try {
+			for (int i = 0; i < 2; i++) {
+				try {
+					TestUtil.oclose(failedDs.getConnection());
+					TestUtil.assertError("Init SQL exception need be thrown,but not");
+				} catch (SQLException e) {
+				}
+			}
+			if (failedFactory.getCreatedCount() != 1)
+				TestUtil.assertError("Created connections expected:%s,current is:%s", 1, failedFactory.getCreatedCount());
+		} finally {
+			failedDs.close();
+		}
+	}
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright Chris2018998
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.beecp.test.base;
+
+import cn.beecp.BeeDataSource;
+import cn.beecp.BeeDataSourceConfig;
+import cn.beecp.test.TestCase;
+import cn.beecp.test.TestUtil;
+import cn.beecp.test.mock.MockConnectionFactory;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+
+public class DeferredResetTest extends TestCase {
+	private BeeDataSource ds;
+	private MockConnectionFactory factory = new MockConnectionFactory();
+
+	public void setUp() throws Throwable {
+		BeeDataSourceConfig config = new BeeDataSourceConfig();
+		config.setConnectionFactory(factory);
+		config.setMaxActive(1);
+		config.setInitialSize(1);
+		config.setBorrowSemaphoreSize(1);
+		config.setDeferConnectionReset(true);
+		ds = new BeeDataSource(config);
+	}
+
+	public void tearDown() throws Throwable {
+		ds.close();
+	}
+
+	public void testResetSkippedOnSameThread() throws Exception {
+		int readOnlyCount = factory.getInvokedCount("setReadOnly");
+		Connection con = null;
+		try {
+			con = ds.getConnection();
+			con.setReadOnly(true);
+		} finally {
+			TestUtil.oclose(con);
+		}
+		try {
+			con = ds.getConnection();
+		} finally {
+			TestUtil.oclose(con);
+		}
+		if (factory.getInvokedCount("setReadOnly") != readOnlyCount + 1) TestUtil.assertError("Reset not skipped on same thread,'setReadOnly' count expected:%s,current is:%s", readOnlyCount + 1, factory.getInvokedCount("setReadOnly"));
+
+		final Exception[] failures = new Exception[1];
+		Thread otherThread = new Thread() {
+			public void run() {
+				try {
+					TestUtil.oclose(ds.getConnection());
+				} catch (Exception e) {
+					failures[0] = e;
+				}
+			}
+		};
+		otherThread.start();
+		otherThread.join();
+		if (failures[0] != null) throw failures[0];
+		if (factory.getInvokedCount("setReadOnly") != readOnlyCount + 2) TestUtil.assertError("Reset not applied for other thread,'setReadOnly' count expected:%s,current is:%s", readOnlyCount + 2, factory.getInvokedCount("setReadOnly"));
+	}
+
+	public void testRollbackNotDeferred() throws Exception {
+		int rollbackCount = factory.getInvokedCount("rollback");
+		Connection con = null;
+		try {
+			con = ds.getConnection();
+			con.setAutoCommit(false);
+			PreparedStatement ps = con.prepareStatement("update user set name=? where id=?");
+			ps.executeUpdate();
+			TestUtil.oclose(ps);
+		} finally {
+			TestUtil.oclose(con);
+		}
+		if (factory.getInvokedCount("rollback") != rollbackCount + 1) TestUtil.assertError("Dirty transaction not rolled back on return");
+	}
+}
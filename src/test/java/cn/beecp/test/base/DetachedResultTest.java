@@ -0,0 +1,93 @@
+/*
+ * Copyright Chris2018998
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.beecp.test.base;
+
+import cn.beecp.BeeDataSource;
+import cn.beecp.BeeDataSourceConfig;
+import cn.beecp.ResultDetachable;
+import cn.beecp.test.TestCase;
+import cn.beecp.test.TestUtil;
+import cn.beecp.test.mock.MockConnectionFactory;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+public class DetachedResultTest extends TestCase {
+	private BeeDataSource ds;
+	private MockConnectionFactory factory = new MockConnectionFactory();
+
+	public void setUp() throws Throwable {
+		BeeDataSourceConfig config = new BeeDataSourceConfig();
+		config.setConnectionFactory(factory);
+		config.setMaxActive(1);
+		config.setBorrowSemaphoreSize(1);
+		config.setInitialSize(1);
+		config.setDetachedResultSQL("select \\* from report.*");
+		ds = new BeeDataSource(config);
+	}
+
+	public void tearDown() throws Throwable {
+		ds.close();
+	}
+
+	public void testDetachedBySqlPattern() throws Exception {
+		Connection con = ds.getConnection();
+		PreparedStatement ps = con.prepareStatement("select * from report where month=?");
+		ResultSet re = ps.executeQuery();
+		TestUtil.oclose(ps);
+		TestUtil.oclose(con);
+
+		//connection returned before iteration
+		if (re.next())
+			TestUtil.assertError("Detached result expected to be empty");
+		TestUtil.oclose(re);
+
+		con = ds.getConnection();
+		Statement st = con.createStatement();
+		re = st.executeQuery("select * from report_detail");
+		TestUtil.oclose(st);
+		TestUtil.oclose(con);
+		re.next();
+
+		//not matched
+		con = ds.getConnection();
+		st = con.createStatement();
+		re = st.executeQuery("select * from user");
+		TestUtil.oclose(st);
+		TestUtil.oclose(con);
+		try {
+			re.next();
+			TestUtil.assertError("Result set expected to be closed with statement");
+		} catch (SQLException e) {
+		}
+	}
+
+	public void testDetachedByStatement() throws Exception {
+		Connection con = ds.getConnection();
+		PreparedStatement ps = con.prepareStatement("select * from user where id=?");
+		ResultDetachable detachable = ps.unwrap(ResultDetachable.class);
+		if (detachable.isResultDetached())
+			TestUtil.assertError("Statement expected not in detached mode");
+		detachable.setResultDetached(true);
+		ResultSet re = ps.executeQuery();
+		TestUtil.oclose(con);
+		re.next();
+		TestUtil.oclose(re);
+	}
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright Chris2018998
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.beecp.test.base;
+
+import cn.beecp.BeeDataSource;
+import cn.beecp.BeeDataSourceConfig;
+import cn.beecp.test.TestCase;
+import cn.beecp.test.TestUtil;
+import cn.beecp.test.mock.MockConnectionFactory;
+import cn.beecp.test.mock.MockResultSet;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+public class DriverProxyTest extends TestCase {
+	private BeeDataSource ds;
+
+	public void setUp() throws Throwable {
+		BeeDataSourceConfig config = new BeeDataSourceConfig();
+		MockConnectionFactory factory = new MockConnectionFactory();
+		factory.setResultSetClass(MockResultSet.class);//a concrete ResultSet class with class file
+		config.setConnectionFactory(factory);
+		config.setMaxActive(1);
+		config.setInitialSize(1);
+		config.setBorrowSemaphoreSize(1);
+		config.setDriverSpecificProxy(true);
+		ds = new BeeDataSource(config);
+	}
+
+	public void tearDown() throws Throwable {
+		ds.close();
+	}
+
+	public void testGeneratedProxy() throws Exception {
+		Connection con = null;
+		try {
+			con = ds.getConnection();
+			PreparedStatement ps = con.prepareStatement("select * from user where id=?");
+			ps.setInt(1, 1);
+			ResultSet rs = ps.executeQuery();
+			if (rs.next()) TestUtil.assertError("ResultSet expected empty");
+			if (!rs.getClass().getName().startsWith("cn.beecp.pool.ProxyResultSet_"))
+				TestUtil.assertError("Driver specific resultSet proxy not generated,class is:" + rs.getClass().getName());
+			if (rs.getStatement() != ps) TestUtil.assertError("ResultSet owner statement not matched");
+
+			//dynamic proxy statement of mock driver has no class file,wrapped by default proxy
+			if (!"cn.beecp.pool.ProxyPsStatement".equals(ps.getClass().getName()))
+				TestUtil.assertError("Default statement proxy expected,class is:" + ps.getClass().getName());
+
+			//same driver class,proxy class reused
+			ResultSet rs2 = con.prepareStatement("select * from dept where id=?").executeQuery();
+			if (rs2.getClass() != rs.getClass()) TestUtil.assertError("Proxy class not reused for same driver class");
+
+			ps.close();
+			if (!rs.isClosed()) TestUtil.assertError("ResultSet not closed with statement");
+			try {
+				rs.next();
+				TestUtil.assertError("Operation allowed on closed resultSet");
+			} catch (SQLException e) {
+			}
+		} finally {
+			TestUtil.oclose(con);
+		}
+	}
+}
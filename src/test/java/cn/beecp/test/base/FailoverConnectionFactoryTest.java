@@ -0,0 +1,73 @@
+/*
+ * Copyright Chris2018998
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.beecp.test.base;
+
+import cn.beecp.pool.FailoverConnectionFactory;
+import cn.beecp.test.TestCase;
+import cn.beecp.test.TestUtil;
+import cn.beecp.test.mock.MockFailoverDriver;
+
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class FailoverConnectionFactoryTest extends TestCase {
+
+	public void tearDown() throws Throwable {
+		MockFailoverDriver.clear();
+	}
+
+	//setUp runs once for all test methods,so each method creates its own factory on clean hosts
+	private static FailoverConnectionFactory createFactory(final AtomicInteger failoverCount) {
+		MockFailoverDriver.clear();
+		FailoverConnectionFactory factory = new FailoverConnectionFactory(new String[]{"jdbc:mock:host1", "jdbc:mock:host2"}, new MockFailoverDriver(), new Properties());
+		factory.setFailoverCallback(new Runnable() {
+			public void run() {
+				failoverCount.incrementAndGet();
+			}
+		});
+		return factory;
+	}
+
+	public void testNoFailoverOnLatency() throws Exception {
+		AtomicInteger failoverCount = new AtomicInteger(0);
+		FailoverConnectionFactory factory = createFactory(failoverCount);
+		MockFailoverDriver.setConnectDelay("host1", 120);
+		for (int i = 0; i < 3; i++)
+			factory.create().close();
+		if (!"jdbc:mock:host1".equals(factory.getCurrentURL()))
+			TestUtil.assertError("Current url expected:%s,current is:%s", "jdbc:mock:host1", factory.getCurrentURL());
+		if (failoverCount.get() != 0)
+			TestUtil.assertError("Failover count expected:%s,current is:%s", 0, failoverCount.get());
+	}
+
+	public void testFailoverOnError() throws Exception {
+		AtomicInteger failoverCount = new AtomicInteger(0);
+		FailoverConnectionFactory factory = createFactory(failoverCount);
+		factory.create().close();
+		MockFailoverDriver.setDown("host1", true);
+		factory.create().close();
+		if (!"jdbc:mock:host2".equals(factory.getCurrentURL()))
+			TestUtil.assertError("Current url expected:%s,current is:%s", "jdbc:mock:host2", factory.getCurrentURL());
+
+		//no failback after recovery
+		MockFailoverDriver.setDown("host1", false);
+		factory.create().close();
+		if (failoverCount.get() != 1)
+			TestUtil.assertError("Failover count expected:%s,current is:%s", 1, failoverCount.get());
+		if (factory.getHostHealth().length != 2)
+			TestUtil.assertError("Host health size expected:%s,current is:%s", 2, factory.getHostHealth().length);
+	}
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright Chris2018998
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.beecp.test.base;
+
+import cn.beecp.BeeDataSource;
+import cn.beecp.BeeDataSourceConfig;
+import cn.beecp.test.TestCase;
+import cn.beecp.test.TestUtil;
+import cn.beecp.test.mock.MockConnectionFactory;
+
+public class PoolCloseTimeoutTest extends TestCase {
+	private BeeDataSource ds;
+	private MockConnectionFactory factory = new MockConnectionFactory();
+
+	public void setUp() throws Throwable {
+		BeeDataSourceConfig config = new BeeDataSourceConfig();
+		config.setConnectionFactory(factory);
+		config.setMaxActive(8);
+		config.setInitialSize(8);
+		config.setCloseConnectionThreadSize(4);
+		config.setCloseConnectionTimeout(500);
+		ds = new BeeDataSource(config);
+	}
+
+	public void tearDown() throws Throwable {
+		ds.close();
+	}
+
+	public void testAbortOnTimeout() throws Exception {
+		factory.setCloseDelay(3000);
+		long startTime = System.currentTimeMillis();
+		ds.close();
+		long tookTime = System.currentTimeMillis() - startTime;
+		if (tookTime >= 3000) TestUtil.assertError("Pool close took time expected less than:%sms,current is:%sms", 3000, tookTime);
+
+		//abort runs on executor,not queued behind hung close calls
+		long deadline = System.currentTimeMillis() + 1000;
+		while (factory.getAbortedCount() == 0 && System.currentTimeMillis() < deadline)
+			Thread.sleep(10);
+		if (factory.getAbortedCount() == 0) TestUtil.assertError("Overrun connections were not aborted");
+	}
+}
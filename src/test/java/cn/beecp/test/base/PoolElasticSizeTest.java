@@ -0,0 +1,122 @@
+/*
+ * Copyright Chris2018998
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.beecp.test.base;
+
+import cn.beecp.BeeDataSource;
+import cn.beecp.BeeDataSourceConfig;
+import cn.beecp.pool.FastConnectionPool;
+import cn.beecp.test.TestCase;
+import cn.beecp.test.TestUtil;
+import cn.beecp.test.mock.MockConnectionFactory;
+
+import java.sql.Connection;
+import java.util.concurrent.CountDownLatch;
+
+public class PoolElasticSizeTest extends TestCase {
+	private static final int FLOOR_SIZE = 2;
+	private static final int CEILING_SIZE = 4;
+
+	public void testShrinkOnIdle() throws Exception {
+		BeeDataSource ds = createDataSource();
+		try {
+			FastConnectionPool pool = (FastConnectionPool) TestUtil.getPool(ds);
+			if (!waitMaxSize(pool, FLOOR_SIZE, 5000))
+				TestUtil.assertError("Pool max size expected:%s after idle,current is:%s", FLOOR_SIZE, pool.getPoolMaxSize());
+
+			Thread.sleep(1000);//stay on floor
+			if (pool.getPoolMaxSize() != FLOOR_SIZE)
+				TestUtil.assertError("Pool max size expected:%s,current is:%s", FLOOR_SIZE, pool.getPoolMaxSize());
+		} finally {
+			ds.close();
+		}
+	}
+
+	public void testGrowOnWait() throws Exception {
+		BeeDataSource ds = createDataSource();
+		CountDownLatch releaseLatch = new CountDownLatch(1);
+		HoldThread[] threads = new HoldThread[CEILING_SIZE + 2];//two borrowers always waiting
+		try {
+			FastConnectionPool pool = (FastConnectionPool) TestUtil.getPool(ds);
+			if (!waitMaxSize(pool, FLOOR_SIZE, 5000))
+				TestUtil.assertError("Pool max size expected:%s after idle,current is:%s", FLOOR_SIZE, pool.getPoolMaxSize());
+
+			for (int i = 0; i < threads.length; i++) {
+				threads[i] = new HoldThread(ds, releaseLatch);
+				threads[i].start();
+			}
+			if (!waitMaxSize(pool, CEILING_SIZE, 3000))
+				TestUtil.assertError("Pool max size expected:%s under waiting,current is:%s", CEILING_SIZE, pool.getPoolMaxSize());
+
+			Thread.sleep(500);//not beyond ceiling
+			if (pool.getPoolMaxSize() != CEILING_SIZE)
+				TestUtil.assertError("Pool max size expected:%s,current is:%s", CEILING_SIZE, pool.getPoolMaxSize());
+			if (pool.getConnTotalSize() != CEILING_SIZE)
+				TestUtil.assertError("Total connections expected:%s,current is:%s", CEILING_SIZE, pool.getConnTotalSize());
+			String[] history = pool.getElasticResizeHistory();
+			if (history.length == 0 || !history[0].contains("grow"))
+				TestUtil.assertError("Latest resize decision expected:grow,current is:%s", history.length > 0 ? history[0] : null, "");
+		} finally {
+			releaseLatch.countDown();
+			for (HoldThread thread : threads)
+				if (thread != null) thread.join();
+			ds.close();
+		}
+	}
+
+	private static BeeDataSource createDataSource() {
+		BeeDataSourceConfig config = new BeeDataSourceConfig();
+		config.setConnectionFactory(new MockConnectionFactory());
+		config.setMaxActive(CEILING_SIZE);
+		config.setInitialSize(FLOOR_SIZE);
+		config.setBorrowSemaphoreSize(CEILING_SIZE + 2);
+		config.setEnableElasticSize(true);
+		config.setElasticMinActive(FLOOR_SIZE);
+		config.setElasticCheckInterval(100);
+		config.setMaxWait(10000);
+		return new BeeDataSource(config);
+	}
+
+	private static boolean waitMaxSize(FastConnectionPool pool, int size, long timeout) throws InterruptedException {
+		long deadline = System.currentTimeMillis() + timeout;
+		while (pool.getPoolMaxSize() != size) {
+			if (System.currentTimeMillis() >= deadline) return false;
+			Thread.sleep(20);
+		}
+		return true;
+	}
+
+	//hold a borrowed connection until released
+	private static class HoldThread extends Thread {
+		private final BeeDataSource ds;
+		private final CountDownLatch releaseLatch;
+
+		HoldThread(BeeDataSource ds, CountDownLatch releaseLatch) {
+			this.ds = ds;
+			this.releaseLatch = releaseLatch;
+		}
+
+		public void run() {
+			Connection con = null;
+			try {
+				con = ds.getConnection();
+				releaseLatch.await();
+			} catch (Exception e) {
+			} finally {
+				if (con != null) TestUtil.oclose(con);
+			}
+		}
+	}
+}
@@ -0,0 +1,188 @@
+/*
+ * Copyright Chris2018998
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.beecp.test.base;
+
+import cn.beecp.BeeDataSource;
+import cn.beecp.BeeDataSourceConfig;
+import cn.beecp.test.TestCase;
+import cn.beecp.test.TestUtil;
+import cn.beecp.test.mock.MockConnectionFactory;
+
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+public class PoolPartitionTest extends TestCase {
+	private BeeDataSource ds;
+
+	public void setUp() throws Throwable {
+		BeeDataSourceConfig config = new BeeDataSourceConfig();
+		config.setConnectionFactory(new MockConnectionFactory());
+		config.setPoolName("PartitionPool");
+		config.setMaxActive(4);
+		config.setInitialSize(4);
+		config.setPartitionMaxSize(2);
+		config.setPartitionMinSize(1);
+		config.setMaxWait(200);
+		config.setEnableJMX(true);
+		ds = new BeeDataSource(config);
+	}
+
+	public void tearDown() throws Throwable {
+		ds.close();
+	}
+
+	public void testPartitionQuota() throws Exception {
+		Connection a1 = null, a2 = null, a3 = null, b1 = null;
+		try {
+			a1 = ds.getConnection("tenantA");
+			a2 = ds.getConnection("tenantA");
+			try {
+				a3 = ds.getConnection("tenantA");
+				TestUtil.assertError("Partition max size not limited");
+			} catch (SQLTimeoutException e) {
+			}
+
+			b1 = ds.getConnection("tenantB");//not blocked by noisy partition
+			ObjectName jmxName = new ObjectName("cn.beecp.pool.FastConnectionPool:type=BeeCP(PartitionPool)-partition,name=" + ObjectName.quote("tenantA"));
+			Object usingSize = ManagementFactory.getPlatformMBeanServer().getAttribute(jmxName, "UsingSize");
+			if (!Integer.valueOf(2).equals(usingSize)) TestUtil.assertError("Partition using size expected:%s,current is:%s", 2, usingSize);
+
+			a1.close();//quota released on return
+			a1 = null;
+			a3 = ds.getConnection("tenantA");
+		} finally {
+			if (a1 != null) TestUtil.oclose(a1);
+			if (a2 != null) TestUtil.oclose(a2);
+			if (a3 != null) TestUtil.oclose(a3);
+			if (b1 != null) TestUtil.oclose(b1);
+		}
+	}
+
+	public void testPartitionCountCapped() throws Exception {
+		Connection[] conns = new Connection[4];//guaranteed size of four partitions reached pool max size
+		try {
+			for (int i = 0; i < conns.length; i++)
+				conns[i] = ds.getConnection("tenant" + i);
+			try {
+				TestUtil.oclose(ds.getConnection("tenant4"));
+				TestUtil.assertError("Partition count not capped");
+			} catch (SQLException e) {
+				if (e instanceof SQLTimeoutException) TestUtil.assertError("Partition count not capped");
+			}
+
+			conns[3].close();//idle partition evicted for new one
+			conns[3] = ds.getConnection("tenant4");
+			ObjectName jmxName = new ObjectName("cn.beecp.pool.FastConnectionPool:type=BeeCP(PartitionPool)-partition,name=" + ObjectName.quote("tenant3"));
+			if (ManagementFactory.getPlatformMBeanServer().isRegistered(jmxName))
+				TestUtil.assertError("Evicted partition still registered in JMX");
+		} finally {
+			for (Connection con : conns)
+				if (con != null) TestUtil.oclose(con);
+		}
+	}
+
+	public void testBurstReleaseNotify() throws Exception {
+		BeeDataSourceConfig config = new BeeDataSourceConfig();
+		config.setConnectionFactory(new MockConnectionFactory());
+		config.setMaxActive(4);
+		config.setInitialSize(4);
+		config.setPartitionMaxSize(3);
+		config.setPartitionMinSize(1);
+		config.setMaxWait(5000);
+		BeeDataSource burstDs = new BeeDataSource(config);
+
+		final Connection a1 = burstDs.getConnection("tenantA");
+		final Connection a2 = burstDs.getConnection("tenantA");
+		final Connection a3 = burstDs.getConnection("tenantA");//burst area(4-1*2) used up by tenantA
+		Connection b1 = burstDs.getConnection("tenantB");
+		Connection b2 = null;
+		try {
+			new Thread() {
+				public void run() {
+					LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(100));
+					TestUtil.oclose(a3);
+				}
+			}.start();
+
+			long startTime = System.nanoTime();
+			b2 = burstDs.getConnection("tenantB");//wait burst quota released by tenantA
+			long waitMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+			if (waitMillis >= 2000) TestUtil.assertError("Burst waiter not notified,waited:" + waitMillis + "ms");
+		} finally {
+			TestUtil.oclose(a1);
+			TestUtil.oclose(a2);
+			TestUtil.oclose(b1);
+			if (b2 != null) TestUtil.oclose(b2);
+			burstDs.close();
+		}
+	}
+
+	public void testMaxWaitShared() throws Exception {
+		BeeDataSourceConfig config = new BeeDataSourceConfig();
+		config.setConnectionFactory(new MockConnectionFactory());
+		config.setMaxActive(3);
+		config.setInitialSize(3);
+		config.setBorrowSemaphoreSize(3);
+		config.setFairMode(true);//released connection transferred to queued waiter
+		config.setPartitionMaxSize(2);
+		config.setPartitionMinSize(1);
+		config.setMaxWait(500);
+		final BeeDataSource waitDs = new BeeDataSource(config);
+
+		final Connection a1 = waitDs.getConnection("tenantA");
+		Connection a2 = waitDs.getConnection("tenantA");
+		Connection c1 = waitDs.getConnection();//pool is full
+		final Connection[] waitConns = new Connection[1];
+		Thread waiter = new Thread() {
+			public void run() {
+				try {
+					waitConns[0] = waitDs.getConnection();//catch connection of a1
+				} catch (SQLException e) {
+				}
+			}
+		};
+		try {
+			waiter.start();
+			new Thread() {
+				public void run() {
+					LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(350));
+					TestUtil.oclose(a1);//partition quota released,connection taken by waiter
+				}
+			}.start();
+
+			//partition waiting and connection waiting share one max wait
+			long startTime = System.nanoTime();
+			try {
+				TestUtil.oclose(waitDs.getConnection("tenantA"));
+				TestUtil.assertError("Connection got from full pool");
+			} catch (SQLTimeoutException e) {
+			}
+			long waitMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+			if (waitMillis >= 750) TestUtil.assertError("Partition borrow waited:" + waitMillis + "ms,max wait is 500ms");
+		} finally {
+			waiter.join();
+			if (waitConns[0] != null) TestUtil.oclose(waitConns[0]);
+			TestUtil.oclose(a2);
+			TestUtil.oclose(c1);
+			waitDs.close();
+		}
+	}
+}
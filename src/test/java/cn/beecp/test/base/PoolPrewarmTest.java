@@ -0,0 +1,88 @@
+/*
+ * Copyright Chris2018998
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.beecp.test.base;
+
+import cn.beecp.BeeDataSource;
+import cn.beecp.BeeDataSourceConfig;
+import cn.beecp.pool.FastConnectionPool;
+import cn.beecp.test.TestCase;
+import cn.beecp.test.TestUtil;
+import cn.beecp.test.mock.MockConnectionFactory;
+
+import java.io.File;
+import java.sql.Connection;
+
+public class PoolPrewarmTest extends TestCase {
+	private static final int PEAK_SIZE = 3;
+	private File hintFile;
+
+	public void setUp() throws Throwable {
+		hintFile = File.createTempFile("beecp-prewarm", ".properties");
+		hintFile.delete();
+	}
+
+	public void tearDown() throws Throwable {
+		hintFile.delete();
+	}
+
+	private BeeDataSource createDataSource(MockConnectionFactory factory) {
+		BeeDataSourceConfig config = new BeeDataSourceConfig();
+		config.setConnectionFactory(factory);
+		config.setMaxActive(10);
+		config.setInitialSize(1);
+		config.setWarmHintFile(hintFile.getPath());
+		config.setEnablePrewarm(true);
+		config.setPrewarmCheckInterval(1000);
+		return new BeeDataSource(config);
+	}
+
+	public void testPrewarmBeforePeak() throws Exception {
+		BeeDataSource ds = createDataSource(new MockConnectionFactory());
+		Connection[] cons = new Connection[PEAK_SIZE];
+		try {//borrow history:peak concurrency of current hour,sampled by forecaster
+			for (int i = 0; i < cons.length; i++)
+				cons[i] = ds.getConnection();
+			Thread.sleep(1500);
+		} finally {
+			for (Connection con : cons)
+				if (con != null) TestUtil.oclose(con);
+			ds.close();
+		}
+
+		MockConnectionFactory factory = new MockConnectionFactory();
+		ds = createDataSource(factory);//hourly peaks loaded from hint file
+		try {
+			FastConnectionPool pool = (FastConnectionPool) TestUtil.getPool(ds);
+			pool.setPoolMaxSize(1);//remove connections created by warm start
+			pool.setPoolMaxSize(10);
+			long deadline = System.currentTimeMillis() + 3000;
+			while (pool.getConnTotalSize() < PEAK_SIZE && System.currentTimeMillis() < deadline)
+				Thread.sleep(50);
+			if (pool.getConnTotalSize() != PEAK_SIZE)
+				TestUtil.assertError("Prewarmed connections expected:%s,current is:%s", PEAK_SIZE, pool.getConnTotalSize());
+
+			int createdCount = factory.getCreatedCount();
+			for (int i = 0; i < cons.length; i++)
+				cons[i] = ds.getConnection();
+			if (factory.getCreatedCount() != createdCount)
+				TestUtil.assertError("Connections created at peak expected:%s,current is:%s", 0, factory.getCreatedCount() - createdCount);
+		} finally {
+			for (Connection con : cons)
+				if (con != null) TestUtil.oclose(con);
+			ds.close();
+		}
+	}
+}
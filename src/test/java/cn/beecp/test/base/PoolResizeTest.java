@@ -0,0 +1,93 @@
+/*
+ * Copyright Chris2018998
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.beecp.test.base;
+
+import cn.beecp.BeeDataSource;
+import cn.beecp.BeeDataSourceConfig;
+import cn.beecp.pool.FastConnectionPool;
+import cn.beecp.test.TestCase;
+import cn.beecp.test.TestUtil;
+import cn.beecp.test.mock.MockConnectionFactory;
+
+import java.sql.Connection;
+
+public class PoolResizeTest extends TestCase {
+	private BeeDataSource ds;
+	private MockConnectionFactory factory = new MockConnectionFactory();
+
+	public void setUp() throws Throwable {
+		BeeDataSourceConfig config = new BeeDataSourceConfig();
+		config.setConnectionFactory(factory);
+		config.setMaxActive(10);
+		config.setInitialSize(10);
+		config.setBorrowSemaphoreSize(4);
+		ds = new BeeDataSource(config);
+	}
+
+	public void tearDown() throws Throwable {
+		ds.close();
+	}
+
+	public void testShrink() throws Exception {
+		FastConnectionPool pool = (FastConnectionPool) TestUtil.getPool(ds);
+		Connection con1 = null, con2 = null;
+		try {
+			con1 = ds.getConnection();
+			con2 = new BorrowThread().borrow();
+			pool.setPoolMaxSize(5);
+			if (pool.getConnTotalSize() != 5) TestUtil.assertError("Total connections expected:%s,current is:%s", 5, pool.getConnTotalSize());
+
+			pool.setPoolMaxSize(1);//idle connections removed
+			if (pool.getConnTotalSize() != 2) TestUtil.assertError("Total connections expected:%s,current is:%s", 2, pool.getConnTotalSize());
+			con2.close();//removed on return
+			con2 = null;
+			if (pool.getConnTotalSize() != 1) TestUtil.assertError("Total connections expected:%s,current is:%s", 1, pool.getConnTotalSize());
+		} finally {
+			if (con1 != null) TestUtil.oclose(con1);
+			if (con2 != null) TestUtil.oclose(con2);
+		}
+	}
+
+	public void testSemaphoreResize() throws Exception {
+		FastConnectionPool pool = (FastConnectionPool) TestUtil.getPool(ds);
+		pool.setBorrowSemaphoreSize(8);
+		if (pool.getBorrowSemaphoreSize() != 8) TestUtil.assertError("Semaphore size expected:%s,current is:%s", 8, pool.getBorrowSemaphoreSize());
+		pool.setBorrowSemaphoreSize(2);
+		TestUtil.oclose(ds.getConnection());
+		if (pool.getSemaphoreAcquiredSize() != 0) TestUtil.assertError("Acquired permits expected:%s,current is:%s", 0, pool.getSemaphoreAcquiredSize());
+	}
+
+	//borrow a connection in another thread,so not same one with current thread
+	private class BorrowThread extends Thread {
+		private Connection con;
+		private Exception failure;
+
+		Connection borrow() throws Exception {
+			start();
+			join();
+			if (failure != null) throw failure;
+			return con;
+		}
+
+		public void run() {
+			try {
+				con = ds.getConnection();
+			} catch (Exception e) {
+				failure = e;
+			}
+		}
+	}
+}
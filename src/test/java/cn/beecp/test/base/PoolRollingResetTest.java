@@ -0,0 +1,122 @@
+/*
+ * Copyright Chris2018998
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.beecp.test.base;
+
+import cn.beecp.BeeDataSource;
+import cn.beecp.BeeDataSourceConfig;
+import cn.beecp.pool.FastConnectionPool;
+import cn.beecp.test.TestCase;
+import cn.beecp.test.TestUtil;
+import cn.beecp.test.mock.MockConnectionFactory;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+public class PoolRollingResetTest extends TestCase {
+	private BeeDataSource ds;
+	private MockConnectionFactory oldFactory = new MockConnectionFactory();
+
+	public void setUp() throws Throwable {
+		BeeDataSourceConfig config = new BeeDataSourceConfig();
+		config.setConnectionFactory(oldFactory);
+		config.setMaxActive(4);
+		config.setInitialSize(4);
+		ds = new BeeDataSource(config);
+	}
+
+	public void tearDown() throws Throwable {
+		ds.close();
+	}
+
+	public void testRollingReset() throws Exception {
+		FastConnectionPool pool = (FastConnectionPool) TestUtil.getPool(ds);
+		MockConnectionFactory newFactory = new MockConnectionFactory();
+		Connection con = null;
+		try {
+			con = ds.getConnection();
+			pool.rollingReset(newFactory);
+			if (oldFactory.getClosedCount() != 3) TestUtil.assertError("Closed connections expected:%s,current is:%s", 3, oldFactory.getClosedCount());
+			if (newFactory.getCreatedCount() != 3) TestUtil.assertError("Created connections expected:%s,current is:%s", 3, newFactory.getCreatedCount());
+			if (pool.getConnTotalSize() != 4) TestUtil.assertError("Total connections expected:%s,current is:%s", 4, pool.getConnTotalSize());
+
+			con.close();//stale one removed on return
+			con = null;
+			if (oldFactory.getClosedCount() != 4) TestUtil.assertError("Closed connections expected:%s,current is:%s", 4, oldFactory.getClosedCount());
+
+			con = ds.getConnection();
+			if (newFactory.getCreatedCount() < 3 || oldFactory.getCreatedCount() != 4)
+				TestUtil.assertError("Connection not created by new factory");
+		} finally {
+			if (con != null) TestUtil.oclose(con);
+		}
+	}
+
+	public void testReplaceBeforeRetire() throws Exception {
+		MockConnectionFactory staleFactory = new MockConnectionFactory();
+		BeeDataSourceConfig config = new BeeDataSourceConfig();
+		config.setConnectionFactory(staleFactory);
+		config.setMaxActive(4);
+		config.setInitialSize(4);
+		BeeDataSource replaceDs = new BeeDataSource(config);
+		try {
+			final FastConnectionPool pool = (FastConnectionPool) TestUtil.getPool(replaceDs);
+			final MockConnectionFactory newFactory = new MockConnectionFactory();
+			newFactory.setCreateDelay(100);
+			Thread resetThread = new Thread() {
+				public void run() {
+					pool.rollingReset(newFactory);
+				}
+			};
+			resetThread.start();
+
+			int minTotalSize = pool.getConnTotalSize();
+			while (resetThread.isAlive()) {
+				minTotalSize = Math.min(minTotalSize, pool.getConnTotalSize());
+				Thread.sleep(5);
+			}
+			if (minTotalSize != 4) TestUtil.assertError("Total connections expected:%s during reset,current min is:%s", 4, minTotalSize);
+			if (newFactory.getCreatedCount() != 4) TestUtil.assertError("Created connections expected:%s,current is:%s", 4, newFactory.getCreatedCount());
+			if (staleFactory.getClosedCount() != 4) TestUtil.assertError("Closed connections expected:%s,current is:%s", 4, staleFactory.getClosedCount());
+		} finally {
+			replaceDs.close();
+		}
+	}
+
+	public void testBreakerResetOnFactoryChange() throws Exception {
+		MockConnectionFactory downFactory = new MockConnectionFactory();
+		downFactory.setCreateFailed(true);
+		BeeDataSourceConfig config = new BeeDataSourceConfig();
+		config.setConnectionFactory(downFactory);
+		config.setCreateFailureThreshold(1);
+		config.setCreateBackoffInitial(60000);
+		config.setCreateBackoffMax(60000);
+		config.setMaxWait(1000);
+		BeeDataSource downDs = new BeeDataSource(config);
+		try {
+			try {
+				TestUtil.oclose(downDs.getConnection());
+				TestUtil.assertError("A creation exception need be thrown,but not");
+			} catch (SQLException e) {
+			}
+
+			FastConnectionPool pool = (FastConnectionPool) TestUtil.getPool(downDs);
+			pool.rollingReset(new MockConnectionFactory());
+			TestUtil.oclose(downDs.getConnection());//breaker of old factory not block new factory
+		} finally {
+			downDs.close();
+		}
+	}
+}
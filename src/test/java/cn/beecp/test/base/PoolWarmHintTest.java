@@ -0,0 +1,77 @@
+/*
+ * Copyright Chris2018998
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.beecp.test.base;
+
+import cn.beecp.BeeDataSource;
+import cn.beecp.BeeDataSourceConfig;
+import cn.beecp.pool.FastConnectionPool;
+import cn.beecp.test.TestCase;
+import cn.beecp.test.TestUtil;
+import cn.beecp.test.mock.MockConnectionFactory;
+
+import java.io.File;
+import java.io.FilenameFilter;
+import java.sql.Connection;
+
+public class PoolWarmHintTest extends TestCase {
+	private File hintFile;
+
+	public void setUp() throws Throwable {
+		hintFile = File.createTempFile("beecp-warm", ".properties");
+		hintFile.delete();
+	}
+
+	public void tearDown() throws Throwable {
+		hintFile.delete();
+	}
+
+	private BeeDataSource createDataSource() {
+		BeeDataSourceConfig config = new BeeDataSourceConfig();
+		config.setConnectionFactory(new MockConnectionFactory());
+		config.setMaxActive(10);
+		config.setInitialSize(1);
+		config.setWarmHintFile(hintFile.getPath());
+		return new BeeDataSource(config);
+	}
+
+	public void testWarmStart() throws Exception {
+		BeeDataSource ds = createDataSource();
+		Connection[] cons = new Connection[6];
+		try {
+			for (int i = 0; i < cons.length; i++)
+				cons[i] = ds.getConnection();
+		} finally {
+			for (Connection con : cons)
+				if (con != null) TestUtil.oclose(con);
+			ds.close();
+		}
+		if (!hintFile.exists()) TestUtil.assertError("Warm hint file not saved");
+		File[] tempFiles = hintFile.getParentFile().listFiles(new FilenameFilter() {
+			public boolean accept(File dir, String name) {
+				return name.startsWith(hintFile.getName()) && name.endsWith(".tmp");
+			}
+		});
+		if (tempFiles != null && tempFiles.length > 0) TestUtil.assertError("Temp file of warm hint not renamed:" + tempFiles[0]);
+
+		ds = createDataSource();
+		try {
+			FastConnectionPool pool = (FastConnectionPool) TestUtil.getPool(ds);
+			if (pool.getConnTotalSize() != 6) TestUtil.assertError("Total connections expected:%s,current is:%s", 6, pool.getConnTotalSize());
+		} finally {
+			ds.close();
+		}
+	}
+}
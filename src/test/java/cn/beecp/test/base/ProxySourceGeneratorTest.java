@@ -0,0 +1,63 @@
+/*
+ * Copyright Chris2018998
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.beecp.test.base;
+
+import cn.beecp.pool.ProxySourceGenerator;
+import cn.beecp.test.TestCase;
+import cn.beecp.test.TestUtil;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+/**
+ * Checked-in proxy sources must be same to output of generator,run the generator after changing proxy
+ * base classes or its body rules.
+ */
+public class ProxySourceGeneratorTest extends TestCase {
+	private static final String SOURCE_FOLDER = "src/main/java/cn/beecp/pool";
+
+	public void testSourcesUpToDate() throws Exception {
+		File sourceFolder = new File(SOURCE_FOLDER);
+		if (!sourceFolder.isDirectory()) return;//not run in project folder
+
+		File tempFolder = Files.createTempDirectory("beecp-proxy").toFile();
+		try {
+			ProxySourceGenerator.writeProxySources(tempFolder.getPath());
+			File[] generatedFiles = new File(tempFolder, "cn/beecp/pool").listFiles();
+			if (generatedFiles == null || generatedFiles.length == 0)
+				TestUtil.assertError("No proxy source generated");
+
+			for (File generatedFile : generatedFiles) {
+				File sourceFile = new File(sourceFolder, generatedFile.getName());
+				if (!sourceFile.exists())
+					TestUtil.assertError("Generated source not checked in:" + sourceFile.getPath());
+				if (!Arrays.equals(Files.readAllBytes(generatedFile.toPath()), Files.readAllBytes(sourceFile.toPath())))
+					TestUtil.assertError("Source is different to generator output,run ProxySourceGenerator:" + sourceFile.getPath());
+			}
+		} finally {
+			File[] generatedFiles = new File(tempFolder, "cn/beecp/pool").listFiles();
+			if (generatedFiles != null) {
+				for (File generatedFile : generatedFiles)
+					generatedFile.delete();
+			}
+			new File(tempFolder, "cn/beecp/pool").delete();
+			new File(tempFolder, "cn/beecp").delete();
+			new File(tempFolder, "cn").delete();
+			tempFolder.delete();
+		}
+	}
+}
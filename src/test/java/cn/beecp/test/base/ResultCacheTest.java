@@ -0,0 +1,207 @@
+/*
+ * Copyright Chris2018998
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.beecp.test.base;
+
+import cn.beecp.BeeDataSource;
+import cn.beecp.BeeDataSourceConfig;
+import cn.beecp.test.TestCase;
+import cn.beecp.test.TestUtil;
+import cn.beecp.test.mock.MockConnectionFactory;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+public class ResultCacheTest extends TestCase {
+	private BeeDataSource ds;
+	private MockConnectionFactory factory = new MockConnectionFactory();
+
+	public void setUp() throws Throwable {
+		BeeDataSourceConfig config = new BeeDataSourceConfig();
+		config.setConnectionFactory(factory);
+		config.setMaxActive(1);
+		config.setBorrowSemaphoreSize(1);
+		config.setInitialSize(1);
+		config.setResultCacheSQL("select \\* from user where id=\\?;select \\* from dept");
+		ds = new BeeDataSource(config);
+	}
+
+	public void tearDown() throws Throwable {
+		ds.close();
+	}
+
+	public void testCacheHit() throws Exception {
+		Connection con = null;
+		try {
+			con = ds.getConnection();
+			int executedCount = factory.getExecutedCount();
+			PreparedStatement ps = con.prepareStatement("select * from user where id=?");
+			ps.setInt(1, 1);
+			TestUtil.oclose(ps.executeQuery());
+			ResultSet re = ps.executeQuery();
+			if (re.getStatement() != ps)
+				TestUtil.assertError("Statement of cached result is not the prepared statement");
+			TestUtil.oclose(re);
+			if (factory.getExecutedCount() - executedCount != 1)
+				TestUtil.assertError("Executed count expected:%s,current is:%s", 1, factory.getExecutedCount() - executedCount);
+
+			//another parameter value
+			ps.setInt(1, 2);
+			TestUtil.oclose(ps.executeQuery());
+			if (factory.getExecutedCount() - executedCount != 2)
+				TestUtil.assertError("Executed count expected:%s,current is:%s", 2, factory.getExecutedCount() - executedCount);
+			TestUtil.oclose(ps);
+
+			//not whitelisted
+			Statement st = con.createStatement();
+			TestUtil.oclose(st.executeQuery("select * from user"));
+			TestUtil.oclose(st.executeQuery("select * from user"));
+			if (factory.getExecutedCount() - executedCount != 4)
+				TestUtil.assertError("Executed count expected:%s,current is:%s", 4, factory.getExecutedCount() - executedCount);
+			TestUtil.oclose(st);
+		} finally {
+			TestUtil.oclose(con);
+		}
+	}
+
+	public void testWriteInvalidation() throws Exception {
+		Connection con = null;
+		try {
+			con = ds.getConnection();
+			Statement st = con.createStatement();
+			PreparedStatement ps = con.prepareStatement("select * from user where id=?");
+			ps.setInt(1, 1);
+			TestUtil.oclose(st.executeQuery("select * from dept"));
+			TestUtil.oclose(ps.executeQuery());
+			int executedCount = factory.getExecutedCount();
+
+			st.executeUpdate("insert into dept values(1,'dev')");
+			TestUtil.oclose(st.executeQuery("select * from dept"));
+			TestUtil.oclose(ps.executeQuery());//not written
+			if (factory.getExecutedCount() - executedCount != 2)
+				TestUtil.assertError("Executed count expected:%s,current is:%s", 2, factory.getExecutedCount() - executedCount);
+			TestUtil.oclose(ps);
+			TestUtil.oclose(st);
+		} finally {
+			TestUtil.oclose(con);
+		}
+	}
+
+	public void testTransactionWrite() throws Exception {
+		Connection con = null;
+		try {
+			con = ds.getConnection();
+			con.setAutoCommit(false);
+			Statement st = con.createStatement();
+			TestUtil.oclose(st.executeQuery("select * from dept"));
+			int executedCount = factory.getExecutedCount();
+
+			//cache bypassed after write in transaction
+			st.executeUpdate("update user set name='a' where id=1");
+			TestUtil.oclose(st.executeQuery("select * from dept"));
+			TestUtil.oclose(st.executeQuery("select * from dept"));
+			if (factory.getExecutedCount() - executedCount != 3)
+				TestUtil.assertError("Executed count expected:%s,current is:%s", 3, factory.getExecutedCount() - executedCount);
+
+			con.commit();
+			TestUtil.oclose(st.executeQuery("select * from dept"));
+			if (factory.getExecutedCount() - executedCount != 3)
+				TestUtil.assertError("Executed count expected:%s,current is:%s", 3, factory.getExecutedCount() - executedCount);
+			TestUtil.oclose(st);
+		} finally {
+			TestUtil.oclose(con);
+		}
+	}
+
+	public void testInvalidatedNotCountedInSize() throws Exception {
+		MockConnectionFactory sizeFactory = new MockConnectionFactory();
+		BeeDataSourceConfig config = new BeeDataSourceConfig();
+		config.setConnectionFactory(sizeFactory);
+		config.setMaxActive(1);
+		config.setBorrowSemaphoreSize(1);
+		config.setInitialSize(1);
+		config.setResultCacheSQL("select \\* from \\w+");
+		config.setResultCacheSize(2);
+		BeeDataSource sizeDs = new BeeDataSource(config);
+		Connection con = null;
+		try {
+			con = sizeDs.getConnection();
+			Statement st = con.createStatement();
+			TestUtil.oclose(st.executeQuery("select * from dept"));
+			TestUtil.oclose(st.executeQuery("select * from user"));
+			st.executeUpdate("delete from user");//removed entry not kept in eviction order
+			TestUtil.oclose(st.executeQuery("select * from role"));
+			int executedCount = sizeFactory.getExecutedCount();
+
+			TestUtil.oclose(st.executeQuery("select * from dept"));
+			TestUtil.oclose(st.executeQuery("select * from role"));
+			if (sizeFactory.getExecutedCount() != executedCount)
+				TestUtil.assertError("Executed count expected:%s,current is:%s", 0, sizeFactory.getExecutedCount() - executedCount);
+			TestUtil.oclose(st);
+		} finally {
+			TestUtil.oclose(con);
+			sizeDs.close();
+		}
+	}
+
+	public void testWriteWhileFirstCaching() throws Exception {
+		final MockConnectionFactory raceFactory = new MockConnectionFactory();
+		BeeDataSourceConfig config = new BeeDataSourceConfig();
+		config.setConnectionFactory(raceFactory);
+		config.setMaxActive(2);
+		config.setBorrowSemaphoreSize(2);
+		config.setInitialSize(2);
+		config.setResultCacheSQL("select \\* from dept");
+		final BeeDataSource raceDs = new BeeDataSource(config);
+		Connection con = null;
+		try {
+			//first query of table 'dept' is slow,a write of the table finishes during it
+			raceFactory.setExecuteDelay(500);
+			Thread reader = new Thread() {
+				public void run() {
+					Connection readCon = null;
+					try {
+						readCon = raceDs.getConnection();
+						Statement st = readCon.createStatement();
+						TestUtil.oclose(st.executeQuery("select * from dept"));
+						TestUtil.oclose(st);
+					} catch (Exception e) {
+					} finally {
+						TestUtil.oclose(readCon);
+					}
+				}
+			};
+			reader.start();
+			Thread.sleep(100);
+			raceFactory.setExecuteDelay(0);
+
+			con = raceDs.getConnection();
+			Statement st = con.createStatement();
+			st.executeUpdate("insert into dept values(1,'dev')");
+			reader.join();
+
+			int executedCount = raceFactory.getExecutedCount();
+			TestUtil.oclose(st.executeQuery("select * from dept"));//pre-write result not cached
+			if (raceFactory.getExecutedCount() - executedCount != 1)
+				TestUtil.assertError("Executed count expected:%s,current is:%s", 1, raceFactory.getExecutedCount() - executedCount);
+			TestUtil.oclose(st);
+		} finally {
+			TestUtil.oclose(con);
+			raceDs.close();
+		}
+	}
+}
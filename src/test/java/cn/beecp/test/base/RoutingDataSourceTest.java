@@ -0,0 +1,116 @@
+/*
+ * Copyright Chris2018998
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.beecp.test.base;
+
+import cn.beecp.BeeDataSource;
+import cn.beecp.BeeDataSourceConfig;
+import cn.beecp.BeeRoutingDataSource;
+import cn.beecp.ReplicationLagChecker;
+import cn.beecp.test.TestCase;
+import cn.beecp.test.TestUtil;
+import cn.beecp.test.mock.MockConnectionFactory;
+
+import java.sql.Connection;
+
+public class RoutingDataSourceTest extends TestCase {
+	private BeeDataSource primary;
+	private BeeDataSource replica1;
+	private BeeDataSource replica2;
+	private BeeRoutingDataSource ds;
+
+	public void setUp() throws Throwable {
+		primary = createDataSource();
+		replica1 = createDataSource();
+		replica2 = createDataSource();
+		ds = new BeeRoutingDataSource(primary, replica1, replica2);
+	}
+
+	public void tearDown() throws Throwable {
+		ds.close();
+	}
+
+	private BeeDataSource createDataSource() {
+		BeeDataSourceConfig config = new BeeDataSourceConfig();
+		config.setConnectionFactory(new MockConnectionFactory());
+		config.setMaxActive(2);
+		config.setInitialSize(2);
+		return new BeeDataSource(config);
+	}
+
+	public void testReadRouting() throws Exception {
+		Connection con1 = null, con2 = null;
+		try {
+			con1 = ds.getReadConnection();
+			BeeDataSource busyReplica = replica1.getPoolMonitorVo().getUsingSize() == 1 ? replica1 : replica2;
+			BeeDataSource freeReplica = busyReplica == replica1 ? replica2 : replica1;
+			if (primary.getPoolMonitorVo().getUsingSize() != 0) TestUtil.assertError("Read connection borrowed from primary");
+
+			con2 = ds.getReadConnection();//less busy one
+			if (freeReplica.getPoolMonitorVo().getUsingSize() != 1) TestUtil.assertError("Read connection not routed to less busy replica");
+		} finally {
+			if (con1 != null) TestUtil.oclose(con1);
+			if (con2 != null) TestUtil.oclose(con2);
+		}
+	}
+
+	public void testUninitializedReplica() throws Exception {
+		BeeDataSource lazyReplica = new BeeDataSource();//pool created on first borrow
+		lazyReplica.setConnectionFactory(new MockConnectionFactory());
+		lazyReplica.setMaxActive(2);
+		BeeRoutingDataSource routingDs = new BeeRoutingDataSource(primary, lazyReplica);
+		Connection con = null;
+		try {
+			con = routingDs.getReadConnection();
+			if (lazyReplica.getPoolMonitorVo() == null || lazyReplica.getPoolMonitorVo().getUsingSize() != 1)
+				TestUtil.assertError("Read connection not routed to uninitialized replica");
+		} finally {
+			if (con != null) TestUtil.oclose(con);
+			lazyReplica.close();
+		}
+	}
+
+	public void testLagExclusion() throws Exception {
+		ds.setReplicationLagChecker(new ReplicationLagChecker() {
+			public boolean isLagging(BeeDataSource replica) {
+				return true;
+			}
+		});
+		Connection con = null;
+		try {
+			con = ds.getReadConnection();
+			if (primary.getPoolMonitorVo().getUsingSize() != 1) TestUtil.assertError("Read connection not routed to primary on all replicas lagging");
+		} finally {
+			if (con != null) TestUtil.oclose(con);
+			ds.setReplicationLagChecker(null);
+		}
+	}
+
+	public void testLazyReadOnly() throws Exception {
+		ds.setLazyConnection(true);
+		Connection con = ds.getConnection();
+		try {
+			con.setReadOnly(true);
+			if (primary.getPoolMonitorVo().getUsingSize() != 0) TestUtil.assertError("Connection borrowed before first use");
+			TestUtil.oclose(con.createStatement());
+			if (primary.getPoolMonitorVo().getUsingSize() != 0) TestUtil.assertError("Read only connection borrowed from primary");
+			int replicaUsingSize = replica1.getPoolMonitorVo().getUsingSize() + replica2.getPoolMonitorVo().getUsingSize();
+			if (replicaUsingSize != 1) TestUtil.assertError("Replica using size expected:%s,current is:%s", 1, replicaUsingSize);
+		} finally {
+			TestUtil.oclose(con);
+			ds.setLazyConnection(false);
+		}
+	}
+}
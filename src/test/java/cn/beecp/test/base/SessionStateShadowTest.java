@@ -0,0 +1,82 @@
+/*
+ * Copyright Chris2018998
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.beecp.test.base;
+
+import cn.beecp.BeeDataSource;
+import cn.beecp.BeeDataSourceConfig;
+import cn.beecp.test.TestCase;
+import cn.beecp.test.TestUtil;
+import cn.beecp.test.mock.MockConnectionFactory;
+
+import java.sql.Connection;
+
+public class SessionStateShadowTest extends TestCase {
+	private BeeDataSource ds;
+	private MockConnectionFactory factory = new MockConnectionFactory();
+
+	public void setUp() throws Throwable {
+		BeeDataSourceConfig config = new BeeDataSourceConfig();
+		config.setConnectionFactory(factory);
+		config.setMaxActive(1);
+		config.setInitialSize(1);
+		config.setBorrowSemaphoreSize(1);
+		config.setShadowSessionState(true);
+		ds = new BeeDataSource(config);
+	}
+
+	public void tearDown() throws Throwable {
+		ds.close();
+	}
+
+	public void testSkipUnchangedState() throws Exception {
+		int autoCommitCount = factory.getInvokedCount("setAutoCommit");
+		int isolationCount = factory.getInvokedCount("setTransactionIsolation");
+		int readOnlyCount = factory.getInvokedCount("setReadOnly");
+
+		Connection con = null;
+		try {
+			con = ds.getConnection();
+			con.setAutoCommit(true);
+			con.setTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+			con.setReadOnly(false);
+			if (factory.getInvokedCount("setAutoCommit") != autoCommitCount) TestUtil.assertError("Unchanged 'setAutoCommit' not skipped");
+			if (factory.getInvokedCount("setTransactionIsolation") != isolationCount) TestUtil.assertError("Unchanged 'setTransactionIsolation' not skipped");
+			if (factory.getInvokedCount("setReadOnly") != readOnlyCount) TestUtil.assertError("Unchanged 'setReadOnly' not skipped");
+
+			con.setTransactionIsolation(Connection.TRANSACTION_SERIALIZABLE);
+			con.setReadOnly(true);
+			if (con.getTransactionIsolation() != Connection.TRANSACTION_SERIALIZABLE) TestUtil.assertError("Shadow isolation expected:%s,current is:%s", Connection.TRANSACTION_SERIALIZABLE, con.getTransactionIsolation());
+			if (!con.isReadOnly()) TestUtil.assertError("Shadow readOnly expected:true");
+			if (factory.getInvokedCount("getTransactionIsolation") != 0) TestUtil.assertError("'getTransactionIsolation' not served locally");
+			if (factory.getInvokedCount("isReadOnly") != 0) TestUtil.assertError("'isReadOnly' not served locally");
+
+			con.setCatalog("app");
+			con.setCatalog("app");
+			if (factory.getInvokedCount("setCatalog") != 1) TestUtil.assertError("Catalog set count expected:%s,current is:%s", 1, factory.getInvokedCount("setCatalog"));
+			if (!"app".equals(con.getCatalog())) TestUtil.assertError("Shadow catalog expected:app");
+		} finally {
+			TestUtil.oclose(con);
+		}
+
+		try {//state reset to default on return
+			con = ds.getConnection();
+			if (con.getTransactionIsolation() != Connection.TRANSACTION_READ_COMMITTED) TestUtil.assertError("Isolation not reset to default");
+			if (con.isReadOnly()) TestUtil.assertError("ReadOnly not reset to default");
+		} finally {
+			TestUtil.oclose(con);
+		}
+	}
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright Chris2018998
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.beecp.test.base;
+
+import cn.beecp.BeeDataSourceConfig;
+import cn.beecp.BeeShardingDataSource;
+import cn.beecp.ShardFunction;
+import cn.beecp.pool.ConnectionPoolMonitorVo;
+import cn.beecp.test.TestCase;
+import cn.beecp.test.TestUtil;
+import cn.beecp.test.mock.MockFailoverDriver;
+
+import java.sql.Connection;
+
+public class ShardingDataSourceTest extends TestCase {
+	private BeeShardingDataSource ds;
+
+	public void setUp() throws Throwable {
+		MockFailoverDriver.clear();
+		BeeDataSourceConfig template = new BeeDataSourceConfig();
+		template.setDriverClassName(MockFailoverDriver.class.getName());
+		template.setMaxActive(2);
+		template.setInitialSize(1);
+		ds = new BeeShardingDataSource(template, new String[]{"jdbc:mock:shard0", "jdbc:mock:shard1", "jdbc:mock:shard2"},
+				new ShardFunction() {
+					public int shard(Object shardKey, int shardCount) {
+						return ((Integer) shardKey) % shardCount;
+					}
+				});
+	}
+
+	public void tearDown() throws Throwable {
+		ds.close();
+		MockFailoverDriver.clear();
+	}
+
+	public void testShardRouting() throws Exception {
+		Connection con = null;
+		try {
+			con = ds.getConnection(5);//shard2
+			if (ds.getShardMonitorVo(2).getUsingSize() != 1) TestUtil.assertError("Connection not borrowed from shard2");
+			if (MockFailoverDriver.getHost("shard2").getCreatedCount() != 1)
+				TestUtil.assertError("Connections on shard2 expected:%s,current is:%s", 1, MockFailoverDriver.getHost("shard2").getCreatedCount());
+
+			ConnectionPoolMonitorVo vo = ds.getMonitorVo();
+			if (vo.getMaxActive() != 6) TestUtil.assertError("Aggregated max size expected:%s,current is:%s", 6, vo.getMaxActive());
+			if (vo.getUsingSize() != 1) TestUtil.assertError("Aggregated using size expected:%s,current is:%s", 1, vo.getUsingSize());
+			if (vo.getIdleSize() != 2) TestUtil.assertError("Aggregated idle size expected:%s,current is:%s", 2, vo.getIdleSize());
+		} finally {
+			if (con != null) TestUtil.oclose(con);
+		}
+	}
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright Chris2018998
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.beecp.test.base;
+
+import cn.beecp.BeeDataSource;
+import cn.beecp.BeeDataSourceConfig;
+import cn.beecp.test.TestCase;
+import cn.beecp.test.TestUtil;
+import cn.beecp.test.mock.MockConnectionFactory;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+public class SlowSqlLogTest extends TestCase {
+	private BeeDataSource ds;
+	private File logFile;
+	private MockConnectionFactory factory = new MockConnectionFactory();
+
+	public void setUp() throws Throwable {
+		logFile = File.createTempFile("beecp-slow-sql", ".log");
+		BeeDataSourceConfig config = new BeeDataSourceConfig();
+		config.setPoolName("SlowSqlPool");
+		config.setConnectionFactory(factory);
+		config.setMaxActive(1);
+		config.setBorrowSemaphoreSize(1);
+		config.setInitialSize(1);
+		config.setSlowSqlThreshold(20);
+		config.setSlowSqlLogFile(logFile.getPath());
+		config.setSlowSqlParameterMasked(false);
+		ds = new BeeDataSource(config);
+	}
+
+	public void tearDown() throws Throwable {
+		ds.close();
+		logFile.delete();
+	}
+
+	public void testSlowSqlLog() throws Exception {
+		Connection con = null;
+		try {
+			con = ds.getConnection();
+			Statement st = con.createStatement();
+			st.executeQuery("select * from dept");//fast
+			factory.setExecuteDelay(30);
+			st.executeQuery("select * from user");
+			TestUtil.oclose(st);
+
+			PreparedStatement ps = con.prepareStatement("select * from user where id=? and name=?");
+			ps.setInt(1, 1);
+			ps.setString(2, "abc");
+			ps.executeQuery();
+			TestUtil.oclose(ps);
+		} finally {
+			factory.setExecuteDelay(0);
+			TestUtil.oclose(con);
+		}
+		ds.close();//remained records written on close
+
+		List<String> lines = readLines(logFile);
+		if (lines.size() != 2) TestUtil.assertError("Slow sql log size expected:%s,current is:%s", 2, lines.size());
+		String line = lines.get(0);
+		if (!line.contains("pool:SlowSqlPool") || !line.contains("thread:" + Thread.currentThread().getName()) || !line.endsWith("sql:select * from user"))
+			TestUtil.assertError("Unexpected slow sql log:" + line);
+		line = lines.get(1);
+		if (!line.endsWith("sql:select * from user where id=? and name=? parameters:[1,'abc']"))
+			TestUtil.assertError("Unexpected slow sql log:" + line);
+	}
+
+	private static List<String> readLines(File file) throws Exception {
+		List<String> lines = new ArrayList<String>();
+		BufferedReader reader = new BufferedReader(new FileReader(file));
+		try {
+			String line;
+			while ((line = reader.readLine()) != null)
+				lines.add(line);
+		} finally {
+			reader.close();
+		}
+		return lines;
+	}
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright Chris2018998
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.beecp.test.base;
+
+import cn.beecp.BeeDataSource;
+import cn.beecp.BeeDataSourceConfig;
+import cn.beecp.pool.FastConnectionPool;
+import cn.beecp.test.TestCase;
+import cn.beecp.test.TestUtil;
+import cn.beecp.test.mock.MockConnectionFactory;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+
+public class SqlLatencyStatTest extends TestCase {
+	private BeeDataSource ds;
+
+	public void setUp() throws Throwable {
+		BeeDataSourceConfig config = new BeeDataSourceConfig();
+		config.setConnectionFactory(new MockConnectionFactory());
+		config.setMaxActive(1);
+		config.setBorrowSemaphoreSize(1);
+		config.setInitialSize(1);
+		config.setSqlLatencyStatSize(2);
+		ds = new BeeDataSource(config);
+	}
+
+	public void tearDown() throws Throwable {
+		ds.close();
+	}
+
+	public void testLatencyStatistics() throws Exception {
+		Connection con = null;
+		try {
+			con = ds.getConnection();
+			Statement st = con.createStatement();
+			//literals normalized into one fingerprint
+			st.executeQuery("select * from user where id=1");
+			st.executeQuery("select  *  from user where id=22 -- comment");
+			st.executeUpdate("update user set name='a''b' where id in (1, 2, 3)");
+			TestUtil.oclose(st);
+
+			PreparedStatement ps = con.prepareStatement("select * from dept where id=?");
+			ps.executeQuery();
+			TestUtil.oclose(ps);
+		} finally {
+			TestUtil.oclose(con);
+		}
+
+		FastConnectionPool pool = (FastConnectionPool) TestUtil.getPool(ds);
+		String[] topSqls = pool.getSqlTopByTotalTime(10);
+		if (topSqls.length != 3) TestUtil.assertError("Top sql size expected:%s,current is:%s", 3, topSqls.length);
+		String selectStat = findStat(topSqls, "select * from user where id=?{");
+		if (selectStat == null || !selectStat.contains("count:2"))
+			TestUtil.assertError("Statistics of normalized select sql not found:" + java.util.Arrays.toString(topSqls));
+		if (findStat(topSqls, "update user set name=? where id in (?){") == null)
+			TestUtil.assertError("Statistics of normalized update sql not found:" + java.util.Arrays.toString(topSqls));
+		String overflowStat = findStat(topSqls, "(other sql){");
+		if (overflowStat == null || !overflowStat.contains("count:1"))
+			TestUtil.assertError("Overflow statistics not found:" + java.util.Arrays.toString(topSqls));
+
+		topSqls = pool.getSqlTopByP99(1);
+		if (topSqls.length != 1) TestUtil.assertError("Top sql size expected:%s,current is:%s", 1, topSqls.length);
+	}
+
+	private static String findStat(String[] stats, String prefix) {
+		for (String stat : stats)
+			if (stat.startsWith(prefix)) return stat;
+		return null;
+	}
+}
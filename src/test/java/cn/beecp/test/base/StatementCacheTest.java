@@ -0,0 +1,133 @@
+/*
+ * Copyright Chris2018998
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.beecp.test.base;
+
+import cn.beecp.BeeDataSource;
+import cn.beecp.BeeDataSourceConfig;
+import cn.beecp.pool.FastConnectionPool;
+import cn.beecp.test.TestCase;
+import cn.beecp.test.TestUtil;
+import cn.beecp.test.mock.MockConnectionFactory;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+
+public class StatementCacheTest extends TestCase {
+	private BeeDataSource ds;
+	private MockConnectionFactory factory = new MockConnectionFactory();
+
+	public void setUp() throws Throwable {
+		BeeDataSourceConfig config = new BeeDataSourceConfig();
+		config.setConnectionFactory(factory);
+		config.setMaxActive(1);
+		config.setBorrowSemaphoreSize(1);
+		config.setInitialSize(1);
+		config.setStatementCacheSize(2);
+		ds = new BeeDataSource(config);
+	}
+
+	public void tearDown() throws Throwable {
+		ds.close();
+	}
+
+	public void testCacheHit() throws Exception {
+		String sql1 = "select * from user where id=?";
+		String sql2 = "select * from dept where id=?";
+		String sql3 = "select * from role where id=?";
+
+		Connection con = null;
+		try {
+			con = ds.getConnection();
+			for (int i = 0; i < 3; i++) {
+				PreparedStatement ps = con.prepareStatement(sql1);
+				ps.setInt(1, i);
+				TestUtil.oclose(ps);
+			}
+			if (factory.getPreparedCount() != 1) TestUtil.assertError("Prepared count expected:%s,current is:%s", 1, factory.getPreparedCount());
+
+			//different result set type is another statement
+			TestUtil.oclose(con.prepareStatement(sql1, ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY));
+			if (factory.getPreparedCount() != 2) TestUtil.assertError("Prepared count expected:%s,current is:%s", 2, factory.getPreparedCount());
+
+			//two open statements of same sql
+			PreparedStatement ps1 = con.prepareStatement(sql2);
+			PreparedStatement ps2 = con.prepareStatement(sql2);
+			TestUtil.oclose(ps1);
+			TestUtil.oclose(ps2);
+			if (factory.getPreparedCount() != 4) TestUtil.assertError("Prepared count expected:%s,current is:%s", 4, factory.getPreparedCount());
+
+			//sql1 is evicted(LRU size 2)
+			TestUtil.oclose(con.prepareStatement(sql3));
+			TestUtil.oclose(con.prepareStatement(sql1));
+			if (factory.getPreparedCount() != 6) TestUtil.assertError("Prepared count expected:%s,current is:%s", 6, factory.getPreparedCount());
+		} finally {
+			TestUtil.oclose(con);
+		}
+
+		try {
+			con = ds.getConnection();
+			TestUtil.oclose(con.prepareStatement(sql1));
+			if (factory.getPreparedCount() != 6) TestUtil.assertError("Prepared count expected:%s,current is:%s", 6, factory.getPreparedCount());
+		} finally {
+			TestUtil.oclose(con);
+		}
+
+		FastConnectionPool pool = (FastConnectionPool) TestUtil.getPool(ds);
+		double hitRatio = pool.getStatementCacheHitRatio();
+		if (hitRatio != 3D / 9) TestUtil.assertError("Statement cache hit ratio expected:%s,current is:%s", 3D / 9, hitRatio);
+	}
+
+	public void testAttributesRestored() throws Exception {
+		MockConnectionFactory attrFactory = new MockConnectionFactory();
+		BeeDataSourceConfig config = new BeeDataSourceConfig();
+		config.setConnectionFactory(attrFactory);
+		config.setMaxActive(1);
+		config.setBorrowSemaphoreSize(1);
+		config.setInitialSize(1);
+		config.setStatementCacheSize(2);
+		BeeDataSource attrDs = new BeeDataSource(config);
+
+		String sql = "select * from user where name=?";
+		Connection con = null;
+		try {
+			con = attrDs.getConnection();
+			PreparedStatement ps = con.prepareStatement(sql);
+			ps.setMaxRows(10);
+			ps.setQueryTimeout(5);
+			ps.setFetchSize(100);
+			ps.setFetchDirection(ResultSet.FETCH_REVERSE);
+			TestUtil.oclose(ps);
+
+			int preparedCount = attrFactory.getPreparedCount();
+			ps = con.prepareStatement(sql);//cached statement with restored attributes
+			if (attrFactory.getPreparedCount() != preparedCount) TestUtil.assertError("Statement with restored attributes not cached");
+			if (ps.getMaxRows() != 0) TestUtil.assertError("Max rows expected:%s,current is:%s", 0, ps.getMaxRows());
+			if (ps.getQueryTimeout() != 0) TestUtil.assertError("Query timeout expected:%s,current is:%s", 0, ps.getQueryTimeout());
+			if (ps.getFetchSize() != 0) TestUtil.assertError("Fetch size expected:%s,current is:%s", 0, ps.getFetchSize());
+			if (ps.getFetchDirection() != 0) TestUtil.assertError("Fetch direction expected:%s,current is:%s", 0, ps.getFetchDirection());
+
+			//not cached after closeOnCompletion
+			ps.closeOnCompletion();
+			TestUtil.oclose(ps);
+			TestUtil.oclose(con.prepareStatement(sql));
+			if (attrFactory.getPreparedCount() != preparedCount + 1) TestUtil.assertError("Prepared count expected:%s,current is:%s", preparedCount + 1, attrFactory.getPreparedCount());
+		} finally {
+			TestUtil.oclose(con);
+			attrDs.close();
+		}
+	}
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright Chris2018998
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.beecp.test.base;
+
+import cn.beecp.BeeDataSource;
+import cn.beecp.BeeDataSourceConfig;
+import cn.beecp.test.TestCase;
+import cn.beecp.test.TestUtil;
+import cn.beecp.test.mock.MockConnectionFactory;
+
+import java.sql.Connection;
+import java.sql.Statement;
+
+public class StatementTraceTest extends TestCase {
+	private BeeDataSource ds;
+
+	public void setUp() throws Throwable {
+		BeeDataSourceConfig config = new BeeDataSourceConfig();
+		config.setConnectionFactory(new MockConnectionFactory());
+		config.setMaxActive(1);
+		config.setInitialSize(1);
+		config.setBorrowSemaphoreSize(1);
+		config.setTraceStatement(true);
+		ds = new BeeDataSource(config);
+	}
+
+	public void tearDown() throws Throwable {
+		ds.close();
+	}
+
+	public void testTraceManyStatements() throws Exception {
+		int size = 1000;
+		Statement[] statements = new Statement[size];
+		Connection con = ds.getConnection();
+		try {
+			for (int i = 0; i < size; i++)
+				statements[i] = con.createStatement();
+			//close in a mixed order:even slots from tail,then every third one
+			for (int i = size - 2; i >= 0; i -= 2)
+				statements[i].close();
+			for (int i = 1; i < size; i += 6)
+				statements[i].close();
+		} finally {
+			TestUtil.oclose(con);
+		}
+
+		for (int i = 0; i < size; i++)
+			if (!statements[i].isClosed()) TestUtil.assertError("Statement(%s)not closed with connection,index:%s", statements[i], i);
+	}
+}
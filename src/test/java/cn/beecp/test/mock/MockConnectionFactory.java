@@ -0,0 +1,215 @@
+/*
+ * Copyright Chris2018998
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.beecp.test.mock;
+
+import cn.beecp.ConnectionFactory;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.*;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A stand-in connection factory without database,whose connections, statements
+ * and resultSets are dynamic proxies returning default values.
+ *
+ * @author Chris.Liao
+ */
+public class MockConnectionFactory implements ConnectionFactory {
+	private final AtomicInteger createdCount = new AtomicInteger(0);
+	private final AtomicInteger closedCount = new AtomicInteger(0);
+	private final AtomicInteger preparedCount = new AtomicInteger(0);
+	private final AtomicInteger abortedCount = new AtomicInteger(0);
+	private final AtomicInteger executedCount = new AtomicInteger(0);
+	private final ConcurrentHashMap<String, AtomicInteger> invokedCountMap = new ConcurrentHashMap<String, AtomicInteger>();
+	private volatile Class resultSetClass;//concrete class of query result,null means dynamic proxy
+	private volatile long closeDelay;//milliseconds,simulate hung network close(not interruptible)
+	private volatile long executeDelay;//milliseconds,simulate slow sql
+	private volatile long createDelay;//milliseconds,simulate slow connecting
+	private volatile boolean createFailed;//simulate database down
+	private volatile boolean executeFailed;//simulate sql error
+	private final List<String> executedSQLs = new CopyOnWriteArrayList<String>();
+
+	public Connection create() throws SQLException {
+		if (createDelay > 0) sleepUninterruptibly(createDelay);
+		if (createFailed) throw new SQLException("Database is down");
+		createdCount.incrementAndGet();
+		return (Connection) newProxy(Connection.class);
+	}
+
+	public int getCreatedCount() {
+		return createdCount.get();
+	}
+
+	public int getClosedCount() {
+		return closedCount.get();
+	}
+
+	public int getPreparedCount() {
+		return preparedCount.get();
+	}
+
+	public int getExecutedCount() {
+		return executedCount.get();
+	}
+
+	public int getAbortedCount() {
+		return abortedCount.get();
+	}
+
+	//invoked count of a method on connections
+	public int getInvokedCount(String methodName) {
+		AtomicInteger count = invokedCountMap.get(methodName);
+		return count != null ? count.get() : 0;
+	}
+
+	public void setResultSetClass(Class resultSetClass) {
+		this.resultSetClass = resultSetClass;
+	}
+
+	public void setCloseDelay(long closeDelay) {
+		this.closeDelay = closeDelay;
+	}
+
+	public void setExecuteDelay(long executeDelay) {
+		this.executeDelay = executeDelay;
+	}
+
+	public void setCreateDelay(long createDelay) {
+		this.createDelay = createDelay;
+	}
+
+	public void setCreateFailed(boolean createFailed) {
+		this.createFailed = createFailed;
+	}
+
+	public void setExecuteFailed(boolean executeFailed) {
+		this.executeFailed = executeFailed;
+	}
+
+	//sql text passed to execute methods
+	public List<String> getExecutedSQLs() {
+		return executedSQLs;
+	}
+
+	private Object newProxy(Class type) {
+		return Proxy.newProxyInstance(MockConnectionFactory.class.getClassLoader(), new Class[]{type}, new MockHandler(type));
+	}
+
+	private static void sleepUninterruptibly(long millis) {
+		long deadline = System.currentTimeMillis() + millis;
+		for (long remain = millis; remain > 0; remain = deadline - System.currentTimeMillis()) {
+			try {
+				Thread.sleep(remain);
+			} catch (InterruptedException e) {
+			}
+		}
+	}
+
+	private class MockHandler implements InvocationHandler {
+		private final Class type;
+		private volatile boolean closed;
+		private int batchSize;//rows added to statement batch
+		private final Map<String, Object> attributeMap = new HashMap<String, Object>();//attributes of statement,such as 'MaxRows'
+
+		MockHandler(Class type) {
+			this.type = type;
+		}
+
+		public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+			String name = method.getName();
+			Class returnType = method.getReturnType();
+			if (type == Connection.class) {
+				AtomicInteger count = invokedCountMap.get(name);
+				if (count == null) {
+					AtomicInteger newCount = new AtomicInteger(0);
+					count = invokedCountMap.putIfAbsent(name, newCount);
+					if (count == null) count = newCount;
+				}
+				count.incrementAndGet();
+			}
+			if ("close".equals(name)) {
+				if (!closed && type == Connection.class) {
+					if (closeDelay > 0) sleepUninterruptibly(closeDelay);
+					closedCount.incrementAndGet();
+				}
+				closed = true;
+				return null;
+			} else if ("abort".equals(name)) {//run on the given executor as drivers do
+				((Executor) args[0]).execute(new Runnable() {
+					public void run() {
+						if (!closed) abortedCount.incrementAndGet();
+						closed = true;
+					}
+				});
+				return null;
+			} else if ("isClosed".equals(name)) {
+				return closed;
+			} else if ("isValid".equals(name)) {
+				return !closed;
+			} else if ("getAutoCommit".equals(name)) {
+				return true;
+			} else if ("toString".equals(name)) {
+				return "Mock" + type.getSimpleName() + "@" + Integer.toHexString(System.identityHashCode(proxy));
+			} else if ("hashCode".equals(name)) {
+				return System.identityHashCode(proxy);
+			} else if ("equals".equals(name)) {
+				return proxy == args[0];
+			}
+
+			if (closed) throw new SQLException(type.getSimpleName() + " has been closed");
+			if ("prepareStatement".equals(name) || "prepareCall".equals(name)) preparedCount.incrementAndGet();
+			if ("addBatch".equals(name)) batchSize++;
+			if (type != Connection.class && args != null && args.length == 1 && name.startsWith("set")) {
+				attributeMap.put(name.substring(3), args[0]);
+				return null;
+			}
+			if (type != Connection.class && args == null && name.startsWith("get") && attributeMap.containsKey(name.substring(3)))
+				return attributeMap.get(name.substring(3));
+			if ("clearBatch".equals(name)) batchSize = 0;
+			if (name.startsWith("execute")) {
+				executedCount.incrementAndGet();
+				if (args != null && args.length > 0 && args[0] instanceof String) executedSQLs.add((String) args[0]);
+				if (executeFailed) throw new SQLException("Execute failed");
+				if (executeDelay > 0) Thread.sleep(executeDelay);
+			}
+			if ("executeBatch".equals(name)) {//one row updated by each batched sql
+				int[] updateCounts = new int[batchSize];
+				Arrays.fill(updateCounts, 1);
+				batchSize = 0;
+				return updateCounts;
+			}
+			if (returnType == ResultSet.class && resultSetClass != null) return resultSetClass.newInstance();
+			if (returnType.isInterface() && returnType.getName().startsWith("java.sql.")) return newProxy(returnType);
+			if (returnType == Boolean.TYPE) return Boolean.FALSE;
+			if (returnType == Integer.TYPE) return 0;
+			if (returnType == Long.TYPE) return 0L;
+			if (returnType == Short.TYPE) return (short) 0;
+			if (returnType == Byte.TYPE) return (byte) 0;
+			if (returnType == Float.TYPE) return 0F;
+			if (returnType == Double.TYPE) return 0D;
+			return null;
+		}
+	}
+}
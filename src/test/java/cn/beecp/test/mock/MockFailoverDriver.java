@@ -0,0 +1,101 @@
+/*
+ * Copyright Chris2018998
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.beecp.test.mock;
+
+import java.sql.*;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Logger;
+
+/**
+ * A stand-in jdbc driver on url 'jdbc:mock:{host}',whose hosts can be set down to simulate failures
+ * or delayed to simulate connect latency.
+ *
+ * @author Chris.Liao
+ */
+public class MockFailoverDriver implements Driver {
+	private static final String URL_PREFIX = "jdbc:mock:";
+	private static final Map<String, MockConnectionFactory> hostMap = new ConcurrentHashMap<String, MockConnectionFactory>();
+	private static final Set<String> downHostSet = ConcurrentHashMap.newKeySet();
+	private static final Map<String, Long> connectDelayMap = new ConcurrentHashMap<String, Long>();//milliseconds
+
+	public static MockConnectionFactory getHost(String host) {
+		MockConnectionFactory factory = hostMap.get(host);
+		if (factory == null) {
+			hostMap.putIfAbsent(host, new MockConnectionFactory());
+			factory = hostMap.get(host);
+		}
+		return factory;
+	}
+
+	public static void setDown(String host, boolean down) {
+		if (down)
+			downHostSet.add(host);
+		else
+			downHostSet.remove(host);
+	}
+
+	public static void setConnectDelay(String host, long delay) {
+		connectDelayMap.put(host, delay);
+	}
+
+	public static void clear() {
+		hostMap.clear();
+		downHostSet.clear();
+		connectDelayMap.clear();
+	}
+
+	public Connection connect(String url, Properties info) throws SQLException {
+		if (!acceptsURL(url)) return null;
+		String host = url.substring(URL_PREFIX.length());
+		if (downHostSet.contains(host)) throw new SQLException("Host(" + host + ")is down");
+		Long delay = connectDelayMap.get(host);
+		if (delay != null) {
+			try {
+				Thread.sleep(delay);
+			} catch (InterruptedException e) {
+				throw new SQLException("Interrupted in connecting");
+			}
+		}
+		return getHost(host).create();
+	}
+
+	public boolean acceptsURL(String url) {
+		return url != null && url.startsWith(URL_PREFIX);
+	}
+
+	public DriverPropertyInfo[] getPropertyInfo(String url, Properties info) {
+		return new DriverPropertyInfo[0];
+	}
+
+	public int getMajorVersion() {
+		return 1;
+	}
+
+	public int getMinorVersion() {
+		return 0;
+	}
+
+	public boolean jdbcCompliant() {
+		return false;
+	}
+
+	public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+		throw new SQLFeatureNotSupportedException();
+	}
+}
@@ -0,0 +1,807 @@
+/*
+ * Copyright Chris2018998
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.beecp.test.mock;
+
+import java.io.InputStream;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.net.URL;
+import java.sql.*;
+import java.util.Calendar;
+import java.util.Map;
+
+/**
+ * An empty and read-only resultSet,a concrete class with class file for driver specific proxy test.
+ *
+ * @author Chris.Liao
+ */
+public class MockResultSet implements ResultSet {
+	private boolean closed;
+
+	private void checkClosed() throws SQLException {
+		if (closed) throw new SQLException("ResultSet has been closed");
+	}
+
+	public boolean absolute(int p1) throws SQLException {
+		throw new SQLFeatureNotSupportedException("Read-only empty resultSet");
+	}
+
+	public void afterLast() throws SQLException {
+		throw new SQLFeatureNotSupportedException("Read-only empty resultSet");
+	}
+
+	public void beforeFirst() throws SQLException {
+		throw new SQLFeatureNotSupportedException("Read-only empty resultSet");
+	}
+
+	public void cancelRowUpdates() throws SQLException {
+		throw new SQLFeatureNotSupportedException("Read-only empty resultSet");
+	}
+
+	public void clearWarnings() throws SQLException {
+		checkClosed();
+	}
+
+	public void close() throws SQLException {
+		closed = true;
+	}
+
+	public void deleteRow() throws SQLException {
+		throw new SQLFeatureNotSupportedException("Read-only empty resultSet");
+	}
+
+	public int findColumn(String p1) throws SQLException {
+		throw new SQLException("No current row");
+	}
+
+	public boolean first() throws SQLException {
+		throw new SQLFeatureNotSupportedException("Read-only empty resultSet");
+	}
+
+	public Array getArray(String p1) throws SQLException {
+		throw new SQLException("No current row");
+	}
+
+	public Array getArray(int p1) throws SQLException {
+		throw new SQLException("No current row");
+	}
+
+	public InputStream getAsciiStream(String p1) throws SQLException {
+		throw new SQLException("No current row");
+	}
+
+	public InputStream getAsciiStream(int p1) throws SQLException {
+		throw new SQLException("No current row");
+	}
+
+	public BigDecimal getBigDecimal(String p1, int p2) throws SQLException {
+		throw new SQLException("No current row");
+	}
+
+	public BigDecimal getBigDecimal(String p1) throws SQLException {
+		throw new SQLException("No current row");
+	}
+
+	public BigDecimal getBigDecimal(int p1, int p2) throws SQLException {
+		throw new SQLException("No current row");
+	}
+
+	public BigDecimal getBigDecimal(int p1) throws SQLException {
+		throw new SQLException("No current row");
+	}
+
+	public InputStream getBinaryStream(String p1) throws SQLException {
+		throw new SQLException("No current row");
+	}
+
+	public InputStream getBinaryStream(int p1) throws SQLException {
+		throw new SQLException("No current row");
+	}
+
+	public Blob getBlob(String p1) throws SQLException {
+		throw new SQLException("No current row");
+	}
+
+	public Blob getBlob(int p1) throws SQLException {
+		throw new SQLException("No current row");
+	}
+
+	public boolean getBoolean(String p1) throws SQLException {
+		throw new SQLException("No current row");
+	}
+
+	public boolean getBoolean(int p1) throws SQLException {
+		throw new SQLException("No current row");
+	}
+
+	public byte getByte(String p1) throws SQLException {
+		throw new SQLException("No current row");
+	}
+
+	public byte getByte(int p1) throws SQLException {
+		throw new SQLException("No current row");
+	}
+
+	public byte[] getBytes(String p1) throws SQLException {
+		throw new SQLException("No current row");
+	}
+
+	public byte[] getBytes(int p1) throws SQLException {
+		throw new SQLException("No current row");
+	}
+
+	public Reader getCharacterStream(String p1) throws SQLException {
+		throw new SQLException("No current row");
+	}
+
+	public Reader getCharacterStream(int p1) throws SQLException {
+		throw new SQLException("No current row");
+	}
+
+	public Clob getClob(String p1) throws SQLException {
+		throw new SQLException("No current row");
+	}
+
+	public Clob getClob(int p1) throws SQLException {
+		throw new SQLException("No current row");
+	}
+
+	public int getConcurrency() throws SQLException {
+		return CONCUR_READ_ONLY;
+	}
+
+	public String getCursorName() throws SQLException {
+		throw new SQLException("No current row");
+	}
+
+	public Date getDate(String p1, Calendar p2) throws SQLException {
+		throw new SQLException("No current row");
+	}
+
+	public Date getDate(String p1) throws SQLException {
+		throw new SQLException("No current row");
+	}
+
+	public Date getDate(int p1, Calendar p2) throws SQLException {
+		throw new SQLException("No current row");
+	}
+
+	public Date getDate(int p1) throws SQLException {
+		throw new SQLException("No current row");
+	}
+
+	public double getDouble(String p1) throws SQLException {
+		throw new SQLException("No current row");
+	}
+
+	public double getDouble(int p1) throws SQLException {
+		throw new SQLException("No current row");
+	}
+
+	public int getFetchDirection() throws SQLException {
+		return FETCH_FORWARD;
+	}
+
+	public int getFetchSize() throws SQLException {
+		return 0;
+	}
+
+	public float getFloat(String p1) throws SQLException {
+		throw new SQLException("No current row");
+	}
+
+	public float getFloat(int p1) throws SQLException {
+		throw new SQLException("No current row");
+	}
+
+	public int getHoldability() throws SQLException {
+		return HOLD_CURSORS_OVER_COMMIT;
+	}
+
+	public int getInt(String p1) throws SQLException {
+		throw new SQLException("No current row");
+	}
+
+	public int getInt(int p1) throws SQLException {
+		throw new SQLException("No current row");
+	}
+
+	public long getLong(String p1) throws SQLException {
+		throw new SQLException("No current row");
+	}
+
+	public long getLong(int p1) throws SQLException {
+		throw new SQLException("No current row");
+	}
+
+	public ResultSetMetaData getMetaData() throws SQLException {
+		throw new SQLFeatureNotSupportedException("No metadata of mock resultSet");
+	}
+
+	public Reader getNCharacterStream(String p1) throws SQLException {
+		throw new SQLException("No current row");
+	}
+
+	public Reader getNCharacterStream(int p1) throws SQLException {
+		throw new SQLException("No current row");
+	}
+
+	public NClob getNClob(String p1) throws SQLException {
+		throw new SQLException("No current row");
+	}
+
+	public NClob getNClob(int p1) throws SQLException {
+		throw new SQLException("No current row");
+	}
+
+	public String getNString(String p1) throws SQLException {
+		throw new SQLException("No current row");
+	}
+
+	public String getNString(int p1) throws SQLException {
+		throw new SQLException("No current row");
+	}
+
+	public <T> T getObject(String p1, Class<T> p2) throws SQLException {
+		throw new SQLException("No current row");
+	}
+
+	public Object getObject(String p1, Map<String, Class<?>> p2) throws SQLException {
+		throw new SQLException("No current row");
+	}
+
+	public Object getObject(String p1) throws SQLException {
+		throw new SQLException("No current row");
+	}
+
+	public <T> T getObject(int p1, Class<T> p2) throws SQLException {
+		throw new SQLException("No current row");
+	}
+
+	public Object getObject(int p1, Map<String, Class<?>> p2) throws SQLException {
+		throw new SQLException("No current row");
+	}
+
+	public Object getObject(int p1) throws SQLException {
+		throw new SQLException("No current row");
+	}
+
+	public Ref getRef(String p1) throws SQLException {
+		throw new SQLException("No current row");
+	}
+
+	public Ref getRef(int p1) throws SQLException {
+		throw new SQLException("No current row");
+	}
+
+	public int getRow() throws SQLException {
+		return 0;
+	}
+
+	public RowId getRowId(String p1) throws SQLException {
+		throw new SQLException("No current row");
+	}
+
+	public RowId getRowId(int p1) throws SQLException {
+		throw new SQLException("No current row");
+	}
+
+	public SQLXML getSQLXML(String p1) throws SQLException {
+		throw new SQLException("No current row");
+	}
+
+	public SQLXML getSQLXML(int p1) throws SQLException {
+		throw new SQLException("No current row");
+	}
+
+	public short getShort(String p1) throws SQLException {
+		throw new SQLException("No current row");
+	}
+
+	public short getShort(int p1) throws SQLException {
+		throw new SQLException("No current row");
+	}
+
+	public Statement getStatement() throws SQLException {
+		return null;
+	}
+
+	public String getString(String p1) throws SQLException {
+		throw new SQLException("No current row");
+	}
+
+	public String getString(int p1) throws SQLException {
+		throw new SQLException("No current row");
+	}
+
+	public Time getTime(String p1, Calendar p2) throws SQLException {
+		throw new SQLException("No current row");
+	}
+
+	public Time getTime(String p1) throws SQLException {
+		throw new SQLException("No current row");
+	}
+
+	public Time getTime(int p1, Calendar p2) throws SQLException {
+		throw new SQLException("No current row");
+	}
+
+	public Time getTime(int p1) throws SQLException {
+		throw new SQLException("No current row");
+	}
+
+	public Timestamp getTimestamp(String p1, Calendar p2) throws SQLException {
+		throw new SQLException("No current row");
+	}
+
+	public Timestamp getTimestamp(String p1) throws SQLException {
+		throw new SQLException("No current row");
+	}
+
+	public Timestamp getTimestamp(int p1, Calendar p2) throws SQLException {
+		throw new SQLException("No current row");
+	}
+
+	public Timestamp getTimestamp(int p1) throws SQLException {
+		throw new SQLException("No current row");
+	}
+
+	public int getType() throws SQLException {
+		return TYPE_FORWARD_ONLY;
+	}
+
+	public URL getURL(String p1) throws SQLException {
+		throw new SQLException("No current row");
+	}
+
+	public URL getURL(int p1) throws SQLException {
+		throw new SQLException("No current row");
+	}
+
+	public InputStream getUnicodeStream(String p1) throws SQLException {
+		throw new SQLException("No current row");
+	}
+
+	public InputStream getUnicodeStream(int p1) throws SQLException {
+		throw new SQLException("No current row");
+	}
+
+	public SQLWarning getWarnings() throws SQLException {
+		return null;
+	}
+
+	public void insertRow() throws SQLException {
+		throw new SQLFeatureNotSupportedException("Read-only empty resultSet");
+	}
+
+	public boolean isAfterLast() throws SQLException {
+		checkClosed();
+		return false;
+	}
+
+	public boolean isBeforeFirst() throws SQLException {
+		checkClosed();
+		return false;
+	}
+
+	public boolean isClosed() throws SQLException {
+		return closed;
+	}
+
+	public boolean isFirst() throws SQLException {
+		checkClosed();
+		return false;
+	}
+
+	public boolean isLast() throws SQLException {
+		checkClosed();
+		return false;
+	}
+
+	public boolean isWrapperFor(Class<?> p1) throws SQLException {
+		return p1.isInstance(this);
+	}
+
+	public boolean last() throws SQLException {
+		throw new SQLFeatureNotSupportedException("Read-only empty resultSet");
+	}
+
+	public void moveToCurrentRow() throws SQLException {
+		throw new SQLFeatureNotSupportedException("Read-only empty resultSet");
+	}
+
+	public void moveToInsertRow() throws SQLException {
+		throw new SQLFeatureNotSupportedException("Read-only empty resultSet");
+	}
+
+	public boolean next() throws SQLException {
+		checkClosed();
+		return false;
+	}
+
+	public boolean previous() throws SQLException {
+		throw new SQLFeatureNotSupportedException("Read-only empty resultSet");
+	}
+
+	public void refreshRow() throws SQLException {
+		throw new SQLFeatureNotSupportedException("Read-only empty resultSet");
+	}
+
+	public boolean relative(int p1) throws SQLException {
+		throw new SQLFeatureNotSupportedException("Read-only empty resultSet");
+	}
+
+	public boolean rowDeleted() throws SQLException {
+		throw new SQLFeatureNotSupportedException("Read-only empty resultSet");
+	}
+
+	public boolean rowInserted() throws SQLException {
+		throw new SQLFeatureNotSupportedException("Read-only empty resultSet");
+	}
+
+	public boolean rowUpdated() throws SQLException {
+		throw new SQLFeatureNotSupportedException("Read-only empty resultSet");
+	}
+
+	public void setFetchDirection(int p1) throws SQLException {
+		checkClosed();
+	}
+
+	public void setFetchSize(int p1) throws SQLException {
+		checkClosed();
+	}
+
+	public <T> T unwrap(Class<T> p1) throws SQLException {
+		if (p1.isInstance(this)) return (T) this;
+		throw new SQLException("Not a wrapper of " + p1);
+	}
+
+	public void updateArray(String p1, Array p2) throws SQLException {
+		throw new SQLFeatureNotSupportedException("Read-only empty resultSet");
+	}
+
+	public void updateArray(int p1, Array p2) throws SQLException {
+		throw new SQLFeatureNotSupportedException("Read-only empty resultSet");
+	}
+
+	public void updateAsciiStream(String p1, InputStream p2, int p3) throws SQLException {
+		throw new SQLFeatureNotSupportedException("Read-only empty resultSet");
+	}
+
+	public void updateAsciiStream(String p1, InputStream p2, long p3) throws SQLException {
+		throw new SQLFeatureNotSupportedException("Read-only empty resultSet");
+	}
+
+	public void updateAsciiStream(String p1, InputStream p2) throws SQLException {
+		throw new SQLFeatureNotSupportedException("Read-only empty resultSet");
+	}
+
+	public void updateAsciiStream(int p1, InputStream p2, int p3) throws SQLException {
+		throw new SQLFeatureNotSupportedException("Read-only empty resultSet");
+	}
+
+	public void updateAsciiStream(int p1, InputStream p2, long p3) throws SQLException {
+		throw new SQLFeatureNotSupportedException("Read-only empty resultSet");
+	}
+
+	public void updateAsciiStream(int p1, InputStream p2) throws SQLException {
+		throw new SQLFeatureNotSupportedException("Read-only empty resultSet");
+	}
+
+	public void updateBigDecimal(String p1, BigDecimal p2) throws SQLException {
+		throw new SQLFeatureNotSupportedException("Read-only empty resultSet");
+	}
+
+	public void updateBigDecimal(int p1, BigDecimal p2) throws SQLException {
+		throw new SQLFeatureNotSupportedException("Read-only empty resultSet");
+	}
+
+	public void updateBinaryStream(String p1, InputStream p2, int p3) throws SQLException {
+		throw new SQLFeatureNotSupportedException("Read-only empty resultSet");
+	}
+
+	public void updateBinaryStream(String p1, InputStream p2, long p3) throws SQLException {
+		throw new SQLFeatureNotSupportedException("Read-only empty resultSet");
+	}
+
+	public void updateBinaryStream(String p1, InputStream p2) throws SQLException {
+		throw new SQLFeatureNotSupportedException("Read-only empty resultSet");
+	}
+
+	public void updateBinaryStream(int p1, InputStream p2, int p3) throws SQLException {
+		throw new SQLFeatureNotSupportedException("Read-only empty resultSet");
+	}
+
+	public void updateBinaryStream(int p1, InputStream p2, long p3) throws SQLException {
+		throw new SQLFeatureNotSupportedException("Read-only empty resultSet");
+	}
+
+	public void updateBinaryStream(int p1, InputStream p2) throws SQLException {
+		throw new SQLFeatureNotSupportedException("Read-only empty resultSet");
+	}
+
+	public void updateBlob(String p1, InputStream p2, long p3) throws SQLException {
+		throw new SQLFeatureNotSupportedException("Read-only empty resultSet");
+	}
+
+	public void updateBlob(String p1, InputStream p2) throws SQLException {
+		throw new SQLFeatureNotSupportedException("Read-only empty resultSet");
+	}
+
+	public void updateBlob(String p1, Blob p2) throws SQLException {
+		throw new SQLFeatureNotSupportedException("Read-only empty resultSet");
+	}
+
+	public void updateBlob(int p1, InputStream p2, long p3) throws SQLException {
+		throw new SQLFeatureNotSupportedException("Read-only empty resultSet");
+	}
+
+	public void updateBlob(int p1, InputStream p2) throws SQLException {
+		throw new SQLFeatureNotSupportedException("Read-only empty resultSet");
+	}
+
+	public void updateBlob(int p1, Blob p2) throws SQLException {
+		throw new SQLFeatureNotSupportedException("Read-only empty resultSet");
+	}
+
+	public void updateBoolean(String p1, boolean p2) throws SQLException {
+		throw new SQLFeatureNotSupportedException("Read-only empty resultSet");
+	}
+
+	public void updateBoolean(int p1, boolean p2) throws SQLException {
+		throw new SQLFeatureNotSupportedException("Read-only empty resultSet");
+	}
+
+	public void updateByte(String p1, byte p2) throws SQLException {
+		throw new SQLFeatureNotSupportedException("Read-only empty resultSet");
+	}
+
+	public void updateByte(int p1, byte p2) throws SQLException {
+		throw new SQLFeatureNotSupportedException("Read-only empty resultSet");
+	}
+
+	public void updateBytes(String p1, byte[] p2) throws SQLException {
+		throw new SQLFeatureNotSupportedException("Read-only empty resultSet");
+	}
+
+	public void updateBytes(int p1, byte[] p2) throws SQLException {
+		throw new SQLFeatureNotSupportedException("Read-only empty resultSet");
+	}
+
+	public void updateCharacterStream(String p1, Reader p2, int p3) throws SQLException {
+		throw new SQLFeatureNotSupportedException("Read-only empty resultSet");
+	}
+
+	public void updateCharacterStream(String p1, Reader p2, long p3) throws SQLException {
+		throw new SQLFeatureNotSupportedException("Read-only empty resultSet");
+	}
+
+	public void updateCharacterStream(String p1, Reader p2) throws SQLException {
+		throw new SQLFeatureNotSupportedException("Read-only empty resultSet");
+	}
+
+	public void updateCharacterStream(int p1, Reader p2, int p3) throws SQLException {
+		throw new SQLFeatureNotSupportedException("Read-only empty resultSet");
+	}
+
+	public void updateCharacterStream(int p1, Reader p2, long p3) throws SQLException {
+		throw new SQLFeatureNotSupportedException("Read-only empty resultSet");
+	}
+
+	public void updateCharacterStream(int p1, Reader p2) throws SQLException {
+		throw new SQLFeatureNotSupportedException("Read-only empty resultSet");
+	}
+
+	public void updateClob(String p1, Reader p2, long p3) throws SQLException {
+		throw new SQLFeatureNotSupportedException("Read-only empty resultSet");
+	}
+
+	public void updateClob(String p1, Reader p2) throws SQLException {
+		throw new SQLFeatureNotSupportedException("Read-only empty resultSet");
+	}
+
+	public void updateClob(String p1, Clob p2) throws SQLException {
+		throw new SQLFeatureNotSupportedException("Read-only empty resultSet");
+	}
+
+	public void updateClob(int p1, Reader p2, long p3) throws SQLException {
+		throw new SQLFeatureNotSupportedException("Read-only empty resultSet");
+	}
+
+	public void updateClob(int p1, Reader p2) throws SQLException {
+		throw new SQLFeatureNotSupportedException("Read-only empty resultSet");
+	}
+
+	public void updateClob(int p1, Clob p2) throws SQLException {
+		throw new SQLFeatureNotSupportedException("Read-only empty resultSet");
+	}
+
+	public void updateDate(String p1, Date p2) throws SQLException {
+		throw new SQLFeatureNotSupportedException("Read-only empty resultSet");
+	}
+
+	public void updateDate(int p1, Date p2) throws SQLException {
+		throw new SQLFeatureNotSupportedException("Read-only empty resultSet");
+	}
+
+	public void updateDouble(String p1, double p2) throws SQLException {
+		throw new SQLFeatureNotSupportedException("Read-only empty resultSet");
+	}
+
+	public void updateDouble(int p1, double p2) throws SQLException {
+		throw new SQLFeatureNotSupportedException("Read-only empty resultSet");
+	}
+
+	public void updateFloat(String p1, float p2) throws SQLException {
+		throw new SQLFeatureNotSupportedException("Read-only empty resultSet");
+	}
+
+	public void updateFloat(int p1, float p2) throws SQLException {
+		throw new SQLFeatureNotSupportedException("Read-only empty resultSet");
+	}
+
+	public void updateInt(String p1, int p2) throws SQLException {
+		throw new SQLFeatureNotSupportedException("Read-only empty resultSet");
+	}
+
+	public void updateInt(int p1, int p2) throws SQLException {
+		throw new SQLFeatureNotSupportedException("Read-only empty resultSet");
+	}
+
+	public void updateLong(String p1, long p2) throws SQLException {
+		throw new SQLFeatureNotSupportedException("Read-only empty resultSet");
+	}
+
+	public void updateLong(int p1, long p2) throws SQLException {
+		throw new SQLFeatureNotSupportedException("Read-only empty resultSet");
+	}
+
+	public void updateNCharacterStream(String p1, Reader p2, long p3) throws SQLException {
+		throw new SQLFeatureNotSupportedException("Read-only empty resultSet");
+	}
+
+	public void updateNCharacterStream(String p1, Reader p2) throws SQLException {
+		throw new SQLFeatureNotSupportedException("Read-only empty resultSet");
+	}
+
+	public void updateNCharacterStream(int p1, Reader p2, long p3) throws SQLException {
+		throw new SQLFeatureNotSupportedException("Read-only empty resultSet");
+	}
+
+	public void updateNCharacterStream(int p1, Reader p2) throws SQLException {
+		throw new SQLFeatureNotSupportedException("Read-only empty resultSet");
+	}
+
+	public void updateNClob(String p1, Reader p2, long p3) throws SQLException {
+		throw new SQLFeatureNotSupportedException("Read-only empty resultSet");
+	}
+
+	public void updateNClob(String p1, Reader p2) throws SQLException {
+		throw new SQLFeatureNotSupportedException("Read-only empty resultSet");
+	}
+
+	public void updateNClob(String p1, NClob p2) throws SQLException {
+		throw new SQLFeatureNotSupportedException("Read-only empty resultSet");
+	}
+
+	public void updateNClob(int p1, Reader p2, long p3) throws SQLException {
+		throw new SQLFeatureNotSupportedException("Read-only empty resultSet");
+	}
+
+	public void updateNClob(int p1, Reader p2) throws SQLException {
+		throw new SQLFeatureNotSupportedException("Read-only empty resultSet");
+	}
+
+	public void updateNClob(int p1, NClob p2) throws SQLException {
+		throw new SQLFeatureNotSupportedException("Read-only empty resultSet");
+	}
+
+	public void updateNString(String p1, String p2) throws SQLException {
+		throw new SQLFeatureNotSupportedException("Read-only empty resultSet");
+	}
+
+	public void updateNString(int p1, String p2) throws SQLException {
+		throw new SQLFeatureNotSupportedException("Read-only empty resultSet");
+	}
+
+	public void updateNull(String p1) throws SQLException {
+		throw new SQLFeatureNotSupportedException("Read-only empty resultSet");
+	}
+
+	public void updateNull(int p1) throws SQLException {
+		throw new SQLFeatureNotSupportedException("Read-only empty resultSet");
+	}
+
+	public void updateObject(String p1, Object p2, int p3) throws SQLException {
+		throw new SQLFeatureNotSupportedException("Read-only empty resultSet");
+	}
+
+	public void updateObject(String p1, Object p2) throws SQLException {
+		throw new SQLFeatureNotSupportedException("Read-only empty resultSet");
+	}
+
+	public void updateObject(int p1, Object p2, int p3) throws SQLException {
+		throw new SQLFeatureNotSupportedException("Read-only empty resultSet");
+	}
+
+	public void updateObject(int p1, Object p2) throws SQLException {
+		throw new SQLFeatureNotSupportedException("Read-only empty resultSet");
+	}
+
+	public void updateRef(String p1, Ref p2) throws SQLException {
+		throw new SQLFeatureNotSupportedException("Read-only empty resultSet");
+	}
+
+	public void updateRef(int p1, Ref p2) throws SQLException {
+		throw new SQLFeatureNotSupportedException("Read-only empty resultSet");
+	}
+
+	public void updateRow() throws SQLException {
+		throw new SQLFeatureNotSupportedException("Read-only empty resultSet");
+	}
+
+	public void updateRowId(String p1, RowId p2) throws SQLException {
+		throw new SQLFeatureNotSupportedException("Read-only empty resultSet");
+	}
+
+	public void updateRowId(int p1, RowId p2) throws SQLException {
+		throw new SQLFeatureNotSupportedException("Read-only empty resultSet");
+	}
+
+	public void updateSQLXML(String p1, SQLXML p2) throws SQLException {
+		throw new SQLFeatureNotSupportedException("Read-only empty resultSet");
+	}
+
+	public void updateSQLXML(int p1, SQLXML p2) throws SQLException {
+		throw new SQLFeatureNotSupportedException("Read-only empty resultSet");
+	}
+
+	public void updateShort(String p1, short p2) throws SQLException {
+		throw new SQLFeatureNotSupportedException("Read-only empty resultSet");
+	}
+
+	public void updateShort(int p1, short p2) throws SQLException {
+		throw new SQLFeatureNotSupportedException("Read-only empty resultSet");
+	}
+
+	public void updateString(String p1, String p2) throws SQLException {
+		throw new SQLFeatureNotSupportedException("Read-only empty resultSet");
+	}
+
+	public void updateString(int p1, String p2) throws SQLException {
+		throw new SQLFeatureNotSupportedException("Read-only empty resultSet");
+	}
+
+	public void updateTime(String p1, Time p2) throws SQLException {
+		throw new SQLFeatureNotSupportedException("Read-only empty resultSet");
+	}
+
+	public void updateTime(int p1, Time p2) throws SQLException {
+		throw new SQLFeatureNotSupportedException("Read-only empty resultSet");
+	}
+
+	public void updateTimestamp(String p1, Timestamp p2) throws SQLException {
+		throw new SQLFeatureNotSupportedException("Read-only empty resultSet");
+	}
+
+	public void updateTimestamp(int p1, Timestamp p2) throws SQLException {
+		throw new SQLFeatureNotSupportedException("Read-only empty resultSet");
+	}
+
+	public boolean wasNull() throws SQLException {
+		throw new SQLException("No current row");
+	}
+}
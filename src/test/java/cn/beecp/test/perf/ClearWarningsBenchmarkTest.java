@@ -0,0 +1,77 @@
+/*
+ * Copyright Chris2018998
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.beecp.test.perf;
+
+import cn.beecp.BeeDataSource;
+import cn.beecp.BeeDataSourceConfig;
+import cn.beecp.test.mock.MockConnectionFactory;
+
+import java.sql.Connection;
+
+/**
+ * Return path latency with and without 'clearWarnings' call per driver,'clearWarnings' on every return was
+ * the cost before warnings tracking,so difference of average time is the saved latency.
+ * <p>
+ * Mock connection(nearly no driver cost) is tested by default,other drivers are tested by arguments
+ * in groups of 'driverClassName jdbcUrl user password'.
+ *
+ * @author Chris.Liao
+ */
+public class ClearWarningsBenchmarkTest {
+	private static final int BORROW_SIZE = 100000;//borrow and return count in each test
+
+	public static void main(String[] args) throws Exception {
+		System.out.println(".................ClearWarningsBenchmarkTest......................");
+		testDriver("mock", null, null, null, null);
+		for (int i = 0; i + 3 < args.length; i += 4)
+			testDriver(args[i + 1], args[i], args[i + 1], args[i + 2], args[i + 3]);
+	}
+
+	private static void testDriver(String name, String driverClassName, String url, String user, String password) throws Exception {
+		BeeDataSourceConfig config = new BeeDataSourceConfig();
+		if (driverClassName == null) {
+			config.setConnectionFactory(new MockConnectionFactory());
+		} else {
+			config.setDriverClassName(driverClassName);
+			config.setJdbcUrl(url);
+			config.setUsername(user);
+			config.setPassword(password);
+		}
+		config.setMaxActive(1);
+		config.setBorrowSemaphoreSize(1);
+		config.setInitialSize(1);
+		BeeDataSource ds = new BeeDataSource(config);
+		try {
+			for (int round = 0; round < 3; round++) {
+				System.out.println(name + "-round" + round + "-clear skipped:" + testReturn(ds, false) + "ns/op");
+				System.out.println(name + "-round" + round + "-clear on return:" + testReturn(ds, true) + "ns/op");
+			}
+		} finally {
+			ds.close();
+		}
+	}
+
+	//'clearWarnings' by borrower is same call made by pool on return before
+	private static long testReturn(BeeDataSource ds, boolean clearWarnings) throws Exception {
+		long startTime = System.nanoTime();
+		for (int i = 0; i < BORROW_SIZE; i++) {
+			Connection con = ds.getConnection();
+			if (clearWarnings) con.clearWarnings();
+			con.close();
+		}
+		return (System.nanoTime() - startTime) / BORROW_SIZE;
+	}
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright Chris2018998
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.beecp.test.perf;
+
+import cn.beecp.BeeDataSource;
+import cn.beecp.BeeDataSourceConfig;
+import cn.beecp.test.mock.MockConnectionFactory;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Overhead of sql latency statistics,statements are executed on mock connections(nearly no driver cost),
+ * so difference of average time is the cost of statistics.
+ *
+ * @author Chris.Liao
+ */
+public class SqlLatencyStatOverheadTest {
+	private static final int THREAD_SIZE = Runtime.getRuntime().availableProcessors();
+	private static final int EXECUTE_SIZE = 2000000;
+
+	public static void main(String[] args) throws Exception {
+		System.out.println(".................SqlLatencyStatOverheadTest......................");
+		for (int round = 0; round < 3; round++) {
+			System.out.println("round" + round + "-statistics disabled:" + testExecute(0) + "ns/op");
+			System.out.println("round" + round + "-statistics enabled:" + testExecute(100) + "ns/op");
+		}
+	}
+
+	private static long testExecute(int statSize) throws Exception {
+		BeeDataSourceConfig config = new BeeDataSourceConfig();
+		config.setConnectionFactory(new MockConnectionFactory());
+		config.setMaxActive(THREAD_SIZE);
+		config.setBorrowSemaphoreSize(THREAD_SIZE);
+		config.setInitialSize(THREAD_SIZE);
+		config.setSqlLatencyStatSize(statSize);
+		final BeeDataSource ds = new BeeDataSource(config);
+
+		final CountDownLatch latch = new CountDownLatch(THREAD_SIZE);
+		final long[] elapsedTimes = new long[THREAD_SIZE];
+		for (int i = 0; i < THREAD_SIZE; i++) {
+			final int index = i;
+			new Thread() {
+				public void run() {
+					Connection con = null;
+					try {
+						con = ds.getConnection();
+						PreparedStatement ps = con.prepareStatement("select * from user where id=?");
+						long startTime = System.nanoTime();
+						for (int n = 0; n < EXECUTE_SIZE; n++)
+							ps.executeUpdate();
+						elapsedTimes[index] = System.nanoTime() - startTime;
+						ps.close();
+					} catch (Exception e) {
+						e.printStackTrace();
+					} finally {
+						if (con != null) try {
+							con.close();
+						} catch (Exception e) {
+						}
+						latch.countDown();
+					}
+				}
+			}.start();
+		}
+		latch.await();
+		ds.close();
+
+		long totalTime = 0;
+		for (long elapsedTime : elapsedTimes)
+			totalTime += elapsedTime;
+		return totalTime / ((long) THREAD_SIZE * EXECUTE_SIZE);
+	}
+}
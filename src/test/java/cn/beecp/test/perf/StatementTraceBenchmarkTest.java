@@ -0,0 +1,72 @@
+/*
+ * Copyright Chris2018998
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.beecp.test.perf;
+
+import cn.beecp.BeeDataSource;
+import cn.beecp.BeeDataSourceConfig;
+import cn.beecp.test.mock.MockConnectionFactory;
+
+import java.sql.Connection;
+import java.sql.Statement;
+
+/**
+ * Cost of statement open and close in trace mode,with 10 and 1,000 statements kept open on one
+ * connection(mock connection,nearly no driver cost).
+ *
+ * @author Chris.Liao
+ */
+public class StatementTraceBenchmarkTest {
+	private static final int OPERATION_SIZE = 2000000;//statements opened and closed in each test
+
+	public static void main(String[] args) throws Exception {
+		System.out.println(".................StatementTraceBenchmarkTest......................");
+		for (int round = 0; round < 3; round++) {
+			System.out.println("round" + round + "-10 open statements:" + testOpenClose(10) + "ns/op");
+			System.out.println("round" + round + "-1000 open statements:" + testOpenClose(1000) + "ns/op");
+		}
+	}
+
+	//open statements,then close them in reverse and random order
+	private static long testOpenClose(int openSize) throws Exception {
+		BeeDataSourceConfig config = new BeeDataSourceConfig();
+		config.setConnectionFactory(new MockConnectionFactory());
+		config.setMaxActive(1);
+		config.setBorrowSemaphoreSize(1);
+		config.setInitialSize(1);
+		config.setTraceStatement(true);
+		BeeDataSource ds = new BeeDataSource(config);
+
+		Connection con = null;
+		try {
+			con = ds.getConnection();
+			Statement[] statements = new Statement[openSize];
+			int roundSize = OPERATION_SIZE / openSize;
+			long startTime = System.nanoTime();
+			for (int round = 0; round < roundSize; round++) {
+				for (int i = 0; i < openSize; i++)
+					statements[i] = con.createStatement();
+				for (int i = 0; i < openSize; i += 2)
+					statements[i].close();
+				for (int i = openSize - 1; i > 0; i -= 2)
+					statements[i].close();
+			}
+			return (System.nanoTime() - startTime) / ((long) roundSize * openSize);
+		} finally {
+			if (con != null) con.close();
+			ds.close();
+		}
+	}
+}